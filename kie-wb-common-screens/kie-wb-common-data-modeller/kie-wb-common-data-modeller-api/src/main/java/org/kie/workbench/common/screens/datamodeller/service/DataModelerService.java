@@ -18,6 +18,7 @@ package org.kie.workbench.common.screens.datamodeller.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
@@ -29,6 +30,7 @@ import org.kie.workbench.common.screens.datamodeller.model.EditorModelContent;
 import org.kie.workbench.common.screens.datamodeller.model.GenerationResult;
 import org.kie.workbench.common.screens.datamodeller.model.PropertyTypeTO;
 import org.kie.workbench.common.screens.datamodeller.model.TypeInfoResult;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesKey;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.uberfire.backend.vfs.Path;
 
@@ -81,6 +83,8 @@ public interface DataModelerService {
 
     List<Path> findFieldUsages( String className, String fieldName );
 
+    Map<RefactoringUsagesKey, List<Path>> findUsages( Set<RefactoringUsagesKey> keys );
+
     Boolean exists( Path path );
 
 }
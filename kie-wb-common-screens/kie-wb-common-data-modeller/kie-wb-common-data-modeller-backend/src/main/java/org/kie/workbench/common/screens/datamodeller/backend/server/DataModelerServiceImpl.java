@@ -18,10 +18,11 @@ package org.kie.workbench.common.screens.datamodeller.backend.server;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -48,8 +49,6 @@ import org.jboss.forge.roaster.Roaster;
 import org.jboss.forge.roaster.model.JavaType;
 import org.jboss.forge.roaster.model.source.FieldSource;
 import org.jboss.forge.roaster.model.source.JavaClassSource;
-import org.kie.api.builder.KieModule;
-import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.screens.datamodeller.backend.server.file.DataModelerCopyHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.file.DataModelerRenameHelper;
 import org.kie.workbench.common.screens.datamodeller.events.DataObjectCreatedEvent;
@@ -65,7 +64,7 @@ import org.kie.workbench.common.screens.datamodeller.model.PropertyTypeTO;
 import org.kie.workbench.common.screens.datamodeller.model.TypeInfoResult;
 import org.kie.workbench.common.screens.datamodeller.service.DataModelerService;
 import org.kie.workbench.common.screens.datamodeller.service.ServiceException;
-import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.KieModuleMetaDataCache;
 import org.kie.workbench.common.services.backend.service.KieService;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationContext;
@@ -94,11 +93,9 @@ import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
-import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueFieldIndexTerm;
-import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
-import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
-import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesKey;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesResult;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.slf4j.Logger;
@@ -110,7 +107,6 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.options.CommentedOption;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileSystem;
-import org.uberfire.paging.PageResponse;
 import org.uberfire.security.Identity;
 import org.uberfire.workbench.events.ResourceBatchChangesEvent;
 
@@ -152,7 +148,7 @@ public class DataModelerServiceImpl extends KieService implements DataModelerSer
     private POMService pomService;
 
     @Inject
-    private LRUBuilderCache builderCache;
+    private KieModuleMetaDataCache metaDataCache;
 
     @Inject
     private Event<PublishBatchMessagesEvent> publishBatchMessagesEvent;
@@ -1131,10 +1127,7 @@ public class DataModelerServiceImpl extends KieService implements DataModelerSer
     }
 
     private ClassLoader getProjectClassLoader( KieProject project ) {
-
-        final KieModule module = builderCache.assertBuilder( project ).getKieModuleIgnoringErrors();
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
-        return classLoader;
+        return metaDataCache.getProjectClassLoader( project );
     }
 
     public Boolean verifiesHash( Path javaFile ) {
@@ -1162,43 +1155,41 @@ public class DataModelerServiceImpl extends KieService implements DataModelerSer
     @Override
     public List<Path> findClassUsages( String className ) {
 
-        HashSet<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>();
-        queryTerms.add( new ValueTypeIndexTerm( className ) );
-        return executeReferencesQuery( "FindTypesQuery", queryTerms );
+        RefactoringUsagesKey key = new RefactoringUsagesKey( className );
+        return findUsages( Collections.singleton( key ) ).get( key );
     }
 
     @Override
     public List<Path> findFieldUsages( String className,
                                        String fieldName ) {
 
-        HashSet<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>();
-        queryTerms.add( new ValueTypeIndexTerm( className ) );
-        queryTerms.add( new ValueFieldIndexTerm( fieldName ) );
-        return executeReferencesQuery( "FindTypeFieldsQuery", queryTerms );
+        RefactoringUsagesKey key = new RefactoringUsagesKey( className, fieldName );
+        return findUsages( Collections.singleton( key ) ).get( key );
     }
 
-    private List<Path> executeReferencesQuery( String queryName,
-                                               HashSet<ValueIndexTerm> queryTerms ) {
-
-        List<Path> results = new ArrayList<Path>();
-        final RefactoringPageRequest request = new RefactoringPageRequest( queryName,
-                                                                           queryTerms,
-                                                                           0,
-                                                                           10 );
+    @Override
+    public Map<RefactoringUsagesKey, List<Path>> findUsages( Set<RefactoringUsagesKey> keys ) {
 
+        Map<RefactoringUsagesKey, List<Path>> results = new HashMap<RefactoringUsagesKey, List<Path>>();
         try {
 
-            final PageResponse<RefactoringPageRow> response = queryService.query( request );
-            if ( response != null && response.getPageRowList() != null ) {
-                for ( RefactoringPageRow row : response.getPageRowList() ) {
-                    results.add( (org.uberfire.backend.vfs.Path) row.getValue() );
+            //All usages of all types and fields are found with a single query
+            Map<RefactoringUsagesKey, RefactoringUsagesResult> usages = queryService.queryUsages( keys );
+            for ( RefactoringUsagesKey key : keys ) {
+                List<Path> paths = new ArrayList<Path>();
+                RefactoringUsagesResult usage = usages.get( key );
+                if ( usage != null ) {
+                    for ( RefactoringPageRow row : usage.getRows() ) {
+                        paths.add( (org.uberfire.backend.vfs.Path) row.getValue() );
+                    }
                 }
+                results.put( key, paths );
             }
             return results;
 
         } catch ( Exception e ) {
-            logger.error( "References query: " + queryName + ", couldn't be executed: " + e.getMessage(), e );
-            throw new ServiceException( "References query: " + queryName + ", couldn't be executed: " + e.getMessage(), e );
+            logger.error( "Usages query: " + keys + ", couldn't be executed: " + e.getMessage(), e );
+            throw new ServiceException( "Usages query: " + keys + ", couldn't be executed: " + e.getMessage(), e );
         }
     }
 
@@ -28,8 +28,6 @@ import org.jboss.forge.roaster.Roaster;
 import org.jboss.forge.roaster.model.Type;
 import org.jboss.forge.roaster.model.source.FieldSource;
 import org.jboss.forge.roaster.model.source.JavaClassSource;
-import org.kie.api.builder.KieModule;
-import org.kie.scanner.KieModuleMetaData;
 import org.kie.uberfire.metadata.engine.Indexer;
 import org.kie.uberfire.metadata.model.KObject;
 import org.kie.uberfire.metadata.model.KObjectKey;
@@ -47,9 +45,11 @@ import org.kie.workbench.common.screens.datamodeller.model.index.terms.valueterm
 import org.kie.workbench.common.screens.datamodeller.model.index.terms.valueterms.ValueJavaTypeNameIndexTerm;
 import org.kie.workbench.common.screens.datamodeller.model.index.terms.valueterms.ValueJavaTypeParentIndexTerm;
 import org.kie.workbench.common.screens.javaeditor.type.JavaResourceTypeDefinition;
-import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.KieModuleMetaDataCache;
+import org.kie.workbench.common.services.backend.util.DigestUtil;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.IndexTermsCache;
 import org.kie.workbench.common.services.refactoring.backend.server.util.KObjectUtil;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
 import org.kie.workbench.common.services.shared.project.KieProject;
@@ -57,6 +57,7 @@ import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.commons.data.Pair;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Path;
 
@@ -103,11 +104,13 @@ public class JavaFileIndexer implements Indexer {
     protected KieProjectService projectService;
 
     @Inject
-    private LRUBuilderCache builderCache;
+    private KieModuleMetaDataCache metaDataCache;
 
     @Inject
     protected JavaResourceTypeDefinition javaResourceTypeDefinition;
 
+    private final IndexTermsCache termsCache = new IndexTermsCache();
+
     @Override
     public boolean supportsPath( final Path path ) {
         return javaResourceTypeDefinition.accept( Paths.convert( path ) );
@@ -115,60 +118,87 @@ public class JavaFileIndexer implements Indexer {
 
     @Override
     public KObject toKObject( final Path path ) {
-        KObject index = null;
-
         try {
             final String javaSource = ioService.readAllString( path );
+
+            //Content that has already been indexed, in the same folder and with the same dependencies, is not parsed again
+            final String folderUri = getFolderUri( path );
+            final String digest = DigestUtil.sha1( javaSource );
             final KieProject project = getProject( path );
+            final long dependencyGeneration = ( project == null ? -1 : getDependencyGeneration( project ) );
+            final Set<Pair<String, String>> terms = termsCache.get( folderUri,
+                                                                    digest,
+                                                                    dependencyGeneration );
+            if ( terms != null ) {
+                return KObjectUtil.toKObject( path,
+                                              terms );
+            }
 
-            if ( project == null ) {
-                logger.error( "Unable to index: " + path.toUri().toString() + ", project could not be calculated." );
+            final DefaultIndexBuilder builder = makeIndexBuilder( path,
+                                                                  project,
+                                                                  javaSource );
+            if ( builder == null ) {
                 return null;
             }
+            final Set<Pair<String, String>> newTerms = builder.build();
+            termsCache.put( folderUri,
+                            digest,
+                            dependencyGeneration,
+                            newTerms );
+            return KObjectUtil.toKObject( path,
+                                          newTerms );
 
-            final Package pkg = getPackage( path );
+        } catch ( Exception e ) {
+            //Unexpected parsing or processing error
+            logger.error( "Unable to index '" + path.toUri().toString() + "'.",
+                          e.getMessage() );
+        }
 
-            if ( pkg == null ) {
-                logger.error( "Unable to index: " + path.toUri().toString() + ", package could not be calculated." );
-                return null;
-            }
+        return null;
+    }
 
-            JavaTypeIndexTerm.JAVA_TYPE javaTypeKind = null;
-            String javaTypeName;
-            DefaultIndexBuilder builder = new DefaultIndexBuilder( project,
-                                                                   pkg );
-
-            org.jboss.forge.roaster.model.JavaType<?> javaType = Roaster.parse( javaSource );
-            if ( javaType.getSyntaxErrors() == null || javaType.getSyntaxErrors().isEmpty() ) {
-
-                javaTypeName = javaType.getQualifiedName();
-                if ( javaType.isAnnotation() ) {
-                    javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.ANNOTATION;
-                } else if ( javaType.isInterface() ) {
-                    javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.INTERFACE;
-                } else if ( javaType.isEnum() ) {
-                    javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.ENUM;
-                } else {
-                    javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.CLASS;
-                    //complete class fields processing.
-                    addJavaTypeTerms( (JavaClassSource) javaType, builder, getProjectClassLoader( project ) );
-                }
+    private DefaultIndexBuilder makeIndexBuilder( final Path path,
+                                                  final KieProject project,
+                                                  final String javaSource ) {
+        if ( project == null ) {
+            logger.error( "Unable to index: " + path.toUri().toString() + ", project could not be calculated." );
+            return null;
+        }
 
-                builder.addGenerator( new JavaType( new ValueJavaTypeIndexTerm( javaTypeKind ) ) );
-                builder.addGenerator( new JavaTypeName( new ValueJavaTypeNameIndexTerm( javaTypeName ) ) );
+        final Package pkg = getPackage( path );
 
-                index = KObjectUtil.toKObject( path,
-                                               builder.build() );
+        if ( pkg == null ) {
+            logger.error( "Unable to index: " + path.toUri().toString() + ", package could not be calculated." );
+            return null;
+        }
 
-            }
+        final org.jboss.forge.roaster.model.JavaType<?> javaType = Roaster.parse( javaSource );
+        if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
+            return null;
+        }
 
-        } catch ( Exception e ) {
-            //Unexpected parsing or processing error
-            logger.error( "Unable to index '" + path.toUri().toString() + "'.",
-                          e.getMessage() );
+        JavaTypeIndexTerm.JAVA_TYPE javaTypeKind = null;
+        String javaTypeName;
+        DefaultIndexBuilder builder = new DefaultIndexBuilder( project,
+                                                               pkg );
+
+        javaTypeName = javaType.getQualifiedName();
+        if ( javaType.isAnnotation() ) {
+            javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.ANNOTATION;
+        } else if ( javaType.isInterface() ) {
+            javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.INTERFACE;
+        } else if ( javaType.isEnum() ) {
+            javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.ENUM;
+        } else {
+            javaTypeKind = JavaTypeIndexTerm.JAVA_TYPE.CLASS;
+            //complete class fields processing.
+            addJavaTypeTerms( (JavaClassSource) javaType, builder, getProjectClassLoader( project ) );
         }
 
-        return index;
+        builder.addGenerator( new JavaType( new ValueJavaTypeIndexTerm( javaTypeKind ) ) );
+        builder.addGenerator( new JavaTypeName( new ValueJavaTypeNameIndexTerm( javaTypeName ) ) );
+
+        return builder;
     }
 
     private void addJavaTypeTerms( final JavaClassSource javaClassSource,
@@ -253,8 +283,28 @@ public class JavaFileIndexer implements Indexer {
     }
 
     protected ClassLoader getProjectClassLoader( final KieProject project ) {
-        final KieModule module = builderCache.assertBuilder( project ).getKieModuleIgnoringErrors();
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
-        return classLoader;
+        return metaDataCache.getProjectClassLoader( project );
+    }
+
+    protected long getDependencyGeneration( final KieProject project ) {
+        return metaDataCache.getDependencyGeneration( project );
+    }
+
+    /**
+     * @return The number of files whose parsing was skipped because their content had already been indexed
+     */
+    public long getSkipCount() {
+        return termsCache.getSkipCount();
+    }
+
+    /**
+     * @return The number of files that were parsed
+     */
+    public long getParseCount() {
+        return termsCache.getParseCount();
+    }
+
+    private String getFolderUri( final Path path ) {
+        return ( path.getParent() == null ? path : path.getParent() ).toUri().toString();
     }
 }
@@ -49,6 +49,12 @@ public class TestJavaFileIndexer extends JavaFileIndexer implements TestIndexer<
         return this.getClass().getClassLoader();
     }
 
+    @Override
+    protected long getDependencyGeneration( final KieProject project ) {
+        //for testing purposes
+        return 0;
+    }
+
     @Override
     protected KieProject getProject( final Path path ) {
         final org.uberfire.backend.vfs.Path mockRoot = mock( org.uberfire.backend.vfs.Path.class );
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.NewPackageEvent;
+import org.guvnor.common.services.project.events.NewProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+
+/**
+ * Cache of folder listings shared by all users of the Project Explorer. Each listing records the folders it was read
+ * from and is evicted when a resource within one of those folders, or one of the folders themselves, is added,
+ * deleted, copied or renamed. The maximum number of listings can be set with the System Property
+ * {@link #MAX_ENTRIES_PROPERTY}.
+ */
+@ApplicationScoped
+public class ExplorerListingCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.explorer.listing.cache.size";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries = Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                                       DEFAULT_MAX_ENTRIES );
+
+    private final Map<String, Listing> listings = new LinkedHashMap<String, Listing>( 16,
+                                                                                      0.75f,
+                                                                                      true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, Listing> eldest ) {
+            return size() > maxEntries;
+        }
+    };
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * @param key The listing key
+     * @return A copy of the cached listing, or null if it is not cached
+     */
+    public synchronized List<FolderItem> get( final String key ) {
+        final Listing listing = listings.get( key );
+        if ( listing == null ) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return new ArrayList<FolderItem>( listing.items );
+    }
+
+    /**
+     * @param key The listing key
+     * @param folders The folders the listing was read from
+     * @param items The listing
+     */
+    public synchronized void put( final String key,
+                                  final Collection<Path> folders,
+                                  final List<FolderItem> items ) {
+        final Set<String> folderUris = new HashSet<String>();
+        for ( Path folder : folders ) {
+            if ( folder != null ) {
+                folderUris.add( folder.toURI() );
+            }
+        }
+        listings.put( key,
+                      new Listing( folderUris,
+                                   new ArrayList<FolderItem>( items ) ) );
+    }
+
+    /**
+     * Evict listings of the resource, its parent folders and, if the resource is a folder, the folders within it.
+     * @param resource The changed resource
+     */
+    public synchronized void invalidate( final Path resource ) {
+        if ( resource == null ) {
+            return;
+        }
+        final String uri = resource.toURI();
+        final Iterator<Listing> itr = listings.values().iterator();
+        while ( itr.hasNext() ) {
+            for ( String folderUri : itr.next().folders ) {
+                if ( isSameOrWithin( uri,
+                                     folderUri ) || isSameOrWithin( folderUri,
+                                                                    uri ) ) {
+                    itr.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        listings.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Path path : event.getBatch().keySet() ) {
+            invalidate( path );
+        }
+    }
+
+    public void onPackageAdded( @Observes final NewPackageEvent event ) {
+        invalidateAll();
+    }
+
+    public void onProjectAdded( @Observes final NewProjectEvent event ) {
+        invalidateAll();
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        invalidateAll();
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        invalidateAll();
+    }
+
+    private static boolean isSameOrWithin( final String uri,
+                                           final String folderUri ) {
+        return uri.equals( folderUri ) || uri.startsWith( folderUri.endsWith( "/" ) ? folderUri : folderUri + "/" );
+    }
+
+    private static class Listing {
+
+        private final Set<String> folders;
+        private final List<FolderItem> items;
+
+        private Listing( final Set<String> folders,
+                         final List<FolderItem> items ) {
+            this.folders = folders;
+            this.items = items;
+        }
+
+    }
+
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * In-memory store of users' Project Explorer navigation state. Changes are held in memory and written behind to the
+ * configuration file system; all changes made within an interval are written in a single batch, with only the latest
+ * state of each file written. The interval, in milliseconds, can be set with the System Property
+ * {@link #FLUSH_INTERVAL_PROPERTY}. An index of the files referencing each Project is maintained so navigation data
+ * of deleted or renamed Projects can be removed without reading every user's files. The index is held in memory only:
+ * it is completed by {@link #index(Collection)}, which reads every file not already known, so the first removal of a
+ * Project after each restart reads all users' files once.
+ */
+@ApplicationScoped
+public class ExplorerNavigationStore {
+
+    public static final String FLUSH_INTERVAL_PROPERTY = "org.kie.workbench.explorer.navigation.flush.interval";
+
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    //Unchanged state is evicted beyond this number of files; changed state is held until it has been written
+    private static final int MAX_CLEAN_ENTRIES = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ExplorerNavigationStore.class );
+
+    private IOService ioServiceConfig;
+
+    private final XStream xs = new XStream();
+
+    private final Map<Path, Entry> entries = new LinkedHashMap<Path, Entry>( 16,
+                                                                             0.75f,
+                                                                             true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Path, Entry> eldest ) {
+            return size() > MAX_CLEAN_ENTRIES && !eldest.getValue().dirty;
+        }
+    };
+
+    //Files referencing each Project, keyed by URI of the Project's pom.xml, and the reverse
+    private final Map<String, Set<Path>> projectFiles = new HashMap<String, Set<Path>>();
+    private final Map<Path, Set<String>> fileProjects = new HashMap<Path, Set<String>>();
+    private volatile boolean indexed = false;
+
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService flusher;
+
+    public ExplorerNavigationStore() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public ExplorerNavigationStore( @Named("configIO") final IOService ioServiceConfig ) {
+        this.ioServiceConfig = ioServiceConfig;
+    }
+
+    @PostConstruct
+    public void init() {
+        final long interval = Long.getLong( FLUSH_INTERVAL_PROPERTY,
+                                            DEFAULT_FLUSH_INTERVAL );
+        flusher = Executors.newSingleThreadScheduledExecutor( new ThreadFactory() {
+            @Override
+            public Thread newThread( final Runnable r ) {
+                final Thread t = new Thread( r,
+                                             "explorer-navigation-flusher" );
+                t.setDaemon( true );
+                return t;
+            }
+        } );
+        flusher.scheduleWithFixedDelay( new Runnable() {
+                                            @Override
+                                            public void run() {
+                                                //An uncaught failure would cancel all further flushes
+                                                try {
+                                                    flush();
+                                                } catch ( final Throwable t ) {
+                                                    LOGGER.error( "Can't write users' state navigation. Changes will be retried.",
+                                                                  t );
+                                                }
+                                            }
+                                        },
+                                        interval,
+                                        interval,
+                                        TimeUnit.MILLISECONDS );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if ( flusher != null ) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * @param path The user's navigation file
+     * @return A copy of the user's navigation data, or null if there is none
+     */
+    public UserExplorerData getUserData( final Path path ) {
+        final Object content = get( path );
+        return ( content instanceof UserExplorerData ? new UserExplorerData( (UserExplorerData) content ) : null );
+    }
+
+    /**
+     * @param path The user's last navigation file
+     * @return A copy of the user's last navigation data, or null if there is none
+     */
+    public UserExplorerLastData getLastData( final Path path ) {
+        final Object content = get( path );
+        return ( content instanceof UserExplorerLastData ? new UserExplorerLastData( (UserExplorerLastData) content ) : null );
+    }
+
+    public void putUserData( final Path path,
+                             final UserExplorerData data ) {
+        put( path,
+             new UserExplorerData( data ) );
+    }
+
+    public void putLastData( final Path path,
+                             final UserExplorerLastData data ) {
+        put( path,
+             new UserExplorerLastData( data ) );
+    }
+
+    /**
+     * @return true if all files have been added to the index of Project references
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Add all navigation files to the index of Project references. Files not yet known are read once.
+     * @param paths All users' navigation files
+     */
+    public void index( final Collection<Path> paths ) {
+        for ( Path path : paths ) {
+            final boolean known;
+            synchronized ( this ) {
+                known = fileProjects.containsKey( path );
+            }
+            if ( !known ) {
+                get( path );
+            }
+        }
+        indexed = true;
+    }
+
+    /**
+     * @param projectPomUri URI of the Project's pom.xml
+     * @return Navigation files referencing the Project
+     */
+    public synchronized Set<Path> getReferencingFiles( final String projectPomUri ) {
+        final Set<Path> paths = projectFiles.get( projectPomUri );
+        return ( paths == null ? Collections.<Path>emptySet() : new HashSet<Path>( paths ) );
+    }
+
+    /**
+     * Write all changes made since the last flush in a single batch.
+     */
+    public void flush() {
+        //Only one flush writes at a time so an older state cannot overwrite a newer one
+        synchronized ( flushLock ) {
+            final Map<Path, Object> changes = takeChanges();
+            if ( changes.isEmpty() ) {
+                return;
+            }
+
+            final Set<FileSystem> fileSystems = new HashSet<FileSystem>();
+            for ( Path path : changes.keySet() ) {
+                fileSystems.add( path.getFileSystem() );
+            }
+            final List<Path> failed = new ArrayList<Path>();
+            boolean completed = false;
+            try {
+                ioServiceConfig.startBatch( fileSystems.toArray( new FileSystem[ fileSystems.size() ] ) );
+                try {
+                    for ( Map.Entry<Path, Object> e : changes.entrySet() ) {
+                        try {
+                            ioServiceConfig.write( e.getKey(),
+                                                   xs.toXML( e.getValue() ) );
+                        } catch ( final Exception ex ) {
+                            LOGGER.error( "Can't serialize user's state navigation to " + e.getKey().toUri(),
+                                          ex );
+                            failed.add( e.getKey() );
+                        }
+                    }
+                } finally {
+                    ioServiceConfig.endBatch();
+                }
+                completed = true;
+
+            } finally {
+                //If the batch itself failed none of the changes can be assumed to have been written
+                markDirty( completed ? failed : changes.keySet(),
+                           changes );
+            }
+        }
+    }
+
+    private synchronized Map<Path, Object> takeChanges() {
+        final Map<Path, Object> changes = new LinkedHashMap<Path, Object>();
+        for ( Map.Entry<Path, Entry> e : entries.entrySet() ) {
+            if ( e.getValue().dirty ) {
+                changes.put( e.getKey(),
+                             e.getValue().content );
+                e.getValue().dirty = false;
+            }
+        }
+        return changes;
+    }
+
+    //Failed writes are retried with the next flush unless the state has since changed again
+    private synchronized void markDirty( final Collection<Path> failed,
+                                         final Map<Path, Object> changes ) {
+        for ( Path path : failed ) {
+            final Entry entry = entries.get( path );
+            if ( entry != null && entry.content == changes.get( path ) ) {
+                entry.dirty = true;
+            }
+        }
+    }
+
+    private Object get( final Path path ) {
+        synchronized ( this ) {
+            final Entry entry = entries.get( path );
+            if ( entry != null ) {
+                return entry.content;
+            }
+        }
+        final Object content = load( path );
+        synchronized ( this ) {
+            //Another thread may have changed the state whilst it was being loaded
+            final Entry entry = entries.get( path );
+            if ( entry != null ) {
+                return entry.content;
+            }
+            entries.put( path,
+                         new Entry( content,
+                                    false ) );
+            updateIndex( path,
+                         content );
+            return content;
+        }
+    }
+
+    private synchronized void put( final Path path,
+                                   final Object content ) {
+        entries.put( path,
+                     new Entry( content,
+                                true ) );
+        updateIndex( path,
+                     content );
+    }
+
+    //Called whilst holding the lock on this
+    private void updateIndex( final Path path,
+                              final Object content ) {
+        final Set<String> oldReferences = fileProjects.get( path );
+        if ( oldReferences != null ) {
+            for ( String projectPomUri : oldReferences ) {
+                final Set<Path> paths = projectFiles.get( projectPomUri );
+                if ( paths != null ) {
+                    paths.remove( path );
+                    if ( paths.isEmpty() ) {
+                        projectFiles.remove( projectPomUri );
+                    }
+                }
+            }
+        }
+        final Set<String> references;
+        if ( content instanceof UserExplorerData ) {
+            references = ( (UserExplorerData) content ).getProjectReferences();
+        } else if ( content instanceof UserExplorerLastData ) {
+            references = ( (UserExplorerLastData) content ).getProjectReferences();
+        } else {
+            references = Collections.emptySet();
+        }
+        fileProjects.put( path,
+                          references );
+        for ( String projectPomUri : references ) {
+            Set<Path> paths = projectFiles.get( projectPomUri );
+            if ( paths == null ) {
+                paths = new HashSet<Path>();
+                projectFiles.put( projectPomUri,
+                                  paths );
+            }
+            paths.add( path );
+        }
+    }
+
+    private Object load( final Path path ) {
+        try {
+            if ( ioServiceConfig.exists( path ) ) {
+                final String xml = ioServiceConfig.readAllString( path );
+                return xs.fromXML( xml );
+            }
+        } catch ( final Exception e ) {
+            LOGGER.warn( "Can't read user's state navigation from " + path.toUri(),
+                         e );
+        }
+        return null;
+    }
+
+    private static class Entry {
+
+        private final Object content;
+        private boolean dirty;
+
+        private Entry( final Object content,
+                       final boolean dirty ) {
+            this.content = content;
+            this.dirty = dirty;
+        }
+
+    }
+
+}
@@ -17,7 +17,6 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import com.google.common.collect.Lists;
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
 import org.guvnor.common.services.backend.file.LinkedRegularFileFilter;
 import org.guvnor.common.services.project.model.Package;
@@ -50,19 +49,20 @@ public class ExplorerServiceHelper {
 
     private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
     private LinkedRegularFileFilter regularFileFilter = new LinkedRegularFileFilter(dotFileFilter);
-    private XStream xs = new XStream();
 
     @Inject
     @Named("ioStrategy")
     private IOService ioService;
 
     @Inject
-    @Named("configIO")
-    private IOService ioServiceConfig;
+    private ExplorerNavigationStore navigationStore;
 
     @Inject
     private UserServicesImpl userServices;
 
+    @Inject
+    private ExplorerListingCache listingCache;
+
     public static FolderItem toFolderItem(final org.guvnor.common.services.project.model.Package pkg) {
         if (pkg == null) {
             return null;
@@ -120,32 +120,13 @@ public class ExplorerServiceHelper {
     }
 
     public FolderListing getFolderListing(final Path path) {
-        //Get list of files and folders contained in the path
-        final List<FolderItem> folderItems = new ArrayList<FolderItem>();
-
         //Scan upwards until the path exists (as the current path could have been deleted)
         org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
         while (!Files.exists(nioPath)) {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert(nioPath);
-        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPath,
-                dotFileFilter);
-        for (org.uberfire.java.nio.file.Path np : nioPaths) {
-            if (Files.isRegularFile(np)) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                final FolderItem folderItem = new FolderItem(p,
-                        p.getFileName(),
-                        FolderItemType.FILE);
-                folderItems.add(folderItem);
-            } else if (Files.isDirectory(np)) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                final FolderItem folderItem = new FolderItem(p,
-                        p.getFileName(),
-                        FolderItemType.FOLDER);
-                folderItems.add(folderItem);
-            }
-        }
+        final List<FolderItem> folderItems = getChildren(basePath);
 
         Collections.sort(folderItems, Sorters.ITEM_SORTER);
 
@@ -160,6 +141,12 @@ public class ExplorerServiceHelper {
             return emptyList();
         }
 
+        final String key = "package:" + pkg.getPackageMainSrcPath().toURI();
+        final List<FolderItem> cachedItems = listingCache.get(key);
+        if (cachedItems != null) {
+            return cachedItems;
+        }
+
         final Set<Package> childPackages = projectService.resolvePackages(pkg);
         for (final Package childPackage : childPackages) {
             folderItems.add(toFolderItem(childPackage));
@@ -172,6 +159,42 @@ public class ExplorerServiceHelper {
 
         Collections.sort(folderItems, Sorters.ITEM_SORTER);
 
+        listingCache.put(key,
+                Arrays.asList(pkg.getPackageMainSrcPath(),
+                        pkg.getPackageTestSrcPath(),
+                        pkg.getPackageMainResourcesPath(),
+                        pkg.getPackageTestResourcesPath()),
+                folderItems);
+
+        return folderItems;
+    }
+
+    /**
+     * Get the files and folders contained in a folder, excluding dot files.
+     * @param folderPath The folder
+     * @return The files and folders, in no particular order
+     */
+    public List<FolderItem> getChildren(final Path folderPath) {
+        final String key = "folder:" + folderPath.toURI();
+        final List<FolderItem> cachedItems = listingCache.get(key);
+        if (cachedItems != null) {
+            return cachedItems;
+        }
+
+        final List<FolderItem> folderItems = new ArrayList<FolderItem>();
+        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(Paths.convert(folderPath),
+                dotFileFilter);
+        for (org.uberfire.java.nio.file.Path np : nioPaths) {
+            final FolderItem folderItem = toFolderItem(np);
+            if (folderItem != null) {
+                folderItems.add(folderItem);
+            }
+        }
+
+        listingCache.put(key,
+                Collections.singleton(folderPath),
+                folderItems);
+
         return folderItems;
     }
 
@@ -246,22 +269,15 @@ public class ExplorerServiceHelper {
             lastContent.setOptions(options);
         }
         if (!content.isEmpty()) {
-            ioServiceConfig.write(userNav,
-                    xs.toXML(content));
-            ioServiceConfig.write(lastUserNav,
-                    xs.toXML(lastContent));
+            navigationStore.putUserData(userNav,
+                    content);
+            navigationStore.putLastData(lastUserNav,
+                    lastContent);
         }
     }
 
     public UserExplorerData loadUserContent(final org.uberfire.java.nio.file.Path path) {
-        try {
-            if (ioServiceConfig.exists(path)) {
-                final String xml = ioServiceConfig.readAllString(path);
-                return (UserExplorerData) xs.fromXML(xml);
-            }
-        } catch (final Exception e) {
-        }
-        return null;
+        return navigationStore.getUserData(path);
     }
 
     public UserExplorerData loadUserContent() {
@@ -284,13 +300,6 @@ public class ExplorerServiceHelper {
     }
 
     public UserExplorerLastData getLastContent(final org.uberfire.java.nio.file.Path path) {
-        try {
-            if (ioServiceConfig.exists(path)) {
-                final String xml = ioServiceConfig.readAllString(path);
-                return (UserExplorerLastData) xs.fromXML(xml);
-            }
-        } catch (final Exception e) {
-        }
-        return null;
+        return navigationStore.getLastData(path);
     }
 }
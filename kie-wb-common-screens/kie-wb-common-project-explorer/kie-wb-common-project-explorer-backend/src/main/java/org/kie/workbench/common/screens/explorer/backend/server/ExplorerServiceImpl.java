@@ -26,7 +26,6 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.guvnor.common.services.backend.file.CopyHelper;
 import org.guvnor.common.services.backend.file.RenameHelper;
@@ -80,16 +79,15 @@ public class ExplorerServiceImpl
     @Named("ioStrategy")
     private IOService ioService;
 
-    @Inject
-    @Named("configIO")
-    private IOService ioServiceConfig;
-
     @Inject
     private KieProjectService projectService;
 
     @Inject
     private ExplorerServiceHelper helper;
 
+    @Inject
+    private ExplorerNavigationStore navigationStore;
+
     @Inject
     private DeleteService deleteService;
 
@@ -126,8 +124,6 @@ public class ExplorerServiceImpl
     @AppResourcesAuthz
     private AuthorizationManager authorizationManager;
 
-    private XStream xs = new XStream();
-
     public ExplorerServiceImpl() {
         // Boilerplate sacrifice for Weld
     }
@@ -201,26 +197,17 @@ public class ExplorerServiceImpl
             final org.uberfire.java.nio.file.Path userNavPath = userServices.buildPath( "explorer", "user.nav" );
             final org.uberfire.java.nio.file.Path lastUserNavPath = userServices.buildPath( "explorer", "last.user.nav" );
 
-            SimpleAsyncExecutorService.getDefaultInstance().execute( new DescriptiveRunnable() {
-                @Override
-                public String getDescription() {
-                    return "Serialize Navigation State";
+            //Navigation state is held in memory and written behind, so can be stored whilst handling the request
+            try {
+                Package pkg = null;
+                if ( item.getItem() instanceof Package ) {
+                    pkg = (Package) item.getItem();
                 }
-
-                @Override
-                public void run() {
-                    try {
-                        Package pkg = null;
-                        if ( item.getItem() instanceof Package ) {
-                            pkg = (Package) item.getItem();
-                        }
-                        helper.store( userNavPath, lastUserNavPath, organizationalUnit,
-                                      repository, project, pkg, item, options );
-                    } catch ( final Exception e ) {
-                        LOGGER.error( "Can't serialize user's state navigation", e );
-                    }
-                }
-            } );
+                helper.store( userNavPath, lastUserNavPath, organizationalUnit,
+                              repository, project, pkg, item, options );
+            } catch ( final Exception e ) {
+                LOGGER.error( "Can't serialize user's state navigation", e );
+            }
         }
 
         return result;
@@ -407,28 +394,43 @@ public class ExplorerServiceImpl
         cleanup( event.getProject() );
     }
 
+    //Only the navigation data of users referencing the Project is changed, in the background. Changes are written in a
+    //single batch. The index is not persisted, so all users' navigation data is read the first time a Project is removed
+    //after each restart to build it
     private void cleanup( final Project project ) {
-        final Collection<org.uberfire.java.nio.file.Path> lastNavs = userServicesBackend.getAllUsersData( "explorer", "last.user.nav" );
-        final Collection<org.uberfire.java.nio.file.Path> userNavs = userServicesBackend.getAllUsersData( "explorer", "user.nav" );
-
-        for ( org.uberfire.java.nio.file.Path path : userNavs ) {
-            final UserExplorerData userContent = helper.loadUserContent( path );
-            if ( userContent != null ) {
-                if ( userContent.deleteProject( project ) ) {
-                    ioServiceConfig.write( path, xs.toXML( userContent ) );
-                }
+        SimpleAsyncExecutorService.getDefaultInstance().execute( new DescriptiveRunnable() {
+            @Override
+            public String getDescription() {
+                return "Cleanup Navigation State";
             }
-        }
 
-        for ( org.uberfire.java.nio.file.Path lastNav : lastNavs ) {
-            final UserExplorerLastData lastUserContent = helper.getLastContent( lastNav );
-            if ( lastUserContent != null ) {
-                if ( lastUserContent.deleteProject( project ) ) {
-                    ioServiceConfig.write( lastNav, xs.toXML( lastUserContent ) );
+            @Override
+            public void run() {
+                try {
+                    if ( !navigationStore.isIndexed() ) {
+                        final Collection<org.uberfire.java.nio.file.Path> paths = new ArrayList<org.uberfire.java.nio.file.Path>();
+                        paths.addAll( userServicesBackend.getAllUsersData( "explorer", "user.nav" ) );
+                        paths.addAll( userServicesBackend.getAllUsersData( "explorer", "last.user.nav" ) );
+                        navigationStore.index( paths );
+                    }
+
+                    for ( org.uberfire.java.nio.file.Path path : navigationStore.getReferencingFiles( project.getPomXMLPath().toURI() ) ) {
+                        final UserExplorerData userContent = navigationStore.getUserData( path );
+                        if ( userContent != null && userContent.deleteProject( project ) ) {
+                            navigationStore.putUserData( path, userContent );
+                        }
+                        final UserExplorerLastData lastUserContent = navigationStore.getLastData( path );
+                        if ( lastUserContent != null && lastUserContent.deleteProject( project ) ) {
+                            navigationStore.putLastData( path, lastUserContent );
+                        }
+                    }
+                    navigationStore.flush();
+
+                } catch ( final Exception e ) {
+                    LOGGER.error( "Can't cleanup user's state navigation", e );
                 }
             }
-
-        }
+        } );
     }
 
     public class OrganizationalUnitNotFoundForURI extends RuntimeException {
@@ -16,7 +16,6 @@
 
 package org.kie.workbench.common.screens.explorer.backend.server;
 
-import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
 import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.project.model.Project;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
@@ -35,8 +34,6 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
-import org.uberfire.commons.async.DescriptiveRunnable;
-import org.uberfire.commons.async.SimpleAsyncExecutorService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.Files;
@@ -56,8 +53,6 @@ public class ProjectExplorerContentResolver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProjectExplorerContentResolver.class);
 
-    private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
-
     @Inject
     @Named("ioStrategy")
     private IOService ioService;
@@ -194,23 +189,14 @@ public class ProjectExplorerContentResolver {
             _selectedPackage = null;
         }
 
-        SimpleAsyncExecutorService.getDefaultInstance().execute(new DescriptiveRunnable() {
-            @Override
-            public String getDescription() {
-                return "Serialize Navigation State";
-            }
-
-            @Override
-            public void run() {
-                try {
-                    helper.store(userNavPath, lastUserNavPath, _selectedOrganizationalUnit,
-                            _selectedRepository, _selectedProject,
-                            _selectedPackage, _selectedItem, options);
-                } catch (final Exception e) {
-                    LOGGER.error("Can't serialize user's state navigation", e);
-                }
-            }
-        });
+        //Navigation state is held in memory and written behind, so can be stored whilst handling the request
+        try {
+            helper.store(userNavPath, lastUserNavPath, _selectedOrganizationalUnit,
+                    _selectedRepository, _selectedProject,
+                    _selectedPackage, _selectedItem, options);
+        } catch (final Exception e) {
+            LOGGER.error("Can't serialize user's state navigation", e);
+        }
 
         return new ProjectExplorerContent(
                 new TreeSet<OrganizationalUnit>(Sorters.ORGANIZATIONAL_UNIT_SORTER) {{
@@ -344,14 +330,9 @@ public class ProjectExplorerContentResolver {
 
 
     private List<FolderItem> getSegmentSiblings(final Path path) {
-        final List<FolderItem> result = new ArrayList<FolderItem>();
-        org.uberfire.java.nio.file.Path nioParentPath = Paths.convert(path).getParent();
+        final org.uberfire.java.nio.file.Path nioParentPath = Paths.convert(path).getParent();
 
-        for (org.uberfire.java.nio.file.Path sibling : Files.newDirectoryStream(nioParentPath, dotFileFilter)) {
-            result.add(toFolderItem(sibling));
-        }
-
-        return result;
+        return helper.getChildren(Paths.convert(nioParentPath));
     }
 
     private List<FolderItem> getSegmentSiblings(final Package pkg) {
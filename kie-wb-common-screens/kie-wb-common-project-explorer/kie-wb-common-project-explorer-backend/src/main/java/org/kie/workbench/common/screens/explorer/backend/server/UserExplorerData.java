@@ -2,6 +2,7 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,6 +27,25 @@ public class UserExplorerData {
     public UserExplorerData() {
     }
 
+    public UserExplorerData( final UserExplorerData data ) {
+        this.organizationalUnit = data.organizationalUnit;
+        this.content.putAll( data.content );
+        copyKeys( data.organizationalUnitKeys,
+                  organizationalUnitKeys );
+        copyKeys( data.repositoryKeys,
+                  repositoryKeys );
+        copyKeys( data.projectKeys,
+                  projectKeys );
+    }
+
+    private static void copyKeys( final Map<String, Set<String>> source,
+                                  final Map<String, Set<String>> target ) {
+        for ( Map.Entry<String, Set<String>> e : source.entrySet() ) {
+            target.put( e.getKey(),
+                        new HashSet<String>( e.getValue() ) );
+        }
+    }
+
     public OrganizationalUnit getOrganizationalUnit() {
         return organizationalUnit;
     }
@@ -183,19 +203,44 @@ public class UserExplorerData {
         }
     }
 
+    /**
+     * @return URIs of the pom.xml of Projects whose navigation data is held
+     */
+    public Set<String> getProjectReferences() {
+        return new HashSet<String>( projectKeys.keySet() );
+    }
+
     public boolean deleteProject( final Project project ) {
         boolean changed = false;
         final String projectRef = project.getPomXMLPath().toURI();
 
-        if ( projectKeys.containsKey( projectRef ) ) {
+        //The Project's entry is removed so its references, and the index of the files referencing it, do not grow
+        final Set<String> keys2Delete = projectKeys.remove( projectRef );
+        if ( keys2Delete != null ) {
             changed = true;
-            for ( final String key2Delete : projectKeys.get( projectRef ) ) {
+            for ( final String key2Delete : keys2Delete ) {
                 content.remove( key2Delete );
             }
+            removeKeys( organizationalUnitKeys,
+                        keys2Delete );
+            removeKeys( repositoryKeys,
+                        keys2Delete );
         }
         return changed;
     }
 
+    private static void removeKeys( final Map<String, Set<String>> index,
+                                    final Set<String> keys ) {
+        final Iterator<Map.Entry<String, Set<String>>> itr = index.entrySet().iterator();
+        while ( itr.hasNext() ) {
+            final Set<String> indexedKeys = itr.next().getValue();
+            indexedKeys.removeAll( keys );
+            if ( indexedKeys.isEmpty() ) {
+                itr.remove();
+            }
+        }
+    }
+
     private static class FolderItemKey extends Triple<String, String, String> {
 
 
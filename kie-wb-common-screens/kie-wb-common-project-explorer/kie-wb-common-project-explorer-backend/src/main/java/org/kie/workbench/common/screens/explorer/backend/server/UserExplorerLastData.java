@@ -18,6 +18,15 @@ public class UserExplorerLastData {
     private LastFolderItem lastFolderItem = null;
     private Set<Option> options = new HashSet<Option>();
 
+    public UserExplorerLastData() {
+    }
+
+    public UserExplorerLastData( final UserExplorerLastData data ) {
+        this.lastPackage = data.lastPackage;
+        this.lastFolderItem = data.lastFolderItem;
+        this.options.addAll( data.options );
+    }
+
     public boolean isDataEmpty() {
         return lastPackage == null && lastFolderItem == null;
     }
@@ -57,6 +66,20 @@ public class UserExplorerLastData {
         return options;
     }
 
+    /**
+     * @return URIs of the pom.xml of Projects whose navigation data is held
+     */
+    public Set<String> getProjectReferences() {
+        final Set<String> references = new HashSet<String>();
+        if ( lastPackage != null && lastPackage.getProject() != null ) {
+            references.add( lastPackage.getProject().getPomXMLPath().toURI() );
+        }
+        if ( lastFolderItem != null && lastFolderItem.getProject() != null ) {
+            references.add( lastFolderItem.getProject().getPomXMLPath().toURI() );
+        }
+        return references;
+    }
+
     public boolean deleteProject( final Project project ) {
         boolean changed = false;
         if ( lastPackage != null && lastPackage.getProject().equals( project ) ) {
@@ -60,6 +60,9 @@ public class PackageDataModelOracleIncrementalPayload {
     // A map of FactTypes {factType, isCollection} to determine which Fact Types are Collections.
     private Map<String, Boolean> collectionTypes = new HashMap<String, Boolean>();
 
+    //Map {factType#fieldName, String[]} of Java enumerations of the FactType's fields
+    private Map<String, String[]> javaEnumDefinitions = new HashMap<String, String[]>();
+
     public Map<String, ModelField[]> getModelFields() {
         return modelFields;
     }
@@ -132,4 +135,12 @@ public class PackageDataModelOracleIncrementalPayload {
         this.collectionTypes = collectionTypes;
     }
 
+    public Map<String, String[]> getJavaEnumDefinitions() {
+        return javaEnumDefinitions;
+    }
+
+    public void setJavaEnumDefinitions( final Map<String, String[]> javaEnumDefinitions ) {
+        this.javaEnumDefinitions = javaEnumDefinitions;
+    }
+
 }
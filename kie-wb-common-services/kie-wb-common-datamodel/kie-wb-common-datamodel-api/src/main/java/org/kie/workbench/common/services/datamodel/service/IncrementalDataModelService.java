@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.datamodel.service;
 
+import java.util.List;
+
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
@@ -30,4 +32,15 @@ public interface IncrementalDataModelService {
                                                          final Imports imports,
                                                          final String factType );
 
+    /**
+     * Get incremental updates for a number of Fact Types in a single payload
+     * @param resourcePath Path of the resource for which the DataModelOracle was created
+     * @param imports Imports of the resource
+     * @param factTypes Fact Types, either simple or fully qualified class names
+     * @return Content of all Fact Types that were recognised
+     */
+    PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                         final Imports imports,
+                                                         final List<String> factTypes );
+
 }
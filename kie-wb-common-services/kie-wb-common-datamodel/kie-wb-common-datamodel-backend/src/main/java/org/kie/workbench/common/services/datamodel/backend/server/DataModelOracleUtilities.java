@@ -39,6 +39,25 @@ import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleI
  */
 public class DataModelOracleUtilities {
 
+    private static final PackageDataModelOracleBaselineCache BASELINE_CACHE = new PackageDataModelOracleBaselineCache();
+
+    private static final PackageDataModelOracleBaselineCache.PayloadBuilder BASELINE_BUILDER = new PackageDataModelOracleBaselineCache.PayloadBuilder() {
+
+        @Override
+        public Map<String, ModelField[]> buildLazyModelFields( final PackageDataModelOracle oracle ) {
+            return setupLazyModelFields( oracle.getProjectModelFields() );
+        }
+
+        @Override
+        public PackageDataModelOracleBaselinePayload buildPayload( final PackageDataModelOracle oracle,
+                                                                   final Set<String> usedFullyQualifiedClassNames,
+                                                                   final Map<String, ModelField[]> lazyModelFields ) {
+            return makeBaselineContent( oracle,
+                                        usedFullyQualifiedClassNames,
+                                        lazyModelFields );
+        }
+    };
+
     /**
      * Convenience method to get an array of all fully qualified class names available in a project
      * @param oracle The DMO representing a project
@@ -46,7 +65,7 @@ public class DataModelOracleUtilities {
      */
     public static String[] getFactTypes( final ProjectDataModelOracle oracle ) {
 
-        List<String> packageNames = oracle.getProjectPackageNames();
+        final Set<String> packageNames = new HashSet<String>( oracle.getProjectPackageNames() );
 
         final Map<String, ModelField[]> modelFields = oracle.getProjectModelFields();
         final List<String> types = new ArrayList<String>();
@@ -209,84 +228,140 @@ public class DataModelOracleUtilities {
         return oracle.getProjectTypeSources().get( fullyQualifiedClassName );
     }
 
+    /**
+     * Populate a baseline payload for a resource. The filtered content is cached for each Package DataModelOracle and
+     * set of used Fact Types, so repeated requests for the same Package are served without filtering the oracle again.
+     * Each payload receives its own copy of the cached maps.
+     * @param oracle The DMO representing a package
+     * @param dataModel The payload to populate
+     * @param usedFullyQualifiedClassNames Fully qualified class names of the Fact Types used by the resource
+     */
     public static void populateDataModel( final PackageDataModelOracle oracle,
                                           final PackageDataModelOracleBaselinePayload dataModel,
                                           final Set<String> usedFullyQualifiedClassNames ) {
+        final PackageDataModelOracleBaselinePayload content = BASELINE_CACHE.getPayload( oracle,
+                                                                                         usedFullyQualifiedClassNames,
+                                                                                         BASELINE_BUILDER );
         dataModel.setProjectName( oracle.getProjectName() );
         dataModel.setPackageName( oracle.getPackageName() );
-        dataModel.setModelFields( setupModelFields( usedFullyQualifiedClassNames,
-                                                    oracle.getProjectModelFields(),
-                                                    oracle.getPackageGlobals() ) );
-        dataModel.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
-                                                                      oracle.getProjectFieldParametersType() ) );
-        dataModel.setEventTypes( filterEventTypes( usedFullyQualifiedClassNames,
-                                                   oracle.getProjectEventTypes() ) );
-        dataModel.setTypeSources( filterTypeSources( usedFullyQualifiedClassNames,
-                                                     oracle.getProjectTypeSources() ) );
-        dataModel.setSuperTypes( filterSuperTypes( usedFullyQualifiedClassNames,
-                                                   oracle.getProjectSuperTypes() ) );
-        dataModel.setTypeAnnotations( filterTypeAnnotations( usedFullyQualifiedClassNames,
-                                                             oracle.getProjectTypeAnnotations() ) );
-        dataModel.setTypeFieldsAnnotations( filterTypeFieldsAnnotations( usedFullyQualifiedClassNames,
-                                                                         oracle.getProjectTypeFieldsAnnotations() ) );
+        dataModel.setModelFields( new HashMap<String, ModelField[]>( content.getModelFields() ) );
+        dataModel.setFieldParametersType( new HashMap<String, String>( content.getFieldParametersType() ) );
+        dataModel.setEventTypes( new HashMap<String, Boolean>( content.getEventTypes() ) );
+        dataModel.setTypeSources( new HashMap<String, TypeSource>( content.getTypeSources() ) );
+        dataModel.setSuperTypes( new HashMap<String, List<String>>( content.getSuperTypes() ) );
+        dataModel.setTypeAnnotations( new HashMap<String, Set<Annotation>>( content.getTypeAnnotations() ) );
+        dataModel.setTypeFieldsAnnotations( new HashMap<String, Map<String, Set<Annotation>>>( content.getTypeFieldsAnnotations() ) );
         dataModel.setJavaEnumDefinitions( oracle.getProjectJavaEnumDefinitions() );
         dataModel.setWorkbenchEnumDefinitions( oracle.getPackageWorkbenchDefinitions() );
-        dataModel.setMethodInformation( filterMethodInformation( usedFullyQualifiedClassNames,
-                                                                 oracle.getProjectMethodInformation() ) );
-        dataModel.setCollectionTypes( filterCollectionTypes( usedFullyQualifiedClassNames,
-                                                             oracle.getProjectCollectionTypes() ) );
+        dataModel.setMethodInformation( new HashMap<String, List<MethodInfo>>( content.getMethodInformation() ) );
+        dataModel.setCollectionTypes( new HashMap<String, Boolean>( content.getCollectionTypes() ) );
         dataModel.setDslConditionSentences( oracle.getPackageDslConditionSentences() );
         dataModel.setDslActionSentences( oracle.getPackageDslActionSentences() );
         dataModel.setGlobalTypes( oracle.getPackageGlobals() );
         dataModel.setPackageNames( oracle.getProjectPackageNames() );
     }
 
-    public static void populateDataModel( final PackageDataModelOracle oracle,
+    //Build the filtered content of a baseline payload
+    private static PackageDataModelOracleBaselinePayload makeBaselineContent( final PackageDataModelOracle oracle,
+                                                                             final Set<String> usedFullyQualifiedClassNames,
+                                                                             final Map<String, ModelField[]> lazyModelFields ) {
+        final PackageDataModelOracleBaselinePayload content = new PackageDataModelOracleBaselinePayload();
+        content.setModelFields( setupModelFields( usedFullyQualifiedClassNames,
+                                                  oracle.getProjectModelFields(),
+                                                  oracle.getPackageGlobals(),
+                                                  lazyModelFields ) );
+        content.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
+                                                                    oracle.getProjectFieldParametersType() ) );
+        content.setEventTypes( filterEventTypes( usedFullyQualifiedClassNames,
+                                                 oracle.getProjectEventTypes() ) );
+        content.setTypeSources( filterTypeSources( usedFullyQualifiedClassNames,
+                                                   oracle.getProjectTypeSources() ) );
+        content.setSuperTypes( filterSuperTypes( usedFullyQualifiedClassNames,
+                                                 oracle.getProjectSuperTypes() ) );
+        content.setTypeAnnotations( filterTypeAnnotations( usedFullyQualifiedClassNames,
+                                                           oracle.getProjectTypeAnnotations() ) );
+        content.setTypeFieldsAnnotations( filterTypeFieldsAnnotations( usedFullyQualifiedClassNames,
+                                                                       oracle.getProjectTypeFieldsAnnotations() ) );
+        content.setMethodInformation( filterMethodInformation( usedFullyQualifiedClassNames,
+                                                               oracle.getProjectMethodInformation() ) );
+        content.setCollectionTypes( filterCollectionTypes( usedFullyQualifiedClassNames,
+                                                           oracle.getProjectCollectionTypes() ) );
+        return content;
+    }
+
+    public static void populateDataModel( final ProjectDataModelOracle oracle,
                                           final PackageDataModelOracleIncrementalPayload dataModel,
                                           final String usedFullyQualifiedClassName ) {
         final Set<String> usedFullyQualifiedClassNames = new HashSet<String>();
         usedFullyQualifiedClassNames.add( usedFullyQualifiedClassName );
-        dataModel.setModelFields( filterModelFields( usedFullyQualifiedClassNames,
-                                                     oracle.getProjectModelFields() ) );
-        dataModel.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
-                                                                      oracle.getProjectFieldParametersType() ) );
-        dataModel.setEventTypes( filterEventTypes( usedFullyQualifiedClassNames,
-                                                   oracle.getProjectEventTypes() ) );
-        dataModel.setTypeSources( filterTypeSources( usedFullyQualifiedClassNames,
-                                                     oracle.getProjectTypeSources() ) );
-        dataModel.setSuperTypes( filterSuperTypes( usedFullyQualifiedClassNames,
-                                                   oracle.getProjectSuperTypes() ) );
-        dataModel.setTypeAnnotations( filterTypeAnnotations( usedFullyQualifiedClassNames,
-                                                             oracle.getProjectTypeAnnotations() ) );
-        dataModel.setTypeFieldsAnnotations( filterTypeFieldsAnnotations( usedFullyQualifiedClassNames,
-                                                                         oracle.getProjectTypeFieldsAnnotations() ) );
-        dataModel.setMethodInformation( filterMethodInformation( usedFullyQualifiedClassNames,
-                                                                 oracle.getProjectMethodInformation() ) );
-        dataModel.setCollectionTypes( filterCollectionTypes( usedFullyQualifiedClassNames,
-                                                             oracle.getProjectCollectionTypes() ) );
+        populateDataModel( oracle,
+                           dataModel,
+                           usedFullyQualifiedClassNames );
+    }
+
+    /**
+     * Add the content of a number of Fact Types to an incremental payload. Content already in the payload, for
+     * example that of other Fact Types, is retained. Each map of the ProjectDMO is filtered once for all Fact Types.
+     * @param oracle The DMO representing a project
+     * @param dataModel The payload to which content is added
+     * @param usedFullyQualifiedClassNames Fully qualified class names of the Fact Types
+     */
+    public static void populateDataModel( final ProjectDataModelOracle oracle,
+                                          final PackageDataModelOracleIncrementalPayload dataModel,
+                                          final Set<String> usedFullyQualifiedClassNames ) {
+        dataModel.getModelFields().putAll( filterModelFields( usedFullyQualifiedClassNames,
+                                                              oracle.getProjectModelFields() ) );
+        dataModel.getFieldParametersType().putAll( filterFieldParametersTypes( usedFullyQualifiedClassNames,
+                                                                               oracle.getProjectFieldParametersType() ) );
+        dataModel.getEventTypes().putAll( filterEventTypes( usedFullyQualifiedClassNames,
+                                                            oracle.getProjectEventTypes() ) );
+        dataModel.getTypeSources().putAll( filterTypeSources( usedFullyQualifiedClassNames,
+                                                              oracle.getProjectTypeSources() ) );
+        dataModel.getSuperTypes().putAll( filterSuperTypes( usedFullyQualifiedClassNames,
+                                                            oracle.getProjectSuperTypes() ) );
+        dataModel.getTypeAnnotations().putAll( filterTypeAnnotations( usedFullyQualifiedClassNames,
+                                                                      oracle.getProjectTypeAnnotations() ) );
+        dataModel.getTypeFieldsAnnotations().putAll( filterTypeFieldsAnnotations( usedFullyQualifiedClassNames,
+                                                                                  oracle.getProjectTypeFieldsAnnotations() ) );
+        dataModel.getMethodInformation().putAll( filterMethodInformation( usedFullyQualifiedClassNames,
+                                                                          oracle.getProjectMethodInformation() ) );
+        dataModel.getCollectionTypes().putAll( filterCollectionTypes( usedFullyQualifiedClassNames,
+                                                                      oracle.getProjectCollectionTypes() ) );
+        dataModel.getJavaEnumDefinitions().putAll( filterJavaEnumDefinitions( usedFullyQualifiedClassNames,
+                                                                              oracle.getProjectJavaEnumDefinitions() ) );
     }
 
-    //Setup Model Fields for lazy loading client-side
+    //Setup Model Fields for lazy loading client-side. Every type is a lazy proxy except those used and Globals.
     private static Map<String, ModelField[]> setupModelFields( final Set<String> usedFullyQualifiedClassNames,
                                                                final Map<String, ModelField[]> projectModelFields,
-                                                               final Map<String, String> packageGlobals ) {
-        final Map<String, ModelField[]> scopedModelFields = new HashMap<String, ModelField[]>();
-        for ( Map.Entry<String, ModelField[]> e : projectModelFields.entrySet() ) {
-            final String mfQualifiedType = e.getKey();
-            if ( usedFullyQualifiedClassNames.contains( mfQualifiedType ) ) {
-                scopedModelFields.put( mfQualifiedType,
-                                       e.getValue() );
-            } else if ( packageGlobals.containsValue( mfQualifiedType ) ) {
+                                                               final Map<String, String> packageGlobals,
+                                                               final Map<String, ModelField[]> lazyModelFields ) {
+        final Map<String, ModelField[]> scopedModelFields = new HashMap<String, ModelField[]>( lazyModelFields );
+        for ( String mfQualifiedType : usedFullyQualifiedClassNames ) {
+            if ( projectModelFields.containsKey( mfQualifiedType ) ) {
                 scopedModelFields.put( mfQualifiedType,
-                                       e.getValue() );
-            } else {
+                                       projectModelFields.get( mfQualifiedType ) );
+            }
+        }
+        for ( String mfQualifiedType : packageGlobals.values() ) {
+            if ( projectModelFields.containsKey( mfQualifiedType ) ) {
                 scopedModelFields.put( mfQualifiedType,
-                                       makeLazyProxyModelField( e.getValue() ) );
+                                       projectModelFields.get( mfQualifiedType ) );
             }
         }
         return scopedModelFields;
     }
 
+    //Lazy proxies of every type's Model Fields, shared by all baseline payloads of a Package DataModelOracle
+    private static Map<String, ModelField[]> setupLazyModelFields( final Map<String, ModelField[]> projectModelFields ) {
+        final Map<String, ModelField[]> lazyModelFields = new HashMap<String, ModelField[]>();
+        for ( Map.Entry<String, ModelField[]> e : projectModelFields.entrySet() ) {
+            lazyModelFields.put( e.getKey(),
+                                 makeLazyProxyModelField( e.getValue() ) );
+        }
+        return lazyModelFields;
+    }
+
     //AsyncPackageDataModelOracle.getFactNameFromType() uses THIS to determine the simple Type from a FQCN.
     //Therefore ensure we provide this minimal information for every Type in the DMO to prevent getFactNameFromType()
     //needing a callback to the server which makes things more complicated than really needed.
@@ -447,6 +522,22 @@ public class DataModelOracleUtilities {
         return scopedFieldParametersType;
     }
 
+    //Filter Java Enum Definitions by the types used
+    private static Map<String, String[]> filterJavaEnumDefinitions( final Set<String> usedFullyQualifiedClassNames,
+                                                                    final Map<String, String[]> projectJavaEnumDefinitions ) {
+        final Map<String, String[]> scopedJavaEnumDefinitions = new HashMap<String, String[]>();
+        for ( Map.Entry<String, String[]> e : projectJavaEnumDefinitions.entrySet() ) {
+            final String fieldName = e.getKey();
+            final String fFieldName_QualifiedType = getQualifiedTypeFromEncodedFieldName( fieldName );
+            if ( isTypeUsed( fFieldName_QualifiedType,
+                             usedFullyQualifiedClassNames ) ) {
+                scopedJavaEnumDefinitions.put( fieldName,
+                                               e.getValue() );
+            }
+        }
+        return scopedJavaEnumDefinitions;
+    }
+
     private static String getQualifiedTypeFromEncodedFieldName( final String encodedFieldName ) {
         String typeName = encodedFieldName;
         int hashIndex = typeName.lastIndexOf( "#" );
@@ -15,6 +15,10 @@
  */
 package org.kie.workbench.common.services.datamodel.backend.server;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -22,10 +26,12 @@ import javax.inject.Named;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.guvnor.common.services.project.model.Package;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUProjectDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
 import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
 import org.kie.workbench.common.services.shared.project.KieProject;
@@ -42,13 +48,18 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
 
     private LRUDataModelOracleCache cachePackages;
 
+    private LRUProjectDataModelOracleCache cacheProjects;
+
     private KieProjectService projectService;
 
     @Inject
     public IncrementalDataModelServiceImpl( @Named("PackageDataModelOracleCache") final LRUDataModelOracleCache cachePackages,
+                                            @Named("ProjectDataModelOracleCache") final LRUProjectDataModelOracleCache cacheProjects,
                                             final KieProjectService projectService ) {
         this.cachePackages = PortablePreconditions.checkNotNull( "cachePackages",
                                                                  cachePackages );
+        this.cacheProjects = PortablePreconditions.checkNotNull( "cacheProjects",
+                                                                 cacheProjects );
         this.projectService = PortablePreconditions.checkNotNull( "projectService",
                                                                   projectService );
     }
@@ -67,6 +78,30 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
         PortablePreconditions.checkNotNull( "factType",
                                             factType );
 
+        return makeUpdates( resourcePath,
+                            imports,
+                            Collections.singletonList( factType ) );
+    }
+
+    @Override
+    public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                final Imports imports,
+                                                                final List<String> factTypes ) {
+        PortablePreconditions.checkNotNull( "resourcePath",
+                                            resourcePath );
+        PortablePreconditions.checkNotNull( "imports",
+                                            imports );
+        PortablePreconditions.checkNotNull( "factTypes",
+                                            factTypes );
+
+        return makeUpdates( resourcePath,
+                            imports,
+                            factTypes );
+    }
+
+    private PackageDataModelOracleIncrementalPayload makeUpdates( final Path resourcePath,
+                                                                  final Imports imports,
+                                                                  final List<String> factTypes ) {
         final PackageDataModelOracleIncrementalPayload dataModel = new PackageDataModelOracleIncrementalPayload();
 
         try {
@@ -81,42 +116,73 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
                 return dataModel;
             }
 
-            //Get the fully qualified class name of the fact type
-            String fullyQualifiedClassName = factType;
-
             //Retrieve (or build) oracle and populate incremental content
             final PackageDataModelOracle oracle = cachePackages.assertPackageDataModelOracle( project,
                                                                                               pkg );
 
-            // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                for ( Import imp : imports.getImports() ) {
-                    if ( imp.getType().endsWith( factType ) ) {
-                        fullyQualifiedClassName = imp.getType();
-                        break;
-                    }
+            //If the Project oracle was built lazily each FactType's fields, methods etc are resolved on demand. The
+            //remaining FactTypes are populated from the Package oracle together, filtering its content only once.
+            final Set<String> fullyQualifiedClassNames = new HashSet<String>();
+            for ( String factType : factTypes ) {
+                final String fullyQualifiedClassName = resolveFullyQualifiedClassName( oracle,
+                                                                                       pkg,
+                                                                                       imports,
+                                                                                       factType );
+                //If the FactType isn't recognised it is omitted from the payload
+                if ( fullyQualifiedClassName == null ) {
+                    continue;
                 }
-            }
 
-            //If the FactType isn't recognised try using the Package Name
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
+                final ProjectDataModelOracle factTypeOracle = cacheProjects.resolveFactType( project,
+                                                                                             fullyQualifiedClassName );
+                if ( factTypeOracle == null ) {
+                    fullyQualifiedClassNames.add( fullyQualifiedClassName );
+                } else {
+                    DataModelOracleUtilities.populateDataModel( factTypeOracle,
+                                                                dataModel,
+                                                                fullyQualifiedClassName );
+                }
             }
 
-            //If the FactType still isn't recognised return an empty payload
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                return dataModel;
+            if ( !fullyQualifiedClassNames.isEmpty() ) {
+                DataModelOracleUtilities.populateDataModel( oracle,
+                                                            dataModel,
+                                                            fullyQualifiedClassNames );
             }
-
-            DataModelOracleUtilities.populateDataModel( oracle,
-                                                        dataModel,
-                                                        fullyQualifiedClassName );
             return dataModel;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
+    }
 
+    //Get the fully qualified class name of a FactType, or null if the FactType is not known to the DataModelOracle
+    private String resolveFullyQualifiedClassName( final PackageDataModelOracle oracle,
+                                                   final Package pkg,
+                                                   final Imports imports,
+                                                   final String factType ) {
+        String fullyQualifiedClassName = factType;
+
+        // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            for ( Import imp : imports.getImports() ) {
+                if ( imp.getType().endsWith( factType ) ) {
+                    fullyQualifiedClassName = imp.getType();
+                    break;
+                }
+            }
+        }
+
+        //If the FactType isn't recognised try using the Package Name
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
+        }
+
+        //If the FactType still isn't recognised return null
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            return null;
+        }
+        return fullyQualifiedClassName;
     }
 
     private KieProject resolveProject( final Path resourcePath ) {
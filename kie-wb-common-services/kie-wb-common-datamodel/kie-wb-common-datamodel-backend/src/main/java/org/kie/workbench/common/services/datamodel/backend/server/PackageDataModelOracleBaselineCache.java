@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleBaselinePayload;
+
+/**
+ * Cache of the content of baseline payloads built from Package DataModelOracles. A Package DataModelOracle is
+ * immutable once built and is rebuilt, as a new instance, whenever its content changes; each instance is therefore a
+ * generation of the Package's content. Entries are keyed by that instance and discarded once it is garbage collected.
+ * For each generation the lazy-loading skeleton of Model Fields is built once and shared by every payload, and the
+ * filtered content for the most recently used sets of Fact Types is retained.
+ */
+class PackageDataModelOracleBaselineCache {
+
+    static final int MAX_PAYLOADS_PER_PACKAGE = 20;
+
+    private final Map<PackageDataModelOracle, Entry> entries = new WeakHashMap<PackageDataModelOracle, Entry>();
+
+    /**
+     * Get the filtered content of a baseline payload. The payload is shared and must not be modified.
+     * @param oracle The Package DataModelOracle
+     * @param usedFullyQualifiedClassNames Fully qualified class names of Fact Types used by the resource
+     * @param builder Builds the content on a cache miss
+     * @return The filtered content
+     */
+    PackageDataModelOracleBaselinePayload getPayload( final PackageDataModelOracle oracle,
+                                                      final Set<String> usedFullyQualifiedClassNames,
+                                                      final PayloadBuilder builder ) {
+        final Set<String> key = Collections.unmodifiableSet( new HashSet<String>( usedFullyQualifiedClassNames ) );
+        final Entry entry = getEntry( oracle );
+        PackageDataModelOracleBaselinePayload payload = entry.getPayload( key );
+        if ( payload != null ) {
+            return payload;
+        }
+
+        //Content is built outside of the lock. Concurrent misses for the same key build equivalent content.
+        Map<String, ModelField[]> lazyModelFields = entry.getLazyModelFields();
+        if ( lazyModelFields == null ) {
+            lazyModelFields = builder.buildLazyModelFields( oracle );
+            entry.setLazyModelFields( lazyModelFields );
+        }
+        payload = builder.buildPayload( oracle,
+                                        key,
+                                        lazyModelFields );
+        entry.setPayload( key,
+                          payload );
+        return payload;
+    }
+
+    int size() {
+        synchronized ( entries ) {
+            return entries.size();
+        }
+    }
+
+    private Entry getEntry( final PackageDataModelOracle oracle ) {
+        synchronized ( entries ) {
+            Entry entry = entries.get( oracle );
+            if ( entry == null ) {
+                entry = new Entry();
+                entries.put( oracle,
+                             entry );
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Builds cached content. Implementations must not retain the Package DataModelOracle.
+     */
+    interface PayloadBuilder {
+
+        Map<String, ModelField[]> buildLazyModelFields( final PackageDataModelOracle oracle );
+
+        PackageDataModelOracleBaselinePayload buildPayload( final PackageDataModelOracle oracle,
+                                                            final Set<String> usedFullyQualifiedClassNames,
+                                                            final Map<String, ModelField[]> lazyModelFields );
+
+    }
+
+    //Content cached for one generation of a Package DataModelOracle. This must not reference the oracle itself.
+    private static class Entry {
+
+        private Map<String, ModelField[]> lazyModelFields;
+
+        private final Map<Set<String>, PackageDataModelOracleBaselinePayload> payloads = new LinkedHashMap<Set<String>, PackageDataModelOracleBaselinePayload>( MAX_PAYLOADS_PER_PACKAGE,
+                                                                                                                                                                  0.75f,
+                                                                                                                                                                  true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<Set<String>, PackageDataModelOracleBaselinePayload> eldest ) {
+                return size() > MAX_PAYLOADS_PER_PACKAGE;
+            }
+        };
+
+        synchronized Map<String, ModelField[]> getLazyModelFields() {
+            return lazyModelFields;
+        }
+
+        synchronized void setLazyModelFields( final Map<String, ModelField[]> lazyModelFields ) {
+            this.lazyModelFields = lazyModelFields;
+        }
+
+        synchronized PackageDataModelOracleBaselinePayload getPayload( final Set<String> usedFullyQualifiedClassNames ) {
+            return payloads.get( usedFullyQualifiedClassNames );
+        }
+
+        synchronized void setPayload( final Set<String> usedFullyQualifiedClassNames,
+                                      final PackageDataModelOracleBaselinePayload payload ) {
+            payloads.put( usedFullyQualifiedClassNames,
+                          payload );
+        }
+
+    }
+
+}
@@ -1,32 +1,21 @@
 package org.kie.workbench.common.services.datamodel.backend.server.builder.packages;
 
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.drools.compiler.lang.dsl.DSLMappingEntry;
-import org.drools.compiler.lang.dsl.DSLTokenizedMappingFile;
 import org.drools.workbench.models.commons.backend.oracle.PackageDataModelOracleImpl;
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.drools.workbench.models.datamodel.rule.DSLSentence;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumLoader;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.GlobalsParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.uberfire.commons.data.Pair;
 
 /**
  * Builder for PackageDataModelOracle
  */
 public final class PackageDataModelOracleBuilder {
 
-    private static final Logger log = LoggerFactory.getLogger( PackageDataModelOracleBuilder.class );
-
     private final String packageName;
 
     private PackageDataModelOracleImpl packageOracle = new PackageDataModelOracleImpl();
@@ -70,48 +59,40 @@ public final class PackageDataModelOracleBuilder {
 
     public PackageDataModelOracleBuilder addEnum( final String enumDefinition,
                                                   final ClassLoader classLoader ) {
-        parseEnumDefinition( enumDefinition,
-                             classLoader );
-        return this;
-    }
-
-    private void parseEnumDefinition( final String enumDefinition,
-                                      final ClassLoader classLoader ) {
-        final DataEnumLoader enumLoader = new DataEnumLoader( enumDefinition,
-                                                              classLoader );
-        if ( !enumLoader.hasErrors() ) {
-            factFieldEnums.putAll( enumLoader.getData() );
-        }
+        return addFragment( PackageDataModelOracleFragment.newEnumFragment( enumDefinition,
+                                                                            classLoader ) );
     }
 
     public PackageDataModelOracleBuilder addDsl( final String dslDefinition ) {
-        parseDslDefinition( dslDefinition );
-        return this;
+        return addFragment( PackageDataModelOracleFragment.newDslFragment( dslDefinition ) );
     }
 
-    private void parseDslDefinition( final String dslDefinition ) {
-        final DSLTokenizedMappingFile dslLoader = new DSLTokenizedMappingFile();
-        try {
-            if ( dslLoader.parseAndLoad( new StringReader( dslDefinition ) ) ) {
-                populateDSLSentences( dslLoader );
-            }
-        } catch ( IOException e ) {
-            log.error( e.getMessage() );
+    public PackageDataModelOracleBuilder addGlobals( final String definition ) {
+        return addFragment( PackageDataModelOracleFragment.newGlobalsFragment( definition ) );
+    }
+
+    /**
+     * Add the parsed content of an enumeration, DSL or globals resource. Content of fragments added later takes
+     * precedence over content for the same enumeration or Global added earlier.
+     * @param fragment The fragment
+     * @return This builder
+     */
+    public PackageDataModelOracleBuilder addFragment( final PackageDataModelOracleFragment fragment ) {
+        factFieldEnums.putAll( fragment.getEnums() );
+        for ( String definition : fragment.getDslConditionDefinitions() ) {
+            addDSLConditionSentence( definition );
         }
-    }
-
-    private void populateDSLSentences( final DSLTokenizedMappingFile dslLoader ) {
-        for ( DSLMappingEntry entry : dslLoader.getMapping().getEntries() ) {
-            if ( entry.getSection() == DSLMappingEntry.CONDITION ) {
-                addDSLConditionSentence( entry.getMappingKey() );
-            } else if ( entry.getSection() == DSLMappingEntry.CONSEQUENCE ) {
-                addDSLActionSentence( entry.getMappingKey() );
-            } else if ( entry.getSection() == DSLMappingEntry.KEYWORD ) {
-                addDSLKeywordMapping( entry.getMappingKey() );
-            } else if ( entry.getSection() == DSLMappingEntry.ANY ) {
-                addDSLAnyScopeMapping( entry.getMappingKey() );
-            }
+        for ( String definition : fragment.getDslActionDefinitions() ) {
+            addDSLActionSentence( definition );
         }
+        for ( String definition : fragment.getDslKeywordDefinitions() ) {
+            addDSLKeywordMapping( definition );
+        }
+        for ( String definition : fragment.getDslAnyScopeDefinitions() ) {
+            addDSLAnyScopeMapping( definition );
+        }
+        packageGlobalTypes.putAll( fragment.getGlobals() );
+        return this;
     }
 
     private void addDSLConditionSentence( final String definition ) {
@@ -138,15 +119,6 @@ public final class PackageDataModelOracleBuilder {
         this.dslAnyScopeItems.add( sentence );
     }
 
-    public PackageDataModelOracleBuilder addGlobals( final String definition ) {
-        List<Pair<String, String>> globals = GlobalsParser.parseGlobals( definition );
-        for ( Pair<String, String> g : globals ) {
-            packageGlobalTypes.put( g.getK1(),
-                                    g.getK2() );
-        }
-        return this;
-    }
-
     public PackageDataModelOracle build() {
         //Copy Project DMO into Package DMO
         final ProjectDataModelOracleImpl pd = (ProjectDataModelOracleImpl) projectOracle;
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.packages;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.drools.compiler.lang.dsl.DSLMappingEntry;
+import org.drools.compiler.lang.dsl.DSLTokenizedMappingFile;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumLoader;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.GlobalsParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.data.Pair;
+
+/**
+ * The parsed content of a single enumeration, DSL or globals resource of a Package. Fragments are immutable and can be
+ * added to any number of PackageDataModelOracleBuilders, so a resource only needs to be parsed again when it changes.
+ */
+public final class PackageDataModelOracleFragment {
+
+    private static final Logger log = LoggerFactory.getLogger( PackageDataModelOracleFragment.class );
+
+    //What remains of a definition of only literal lists once its quoted Strings have been removed
+    private static final Pattern LITERAL_ENUM_STRUCTURE = Pattern.compile( "[\\s\\[\\]:,0-9.\\-]*" );
+
+    private final Map<String, String[]> enums = new LinkedHashMap<String, String[]>();
+    private final List<String> dslConditionDefinitions = new ArrayList<String>();
+    private final List<String> dslActionDefinitions = new ArrayList<String>();
+    private final List<String> dslKeywordDefinitions = new ArrayList<String>();
+    private final List<String> dslAnyScopeDefinitions = new ArrayList<String>();
+    private final Map<String, String> globals = new LinkedHashMap<String, String>();
+
+    /**
+     * Parse an enumeration definition. Definitions containing errors result in an empty fragment.
+     * @param enumDefinition The enumeration definition
+     * @param classLoader The ClassLoader from which classes referenced by the definition are loaded
+     * @return The fragment
+     */
+    public static PackageDataModelOracleFragment newEnumFragment( final String enumDefinition,
+                                                                  final ClassLoader classLoader ) {
+        final PackageDataModelOracleFragment fragment = new PackageDataModelOracleFragment();
+        final DataEnumLoader enumLoader = new DataEnumLoader( enumDefinition,
+                                                              classLoader );
+        if ( !enumLoader.hasErrors() ) {
+            fragment.enums.putAll( enumLoader.getData() );
+        }
+        return fragment;
+    }
+
+    /**
+     * Check whether an enumeration definition consists only of literal lists. The values of such definitions do not
+     * depend upon the ClassLoader with which they are evaluated, whereas those containing MVEL expressions can call
+     * classes of the Project.
+     * @param enumDefinition The enumeration definition
+     * @return true if the definition contains only quoted Strings and numbers
+     */
+    public static boolean isLiteralEnumDefinition( final String enumDefinition ) {
+        if ( enumDefinition == null ) {
+            return true;
+        }
+        if ( enumDefinition.trim().startsWith( "=" ) ) {
+            return false;
+        }
+        final StringBuilder structure = new StringBuilder();
+        char quote = 0;
+        for ( int i = 0; i < enumDefinition.length(); i++ ) {
+            final char c = enumDefinition.charAt( i );
+            if ( quote == 0 ) {
+                if ( c == '\'' || c == '"' ) {
+                    quote = c;
+                } else {
+                    structure.append( c );
+                }
+            } else if ( c == '\\' ) {
+                i++;
+            } else if ( c == quote ) {
+                quote = 0;
+            }
+        }
+        return quote == 0 && LITERAL_ENUM_STRUCTURE.matcher( structure ).matches();
+    }
+
+    /**
+     * Parse a DSL definition
+     * @param dslDefinition The DSL definition
+     * @return The fragment
+     */
+    public static PackageDataModelOracleFragment newDslFragment( final String dslDefinition ) {
+        final PackageDataModelOracleFragment fragment = new PackageDataModelOracleFragment();
+        final DSLTokenizedMappingFile dslLoader = new DSLTokenizedMappingFile();
+        try {
+            if ( dslLoader.parseAndLoad( new StringReader( dslDefinition ) ) ) {
+                fragment.populateDSLDefinitions( dslLoader );
+            }
+        } catch ( IOException e ) {
+            log.error( e.getMessage() );
+        }
+        return fragment;
+    }
+
+    /**
+     * Parse global definitions
+     * @param definition The global definitions
+     * @return The fragment
+     */
+    public static PackageDataModelOracleFragment newGlobalsFragment( final String definition ) {
+        final PackageDataModelOracleFragment fragment = new PackageDataModelOracleFragment();
+        final List<Pair<String, String>> globals = GlobalsParser.parseGlobals( definition );
+        for ( Pair<String, String> g : globals ) {
+            fragment.globals.put( g.getK1(),
+                                  g.getK2() );
+        }
+        return fragment;
+    }
+
+    private PackageDataModelOracleFragment() {
+    }
+
+    private void populateDSLDefinitions( final DSLTokenizedMappingFile dslLoader ) {
+        for ( DSLMappingEntry entry : dslLoader.getMapping().getEntries() ) {
+            if ( entry.getSection() == DSLMappingEntry.CONDITION ) {
+                dslConditionDefinitions.add( entry.getMappingKey() );
+            } else if ( entry.getSection() == DSLMappingEntry.CONSEQUENCE ) {
+                dslActionDefinitions.add( entry.getMappingKey() );
+            } else if ( entry.getSection() == DSLMappingEntry.KEYWORD ) {
+                dslKeywordDefinitions.add( entry.getMappingKey() );
+            } else if ( entry.getSection() == DSLMappingEntry.ANY ) {
+                dslAnyScopeDefinitions.add( entry.getMappingKey() );
+            }
+        }
+    }
+
+    /**
+     * @return Enumeration values keyed by "FactType#fieldName", including dependent enumeration keys
+     */
+    public Map<String, String[]> getEnums() {
+        return Collections.unmodifiableMap( enums );
+    }
+
+    public List<String> getDslConditionDefinitions() {
+        return Collections.unmodifiableList( dslConditionDefinitions );
+    }
+
+    public List<String> getDslActionDefinitions() {
+        return Collections.unmodifiableList( dslActionDefinitions );
+    }
+
+    public List<String> getDslKeywordDefinitions() {
+        return Collections.unmodifiableList( dslKeywordDefinitions );
+    }
+
+    public List<String> getDslAnyScopeDefinitions() {
+        return Collections.unmodifiableList( dslAnyScopeDefinitions );
+    }
+
+    /**
+     * @return Global types keyed by the Global's name
+     */
+    public Map<String, String> getGlobals() {
+        return Collections.unmodifiableMap( globals );
+    }
+
+}
@@ -75,6 +75,14 @@ public abstract class BaseFactBuilder implements FactBuilder {
         return type;
     }
 
+    public boolean isEvent() {
+        return isEvent;
+    }
+
+    public TypeSource getTypeSource() {
+        return typeSource;
+    }
+
     protected FactBuilder addField( final ModelField field ) {
         this.fields.add( field );
         return this;
@@ -11,7 +11,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,6 +53,9 @@ public class ClassFactBuilder extends BaseFactBuilder {
                clazz,
                isEvent,
                typeSource );
+
+        //Register before introspecting fields so cyclic references resolve to this builder
+        builder.registerClassFactBuilder( this );
         this.superTypes = getSuperTypes( clazz );
         this.annotations.addAll( getAnnotations( clazz ) );
         this.fieldAnnotations.putAll( getFieldsAnnotations( clazz ) );
@@ -145,6 +150,9 @@ public class ClassFactBuilder extends BaseFactBuilder {
         final Map<String, MethodSignature> methodSignatures = removeIrrelevantMethods( getMethodSignatures( factType,
                                                                                                             methods ) );
 
+        final Field[] _declaredClassFields = clazz.getDeclaredFields();
+        final Collection declaredClassFields = _declaredClassFields != null ? Arrays.asList( _declaredClassFields ) : Collections.EMPTY_LIST;
+
         //Add Fields from ClassFieldInspector which provides a list of "reasonable" methods
         for ( final String fieldName : fieldNames ) {
             final String qualifiedName = factType + "." + fieldName;
@@ -182,18 +190,13 @@ public class ClassFactBuilder extends BaseFactBuilder {
                                            fieldName,
                                            field.getGenericType() );
 
-                Field[] _declaredClassFields = clazz.getDeclaredFields();
-                Collection declaredClassFields = _declaredClassFields != null ? Arrays.asList( _declaredClassFields ) : Collections.EMPTY_LIST;
-
                 final Class<?> returnType = field.getType();
                 final String genericReturnType = typeSystemConverter.translateClassToGenericType( returnType );
                 final FieldAccessorsAndMutators accessorAndMutator = methodSignatures.containsKey( qualifiedName ) ? methodSignatures.get( qualifiedName ).accessorAndMutator : FieldAccessorsAndMutators.BOTH;
 
                 fieldFactBuilders.put( genericReturnType,
-                                       new ClassFactBuilder( builder,
-                                                             returnType,
-                                                             false,
-                                                             typeSource ) );
+                                       builder.getClassFactBuilder( returnType,
+                                                                    typeSource ) );
 
                 addField( new ModelField( fieldName,
                                           returnType.getName(),
@@ -403,11 +406,30 @@ public class ClassFactBuilder extends BaseFactBuilder {
         return loadableTypeFieldsAnnotations;
     }
 
+    //FactBuilders for the types of fields declared directly on this type
+    Map<String, FactBuilder> getFieldFactBuilders() {
+        return fieldFactBuilders;
+    }
+
     @Override
     public Map<String, FactBuilder> getInternalBuilders() {
-        for ( final FactBuilder factBuilder : new ArrayList<FactBuilder>( this.fieldFactBuilders.values() ) ) {
-            this.fieldFactBuilders.putAll( factBuilder.getInternalBuilders() );
+        //Field types can be cyclic (e.g. Person.parent) so track the builders already visited
+        final Map<String, FactBuilder> internalBuilders = new HashMap<String, FactBuilder>();
+        final Set<FactBuilder> visited = Collections.newSetFromMap( new IdentityHashMap<FactBuilder, Boolean>() );
+        final LinkedList<FactBuilder> pending = new LinkedList<FactBuilder>();
+        visited.add( this );
+        pending.add( this );
+        while ( !pending.isEmpty() ) {
+            final FactBuilder factBuilder = pending.removeFirst();
+            final Map<String, FactBuilder> builders = ( factBuilder instanceof ClassFactBuilder ) ? ( (ClassFactBuilder) factBuilder ).getFieldFactBuilders() : factBuilder.getInternalBuilders();
+            for ( Map.Entry<String, FactBuilder> e : builders.entrySet() ) {
+                internalBuilders.put( e.getKey(),
+                                      e.getValue() );
+                if ( visited.add( e.getValue() ) ) {
+                    pending.add( e.getValue() );
+                }
+            }
         }
-        return fieldFactBuilders;
+        return internalBuilders;
     }
 }
@@ -0,0 +1,142 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.builder.KieModule;
+import org.kie.workbench.common.services.backend.util.DigestUtil;
+
+/**
+ * Computes fingerprints of Classes to detect which Fact Types changed between successive builds of a Project. A
+ * fingerprint covers the byte-code of the Class, its super-classes and the types of their declared fields; so a
+ * Fact Type is considered changed if any of these changed. Byte-code digests and fingerprints are memoized for the
+ * lifetime of the instance, which should therefore not outlive a single build of the ProjectDataModelOracle.
+ */
+public class ClassFingerprinter {
+
+    private final InternalKieModule kieModule;
+
+    private final Map<String, String> classDigests = new HashMap<String, String>();
+
+    private final Map<String, String> fingerprints = new HashMap<String, String>();
+
+    public ClassFingerprinter( final KieModule kieModule ) {
+        this.kieModule = ( kieModule instanceof InternalKieModule ) ? (InternalKieModule) kieModule : null;
+    }
+
+    /**
+     * Get a fingerprint for a Class
+     * @param clazz The Class
+     * @return The fingerprint, or null if the byte-code of the Class (or one of its dependencies) is not accessible
+     */
+    public String getFingerprint( final Class<?> clazz ) {
+        if ( fingerprints.containsKey( clazz.getName() ) ) {
+            return fingerprints.get( clazz.getName() );
+        }
+        final String fingerprint = makeFingerprint( clazz );
+        if ( fingerprint != null ) {
+            fingerprints.put( clazz.getName(),
+                              fingerprint );
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return The fingerprints computed by this instance, keyed by class name. Classes that could not be inspected
+     * are omitted.
+     */
+    public Map<String, String> getFingerprints() {
+        return Collections.unmodifiableMap( fingerprints );
+    }
+
+    private String makeFingerprint( final Class<?> clazz ) {
+        try {
+            final StringBuilder sb = new StringBuilder();
+            Class<?> type = clazz;
+            while ( type != null && !isSystemClass( type ) ) {
+                final String digest = getClassDigest( type );
+                if ( digest == null ) {
+                    return null;
+                }
+                sb.append( digest );
+                for ( Field field : type.getDeclaredFields() ) {
+                    Class<?> fieldType = field.getType();
+                    while ( fieldType.isArray() ) {
+                        fieldType = fieldType.getComponentType();
+                    }
+                    if ( fieldType.isPrimitive() || isSystemClass( fieldType ) ) {
+                        continue;
+                    }
+                    final String fieldTypeDigest = getClassDigest( fieldType );
+                    if ( fieldTypeDigest == null ) {
+                        return null;
+                    }
+                    sb.append( fieldTypeDigest );
+                }
+                type = type.getSuperclass();
+            }
+            return DigestUtil.sha1( sb.toString() );
+
+        } catch ( Throwable t ) {
+            //Class could not be inspected (e.g. missing dependencies). Treat it as changed.
+            return null;
+        }
+    }
+
+    private String getClassDigest( final Class<?> clazz ) throws IOException {
+        final String className = clazz.getName();
+        if ( classDigests.containsKey( className ) ) {
+            return classDigests.get( className );
+        }
+        final byte[] bytes = getClassBytes( clazz );
+        final String digest = ( bytes == null ? null : DigestUtil.sha1( bytes ) );
+        classDigests.put( className,
+                          digest );
+        return digest;
+    }
+
+    private byte[] getClassBytes( final Class<?> clazz ) throws IOException {
+        final String resourceName = clazz.getName().replace( '.',
+                                                             '/' ) + ".class";
+
+        //Classes defined in the Project are held in the KieModule
+        if ( kieModule != null && kieModule.isAvailable( resourceName ) ) {
+            return kieModule.getBytes( resourceName );
+        }
+
+        //Otherwise they come from a dependency
+        final ClassLoader classLoader = clazz.getClassLoader();
+        if ( classLoader == null ) {
+            return null;
+        }
+        final InputStream is = classLoader.getResourceAsStream( resourceName );
+        if ( is == null ) {
+            return null;
+        }
+        try {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[ 4096 ];
+            int read;
+            while ( ( read = is.read( buffer ) ) != -1 ) {
+                bos.write( buffer,
+                           0,
+                           read );
+            }
+            return bos.toByteArray();
+        } finally {
+            is.close();
+        }
+    }
+
+    private boolean isSystemClass( final Class<?> clazz ) {
+        final String className = clazz.getName();
+        return className.startsWith( "java." ) || className.startsWith( "javax." );
+    }
+
+}
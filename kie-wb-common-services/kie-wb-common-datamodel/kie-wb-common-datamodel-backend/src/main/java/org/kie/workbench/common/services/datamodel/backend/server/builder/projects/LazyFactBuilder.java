@@ -0,0 +1,49 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.DataType;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+
+/**
+ * Builder for Fact Types whose fields, methods and annotations are resolved on demand. Only the Fact Type's name,
+ * source and whether it is a Collection or Event are added to the oracle. No reflection is performed.
+ */
+public class LazyFactBuilder extends BaseFactBuilder {
+
+    public LazyFactBuilder( final ProjectDataModelOracleBuilder builder,
+                            final Class<?> clazz,
+                            final boolean isEvent,
+                            final TypeSource typeSource ) {
+        super( builder,
+               clazz,
+               isEvent,
+               typeSource );
+    }
+
+    @Override
+    public Map<String, FactBuilder> getInternalBuilders() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void build( final ProjectDataModelOracleImpl oracle ) {
+        super.build( oracle );
+
+        //LazyModelField is a place-holder to tell AsyncPackageDataModelOracle that it needs to load more information
+        final ModelField[] modelFields = new ModelField[]{ new LazyModelField( DataType.TYPE_THIS,
+                                                                               getType(),
+                                                                               ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                                               ModelField.FIELD_ORIGIN.SELF,
+                                                                               FieldAccessorsAndMutators.ACCESSOR,
+                                                                               DataType.TYPE_THIS ) };
+        oracle.addProjectModelFields( Collections.singletonMap( getType(),
+                                                                modelFields ) );
+    }
+
+}
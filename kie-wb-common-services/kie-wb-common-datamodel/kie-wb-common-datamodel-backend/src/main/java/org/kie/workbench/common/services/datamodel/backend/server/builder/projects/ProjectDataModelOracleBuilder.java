@@ -3,13 +3,18 @@ package org.kie.workbench.common.services.datamodel.backend.server.builder.proje
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.backend.builder.PackageScope;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumLoader;
 
 /**
@@ -22,9 +27,17 @@ public final class ProjectDataModelOracleBuilder {
     private Map<String, FactBuilder> factTypeBuilders = new HashMap<String, FactBuilder>();
     private Map<String, String[]> factFieldEnums = new HashMap<String, String[]>();
     private List<String> packageNames = new ArrayList<String>();
+    private PackageScope packageScope = PackageScope.ALL;
 
     private List<String> errors = new ArrayList<String>();
 
+    //Registry of ClassFactBuilders created during this build so that each Class is introspected only once
+    private Map<String, ClassFactBuilder> classFactBuilders = new HashMap<String, ClassFactBuilder>();
+
+    private int introspectedClassCount = 0;
+    private int registryHitCount = 0;
+    private long elapsedTime = 0;
+
     public static ProjectDataModelOracleBuilder newProjectOracleBuilder() {
         return new ProjectDataModelOracleBuilder();
     }
@@ -70,11 +83,87 @@ public final class ProjectDataModelOracleBuilder {
     public ProjectDataModelOracleBuilder addClass( final Class clazz,
                                                    final boolean isEvent,
                                                    final TypeSource typeSource ) throws IOException {
-        final FactBuilder builder = new ClassFactBuilder( this,
-                                                          clazz,
-                                                          isEvent,
-                                                          typeSource );
-        factTypeBuilders.put(clazz.getName(), builder);
+        final long startTime = System.nanoTime();
+        try {
+            //Re-use the builder if the Class has already been introspected with the same characteristics
+            ClassFactBuilder builder = classFactBuilders.get( clazz.getName() );
+            if ( builder != null && builder.isEvent() == isEvent && builder.getTypeSource() == typeSource ) {
+                registryHitCount++;
+            } else {
+                builder = new ClassFactBuilder( this,
+                                                clazz,
+                                                isEvent,
+                                                typeSource );
+            }
+            factTypeBuilders.put( clazz.getName(),
+                                  builder );
+            return this;
+
+        } finally {
+            elapsedTime += System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Add a Class whose fields, methods and annotations are not introspected. The Fact Type is represented by a
+     * LazyModelField that clients use to request the full definition.
+     * @param clazz The Class
+     * @param isEvent Whether the Class is an Event
+     * @param typeSource The source of the Class
+     * @return
+     */
+    public ProjectDataModelOracleBuilder addLazyClass( final Class clazz,
+                                                       final boolean isEvent,
+                                                       final TypeSource typeSource ) {
+        factTypeBuilders.put( clazz.getName(),
+                              new LazyFactBuilder( this,
+                                                   clazz,
+                                                   isEvent,
+                                                   typeSource ) );
+        return this;
+    }
+
+    /**
+     * Get the ClassFactBuilder for the type of a field, introspecting the Class only if it has not already been
+     * introspected during this build.
+     * @param clazz The Class of the field
+     * @param typeSource The source of the type declaring the field
+     * @return
+     * @throws IOException
+     */
+    ClassFactBuilder getClassFactBuilder( final Class<?> clazz,
+                                          final TypeSource typeSource ) throws IOException {
+        final ClassFactBuilder builder = classFactBuilders.get( clazz.getName() );
+        if ( builder != null ) {
+            registryHitCount++;
+            return builder;
+        }
+        return new ClassFactBuilder( this,
+                                     clazz,
+                                     false,
+                                     typeSource );
+    }
+
+    //Called by ClassFactBuilder's constructor, before fields are introspected
+    void registerClassFactBuilder( final ClassFactBuilder builder ) {
+        introspectedClassCount++;
+        classFactBuilders.put( builder.getType(),
+                               builder );
+    }
+
+    /**
+     * Add a FactBuilder that has already been prepared; for example one copied from a ProjectDataModelOracleSnapshot.
+     * FactBuilders already registered for the Fact Type are not replaced.
+     * @param factType The fully qualified class name of the Fact Type
+     * @param builder The FactBuilder
+     * @return
+     */
+    public ProjectDataModelOracleBuilder addFactBuilder( final String factType,
+                                                         final FactBuilder builder ) {
+        if ( !factTypeBuilders.containsKey( factType ) ) {
+            factTypeBuilders.put( factType,
+                                  builder );
+        }
         return this;
     }
 
@@ -110,21 +199,53 @@ public final class ProjectDataModelOracleBuilder {
     }
 
     public ProjectDataModelOracle build() {
+        final long startTime = System.nanoTime();
         loadFactTypes();
         loadEnums();
         loadPackageNames();
+        elapsedTime += System.nanoTime() - startTime;
 
         return oracle;
     }
 
+    /**
+     * @return The number of Classes introspected by this builder
+     */
+    public int getIntrospectedClassCount() {
+        return introspectedClassCount;
+    }
+
+    /**
+     * @return The number of times an already introspected Class was re-used
+     */
+    public int getRegistryHitCount() {
+        return registryHitCount;
+    }
+
+    /**
+     * @return The time, in milliseconds, spent introspecting Classes and building the ProjectDataModelOracle
+     */
+    public long getElapsedTime() {
+        return elapsedTime / 1000000;
+    }
+
     private void loadPackageNames() {
         oracle.addProjectPackageNames(packageNames);
     }
 
     private void loadFactTypes() {
 
-        for (final FactBuilder factBuilder : new ArrayList<FactBuilder>(this.factTypeBuilders.values())) {
-            this.factTypeBuilders.putAll(factBuilder.getInternalBuilders());
+        //Collect builders for the types of fields in a single pass over the (possibly cyclic) graph of builders
+        final Set<FactBuilder> visited = Collections.newSetFromMap( new IdentityHashMap<FactBuilder, Boolean>() );
+        final LinkedList<FactBuilder> pending = new LinkedList<FactBuilder>( this.factTypeBuilders.values() );
+        while ( !pending.isEmpty() ) {
+            final FactBuilder factBuilder = pending.removeFirst();
+            if ( !visited.add( factBuilder ) ) {
+                continue;
+            }
+            final Map<String, FactBuilder> internalBuilders = ( factBuilder instanceof ClassFactBuilder ) ? ( (ClassFactBuilder) factBuilder ).getFieldFactBuilders() : factBuilder.getInternalBuilders();
+            this.factTypeBuilders.putAll( internalBuilders );
+            pending.addAll( internalBuilders.values() );
         }
 
         for (final FactBuilder factBuilder : this.factTypeBuilders.values()) {
@@ -143,7 +264,30 @@ public final class ProjectDataModelOracleBuilder {
         oracle.addProjectJavaEnumDefinitions( loadableEnums );
     }
 
+    /**
+     * Restrict the packages added with {@link #addPackages(Collection)} to those within a PackageScope. Classes added
+     * explicitly are not restricted, as they may have been imported from outside the scope.
+     * @param packageScope The PackageScope
+     * @return
+     */
+    public ProjectDataModelOracleBuilder setPackageScope( final PackageScope packageScope ) {
+        this.packageScope = packageScope;
+        return this;
+    }
+
+    public PackageScope getPackageScope() {
+        return packageScope;
+    }
+
     public void addPackages( Collection<String> packageNames ) {
-        this.packageNames.addAll( packageNames );
+        if ( packageScope.isUnrestricted() ) {
+            this.packageNames.addAll( packageNames );
+            return;
+        }
+        for ( String packageName : packageNames ) {
+            if ( packageScope.isPackageInScope( packageName ) ) {
+                this.packageNames.add( packageName );
+            }
+        }
     }
 }
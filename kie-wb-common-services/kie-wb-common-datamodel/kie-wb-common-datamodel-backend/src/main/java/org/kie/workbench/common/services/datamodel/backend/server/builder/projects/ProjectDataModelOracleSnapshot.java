@@ -0,0 +1,211 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.DataType;
+import org.drools.workbench.models.datamodel.oracle.MethodInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+
+/**
+ * The content of a built ProjectDataModelOracle, grouped by Fact Type, together with the fingerprints of the Classes
+ * from which it was built. When the Project is rebuilt Fact Types whose fingerprint has not changed are copied from the
+ * snapshot instead of being introspected again. The snapshot does not retain the ProjectDataModelOracle itself.
+ */
+public final class ProjectDataModelOracleSnapshot {
+
+    private final Map<String, String> fingerprints;
+    private final Map<String, SnapshotFactBuilder> index = new HashMap<String, SnapshotFactBuilder>();
+
+    public static ProjectDataModelOracleSnapshot newSnapshot( final ProjectDataModelOracle oracle,
+                                                              final Map<String, String> fingerprints ) {
+        return new ProjectDataModelOracleSnapshot( oracle,
+                                                   fingerprints );
+    }
+
+    private ProjectDataModelOracleSnapshot( final ProjectDataModelOracle oracle,
+                                            final Map<String, String> fingerprints ) {
+        this.fingerprints = Collections.unmodifiableMap( new HashMap<String, String>( fingerprints ) );
+        buildIndex( oracle );
+    }
+
+    public Map<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * Add a Fact Type to a ProjectDataModelOracleBuilder if the Class has not changed since the snapshot was taken.
+     * The Fact Types of its fields are copied too if their Classes have not changed either; otherwise they are
+     * introspected.
+     * @param builder The builder for the new ProjectDataModelOracle
+     * @param clazz The Class of the Fact Type
+     * @param isEvent Whether the Class is an Event
+     * @param typeSource The source of the Class
+     * @param fingerprinter The fingerprinter for the new ProjectDataModelOracle
+     * @return true if the Fact Type was unchanged and has been added to the builder
+     * @throws IOException
+     */
+    public boolean addFactTypeIfUnchanged( final ProjectDataModelOracleBuilder builder,
+                                           final Class<?> clazz,
+                                           final boolean isEvent,
+                                           final TypeSource typeSource,
+                                           final ClassFingerprinter fingerprinter ) throws IOException {
+        final SnapshotFactBuilder factBuilder = index.get( clazz.getName() );
+        if ( factBuilder == null || !isUnchanged( clazz,
+                                                  fingerprinter ) ) {
+            return false;
+        }
+        if ( isEvent != Boolean.TRUE.equals( factBuilder.isEvent ) || typeSource != factBuilder.typeSource ) {
+            return false;
+        }
+        addFactType( builder,
+                     fingerprinter,
+                     clazz.getName(),
+                     clazz.getClassLoader(),
+                     new HashSet<String>() );
+        return true;
+    }
+
+    private void addFactType( final ProjectDataModelOracleBuilder builder,
+                              final ClassFingerprinter fingerprinter,
+                              final String factType,
+                              final ClassLoader classLoader,
+                              final Set<String> visited ) throws IOException {
+        if ( !visited.add( factType ) ) {
+            return;
+        }
+        final SnapshotFactBuilder factBuilder = index.get( factType );
+        builder.addFactBuilder( factType,
+                                new SnapshotFactBuilder( builder,
+                                                         factBuilder ) );
+
+        //ClassFactBuilder adds Fact Types for the types of fields too. The fingerprint of a Fact Type only covers the
+        //byte-code of its fields' Classes, so each field's Fact Type is only copied if its own fingerprint is unchanged.
+        if ( factBuilder.modelFields == null ) {
+            return;
+        }
+        for ( ModelField mf : factBuilder.modelFields ) {
+            final String fieldType = mf.getClassName();
+            if ( DataType.TYPE_THIS.equals( mf.getName() ) || visited.contains( fieldType ) || !index.containsKey( fieldType ) ) {
+                continue;
+            }
+
+            //Primitives and system Classes do not change between builds of a Project
+            if ( isSystemType( fieldType ) ) {
+                addFactType( builder,
+                             fingerprinter,
+                             fieldType,
+                             classLoader,
+                             visited );
+                continue;
+            }
+            final Class<?> fieldClass = loadClass( fieldType,
+                                                   classLoader );
+            if ( fieldClass == null ) {
+                continue;
+            }
+            if ( isUnchanged( fieldClass,
+                              fingerprinter ) ) {
+                addFactType( builder,
+                             fingerprinter,
+                             fieldType,
+                             fieldClass.getClassLoader(),
+                             visited );
+            } else {
+                builder.addFactBuilder( mf.getType(),
+                                        builder.getClassFactBuilder( fieldClass,
+                                                                     getTypeSource( factBuilder ) ) );
+            }
+        }
+    }
+
+    private boolean isUnchanged( final Class<?> clazz,
+                                 final ClassFingerprinter fingerprinter ) {
+        final String fingerprint = fingerprinter.getFingerprint( clazz );
+        return fingerprint != null && fingerprint.equals( fingerprints.get( clazz.getName() ) );
+    }
+
+    private boolean isSystemType( final String className ) {
+        return className.indexOf( '.' ) < 0 || className.startsWith( "java." ) || className.startsWith( "javax." );
+    }
+
+    private Class<?> loadClass( final String className,
+                                final ClassLoader classLoader ) {
+        try {
+            return Class.forName( className,
+                                  false,
+                                  classLoader == null ? getClass().getClassLoader() : classLoader );
+        } catch ( ClassNotFoundException e ) {
+            return null;
+        } catch ( LinkageError e ) {
+            return null;
+        }
+    }
+
+    private TypeSource getTypeSource( final SnapshotFactBuilder factBuilder ) {
+        return ( factBuilder.typeSource == null ? TypeSource.JAVA_PROJECT : factBuilder.typeSource );
+    }
+
+    //Group the content of the ProjectDataModelOracle by Fact Type. Only the per-type content is retained.
+    private void buildIndex( final ProjectDataModelOracle oracle ) {
+        for ( Map.Entry<String, ModelField[]> e : oracle.getProjectModelFields().entrySet() ) {
+            getFactBuilder( e.getKey() ).modelFields = e.getValue();
+        }
+        for ( Map.Entry<String, Boolean> e : oracle.getProjectCollectionTypes().entrySet() ) {
+            getFactBuilder( e.getKey() ).isCollection = e.getValue();
+        }
+        for ( Map.Entry<String, Boolean> e : oracle.getProjectEventTypes().entrySet() ) {
+            getFactBuilder( e.getKey() ).isEvent = e.getValue();
+        }
+        for ( Map.Entry<String, TypeSource> e : oracle.getProjectTypeSources().entrySet() ) {
+            getFactBuilder( e.getKey() ).typeSource = e.getValue();
+        }
+        for ( Map.Entry<String, List<String>> e : oracle.getProjectSuperTypes().entrySet() ) {
+            getFactBuilder( e.getKey() ).superTypes = e.getValue();
+        }
+        for ( Map.Entry<String, Set<Annotation>> e : oracle.getProjectTypeAnnotations().entrySet() ) {
+            getFactBuilder( e.getKey() ).annotations = e.getValue();
+        }
+        for ( Map.Entry<String, Map<String, Set<Annotation>>> e : oracle.getProjectTypeFieldsAnnotations().entrySet() ) {
+            getFactBuilder( e.getKey() ).fieldAnnotations = e.getValue();
+        }
+        for ( Map.Entry<String, List<MethodInfo>> e : oracle.getProjectMethodInformation().entrySet() ) {
+            getFactBuilder( e.getKey() ).methodInformation = e.getValue();
+        }
+        for ( Map.Entry<String, String> e : oracle.getProjectFieldParametersType().entrySet() ) {
+            getFactBuilder( getQualifiedType( e.getKey() ) ).fieldParametersType.put( e.getKey(),
+                                                                                      e.getValue() );
+        }
+        for ( Map.Entry<String, String[]> e : oracle.getProjectJavaEnumDefinitions().entrySet() ) {
+            getFactBuilder( getQualifiedType( e.getKey() ) ).javaEnumDefinitions.put( e.getKey(),
+                                                                                      e.getValue() );
+        }
+    }
+
+    private SnapshotFactBuilder getFactBuilder( final String factType ) {
+        SnapshotFactBuilder factBuilder = index.get( factType );
+        if ( factBuilder == null ) {
+            factBuilder = new SnapshotFactBuilder( null,
+                                                   factType );
+            index.put( factType,
+                       factBuilder );
+        }
+        return factBuilder;
+    }
+
+    //Field and method qualifiers are encoded as "type#member"
+    private String getQualifiedType( final String qualifiedMember ) {
+        final int hashIndex = qualifiedMember.indexOf( "#" );
+        return ( hashIndex < 0 ? qualifiedMember : qualifiedMember.substring( 0,
+                                                                              hashIndex ) );
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the full definition of Fact Types added to a ProjectDataModelOracle with
+ * {@link ProjectDataModelOracleBuilder#addLazyClass(Class, boolean, TypeSource)}. Classes are introspected the first
+ * time they are requested and the resulting ProjectDataModelOracle fragments are held in a bounded LRU cache.
+ */
+public final class ProjectDataModelOracleTypeResolver {
+
+    private static final Logger log = LoggerFactory.getLogger( ProjectDataModelOracleTypeResolver.class );
+
+    private final Map<String, LazyClass> classes = new HashMap<String, LazyClass>();
+
+    private final Map<String, ProjectDataModelOracle> resolvedFactTypes;
+
+    private int hitCount = 0;
+    private int missCount = 0;
+
+    public ProjectDataModelOracleTypeResolver( final int maxResolvedFactTypes ) {
+        this.resolvedFactTypes = new LinkedHashMap<String, ProjectDataModelOracle>( maxResolvedFactTypes,
+                                                                                    0.75f,
+                                                                                    true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, ProjectDataModelOracle> eldest ) {
+                return size() > maxResolvedFactTypes;
+            }
+        };
+    }
+
+    public synchronized void addClass( final Class<?> clazz,
+                                       final boolean isEvent,
+                                       final TypeSource typeSource ) {
+        classes.put( clazz.getName(),
+                     new LazyClass( clazz,
+                                    isEvent,
+                                    typeSource ) );
+    }
+
+    /**
+     * Resolve the full definition of a Fact Type
+     * @param factType The fully qualified class name of the Fact Type
+     * @return A ProjectDataModelOracle containing the Fact Type and the Fact Types of its fields, or null if the
+     * Fact Type is unknown or could not be introspected
+     */
+    public synchronized ProjectDataModelOracle resolve( final String factType ) {
+        ProjectDataModelOracle oracle = resolvedFactTypes.get( factType );
+        if ( oracle != null ) {
+            hitCount++;
+            return oracle;
+        }
+        final LazyClass lazyClass = classes.get( factType );
+        if ( lazyClass == null ) {
+            return null;
+        }
+
+        missCount++;
+        try {
+            final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+            builder.addClass( lazyClass.clazz,
+                              lazyClass.isEvent,
+                              lazyClass.typeSource );
+            oracle = builder.build();
+            resolvedFactTypes.put( factType,
+                                   oracle );
+            log.debug( "Fact Type '" + factType + "' resolved in " + builder.getElapsedTime() + "ms." );
+            return oracle;
+
+        } catch ( IOException ioe ) {
+            log.error( ioe.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * @return The number of Fact Types resolved from the cache
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of Fact Types that needed to be introspected
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    private static class LazyClass {
+
+        private final Class<?> clazz;
+        private final boolean isEvent;
+        private final TypeSource typeSource;
+
+        private LazyClass( final Class<?> clazz,
+                           final boolean isEvent,
+                           final TypeSource typeSource ) {
+            this.clazz = clazz;
+            this.isEvent = isEvent;
+            this.typeSource = typeSource;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.MethodInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+
+/**
+ * Builder for Fact Types copied from a previously built ProjectDataModelOracle. No reflection is performed.
+ */
+public class SnapshotFactBuilder implements FactBuilder {
+
+    private final ProjectDataModelOracleBuilder builder;
+
+    private final String type;
+
+    ModelField[] modelFields;
+    Boolean isCollection;
+    Boolean isEvent;
+    TypeSource typeSource;
+    List<String> superTypes;
+    Set<Annotation> annotations;
+    Map<String, Set<Annotation>> fieldAnnotations;
+    List<MethodInfo> methodInformation;
+    final Map<String, String> fieldParametersType;
+    final Map<String, String[]> javaEnumDefinitions;
+
+    SnapshotFactBuilder( final ProjectDataModelOracleBuilder builder,
+                         final String type ) {
+        this.builder = builder;
+        this.type = type;
+        this.fieldParametersType = new HashMap<String, String>();
+        this.javaEnumDefinitions = new HashMap<String, String[]>();
+    }
+
+    //Copy the content of a Fact Type held by a ProjectDataModelOracleSnapshot for use by another builder
+    SnapshotFactBuilder( final ProjectDataModelOracleBuilder builder,
+                         final SnapshotFactBuilder source ) {
+        this.builder = builder;
+        this.type = source.type;
+        this.modelFields = source.modelFields;
+        this.isCollection = source.isCollection;
+        this.isEvent = source.isEvent;
+        this.typeSource = source.typeSource;
+        this.superTypes = source.superTypes;
+        this.annotations = source.annotations;
+        this.fieldAnnotations = source.fieldAnnotations;
+        this.methodInformation = source.methodInformation;
+        this.fieldParametersType = source.fieldParametersType;
+        this.javaEnumDefinitions = source.javaEnumDefinitions;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public ProjectDataModelOracleBuilder end() {
+        return builder;
+    }
+
+    @Override
+    public Map<String, FactBuilder> getInternalBuilders() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void build( final ProjectDataModelOracleImpl oracle ) {
+        if ( modelFields != null ) {
+            oracle.addProjectModelFields( Collections.singletonMap( type,
+                                                                    modelFields ) );
+        }
+        if ( isCollection != null ) {
+            oracle.addProjectCollectionTypes( Collections.singletonMap( type,
+                                                                        isCollection ) );
+        }
+        if ( isEvent != null ) {
+            oracle.addProjectEventTypes( Collections.singletonMap( type,
+                                                                   isEvent ) );
+        }
+        if ( typeSource != null ) {
+            oracle.addProjectTypeSources( Collections.singletonMap( type,
+                                                                    typeSource ) );
+        }
+        if ( superTypes != null ) {
+            oracle.addProjectSuperTypes( Collections.singletonMap( type,
+                                                                   superTypes ) );
+        }
+        if ( annotations != null ) {
+            oracle.addProjectTypeAnnotations( Collections.singletonMap( type,
+                                                                        annotations ) );
+        }
+        if ( fieldAnnotations != null ) {
+            oracle.addProjectTypeFieldsAnnotations( Collections.singletonMap( type,
+                                                                              fieldAnnotations ) );
+        }
+        if ( methodInformation != null ) {
+            oracle.addProjectMethodInformation( Collections.singletonMap( type,
+                                                                          methodInformation ) );
+        }
+        oracle.addProjectFieldParametersType( fieldParametersType );
+        oracle.addProjectJavaEnumDefinitions( javaEnumDefinitions );
+    }
+
+}
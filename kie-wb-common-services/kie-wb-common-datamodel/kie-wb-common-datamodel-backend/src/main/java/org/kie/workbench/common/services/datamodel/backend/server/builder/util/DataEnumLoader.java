@@ -27,9 +27,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.drools.core.util.MVELSafeHelper;
-import org.mvel2.MVEL;
-import org.mvel2.ParserConfiguration;
-import org.mvel2.ParserContext;
+import org.kie.workbench.common.services.backend.enums.CompiledExpressionCache;
 
 /**
  * Use MVEL to load up map/list of valid items for fields - used by the Guided rule editor.
@@ -72,12 +70,8 @@ public class DataEnumLoader {
 
         try {
 
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext( pconf );
-            pconf.setClassLoader( classLoader );
-
-            final Serializable compiled = MVEL.compileExpression( mvelSource,
-                                                                  pctx );
+            final Serializable compiled = CompiledExpressionCache.getInstance().getCompiledExpression( mvelSource,
+                                                                                                      classLoader );
 
             mvelData = MVELSafeHelper.getEvaluator().executeExpression( compiled,
                                                                         new HashMap<String, Object>() );
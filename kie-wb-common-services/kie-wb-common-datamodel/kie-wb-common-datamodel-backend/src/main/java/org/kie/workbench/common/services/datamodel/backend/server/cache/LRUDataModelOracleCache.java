@@ -2,7 +2,11 @@ package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -16,13 +20,13 @@ import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCac
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.model.Package;
-import org.kie.api.builder.KieModule;
-import org.kie.scanner.KieModuleMetaData;
-import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.KieModuleMetaDataCache;
 import org.kie.workbench.common.services.backend.file.DSLFileFilter;
 import org.kie.workbench.common.services.backend.file.EnumerationsFileFilter;
 import org.kie.workbench.common.services.backend.file.GlobalsFileFilter;
+import org.kie.workbench.common.services.backend.util.DigestUtil;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleFragment;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
@@ -32,7 +36,11 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.DirectoryStream;
 
 /**
- * A simple LRU cache for Package DataModelOracles
+ * A simple LRU cache for Package DataModelOracles. The parsed content of each enumeration, DSL and globals resource of
+ * a Package is retained as a fragment keyed by the resource's path and a digest of its content. Fragments survive
+ * invalidation of the cache entry, so rebuilding a Package DataModelOracle only parses resources that have changed and
+ * merges the fragments of the others. Enumerations containing MVEL expressions can call classes of the Project and are
+ * also parsed again when the generation of the Project's KieModule changes.
  */
 @ApplicationScoped
 @Named("PackageDataModelOracleCache")
@@ -44,6 +52,8 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private static final DirectoryStream.Filter<org.uberfire.java.nio.file.Path> FILTER_DSLS = new DSLFileFilter();
 
+    private static final int MAX_PACKAGE_FRAGMENTS = 100;
+
     @Inject
     @Named("ioStrategy")
     private IOService ioService;
@@ -59,7 +69,20 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
     private KieProjectService projectService;
 
     @Inject
-    private LRUBuilderCache builderCache;
+    private KieModuleMetaDataCache metaDataCache;
+
+    //Fragments of the resources last used to build each Package, by resource URI. These survive invalidation of the cache entry.
+    private final Map<Package, Map<String, ResourceFragment>> packageFragments = new LinkedHashMap<Package, Map<String, ResourceFragment>>( MAX_PACKAGE_FRAGMENTS,
+                                                                                                                                           0.75f,
+                                                                                                                                           true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Package, Map<String, ResourceFragment>> eldest ) {
+            return size() > MAX_PACKAGE_FRAGMENTS;
+        }
+    };
+
+    private long fragmentHitCount = 0;
+    private long fragmentMissCount = 0;
 
     public synchronized void invalidatePackageCache( @Observes final InvalidateDMOPackageCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
@@ -126,22 +149,86 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         final ProjectDataModelOracle projectOracle = cacheProjects.assertProjectDataModelOracle( project );
         dmoBuilder.setProjectOracle( projectOracle );
 
+        //Fragments of resources that have been deleted are not carried forward
+        final Map<String, ResourceFragment> previousFragments = getPackageFragments( pkg );
+        final Map<String, ResourceFragment> fragments = new HashMap<String, ResourceFragment>();
+
         //Add Guvnor enumerations
         loadEnumsForPackage( dmoBuilder,
                              project,
-                             pkg );
+                             pkg,
+                             previousFragments,
+                             fragments );
 
         //Add DSLs
         loadDslsForPackage( dmoBuilder,
-                            pkg );
+                            pkg,
+                            previousFragments,
+                            fragments );
 
         //Add Globals
         loadGlobalsForPackage( dmoBuilder,
-                               pkg );
+                               pkg,
+                               previousFragments,
+                               fragments );
+
+        packageFragments.put( pkg,
+                              fragments );
 
         return dmoBuilder.build();
     }
 
+    /**
+     * @return The number of enumeration, DSL and globals resources merged without being parsed again
+     */
+    public synchronized long getFragmentHitCount() {
+        return fragmentHitCount;
+    }
+
+    /**
+     * @return The number of enumeration, DSL and globals resources that were parsed
+     */
+    public synchronized long getFragmentMissCount() {
+        return fragmentMissCount;
+    }
+
+    private Map<String, ResourceFragment> getPackageFragments( final Package pkg ) {
+        final Map<String, ResourceFragment> fragments = packageFragments.get( pkg );
+        if ( fragments == null ) {
+            return Collections.emptyMap();
+        }
+        return fragments;
+    }
+
+    //Get the fragment of a resource from those used in the previous build, if its content and generation are unchanged
+    private PackageDataModelOracleFragment getFragment( final Map<String, ResourceFragment> previousFragments,
+                                                        final Map<String, ResourceFragment> fragments,
+                                                        final String uri,
+                                                        final String digest,
+                                                        final long generation ) {
+        final ResourceFragment previous = previousFragments.get( uri );
+        if ( previous == null || !previous.digest.equals( digest ) || previous.generation != generation ) {
+            return null;
+        }
+        fragmentHitCount++;
+        fragments.put( uri,
+                       previous );
+        return previous.fragment;
+    }
+
+    private PackageDataModelOracleFragment putFragment( final Map<String, ResourceFragment> fragments,
+                                                        final String uri,
+                                                        final String digest,
+                                                        final long generation,
+                                                        final PackageDataModelOracleFragment fragment ) {
+        fragmentMissCount++;
+        fragments.put( uri,
+                       new ResourceFragment( digest,
+                                             generation,
+                                             fragment ) );
+        return fragment;
+    }
+
     private BuildMessage makeMessage( final String msg ) {
         final BuildMessage buildMessage = new BuildMessage();
         buildMessage.setLevel( BuildMessage.Level.ERROR );
@@ -151,39 +238,118 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private void loadEnumsForPackage( final PackageDataModelOracleBuilder dmoBuilder,
                                       final KieProject project,
-                                      final Package pkg ) {
-        final KieModule module = builderCache.assertBuilder( project ).getKieModuleIgnoringErrors();
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
+                                      final Package pkg,
+                                      final Map<String, ResourceFragment> previousFragments,
+                                      final Map<String, ResourceFragment> fragments ) {
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert( pkg.getPackageMainResourcesPath() );
         final Collection<org.uberfire.java.nio.file.Path> enumFiles = fileDiscoveryService.discoverFiles( nioPackagePath,
                                                                                                           FILTER_ENUMERATIONS );
+
+        //The Project's KieModule is only needed if an enumeration contains expressions or has to be parsed
+        Long kieModuleGeneration = null;
+        ClassLoader classLoader = null;
         for ( final org.uberfire.java.nio.file.Path path : enumFiles ) {
             final String enumDefinition = ioService.readAllString( path );
-            dmoBuilder.addEnum( enumDefinition,
-                                classLoader );
+            final String uri = path.toUri().toString();
+            final String digest = DigestUtil.sha1( enumDefinition );
+
+            //Literal lists do not depend upon the ClassLoader, so remain valid when the Project's classes change
+            long generation = 0;
+            if ( !PackageDataModelOracleFragment.isLiteralEnumDefinition( enumDefinition ) ) {
+                if ( kieModuleGeneration == null ) {
+                    kieModuleGeneration = metaDataCache.getKieModuleGeneration( project );
+                }
+                generation = kieModuleGeneration;
+            }
+            PackageDataModelOracleFragment fragment = getFragment( previousFragments,
+                                                                   fragments,
+                                                                   uri,
+                                                                   digest,
+                                                                   generation );
+            if ( fragment == null ) {
+                if ( classLoader == null ) {
+                    classLoader = metaDataCache.getProjectClassLoader( project );
+                }
+                fragment = putFragment( fragments,
+                                        uri,
+                                        digest,
+                                        generation,
+                                        PackageDataModelOracleFragment.newEnumFragment( enumDefinition,
+                                                                                        classLoader ) );
+            }
+            dmoBuilder.addFragment( fragment );
         }
     }
 
     private void loadDslsForPackage( final PackageDataModelOracleBuilder dmoBuilder,
-                                     final Package pkg ) {
+                                     final Package pkg,
+                                     final Map<String, ResourceFragment> previousFragments,
+                                     final Map<String, ResourceFragment> fragments ) {
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert( pkg.getPackageMainResourcesPath() );
         final Collection<org.uberfire.java.nio.file.Path> dslFiles = fileDiscoveryService.discoverFiles( nioPackagePath,
                                                                                                          FILTER_DSLS );
         for ( final org.uberfire.java.nio.file.Path path : dslFiles ) {
             final String dslDefinition = ioService.readAllString( path );
-            dmoBuilder.addDsl( dslDefinition );
+            final String uri = path.toUri().toString();
+            final String digest = DigestUtil.sha1( dslDefinition );
+            PackageDataModelOracleFragment fragment = getFragment( previousFragments,
+                                                                   fragments,
+                                                                   uri,
+                                                                   digest,
+                                                                   0 );
+            if ( fragment == null ) {
+                fragment = putFragment( fragments,
+                                        uri,
+                                        digest,
+                                        0,
+                                        PackageDataModelOracleFragment.newDslFragment( dslDefinition ) );
+            }
+            dmoBuilder.addFragment( fragment );
         }
     }
 
     private void loadGlobalsForPackage( final PackageDataModelOracleBuilder dmoBuilder,
-                                        final Package pkg ) {
+                                        final Package pkg,
+                                        final Map<String, ResourceFragment> previousFragments,
+                                        final Map<String, ResourceFragment> fragments ) {
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert( pkg.getPackageMainResourcesPath() );
         final Collection<org.uberfire.java.nio.file.Path> globalFiles = fileDiscoveryService.discoverFiles( nioPackagePath,
                                                                                                             FILTER_GLOBALS );
         for ( final org.uberfire.java.nio.file.Path path : globalFiles ) {
             final String definition = ioService.readAllString( path );
-            dmoBuilder.addGlobals( definition );
+            final String uri = path.toUri().toString();
+            final String digest = DigestUtil.sha1( definition );
+            PackageDataModelOracleFragment fragment = getFragment( previousFragments,
+                                                                   fragments,
+                                                                   uri,
+                                                                   digest,
+                                                                   0 );
+            if ( fragment == null ) {
+                fragment = putFragment( fragments,
+                                        uri,
+                                        digest,
+                                        0,
+                                        PackageDataModelOracleFragment.newGlobalsFragment( definition ) );
+            }
+            dmoBuilder.addFragment( fragment );
         }
     }
 
+    //The fragment parsed from a resource, with the digest of the content and the generation from which it was parsed
+    private static class ResourceFragment {
+
+        private final String digest;
+        private final long generation;
+        private final PackageDataModelOracleFragment fragment;
+
+        private ResourceFragment( final String digest,
+                                  final long generation,
+                                  final PackageDataModelOracleFragment fragment ) {
+            this.digest = digest;
+            this.generation = generation;
+            this.fragment = fragment;
+        }
+
+    }
+
 }
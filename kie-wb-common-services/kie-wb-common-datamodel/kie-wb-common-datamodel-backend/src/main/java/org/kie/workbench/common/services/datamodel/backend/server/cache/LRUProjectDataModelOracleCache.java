@@ -1,14 +1,13 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
-
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import java.util.LinkedList;
-
 import org.drools.core.rule.TypeMetaInfo;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
@@ -20,8 +19,13 @@ import org.guvnor.common.services.project.model.ProjectImports;
 import org.guvnor.common.services.project.service.POMService;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.KieModuleMetaDataCache;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.PackageScope;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFingerprinter;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleSnapshot;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleTypeResolver;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -34,7 +38,12 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Files;
 
 /**
- * A simple LRU cache for Project DataModelOracles
+ * A simple LRU cache for Project DataModelOracles. When an entry is invalidated a snapshot of the content of the
+ * previous ProjectDataModelOracle is retained so that only Fact Types whose Classes changed are introspected on rebuild.
+ * <p/>
+ * If the System Property {@link #LAZY_PROPERTY} is "true" the ProjectDataModelOracle only contains the names, sources
+ * and kinds of Fact Types. Their fields, methods and annotations are introspected when first requested through
+ * {@link #resolveFactType(KieProject, String)}.
  */
 @ApplicationScoped
 @Named("ProjectDataModelOracleCache")
@@ -42,6 +51,12 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
 
     private static final Logger log = LoggerFactory.getLogger( LRUProjectDataModelOracleCache.class );
 
+    public static final String LAZY_PROPERTY = "org.kie.workbench.datamodel.lazy";
+
+    private static final int MAX_SNAPSHOTS = 10;
+
+    private static final int MAX_RESOLVED_FACT_TYPES = 500;
+
     @Inject
     private POMService pomService;
 
@@ -58,6 +73,31 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
     @Inject
     private LRUBuilderCache cache;
 
+    @Inject
+    private KieModuleMetaDataCache metaDataCache;
+
+    //Snapshots of the content of the last ProjectDataModelOracle built for each Project. These survive invalidation of the cache entry.
+    private final Map<KieProject, ProjectDataModelOracleSnapshot> snapshots = new LinkedHashMap<KieProject, ProjectDataModelOracleSnapshot>( MAX_SNAPSHOTS,
+                                                                                                                                           0.75f,
+                                                                                                                                           true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<KieProject, ProjectDataModelOracleSnapshot> eldest ) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+
+    //Resolvers of Fact Types for Project DataModelOracles built lazily
+    private final Map<KieProject, ProjectDataModelOracleTypeResolver> resolvers = new LinkedHashMap<KieProject, ProjectDataModelOracleTypeResolver>( MAX_SNAPSHOTS,
+                                                                                                                                                    0.75f,
+                                                                                                                                                    true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<KieProject, ProjectDataModelOracleTypeResolver> eldest ) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+
+    private final boolean lazy = Boolean.getBoolean( LAZY_PROPERTY );
+
     public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
                                             event );
@@ -67,6 +107,7 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
         //If resource was not within a Project there's nothing to invalidate
         if ( project != null ) {
             invalidateCache( project );
+            resolvers.remove( project );
         }
     }
 
@@ -81,33 +122,75 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
         return projectOracle;
     }
 
+    /**
+     * Get the full definition of a Fact Type from a Project DataModelOracle that was built lazily.
+     * @param project The Project
+     * @param factType The fully qualified class name of the Fact Type
+     * @return A ProjectDataModelOracle containing the Fact Type, or null if the Project DataModelOracle was not built
+     * lazily or the Fact Type is unknown
+     */
+    public ProjectDataModelOracle resolveFactType( final KieProject project,
+                                                   final String factType ) {
+        if ( !lazy ) {
+            return null;
+        }
+        final ProjectDataModelOracleTypeResolver resolver = assertTypeResolver( project );
+        if ( resolver == null ) {
+            return null;
+        }
+
+        //Introspection is performed outside of the cache's lock
+        return resolver.resolve( factType );
+    }
+
+    private synchronized ProjectDataModelOracleTypeResolver assertTypeResolver( final KieProject project ) {
+        assertProjectDataModelOracle( project );
+        ProjectDataModelOracleTypeResolver resolver = resolvers.get( project );
+        if ( resolver == null ) {
+            //The resolver has been evicted; rebuild the ProjectDataModelOracle to re-create it
+            invalidateCache( project );
+            assertProjectDataModelOracle( project );
+            resolver = resolvers.get( project );
+        }
+        return resolver;
+    }
+
     private ProjectDataModelOracle makeProjectOracle( final KieProject project ) {
         //Get a Builder for the project
         final Builder builder = cache.assertBuilder( project );
 
-        //Create the ProjectOracle...
-        final KieModuleMetaData kieModuleMetaData = KieModuleMetaData.Factory.newKieModuleMetaData( builder.getKieModuleIgnoringErrors() );
+        //Create the ProjectOracle from the Project's shared KieModuleMetaData
+        final KieModuleMetaData kieModuleMetaData = metaDataCache.getKieModuleMetaData( project );
+        if ( lazy ) {
+            return makeLazyProjectOracle( project,
+                                          builder,
+                                          kieModuleMetaData );
+        }
+        return makeProjectOracle( project,
+                                  builder,
+                                  kieModuleMetaData );
+    }
+
+    private ProjectDataModelOracle makeProjectOracle( final KieProject project,
+                                                      final Builder builder,
+                                                      final KieModuleMetaData kieModuleMetaData ) {
         final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
 
-        // Add all packageLinkedList
-        //first test change by mbattagl@redhat.com 
-        //what are the package with the business model? 
-        //The answer could be in a file inside META-INF folder, or in a pom.xml properties
-        //Now it's hard coded in the if condition 
-        log.info("Package to register are limited!");
-        LinkedList<String> packagesToRegister = new LinkedList<String>();
-        for(String packageName : kieModuleMetaData.getPackages()){
-        	if(packageName.startsWith("org.mortgages") || packageName.startsWith("org.decisyon")){
-        		packagesToRegister.add(packageName);
-        	}
-        }
-       // pdBuilder.addPackages( kieModuleMetaData.getPackages() );
-        pdBuilder.addPackages(packagesToRegister);
-        
+        //Fact Types that have not changed since the last build are copied from the previous snapshot
+        final ProjectDataModelOracleSnapshot snapshot = snapshots.get( project );
+        final ClassFingerprinter fingerprinter = new ClassFingerprinter( builder.getKieModuleIgnoringErrors() );
+        int reusedFactTypes = 0;
+        int introspectedFactTypes = 0;
 
-        //Add all classes from the KieModule metaData
-//        for ( final String packageName : kieModuleMetaData.getPackages() ) {
-        for ( final String packageName : packagesToRegister) {
+        //Add all packages and classes from the KieModule metaData within the Project's scope
+        final PackageScope packageScope = builder.getPackageScope();
+        pdBuilder.setPackageScope( packageScope );
+        pdBuilder.addPackages( kieModuleMetaData.getPackages() );
+
+        for ( final String packageName : kieModuleMetaData.getPackages() ) {
+            if ( !packageScope.isPackageInScope( packageName ) ) {
+                continue;
+            }
             for ( final String className : kieModuleMetaData.getClasses( packageName ) ) {
                 try {
                     final Class clazz = kieModuleMetaData.getClass( packageName,
@@ -115,9 +198,16 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
                     final TypeMetaInfo typeMetaInfo = kieModuleMetaData.getTypeMetaInfo( clazz );
                     final TypeSource typeSource = builder.getClassSource( kieModuleMetaData,
                                                                           clazz );
-                    pdBuilder.addClass( clazz,
-                                        typeMetaInfo.isEvent(),
-                                        typeSource );
+                    if ( addClass( pdBuilder,
+                                   snapshot,
+                                   fingerprinter,
+                                   clazz,
+                                   typeMetaInfo.isEvent(),
+                                   typeSource ) ) {
+                        reusedFactTypes++;
+                    } else {
+                        introspectedFactTypes++;
+                    }
 
                 } catch ( Throwable e ) {
                     log.error( e.getMessage() );
@@ -134,9 +224,16 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
             for ( final Import item : imports.getImports() ) {
                 try {
                     Class clazz = this.getClass().getClassLoader().loadClass( item.getType() );
-                    pdBuilder.addClass( clazz,
-                                        false,
-                                        TypeSource.JAVA_DEPENDENCY );
+                    if ( addClass( pdBuilder,
+                                   snapshot,
+                                   fingerprinter,
+                                   clazz,
+                                   false,
+                                   TypeSource.JAVA_DEPENDENCY ) ) {
+                        reusedFactTypes++;
+                    } else {
+                        introspectedFactTypes++;
+                    }
                 } catch ( ClassNotFoundException cnfe ) {
                     //This would have been raised to the user by Builder's validation but record the error here too
                     log.error( cnfe.getMessage() );
@@ -146,7 +243,103 @@ public class LRUProjectDataModelOracleCache extends LRUCache<KieProject, Project
             }
         }
 
-        return pdBuilder.build();
+        final ProjectDataModelOracle projectOracle = pdBuilder.build();
+        snapshots.put( project,
+                       ProjectDataModelOracleSnapshot.newSnapshot( projectOracle,
+                                                                   fingerprinter.getFingerprints() ) );
+        log.debug( "ProjectDataModelOracle for '" + project.getProjectName() + "' built in " + pdBuilder.getElapsedTime() + "ms. " +
+                           reusedFactTypes + " Fact Types reused, " + introspectedFactTypes + " Fact Types rebuilt, " +
+                           pdBuilder.getIntrospectedClassCount() + " Classes introspected, " + pdBuilder.getRegistryHitCount() + " introspection cache hits." );
+
+        return projectOracle;
+    }
+
+    private ProjectDataModelOracle makeLazyProjectOracle( final KieProject project,
+                                                          final Builder builder,
+                                                          final KieModuleMetaData kieModuleMetaData ) {
+        //Create the ProjectOracle containing only the Fact Types...
+        final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        final ProjectDataModelOracleTypeResolver resolver = new ProjectDataModelOracleTypeResolver( MAX_RESOLVED_FACT_TYPES );
+
+        //Add all packages and classes from the KieModule metaData within the Project's scope
+        final PackageScope packageScope = builder.getPackageScope();
+        pdBuilder.setPackageScope( packageScope );
+        pdBuilder.addPackages( kieModuleMetaData.getPackages() );
+
+        for ( final String packageName : kieModuleMetaData.getPackages() ) {
+            if ( !packageScope.isPackageInScope( packageName ) ) {
+                continue;
+            }
+            for ( final String className : kieModuleMetaData.getClasses( packageName ) ) {
+                try {
+                    final Class clazz = kieModuleMetaData.getClass( packageName,
+                                                                    className );
+                    final TypeMetaInfo typeMetaInfo = kieModuleMetaData.getTypeMetaInfo( clazz );
+                    final TypeSource typeSource = builder.getClassSource( kieModuleMetaData,
+                                                                          clazz );
+                    pdBuilder.addLazyClass( clazz,
+                                            typeMetaInfo.isEvent(),
+                                            typeSource );
+                    resolver.addClass( clazz,
+                                       typeMetaInfo.isEvent(),
+                                       typeSource );
+
+                } catch ( Throwable e ) {
+                    log.error( e.getMessage() );
+                }
+            }
+        }
+
+        //Add external imports. The availability of these classes is checked in Builder and failed fast.
+        final org.uberfire.java.nio.file.Path nioExternalImportsPath = Paths.convert( project.getImportsPath() );
+        if ( Files.exists( nioExternalImportsPath ) ) {
+            final Path externalImportsPath = Paths.convert( nioExternalImportsPath );
+            final ProjectImports projectImports = importsService.load( externalImportsPath );
+            final Imports imports = projectImports.getImports();
+            for ( final Import item : imports.getImports() ) {
+                try {
+                    Class clazz = this.getClass().getClassLoader().loadClass( item.getType() );
+                    pdBuilder.addLazyClass( clazz,
+                                            false,
+                                            TypeSource.JAVA_DEPENDENCY );
+                    resolver.addClass( clazz,
+                                       false,
+                                       TypeSource.JAVA_DEPENDENCY );
+                } catch ( ClassNotFoundException cnfe ) {
+                    //This would have been raised to the user by Builder's validation but record the error here too
+                    log.error( cnfe.getMessage() );
+                }
+            }
+        }
+
+        final ProjectDataModelOracle projectOracle = pdBuilder.build();
+        resolvers.put( project,
+                       resolver );
+        log.debug( "Lazy ProjectDataModelOracle for '" + project.getProjectName() + "' built in " + pdBuilder.getElapsedTime() + "ms." );
+
+        return projectOracle;
+    }
+
+    //Add a Class to the builder, copying it from the snapshot if it has not changed. Returns true if it was copied.
+    private boolean addClass( final ProjectDataModelOracleBuilder pdBuilder,
+                              final ProjectDataModelOracleSnapshot snapshot,
+                              final ClassFingerprinter fingerprinter,
+                              final Class clazz,
+                              final boolean isEvent,
+                              final TypeSource typeSource ) throws IOException {
+        //Fingerprints are recorded for the next snapshot whether or not there is a previous one
+        fingerprinter.getFingerprint( clazz );
+        if ( snapshot != null && snapshot.addFactTypeIfUnchanged( pdBuilder,
+                                                                  clazz,
+                                                                  isEvent,
+                                                                  typeSource,
+                                                                  fingerprinter ) ) {
+            return true;
+        }
+        pdBuilder.addClass( clazz,
+                            isEvent,
+                            typeSource );
+        return false;
     }
 }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Address;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Customer;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleBaselinePayload;
+
+import static org.junit.Assert.*;
+
+public class PackageDataModelOracleBaselineCacheTest {
+
+    private static final String PACKAGE_NAME = "org.kie.workbench.common.services.datamodel.backend.server.testclasses";
+
+    @Test
+    public void testRepeatedRequestsHaveTheirOwnContent() throws Exception {
+        final PackageDataModelOracle oracle = makePackageOracle();
+        final Set<String> usedTypes = Collections.singleton( Product.class.getName() );
+
+        final PackageDataModelOracleBaselinePayload payload1 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload1,
+                                                    usedTypes );
+        final PackageDataModelOracleBaselinePayload payload2 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload2,
+                                                    new HashSet<String>( usedTypes ) );
+
+        assertNotSame( payload1.getModelFields(),
+                       payload2.getModelFields() );
+        assertEquals( payload1.getModelFields().keySet(),
+                      payload2.getModelFields().keySet() );
+        assertEquals( payload1.getMethodInformation(),
+                      payload2.getMethodInformation() );
+        assertEquals( PACKAGE_NAME,
+                      payload2.getPackageName() );
+
+        //Modifying one payload does not affect later payloads
+        payload2.getModelFields().remove( Product.class.getName() );
+        final PackageDataModelOracleBaselinePayload payload3 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload3,
+                                                    usedTypes );
+        assertTrue( payload3.getModelFields().containsKey( Product.class.getName() ) );
+
+        //Used types are complete, others are lazy proxies
+        assertFalse( isLazyProxy( payload1.getModelFields().get( Product.class.getName() ) ) );
+        assertTrue( isLazyProxy( payload1.getModelFields().get( Address.class.getName() ) ) );
+        assertTrue( isLazyProxy( payload1.getModelFields().get( Customer.class.getName() ) ) );
+    }
+
+    @Test
+    public void testLazyProxiesAreSharedBetweenUsedTypes() throws Exception {
+        final PackageDataModelOracle oracle = makePackageOracle();
+
+        final PackageDataModelOracleBaselinePayload payload1 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload1,
+                                                    Collections.singleton( Product.class.getName() ) );
+        final PackageDataModelOracleBaselinePayload payload2 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload2,
+                                                    Collections.singleton( Address.class.getName() ) );
+
+        assertNotSame( payload1.getModelFields(),
+                       payload2.getModelFields() );
+        assertSame( payload1.getModelFields().get( Customer.class.getName() ),
+                    payload2.getModelFields().get( Customer.class.getName() ) );
+        assertTrue( isLazyProxy( payload2.getModelFields().get( Product.class.getName() ) ) );
+        assertFalse( isLazyProxy( payload2.getModelFields().get( Address.class.getName() ) ) );
+    }
+
+    @Test
+    public void testNewOracleGenerationIsNotServedFromCache() throws Exception {
+        final Set<String> usedTypes = Collections.singleton( Product.class.getName() );
+
+        final PackageDataModelOracleBaselinePayload payload1 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( makePackageOracle(),
+                                                    payload1,
+                                                    usedTypes );
+        final PackageDataModelOracleBaselinePayload payload2 = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( makePackageOracle(),
+                                                    payload2,
+                                                    usedTypes );
+
+        assertNotSame( payload1.getModelFields(),
+                       payload2.getModelFields() );
+        assertEquals( payload1.getModelFields().keySet(),
+                      payload2.getModelFields().keySet() );
+    }
+
+    @Test
+    public void testGlobalsAreComplete() throws Exception {
+        final ProjectDataModelOracle projectOracle = makeProjectOracle();
+        final PackageDataModelOracle oracle = PackageDataModelOracleBuilder.newPackageOracleBuilder( PACKAGE_NAME )
+                .setProjectOracle( projectOracle )
+                .addGlobals( "global " + Customer.class.getName() + " c;" )
+                .build();
+
+        final PackageDataModelOracleBaselinePayload payload = new PackageDataModelOracleBaselinePayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload,
+                                                    Collections.<String>emptySet() );
+
+        assertFalse( isLazyProxy( payload.getModelFields().get( Customer.class.getName() ) ) );
+        assertTrue( isLazyProxy( payload.getModelFields().get( Product.class.getName() ) ) );
+    }
+
+    private boolean isLazyProxy( final Object[] modelFields ) {
+        return modelFields.length == 1 && modelFields[ 0 ] instanceof LazyModelField;
+    }
+
+    private PackageDataModelOracle makePackageOracle() throws Exception {
+        return PackageDataModelOracleBuilder.newPackageOracleBuilder( PACKAGE_NAME )
+                .setProjectOracle( makeProjectOracle() )
+                .build();
+    }
+
+    private ProjectDataModelOracle makeProjectOracle() throws Exception {
+        return ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Product.class )
+                .addClass( Address.class )
+                .addClass( Customer.class )
+                .build();
+    }
+
+}
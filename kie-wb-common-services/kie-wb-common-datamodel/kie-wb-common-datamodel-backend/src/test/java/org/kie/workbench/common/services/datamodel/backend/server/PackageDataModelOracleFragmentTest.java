@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleFragment;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that merging parsed fragments gives the same Package DataModelOracle as parsing each resource
+ */
+public class PackageDataModelOracleFragmentTest {
+
+    private static final String ENUM_DEFINITION = "'Person.sex' : ['M', 'F']\n'Person.age' : ['10', '20']";
+    private static final String DSL_DEFINITION = "[when]There is a Smurf=Smurf()\n[then]Greet Smurf=System.out.println(\"Hello Smurf\");";
+    private static final String GLOBALS_DEFINITION = "global java.util.List list;";
+
+    @Test
+    public void testFragmentsMatchParsedResources() {
+        final PackageDataModelOracle parsed = PackageDataModelOracleBuilder.newPackageOracleBuilder( "org.test" )
+                .addEnum( ENUM_DEFINITION,
+                          getClass().getClassLoader() )
+                .addDsl( DSL_DEFINITION )
+                .addGlobals( GLOBALS_DEFINITION )
+                .build();
+
+        final PackageDataModelOracle merged = PackageDataModelOracleBuilder.newPackageOracleBuilder( "org.test" )
+                .addFragment( PackageDataModelOracleFragment.newEnumFragment( ENUM_DEFINITION,
+                                                                              getClass().getClassLoader() ) )
+                .addFragment( PackageDataModelOracleFragment.newDslFragment( DSL_DEFINITION ) )
+                .addFragment( PackageDataModelOracleFragment.newGlobalsFragment( GLOBALS_DEFINITION ) )
+                .build();
+
+        assertEquals( parsed.getPackageWorkbenchDefinitions().keySet(),
+                      merged.getPackageWorkbenchDefinitions().keySet() );
+        assertArrayEquals( new String[]{ "M", "F" },
+                           merged.getPackageWorkbenchDefinitions().get( "Person#sex" ) );
+        assertEquals( 1,
+                      merged.getPackageDslConditionSentences().size() );
+        assertEquals( parsed.getPackageDslConditionSentences().get( 0 ).getDefinition(),
+                      merged.getPackageDslConditionSentences().get( 0 ).getDefinition() );
+        assertEquals( 1,
+                      merged.getPackageDslActionSentences().size() );
+        assertEquals( parsed.getPackageGlobals(),
+                      merged.getPackageGlobals() );
+    }
+
+    @Test
+    public void testFragmentSharedByBuilders() {
+        final PackageDataModelOracleFragment fragment = PackageDataModelOracleFragment.newDslFragment( DSL_DEFINITION );
+
+        final PackageDataModelOracle dmo1 = PackageDataModelOracleBuilder.newPackageOracleBuilder()
+                .addFragment( fragment )
+                .build();
+        final PackageDataModelOracle dmo2 = PackageDataModelOracleBuilder.newPackageOracleBuilder()
+                .addFragment( fragment )
+                .addDsl( "[when]There is Happy Smurf=Smurf( nature = HAPPY )" )
+                .build();
+
+        //Each Package DataModelOracle has its own DSLSentences
+        assertEquals( 1,
+                      dmo1.getPackageDslConditionSentences().size() );
+        assertEquals( 2,
+                      dmo2.getPackageDslConditionSentences().size() );
+        assertNotSame( dmo1.getPackageDslConditionSentences().get( 0 ),
+                       dmo2.getPackageDslConditionSentences().get( 0 ) );
+    }
+
+    @Test
+    public void testLaterFragmentTakesPrecedence() {
+        final PackageDataModelOracle dmo = PackageDataModelOracleBuilder.newPackageOracleBuilder()
+                .addFragment( PackageDataModelOracleFragment.newGlobalsFragment( "global java.util.List list;" ) )
+                .addFragment( PackageDataModelOracleFragment.newGlobalsFragment( "global java.util.ArrayList list;" ) )
+                .build();
+
+        assertEquals( "java.util.ArrayList",
+                      dmo.getPackageGlobals().get( "list" ) );
+    }
+
+    @Test
+    public void testEnumWithErrorsIsEmpty() {
+        final PackageDataModelOracleFragment fragment = PackageDataModelOracleFragment.newEnumFragment( "'Person.sex' : ['M', 'F'",
+                                                                                                        getClass().getClassLoader() );
+        assertTrue( fragment.getEnums().isEmpty() );
+    }
+
+    @Test
+    public void testLiteralEnumDefinitions() {
+        assertTrue( PackageDataModelOracleFragment.isLiteralEnumDefinition( ENUM_DEFINITION ) );
+        assertTrue( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.age' : [10, 20.5, -1]" ) );
+        assertTrue( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.name' : [\"Smurf's\", 'Gargamel\\'s']" ) );
+        assertTrue( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.name[sex=M]' : ['Papa Smurf']" ) );
+    }
+
+    @Test
+    public void testExpressionEnumDefinitions() {
+        assertFalse( PackageDataModelOracleFragment.isLiteralEnumDefinition( "='Person.sex' : ['M', 'F']" ) );
+        assertFalse( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.sex' : (new org.test.SexHelper()).getSexes()" ) );
+        assertFalse( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.sex' : ['M', org.test.Sex.FEMALE]" ) );
+        assertFalse( PackageDataModelOracleFragment.isLiteralEnumDefinition( "'Person.sex' : ['M', 'F" ) );
+    }
+
+}
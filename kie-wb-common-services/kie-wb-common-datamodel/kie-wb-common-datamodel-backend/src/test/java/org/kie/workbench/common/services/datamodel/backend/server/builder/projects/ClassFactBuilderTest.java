@@ -1,8 +1,11 @@
 package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
 
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Address;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Customer;
 import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
 
 import static org.junit.Assert.*;
@@ -22,4 +25,29 @@ public class ClassFactBuilderTest {
 
         assertEquals(2, oracle.getProjectSuperTypes().get(PapaSmurf.class.getName()).size());
     }
+
+    @Test
+    public void testSharedAndCyclicFieldTypesAreIntrospectedOnce() throws Exception {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        builder.addClass( Customer.class,
+                          false,
+                          TypeSource.JAVA_PROJECT );
+        final int introspectedClassCount = builder.getIntrospectedClassCount();
+        final int registryHitCount = builder.getRegistryHitCount();
+
+        //Address was introspected as the type of Customer's fields (twice) and Customer as the type of a cyclic field
+        assertTrue( registryHitCount >= 2 );
+
+        builder.addClass( Address.class,
+                          false,
+                          TypeSource.JAVA_PROJECT );
+        assertEquals( introspectedClassCount,
+                      builder.getIntrospectedClassCount() );
+        assertEquals( registryHitCount + 1,
+                      builder.getRegistryHitCount() );
+
+        final ProjectDataModelOracle oracle = builder.build();
+        assertTrue( oracle.getProjectModelFields().containsKey( Customer.class.getName() ) );
+        assertTrue( oracle.getProjectModelFields().containsKey( Address.class.getName() ) );
+    }
 }
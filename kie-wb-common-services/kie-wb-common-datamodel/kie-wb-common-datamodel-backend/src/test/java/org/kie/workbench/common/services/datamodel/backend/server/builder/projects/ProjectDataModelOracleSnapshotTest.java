@@ -0,0 +1,165 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Address;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared.Customer;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.*;
+
+public class ProjectDataModelOracleSnapshotTest {
+
+    @Test
+    public void testUnchangedFactTypesAreCopied() throws Exception {
+        final ClassFingerprinter fingerprinter = new ClassFingerprinter( null );
+        final Map<String, String> fingerprints = new HashMap<String, String>();
+        fingerprints.put( Product.class.getName(),
+                          fingerprinter.getFingerprint( Product.class ) );
+        fingerprints.put( PapaSmurf.class.getName(),
+                          fingerprinter.getFingerprint( PapaSmurf.class ) );
+
+        final ProjectDataModelOracle oracle1 = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .addClass( PapaSmurf.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+
+        final ProjectDataModelOracleSnapshot snapshot = ProjectDataModelOracleSnapshot.newSnapshot( oracle1,
+                                                                                                    fingerprints );
+
+        final ProjectDataModelOracleBuilder builder2 = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        assertTrue( snapshot.addFactTypeIfUnchanged( builder2,
+                                                     Product.class,
+                                                     false,
+                                                     TypeSource.JAVA_PROJECT,
+                                                     fingerprinter ) );
+        assertTrue( snapshot.addFactTypeIfUnchanged( builder2,
+                                                     PapaSmurf.class,
+                                                     false,
+                                                     TypeSource.JAVA_PROJECT,
+                                                     fingerprinter ) );
+        final ProjectDataModelOracle oracle2 = builder2.build();
+
+        assertNotSame( oracle1,
+                       oracle2 );
+        assertEquals( oracle1.getProjectModelFields().keySet(),
+                      oracle2.getProjectModelFields().keySet() );
+        assertEquals( oracle1.getProjectJavaEnumDefinitions().keySet(),
+                      oracle2.getProjectJavaEnumDefinitions().keySet() );
+        assertEquals( oracle1.getProjectSuperTypes().get( PapaSmurf.class.getName() ),
+                      oracle2.getProjectSuperTypes().get( PapaSmurf.class.getName() ) );
+        assertEquals( oracle1.getProjectMethodInformation().keySet(),
+                      oracle2.getProjectMethodInformation().keySet() );
+    }
+
+    @Test
+    public void testChangedFactTypesAreNotCopied() throws Exception {
+        final Map<String, String> fingerprints = new HashMap<String, String>();
+        fingerprints.put( Product.class.getName(),
+                          "old" );
+
+        final ProjectDataModelOracle oracle1 = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+
+        final ProjectDataModelOracleSnapshot snapshot = ProjectDataModelOracleSnapshot.newSnapshot( oracle1,
+                                                                                                    fingerprints );
+
+        final ProjectDataModelOracleBuilder builder2 = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        assertFalse( snapshot.addFactTypeIfUnchanged( builder2,
+                                                      Product.class,
+                                                      false,
+                                                      TypeSource.JAVA_PROJECT,
+                                                      new ClassFingerprinter( null ) ) );
+
+        //Classes whose byte-code is not accessible have no fingerprint
+        final Class<?> proxyClass = Proxy.getProxyClass( getClass().getClassLoader(),
+                                                         Runnable.class );
+        assertNull( new ClassFingerprinter( null ).getFingerprint( proxyClass ) );
+        assertFalse( snapshot.addFactTypeIfUnchanged( builder2,
+                                                      proxyClass,
+                                                      false,
+                                                      TypeSource.JAVA_PROJECT,
+                                                      new ClassFingerprinter( null ) ) );
+        assertTrue( builder2.build().getProjectModelFields().isEmpty() );
+    }
+
+    @Test
+    public void testChangedFieldTypesAreIntrospected() throws Exception {
+        final ClassFingerprinter fingerprinter = new ClassFingerprinter( null );
+        final Map<String, String> fingerprints = new HashMap<String, String>();
+        fingerprints.put( Customer.class.getName(),
+                          fingerprinter.getFingerprint( Customer.class ) );
+        fingerprints.put( Address.class.getName(),
+                          "old" );
+
+        final ProjectDataModelOracle oracle1 = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Customer.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+
+        final ProjectDataModelOracleSnapshot snapshot = ProjectDataModelOracleSnapshot.newSnapshot( oracle1,
+                                                                                                    fingerprints );
+
+        //Customer is unchanged but the Fact Type of its Address fields is not copied
+        final ProjectDataModelOracleBuilder builder2 = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        assertTrue( snapshot.addFactTypeIfUnchanged( builder2,
+                                                     Customer.class,
+                                                     false,
+                                                     TypeSource.JAVA_PROJECT,
+                                                     fingerprinter ) );
+        final ProjectDataModelOracle oracle2 = builder2.build();
+
+        assertTrue( builder2.getIntrospectedClassCount() > 0 );
+        assertEquals( oracle1.getProjectModelFields().keySet(),
+                      oracle2.getProjectModelFields().keySet() );
+        assertEquals( oracle1.getProjectModelFields().get( Address.class.getName() ).length,
+                      oracle2.getProjectModelFields().get( Address.class.getName() ).length );
+    }
+
+    @Test
+    public void testUnchangedFieldTypesAreCopied() throws Exception {
+        final ClassFingerprinter fingerprinter = new ClassFingerprinter( null );
+        final Map<String, String> fingerprints = new HashMap<String, String>();
+        fingerprints.put( Customer.class.getName(),
+                          fingerprinter.getFingerprint( Customer.class ) );
+        fingerprints.put( Address.class.getName(),
+                          fingerprinter.getFingerprint( Address.class ) );
+
+        final ProjectDataModelOracle oracle1 = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Customer.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+
+        final ProjectDataModelOracleSnapshot snapshot = ProjectDataModelOracleSnapshot.newSnapshot( oracle1,
+                                                                                                    fingerprints );
+
+        final ProjectDataModelOracleBuilder builder2 = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        assertTrue( snapshot.addFactTypeIfUnchanged( builder2,
+                                                     Customer.class,
+                                                     false,
+                                                     TypeSource.JAVA_PROJECT,
+                                                     fingerprinter ) );
+        final ProjectDataModelOracle oracle2 = builder2.build();
+
+        assertEquals( 0,
+                      builder2.getIntrospectedClassCount() );
+        assertEquals( oracle1.getProjectModelFields().keySet(),
+                      oracle2.getProjectModelFields().keySet() );
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+
+import static org.junit.Assert.*;
+
+public class ProjectDataModelOracleTypeResolverTest {
+
+    @Test
+    public void testLazyClassIsNotIntrospected() throws Exception {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        final ProjectDataModelOracle oracle = builder.addLazyClass( Product.class,
+                                                                    true,
+                                                                    TypeSource.JAVA_PROJECT ).build();
+
+        assertEquals( 0,
+                      builder.getIntrospectedClassCount() );
+        final ModelField[] modelFields = oracle.getProjectModelFields().get( Product.class.getName() );
+        assertEquals( 1,
+                      modelFields.length );
+        assertTrue( modelFields[ 0 ] instanceof LazyModelField );
+        assertTrue( oracle.getProjectEventTypes().get( Product.class.getName() ) );
+        assertEquals( TypeSource.JAVA_PROJECT,
+                      oracle.getProjectTypeSources().get( Product.class.getName() ) );
+    }
+
+    @Test
+    public void testResolveFactType() throws Exception {
+        final ProjectDataModelOracleTypeResolver resolver = new ProjectDataModelOracleTypeResolver( 10 );
+        resolver.addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT );
+
+        final ProjectDataModelOracle oracle = resolver.resolve( Product.class.getName() );
+        assertNotNull( oracle );
+        final ModelField[] modelFields = oracle.getProjectModelFields().get( Product.class.getName() );
+        assertTrue( modelFields.length > 1 );
+        assertFalse( modelFields[ 0 ] instanceof LazyModelField );
+
+        assertSame( oracle,
+                    resolver.resolve( Product.class.getName() ) );
+        assertEquals( 1,
+                      resolver.getMissCount() );
+        assertEquals( 1,
+                      resolver.getHitCount() );
+
+        assertNull( resolver.resolve( "org.unknown.Type" ) );
+    }
+
+    @Test
+    public void testResolvedFactTypesAreBounded() throws Exception {
+        final ProjectDataModelOracleTypeResolver resolver = new ProjectDataModelOracleTypeResolver( 1 );
+        resolver.addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT );
+        resolver.addClass( PapaSmurf.class,
+                           false,
+                           TypeSource.JAVA_PROJECT );
+
+        final ProjectDataModelOracle oracle = resolver.resolve( Product.class.getName() );
+        resolver.resolve( PapaSmurf.class.getName() );
+
+        assertNotSame( oracle,
+                       resolver.resolve( Product.class.getName() ) );
+        assertEquals( 3,
+                      resolver.getMissCount() );
+        assertEquals( 0,
+                      resolver.getHitCount() );
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared;
+
+public class Address {
+
+    private String street;
+
+    public String getStreet() {
+        return street;
+    }
+
+    public void setStreet( String street ) {
+        this.street = street;
+    }
+
+}
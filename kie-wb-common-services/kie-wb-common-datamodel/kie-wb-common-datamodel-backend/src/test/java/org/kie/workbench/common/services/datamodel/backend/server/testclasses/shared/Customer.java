@@ -0,0 +1,33 @@
+package org.kie.workbench.common.services.datamodel.backend.server.testclasses.shared;
+
+public class Customer {
+
+    private Address homeAddress;
+    private Address workAddress;
+    private Customer referrer;
+
+    public Address getHomeAddress() {
+        return homeAddress;
+    }
+
+    public void setHomeAddress( Address homeAddress ) {
+        this.homeAddress = homeAddress;
+    }
+
+    public Address getWorkAddress() {
+        return workAddress;
+    }
+
+    public void setWorkAddress( Address workAddress ) {
+        this.workAddress = workAddress;
+    }
+
+    public Customer getReferrer() {
+        return referrer;
+    }
+
+    public void setReferrer( Customer referrer ) {
+        this.referrer = referrer;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 JBoss Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.kie.workbench.common.services.refactoring.model.query;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * A type, or a field of a type, whose usages are to be found.
+ */
+@Portable
+public class RefactoringUsagesKey {
+
+    private String typeName;
+    private String fieldName;
+
+    public RefactoringUsagesKey() {
+        //Errai marshalling
+    }
+
+    public RefactoringUsagesKey( final String typeName ) {
+        this( typeName,
+              null );
+    }
+
+    public RefactoringUsagesKey( final String typeName,
+                                 final String fieldName ) {
+        this.typeName = PortablePreconditions.checkNotNull( "typeName",
+                                                            typeName );
+        this.fieldName = fieldName;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return The field name, or null if usages of the type are to be found
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    @Override
+    public boolean equals( final Object o ) {
+        if ( this == o ) {
+            return true;
+        }
+        if ( !( o instanceof RefactoringUsagesKey ) ) {
+            return false;
+        }
+        final RefactoringUsagesKey that = (RefactoringUsagesKey) o;
+        if ( typeName != null ? !typeName.equals( that.typeName ) : that.typeName != null ) {
+            return false;
+        }
+        return fieldName != null ? fieldName.equals( that.fieldName ) : that.fieldName == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = typeName != null ? typeName.hashCode() : 0;
+        result = 31 * result + ( fieldName != null ? fieldName.hashCode() : 0 );
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return fieldName == null ? typeName : typeName + "." + fieldName;
+    }
+
+}
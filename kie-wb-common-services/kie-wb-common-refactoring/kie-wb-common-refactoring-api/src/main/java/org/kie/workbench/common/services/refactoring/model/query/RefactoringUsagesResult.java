@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 JBoss Inc
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.kie.workbench.common.services.refactoring.model.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * All usages of a type, or a field of a type.
+ */
+@Portable
+public class RefactoringUsagesResult {
+
+    private List<RefactoringPageRow> rows = new ArrayList<RefactoringPageRow>();
+    private int totalHits;
+
+    public RefactoringUsagesResult() {
+        //Errai marshalling
+    }
+
+    public RefactoringUsagesResult( final List<RefactoringPageRow> rows,
+                                    final int totalHits ) {
+        this.rows = PortablePreconditions.checkNotNull( "rows",
+                                                        rows );
+        this.totalHits = totalHits;
+    }
+
+    public List<RefactoringPageRow> getRows() {
+        return rows;
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+}
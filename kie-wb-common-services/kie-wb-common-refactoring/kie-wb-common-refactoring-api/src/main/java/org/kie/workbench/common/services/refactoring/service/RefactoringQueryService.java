@@ -16,6 +16,7 @@
 package org.kie.workbench.common.services.refactoring.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.errai.bus.server.annotations.Remote;
@@ -23,6 +24,8 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.IndexTerm
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesKey;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesResult;
 import org.uberfire.paging.PageResponse;
 
 @Remote
@@ -38,4 +41,11 @@ public interface RefactoringQueryService {
                                     final Set<ValueIndexTerm> queryTerms,
                                     final boolean useWildcards );
 
+    /**
+     * Find all usages of many types, or fields of types, with a single search of the index.
+     * @param keys The types and fields
+     * @return All usages of each type and field, keyed by type and field
+     */
+    Map<RefactoringUsagesKey, RefactoringUsagesResult> queryUsages( final Set<RefactoringUsagesKey> keys );
+
 }
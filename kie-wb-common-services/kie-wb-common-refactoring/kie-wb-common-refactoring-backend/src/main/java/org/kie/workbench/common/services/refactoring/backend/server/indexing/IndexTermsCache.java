@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 JBoss, by Red Hat, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.uberfire.commons.data.Pair;
+
+/**
+ * Cache of the index terms produced for resource content, so that content that has already been indexed need not be
+ * parsed again. Terms are keyed by the folder containing the resource, since that determines the resource's Project
+ * and Package, by a digest of the content and by the generation of the Project's dependencies, since terms depend upon
+ * the classes available to the Project. Entries of an earlier generation are never matched and age out of the cache.
+ */
+public class IndexTermsCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final Map<String, Set<Pair<String, String>>> entries;
+
+    private long skipCount = 0;
+    private long parseCount = 0;
+
+    public IndexTermsCache() {
+        this( DEFAULT_MAX_ENTRIES );
+    }
+
+    public IndexTermsCache( final int maxEntries ) {
+        this.entries = new LinkedHashMap<String, Set<Pair<String, String>>>( 16,
+                                                                             0.75f,
+                                                                             true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, Set<Pair<String, String>>> eldest ) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the index terms previously produced for content.
+     * @param folderUri The URI of the folder containing the resource
+     * @param digest The digest of the resource's content
+     * @param dependencyGeneration The current generation of the Project's dependencies
+     * @return The index terms, or null if the content must be parsed
+     */
+    public synchronized Set<Pair<String, String>> get( final String folderUri,
+                                                       final String digest,
+                                                       final long dependencyGeneration ) {
+        final Set<Pair<String, String>> terms = entries.get( makeKey( folderUri,
+                                                                      digest,
+                                                                      dependencyGeneration ) );
+        if ( terms == null ) {
+            parseCount++;
+            return null;
+        }
+        skipCount++;
+        return terms;
+    }
+
+    /**
+     * Cache the index terms produced for content.
+     * @param folderUri The URI of the folder containing the resource
+     * @param digest The digest of the resource's content
+     * @param dependencyGeneration The generation of the Project's dependencies read before the terms were produced
+     * @param terms The index terms
+     */
+    public synchronized void put( final String folderUri,
+                                  final String digest,
+                                  final long dependencyGeneration,
+                                  final Set<Pair<String, String>> terms ) {
+        entries.put( makeKey( folderUri,
+                              digest,
+                              dependencyGeneration ),
+                     Collections.unmodifiableSet( new HashSet<Pair<String, String>>( terms ) ) );
+    }
+
+    /**
+     * @return The number of requests for which parsing was skipped
+     */
+    public synchronized long getSkipCount() {
+        return skipCount;
+    }
+
+    /**
+     * @return The number of requests for which content had to be parsed
+     */
+    public synchronized long getParseCount() {
+        return parseCount;
+    }
+
+    private String makeKey( final String folderUri,
+                            final String digest,
+                            final long dependencyGeneration ) {
+        return folderUri + "|" + digest + "|" + dependencyGeneration;
+    }
+
+}
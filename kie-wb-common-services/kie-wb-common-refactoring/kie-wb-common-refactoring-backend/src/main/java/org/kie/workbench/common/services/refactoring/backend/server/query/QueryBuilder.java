@@ -53,20 +53,25 @@ public class QueryBuilder {
         }
     }
 
-    private Query buildWildcardQuery() {
+    /**
+     * Build the index Term matching all terms added to the builder.
+     * @return The Term
+     */
+    public Term buildTerm() {
         final String field = buildField();
         final String text = buildText();
-        final WildcardQuery query = new WildcardQuery( new Term( field,
-                                                                 text ) );
+        return new Term( field,
+                         text );
+    }
+
+    private Query buildWildcardQuery() {
+        final WildcardQuery query = new WildcardQuery( buildTerm() );
         return query;
     }
 
     private Query buildRegularQuery() {
         final BooleanQuery query = new BooleanQuery();
-        final String field = buildField();
-        final String text = buildText();
-        query.add( new TermQuery( new Term( field,
-                                            text ) ),
+        query.add( new TermQuery( buildTerm() ),
                    BooleanClause.Occur.MUST );
         return query;
     }
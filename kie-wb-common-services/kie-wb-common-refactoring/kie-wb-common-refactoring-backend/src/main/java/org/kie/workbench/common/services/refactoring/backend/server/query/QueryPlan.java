@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.search.Query;
+import org.drools.workbench.models.datamodel.util.PortablePreconditions;
+import org.kie.workbench.common.services.refactoring.model.index.terms.IndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+
+/**
+ * A NamedQuery prepared for execution. The terms required by the NamedQuery are read once and Lucene Queries built by
+ * the NamedQuery are cached, keyed by the term values and whether wildcards are used. NamedQueries must therefore build
+ * equivalent Queries for equal term values.
+ */
+public class QueryPlan {
+
+    private static final int MAX_QUERIES = 256;
+
+    private final NamedQuery namedQuery;
+    private final Set<String> requiredTerms;
+
+    private final Map<String, Query> queries = new LinkedHashMap<String, Query>( 16,
+                                                                                 0.75f,
+                                                                                 true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, Query> eldest ) {
+            return size() > MAX_QUERIES;
+        }
+    };
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    public QueryPlan( final NamedQuery namedQuery ) {
+        this.namedQuery = PortablePreconditions.checkNotNull( "namedQuery",
+                                                              namedQuery );
+        final Set<String> requiredTerms = new HashSet<String>();
+        for ( IndexTerm term : namedQuery.getTerms() ) {
+            requiredTerms.add( term.getTerm() );
+        }
+        this.requiredTerms = Collections.unmodifiableSet( requiredTerms );
+    }
+
+    public NamedQuery getNamedQuery() {
+        return namedQuery;
+    }
+
+    public Set<String> getRequiredTerms() {
+        return requiredTerms;
+    }
+
+    /**
+     * Check all terms required by the NamedQuery have been provided. Additional terms are ignored by the NamedQuery.
+     * @param terms The provided terms
+     * @throws IllegalArgumentException if a required term has not been provided
+     */
+    public void validate( final Set<ValueIndexTerm> terms ) {
+        PortablePreconditions.checkNotNull( "terms",
+                                            terms );
+        final Set<String> providedTerms = new HashSet<String>( terms.size() );
+        for ( ValueIndexTerm term : terms ) {
+            providedTerms.add( term.getTerm() );
+        }
+        for ( String term : requiredTerms ) {
+            if ( !providedTerms.contains( term ) ) {
+                throw new IllegalArgumentException( "Expected IndexTerm '" + term + "' was not found." );
+            }
+        }
+    }
+
+    /**
+     * Get the Lucene Query for the provided terms, building it with the NamedQuery if it has not been cached.
+     * @param terms The provided terms
+     * @param useWildcards Whether values can contain wildcards
+     * @return The Query
+     */
+    public Query toQuery( final Set<ValueIndexTerm> terms,
+                          final boolean useWildcards ) {
+        final String key = getKey( terms,
+                                   useWildcards );
+        synchronized ( queries ) {
+            final Query query = queries.get( key );
+            if ( query != null ) {
+                hitCount++;
+                return query;
+            }
+            missCount++;
+        }
+
+        //Built outside of the lock; a Query built concurrently for the same key is equivalent
+        final Query query = namedQuery.toQuery( terms,
+                                                useWildcards );
+        synchronized ( queries ) {
+            queries.put( key,
+                         query );
+        }
+        return query;
+    }
+
+    public long getHitCount() {
+        synchronized ( queries ) {
+            return hitCount;
+        }
+    }
+
+    public long getMissCount() {
+        synchronized ( queries ) {
+            return missCount;
+        }
+    }
+
+    //Terms and values are length-prefixed so different terms cannot produce the same key
+    static String getKey( final Set<ValueIndexTerm> terms,
+                          final boolean useWildcards ) {
+        final List<String> parts = new ArrayList<String>( terms.size() );
+        for ( ValueIndexTerm term : terms ) {
+            final String value = term.getValue();
+            parts.add( term.getTerm().length() + ":" + term.getTerm() + ( value == null ? "-" : value.length() + ":" + value ) );
+        }
+        Collections.sort( parts );
+        final StringBuilder sb = new StringBuilder( useWildcards ? "W" : "T" );
+        for ( String part : parts ) {
+            sb.append( part );
+        }
+        return sb.toString();
+    }
+
+}
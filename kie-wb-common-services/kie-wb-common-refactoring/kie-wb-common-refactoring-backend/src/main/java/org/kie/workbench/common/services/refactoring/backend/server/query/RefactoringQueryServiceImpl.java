@@ -15,10 +15,15 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.query;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -27,18 +32,32 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DocsEnum;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopScoreDocCollector;
-import org.apache.lucene.search.TotalHitCountCollector;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.StoredFieldsResponseBuilder;
 import org.kie.workbench.common.services.refactoring.model.index.terms.IndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueFieldIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesKey;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesResult;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.uberfire.metadata.backend.lucene.LuceneConfig;
 import org.kie.uberfire.metadata.backend.lucene.index.LuceneIndexManager;
@@ -52,9 +71,13 @@ import static org.kie.uberfire.metadata.backend.lucene.util.KObjectUtil.*;
 @ApplicationScoped
 public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
+    private static final String FIND_TYPES_QUERY = "FindTypesQuery";
+    private static final String FIND_TYPE_FIELDS_QUERY = "FindTypeFieldsQuery";
+
     private LuceneConfig config;
-    private Set<NamedQuery> namedQueries = new HashSet<NamedQuery>();
+    private Map<String, QueryPlan> queryPlans = new HashMap<String, QueryPlan>();
     private PageResponse<RefactoringPageRow> emptyResponse;
+    private final QueryCursors cursors = new QueryCursors();
 
     public RefactoringQueryServiceImpl() {
         //Make proxyable
@@ -68,7 +91,8 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         PortablePreconditions.checkNotNull( "namedQueries",
                                             namedQueries );
         for ( NamedQuery namedQuery : namedQueries ) {
-            this.namedQueries.add( namedQuery );
+            this.queryPlans.put( namedQuery.getName(),
+                                 new QueryPlan( namedQuery ) );
         }
     }
 
@@ -84,21 +108,12 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     @Override
     public Set<String> getQueries() {
-        final Set<String> queryNames = new HashSet<String>();
-        for ( NamedQuery namedQuery : namedQueries ) {
-            queryNames.add( namedQuery.getName() );
-        }
-        return queryNames;
+        return new HashSet<String>( queryPlans.keySet() );
     }
 
     @Override
     public Set<IndexTerm> getTerms( final String queryName ) {
-        for ( NamedQuery namedQuery : namedQueries ) {
-            if ( namedQuery.getName().equals( queryName ) ) {
-                return namedQuery.getTerms();
-            }
-        }
-        throw new IllegalArgumentException( "Named Query '" + queryName + "' does not exist." );
+        return getQueryPlan( queryName ).getNamedQuery().getTerms();
     }
 
     @Override
@@ -107,50 +122,30 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
                                             request );
         final String queryName = PortablePreconditions.checkNotNull( "queryName",
                                                                      request.getQueryName() );
-        NamedQuery namedQuery = null;
-        for ( NamedQuery nq : namedQueries ) {
-            if ( nq.getName().equals( queryName ) ) {
-                namedQuery = nq;
-                break;
-            }
-        }
-        if ( namedQuery == null ) {
-            throw new IllegalArgumentException( "Named Query '" + queryName + "' does not exist." );
-        }
-
-        //Validate provided terms against those required for the named query
-        final Set<IndexTerm> namedQueryTerms = namedQuery.getTerms();
+        final QueryPlan queryPlan = getQueryPlan( queryName );
         final Set<ValueIndexTerm> queryTerms = request.getQueryTerms();
-        for ( IndexTerm term : namedQueryTerms ) {
-            if ( !valueTermsContainsRequiredTerm( queryTerms,
-                                                  term ) ) {
-                throw new IllegalArgumentException( "Expected IndexTerm '" + term.getTerm() + "' was not found." );
-            }
-        }
-
-        //Validate provided terms against those required for the named query
-        for ( ValueIndexTerm term : queryTerms ) {
-            if ( !requiredTermsContainsValueTerm( namedQueryTerms,
-                                                  term ) ) {
-                //log.warning - term will not be used
-            }
-        }
-
-        final Query query = namedQuery.toQuery( queryTerms,
-                                                request.useWildcards() );
-
-        final int hits = searchHits( query );
-        if ( hits > 0 ) {
-            final int pageSize = request.getPageSize();
-            final int startIndex = request.getStartRowIndex();
-            final List<KObject> kObjects = search( query,
-                                                   pageSize,
-                                                   startIndex );
-
-            final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
-            return responseBuilder.buildResponse( pageSize,
-                                                  startIndex,
-                                                  kObjects );
+        queryPlan.validate( queryTerms );
+
+        final Query query = queryPlan.toQuery( queryTerms,
+                                               request.useWildcards() );
+
+        final ResponseBuilder responseBuilder = queryPlan.getNamedQuery().getResponseBuilder();
+        final int pageSize = request.getPageSize();
+        final int startIndex = request.getStartRowIndex();
+        final Page page = search( query,
+                                  pageSize,
+                                  startIndex,
+                                  getStoredFields( responseBuilder ) );
+        if ( page.totalHits > 0 ) {
+            final PageResponse<RefactoringPageRow> response = responseBuilder.buildResponse( pageSize,
+                                                                                             startIndex,
+                                                                                             page.kObjects );
+
+            //The ResponseBuilder only sees the page; the total is known from the same search
+            response.setTotalRowSize( page.totalHits );
+            response.setTotalRowSizeExact( true );
+            response.setLastPage( startIndex + page.kObjects.size() >= page.totalHits );
+            return response;
         }
         return emptyResponse;
     }
@@ -164,135 +159,382 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         PortablePreconditions.checkNotNull( "queryTerms",
                                             queryTerms );
 
-        NamedQuery namedQuery = null;
-        for ( NamedQuery nq : namedQueries ) {
-            if ( nq.getName().equals( queryName ) ) {
-                namedQuery = nq;
-                break;
-            }
-        }
-        if ( namedQuery == null ) {
-            throw new IllegalArgumentException( "Named Query '" + queryName + "' does not exist." );
-        }
+        final QueryPlan queryPlan = getQueryPlan( queryName );
+        queryPlan.validate( queryTerms );
 
-        //Validate provided terms against those required for the named query
-        final Set<IndexTerm> namedQueryTerms = namedQuery.getTerms();
-        for ( IndexTerm term : namedQueryTerms ) {
-            if ( !valueTermsContainsRequiredTerm( queryTerms,
-                                                  term ) ) {
-                throw new IllegalArgumentException( "Expected IndexTerm '" + term.getTerm() + "' was not found." );
-            }
+        final Query query = queryPlan.toQuery( queryTerms,
+                                               useWildcards );
+
+        final ResponseBuilder responseBuilder = queryPlan.getNamedQuery().getResponseBuilder();
+        final List<KObject> kObjects = search( query,
+                                               getStoredFields( responseBuilder ) );
+        if ( !kObjects.isEmpty() ) {
+            return responseBuilder.buildResponse( kObjects );
         }
+        return Collections.emptyList();
+    }
 
-        //Validate provided terms against those required for the named query
-        for ( ValueIndexTerm term : queryTerms ) {
-            if ( !requiredTermsContainsValueTerm( namedQueryTerms,
-                                                  term ) ) {
-                //log.warning - term will not be used
-            }
+    @Override
+    public Map<RefactoringUsagesKey, RefactoringUsagesResult> queryUsages( final Set<RefactoringUsagesKey> keys ) {
+        PortablePreconditions.checkNotNull( "keys",
+                                            keys );
+        final Map<RefactoringUsagesKey, RefactoringUsagesResult> results = new HashMap<RefactoringUsagesKey, RefactoringUsagesResult>();
+        if ( keys.isEmpty() ) {
+            return results;
         }
 
-        final Query query = namedQuery.toQuery( queryTerms,
-                                                useWildcards );
+        //Usages are those found by FindTypesQuery, or FindTypeFieldsQuery for fields, without wildcards
+        final ResponseBuilder typeResponseBuilder = getQueryPlan( FIND_TYPES_QUERY ).getNamedQuery().getResponseBuilder();
+        final ResponseBuilder fieldResponseBuilder = getQueryPlan( FIND_TYPE_FIELDS_QUERY ).getNamedQuery().getResponseBuilder();
+        final Set<String> typeStoredFields = getStoredFields( typeResponseBuilder );
+        final Set<String> fieldStoredFields = getStoredFields( fieldResponseBuilder );
+        Set<String> storedFields = null;
+        if ( typeStoredFields != null && fieldStoredFields != null ) {
+            storedFields = new HashSet<String>( typeStoredFields );
+            storedFields.addAll( fieldStoredFields );
+        }
 
-        final int hits = searchHits( query );
-        if ( hits > 0 ) {
-            final List<KObject> kObjects = search( query,
-                                                   hits );
+        final List<RefactoringUsagesKey> usagesKeys = new ArrayList<RefactoringUsagesKey>( keys );
+        final List<Term> terms = new ArrayList<Term>( usagesKeys.size() );
+        for ( RefactoringUsagesKey key : usagesKeys ) {
+            terms.add( toUsagesTerm( key ) );
+        }
+        final List<List<KObject>> usages = searchUsages( terms,
+                                                         storedFields );
+
+        for ( int i = 0; i < usagesKeys.size(); i++ ) {
+            final RefactoringUsagesKey key = usagesKeys.get( i );
+            final List<KObject> kObjects = usages.get( i );
+            final ResponseBuilder responseBuilder = ( key.getFieldName() == null ? typeResponseBuilder : fieldResponseBuilder );
+            final List<RefactoringPageRow> rows = ( kObjects.isEmpty() ? new ArrayList<RefactoringPageRow>() : responseBuilder.buildResponse( kObjects ) );
+            results.put( key,
+                         new RefactoringUsagesResult( rows,
+                                                      kObjects.size() ) );
+        }
+        return results;
+    }
 
-            final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
-            return responseBuilder.buildResponse( kObjects );
+    private Term toUsagesTerm( final RefactoringUsagesKey key ) {
+        final QueryBuilder builder = new QueryBuilder();
+        builder.addTerm( new ValueTypeIndexTerm( key.getTypeName() ) );
+        if ( key.getFieldName() != null ) {
+            builder.addTerm( new ValueFieldIndexTerm( key.getFieldName() ) );
         }
-        return Collections.emptyList();
+        return builder.buildTerm();
     }
 
-    private boolean valueTermsContainsRequiredTerm( final Set<ValueIndexTerm> providedTerms,
-                                                    final IndexTerm requiredTerm ) {
-        for ( ValueIndexTerm valueTerm : providedTerms ) {
-            if ( valueTerm.getTerm().equals( requiredTerm.getTerm() ) ) {
-                return true;
-            }
+    private QueryPlan getQueryPlan( final String queryName ) {
+        final QueryPlan queryPlan = queryPlans.get( queryName );
+        if ( queryPlan == null ) {
+            throw new IllegalArgumentException( "Named Query '" + queryName + "' does not exist." );
         }
-        return false;
+        return queryPlan;
     }
 
-    private boolean requiredTermsContainsValueTerm( final Set<IndexTerm> requiredTerms,
-                                                    final ValueIndexTerm providedTerm ) {
-        for ( IndexTerm valueTerm : requiredTerms ) {
-            if ( valueTerm.getTerm().equals( providedTerm.getTerm() ) ) {
-                return true;
-            }
+    //Only DefaultResponseBuilder, and others that declare their needs, can use partially loaded documents
+    private Set<String> getStoredFields( final ResponseBuilder responseBuilder ) {
+        if ( responseBuilder instanceof StoredFieldsResponseBuilder ) {
+            return ( (StoredFieldsResponseBuilder) responseBuilder ).getStoredFields();
         }
-        return false;
+        return null;
     }
 
-    private int searchHits( final Query query,
-                            final ClusterSegment... clusterSegments ) {
+    private Page search( final Query query,
+                         final int pageSize,
+                         final int startIndex,
+                         final Set<String> storedFields,
+                         final ClusterSegment... clusterSegments ) {
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
         try {
-            final TotalHitCountCollector collector = new TotalHitCountCollector();
+            //Continue from the last hit of the previous page when it was searched against the same index segments,
+            //otherwise collect everything up to the end of the requested page. Both count all hits in the same pass
+            final String cursorKey = query.toString();
+            final Object[] readerKeys = getReaderKeys( index.getIndexReader() );
+            final ScoreDoc after = cursors.get( cursorKey,
+                                                startIndex,
+                                                readerKeys );
+            final TopScoreDocCollector collector;
+            if ( after != null ) {
+                collector = TopScoreDocCollector.create( pageSize,
+                                                         after,
+                                                         true );
+            } else {
+                collector = TopScoreDocCollector.create( startIndex + pageSize,
+                                                         true );
+            }
             index.search( query,
                           collector );
-            return collector.getTotalHits();
+            final ScoreDoc[] hits = ( after != null ? collector.topDocs() : collector.topDocs( startIndex,
+                                                                                               pageSize ) ).scoreDocs;
+
+            final List<KObject> kObjects = new ArrayList<KObject>( hits.length );
+            for ( ScoreDoc hit : hits ) {
+                kObjects.add( toKObject( load( index,
+                                               hit.doc,
+                                               storedFields ) ) );
+            }
+            if ( hits.length == pageSize ) {
+                cursors.put( cursorKey,
+                             startIndex + pageSize,
+                             readerKeys,
+                             hits[ hits.length - 1 ] );
+            }
+            return new Page( collector.getTotalHits(),
+                             kObjects );
 
         } catch ( final Exception ex ) {
-            throw new RuntimeException( "Error during Query!", ex );
+            throw new RuntimeException( "Error during Query!",
+                                        ex );
         } finally {
             indexManager.release( index );
         }
     }
 
     private List<KObject> search( final Query query,
-                                  final int pageSize,
-                                  final int startIndex,
+                                  final Set<String> storedFields,
                                   final ClusterSegment... clusterSegments ) {
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
-        final TopScoreDocCollector collector = TopScoreDocCollector.create( ( startIndex + 1 ) * pageSize,
-                                                                            true );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
-        final List<KObject> result = new ArrayList<KObject>( pageSize );
         try {
+            //All hits are returned so there is no need to score or rank them
+            final DocIdCollector collector = new DocIdCollector();
             index.search( query,
                           collector );
-            final ScoreDoc[] hits = collector.topDocs( startIndex ).scoreDocs;
-            int iterations = hits.length > pageSize ? pageSize : hits.length;
-            for ( int i = 0; i < iterations; i++ ) {
-                result.add( toKObject( index.doc( hits[ i ].doc ) ) );
+
+            final List<KObject> result = new ArrayList<KObject>( collector.docIds.size() );
+            for ( Integer docId : collector.docIds ) {
+                result.add( toKObject( load( index,
+                                             docId,
+                                             storedFields ) ) );
             }
+            return result;
+
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
                                         ex );
         } finally {
             indexManager.release( index );
         }
-
-        return result;
     }
 
-    private List<KObject> search( final Query query,
-                                  final int totalHits,
-                                  final ClusterSegment... clusterSegments ) {
+    //Searches the disjunction of all terms, grouping matching documents by term. Documents matching more than one term
+    //are only loaded once. BooleanQuery limits the number of clauses so very large batches are searched in chunks
+    private List<List<KObject>> searchUsages( final List<Term> terms,
+                                              final Set<String> storedFields,
+                                              final ClusterSegment... clusterSegments ) {
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
-        final TopScoreDocCollector collector = TopScoreDocCollector.create( totalHits,
-                                                                            true );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
-        final List<KObject> result = new ArrayList<KObject>();
         try {
-            index.search( query,
-                          collector );
-            final ScoreDoc[] hits = collector.topDocs().scoreDocs;
-            for ( int i = 0; i < hits.length; i++ ) {
-                result.add( toKObject( index.doc( hits[ i ].doc ) ) );
+            final List<List<KObject>> usages = new ArrayList<List<KObject>>( terms.size() );
+            final Map<Integer, KObject> kObjects = new HashMap<Integer, KObject>();
+            final int chunkSize = BooleanQuery.getMaxClauseCount();
+            for ( int start = 0; start < terms.size(); start = start + chunkSize ) {
+                final List<Term> chunk = terms.subList( start,
+                                                        Math.min( start + chunkSize,
+                                                                  terms.size() ) );
+                final BooleanQuery query = new BooleanQuery( true );
+                for ( Term term : chunk ) {
+                    query.add( new TermQuery( term ),
+                               BooleanClause.Occur.SHOULD );
+                }
+                final UsagesCollector collector = new UsagesCollector( chunk );
+                index.search( query,
+                              collector );
+
+                for ( List<Integer> docIds : collector.docIds ) {
+                    final List<KObject> termUsages = new ArrayList<KObject>( docIds.size() );
+                    for ( Integer docId : docIds ) {
+                        KObject kObject = kObjects.get( docId );
+                        if ( kObject == null ) {
+                            kObject = toKObject( load( index,
+                                                       docId,
+                                                       storedFields ) );
+                            kObjects.put( docId,
+                                          kObject );
+                        }
+                        termUsages.add( kObject );
+                    }
+                    usages.add( termUsages );
+                }
             }
+            return usages;
+
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
                                         ex );
         } finally {
             indexManager.release( index );
         }
+    }
+
+    private Document load( final IndexSearcher index,
+                           final int docId,
+                           final Set<String> storedFields ) throws IOException {
+        if ( storedFields == null ) {
+            return index.doc( docId );
+        }
+        return index.doc( docId,
+                          storedFields );
+    }
+
+    //Document numbers are only stable whilst the underlying segments are unchanged
+    private Object[] getReaderKeys( final IndexReader reader ) {
+        final List<AtomicReaderContext> leaves = reader.leaves();
+        final Object[] keys = new Object[ leaves.size() ];
+        for ( int i = 0; i < keys.length; i++ ) {
+            keys[ i ] = leaves.get( i ).reader().getCombinedCoreAndDeletesKey();
+        }
+        return keys;
+    }
+
+    private static class Page {
+
+        private final int totalHits;
+        private final List<KObject> kObjects;
+
+        private Page( final int totalHits,
+                      final List<KObject> kObjects ) {
+            this.totalHits = totalHits;
+            this.kObjects = kObjects;
+        }
+
+    }
+
+    private static class DocIdCollector extends Collector {
+
+        private final List<Integer> docIds = new ArrayList<Integer>();
+        private int docBase;
+
+        @Override
+        public void setScorer( final Scorer scorer ) {
+            //Scores are not needed
+        }
+
+        @Override
+        public void collect( final int doc ) {
+            docIds.add( docBase + doc );
+        }
+
+        @Override
+        public void setNextReader( final AtomicReaderContext context ) {
+            this.docBase = context.docBase;
+        }
+
+        @Override
+        public boolean acceptsDocsOutOfOrder() {
+            return true;
+        }
+
+    }
+
+    //Documents are collected in order so each term's postings only need to be advanced
+    private static class UsagesCollector extends Collector {
+
+        private final List<Term> terms;
+        private final List<List<Integer>> docIds;
+        private final DocsEnum[] docsEnums;
+        private int docBase;
+
+        private UsagesCollector( final List<Term> terms ) {
+            this.terms = terms;
+            this.docIds = new ArrayList<List<Integer>>( terms.size() );
+            for ( int i = 0; i < terms.size(); i++ ) {
+                docIds.add( new ArrayList<Integer>() );
+            }
+            this.docsEnums = new DocsEnum[ terms.size() ];
+        }
+
+        @Override
+        public void setScorer( final Scorer scorer ) {
+            //Scores are not needed
+        }
+
+        @Override
+        public void collect( final int doc ) throws IOException {
+            for ( int i = 0; i < docsEnums.length; i++ ) {
+                final DocsEnum docsEnum = docsEnums[ i ];
+                if ( docsEnum == null ) {
+                    continue;
+                }
+                int termDoc = docsEnum.docID();
+                if ( termDoc < doc ) {
+                    termDoc = docsEnum.advance( doc );
+                }
+                if ( termDoc == doc ) {
+                    docIds.get( i ).add( docBase + doc );
+                }
+            }
+        }
+
+        @Override
+        public void setNextReader( final AtomicReaderContext context ) throws IOException {
+            this.docBase = context.docBase;
+            for ( int i = 0; i < docsEnums.length; i++ ) {
+                //Null if the term does not occur in this segment
+                docsEnums[ i ] = context.reader().termDocsEnum( terms.get( i ) );
+            }
+        }
+
+        @Override
+        public boolean acceptsDocsOutOfOrder() {
+            return false;
+        }
+
+    }
+
+    /**
+     * The last hit of recently returned pages, keyed by query and the row index of the following page.
+     */
+    private static class QueryCursors {
+
+        private static final int MAX_ENTRIES = 256;
+
+        private final Map<String, Cursor> cursors = new LinkedHashMap<String, Cursor>( 16,
+                                                                                       0.75f,
+                                                                                       true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, Cursor> eldest ) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+        private synchronized ScoreDoc get( final String query,
+                                           final int startIndex,
+                                           final Object[] readerKeys ) {
+            if ( startIndex == 0 ) {
+                return null;
+            }
+            final Cursor cursor = cursors.get( startIndex + "|" + query );
+            if ( cursor == null || !Arrays.equals( cursor.readerKeys,
+                                                   readerKeys ) ) {
+                return null;
+            }
+            return cursor.after;
+        }
+
+        private synchronized void put( final String query,
+                                       final int startIndex,
+                                       final Object[] readerKeys,
+                                       final ScoreDoc after ) {
+            cursors.put( startIndex + "|" + query,
+                         new Cursor( readerKeys,
+                                     after ) );
+        }
+
+    }
+
+    private static class Cursor {
+
+        private final Object[] readerKeys;
+        private final ScoreDoc after;
+
+        private Cursor( final Object[] readerKeys,
+                        final ScoreDoc after ) {
+            this.readerKeys = readerKeys;
+            this.after = after;
+        }
 
-        return result;
     }
 
 }
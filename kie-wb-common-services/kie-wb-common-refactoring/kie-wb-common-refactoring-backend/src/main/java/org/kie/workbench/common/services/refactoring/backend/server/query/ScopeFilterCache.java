@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.CachingWrapperFilter;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+
+/**
+ * Cache of Filters for clauses that scope queries, such as to a Project or package, and repeat across requests. The
+ * matching documents of each index segment are cached by the Filter so only new or changed segments are searched.
+ */
+public class ScopeFilterCache {
+
+    private static final int MAX_FILTERS = 128;
+
+    private final Map<Term, Filter> filters = new LinkedHashMap<Term, Filter>( 16,
+                                                                               0.75f,
+                                                                               true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Term, Filter> eldest ) {
+            return size() > MAX_FILTERS;
+        }
+    };
+
+    /**
+     * Get a Query matching documents containing the term. The Query does not contribute to the score of a document.
+     * @param term The term
+     * @return The Query
+     */
+    public Query getQuery( final Term term ) {
+        return new ConstantScoreQuery( getFilter( term ) );
+    }
+
+    public synchronized Filter getFilter( final Term term ) {
+        Filter filter = filters.get( term );
+        if ( filter == null ) {
+            filter = new CachingWrapperFilter( new QueryWrapperFilter( new TermQuery( term ) ) );
+            filters.put( term,
+                         filter );
+        }
+        return filter;
+    }
+
+}
@@ -17,7 +17,11 @@ package org.kie.workbench.common.services.refactoring.backend.server.query.respo
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -32,7 +36,14 @@ import org.kie.uberfire.metadata.model.KObject;
 import org.uberfire.paging.PageResponse;
 
 @ApplicationScoped
-public class DefaultResponseBuilder implements ResponseBuilder {
+public class DefaultResponseBuilder implements StoredFieldsResponseBuilder {
+
+    //Rows only need the KObject's key; the remaining core fields are cheap and keep the KObject complete
+    private static final Set<String> STORED_FIELDS = Collections.unmodifiableSet( new HashSet<String>( Arrays.asList( "id",
+                                                                                                                     "type",
+                                                                                                                     "key",
+                                                                                                                     "cluster.id",
+                                                                                                                     "segment.id" ) ) );
 
     private IOService ioService;
 
@@ -62,6 +73,11 @@ public class DefaultResponseBuilder implements ResponseBuilder {
         return response;
     }
 
+    @Override
+    public Set<String> getStoredFields() {
+        return STORED_FIELDS;
+    }
+
     @Override
     public List<RefactoringPageRow> buildResponse( final List<KObject> kObjects ) {
         final List<RefactoringPageRow> result = new ArrayList<RefactoringPageRow>( kObjects.size() );
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 JBoss, by Red Hat, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query.response;
+
+import java.util.Set;
+
+/**
+ * A ResponseBuilder that only needs some of the stored fields of a matching document. Only these fields are loaded
+ * from the index when building a response; other ResponseBuilders receive fully loaded documents.
+ */
+public interface StoredFieldsResponseBuilder extends ResponseBuilder {
+
+    /**
+     * @return Names of the stored fields needed to build a response
+     */
+    Set<String> getStoredFields();
+
+}
@@ -26,12 +26,12 @@ import javax.enterprise.context.ApplicationScoped;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.kie.uberfire.metadata.model.KObject;
 import org.kie.uberfire.metadata.model.KProperty;
 import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
+import org.kie.workbench.common.services.refactoring.backend.server.query.ScopeFilterCache;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.model.index.terms.IndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.PackageNameIndexTerm;
@@ -49,6 +49,9 @@ public class FindRulesByProjectQuery implements NamedQuery {
 
     private RuleNameResponseBuilder responseBuilder = new RuleNameResponseBuilder();
 
+    //Project and package clauses repeat across requests
+    private ScopeFilterCache scopeFilters = new ScopeFilterCache();
+
     @Override
     public String getName() {
         return "FindRulesByProjectQuery";
@@ -80,11 +83,11 @@ public class FindRulesByProjectQuery implements NamedQuery {
 
         final BooleanQuery query = new BooleanQuery();
         if ( !useWildcards ) {
-            query.add( new TermQuery( new Term( packageNameValueTerm.getTerm(),
-                                                packageNameValueTerm.getValue().toLowerCase() ) ),
+            query.add( scopeFilters.getQuery( new Term( packageNameValueTerm.getTerm(),
+                                                        packageNameValueTerm.getValue().toLowerCase() ) ),
                        MUST );
-            query.add( new TermQuery( new Term( projectPathValueTerm.getTerm(),
-                                                projectPathValueTerm.getValue().toLowerCase() ) ),
+            query.add( scopeFilters.getQuery( new Term( projectPathValueTerm.getTerm(),
+                                                        projectPathValueTerm.getValue().toLowerCase() ) ),
                        MUST );
         } else {
             query.add( new WildcardQuery( new Term( packageNameValueTerm.getTerm(),
@@ -35,15 +35,17 @@ import static org.apache.commons.codec.binary.Base64.*;
 
 public class KObjectUtil {
 
-    private static final MessageDigest DIGEST;
-
-    static {
-        try {
-            DIGEST = MessageDigest.getInstance( "SHA1" );
-        } catch ( final NoSuchAlgorithmException e ) {
-            throw new RuntimeException( e );
+    //MessageDigest is not thread-safe so each indexing thread has its own
+    private static final ThreadLocal<MessageDigest> DIGEST = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance( "SHA1" );
+            } catch ( final NoSuchAlgorithmException e ) {
+                throw new RuntimeException( e );
+            }
         }
-    }
+    };
 
     private static final MetaType META_TYPE = new MetaType() {
         @Override
@@ -176,6 +178,6 @@ public class KObjectUtil {
         if ( input == null || input.trim().length() == 0 ) {
             return "--";
         }
-        return encodeBase64String( DIGEST.digest( input.getBytes() ) );
+        return encodeBase64String( DIGEST.get().digest( input.getBytes() ) );
     }
 }
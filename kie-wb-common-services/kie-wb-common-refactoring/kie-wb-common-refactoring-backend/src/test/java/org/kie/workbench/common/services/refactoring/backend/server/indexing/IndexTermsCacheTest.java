@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 JBoss, by Red Hat, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.uberfire.commons.data.Pair;
+
+import static org.junit.Assert.*;
+
+public class IndexTermsCacheTest {
+
+    private static final String PROJECT = "default://master@repo/project";
+    private static final String FOLDER = PROJECT + "/src/main/java/org/test";
+    private static final String DIGEST = "5a1f8c3e";
+    private static final String OTHER_DIGEST = "9f3d2b1c";
+
+    @Test
+    public void testUnchangedContentIsNotParsedAgain() {
+        final IndexTermsCache cache = new IndexTermsCache();
+        final Set<Pair<String, String>> terms = new HashSet<Pair<String, String>>();
+        terms.add( new Pair<String, String>( "java_type_name",
+                                             "org.test.Smurf" ) );
+
+        assertNull( cache.get( FOLDER,
+                               DIGEST,
+                               0 ) );
+        cache.put( FOLDER,
+                   DIGEST,
+                   0,
+                   terms );
+
+        assertEquals( terms,
+                      cache.get( FOLDER,
+                                 DIGEST,
+                                 0 ) );
+        assertEquals( 1,
+                      cache.getSkipCount() );
+        assertEquals( 1,
+                      cache.getParseCount() );
+    }
+
+    @Test
+    public void testChangedContentOrFolderAreParsed() {
+        final IndexTermsCache cache = new IndexTermsCache();
+        cache.put( FOLDER,
+                   DIGEST,
+                   0,
+                   new HashSet<Pair<String, String>>() );
+
+        assertNull( cache.get( FOLDER,
+                               OTHER_DIGEST,
+                               0 ) );
+        assertNull( cache.get( FOLDER + "/other",
+                               DIGEST,
+                               0 ) );
+        assertEquals( 0,
+                      cache.getSkipCount() );
+        assertEquals( 2,
+                      cache.getParseCount() );
+    }
+
+    @Test
+    public void testChangedDependenciesAreParsed() {
+        final IndexTermsCache cache = new IndexTermsCache();
+        cache.put( FOLDER,
+                   DIGEST,
+                   0,
+                   new HashSet<Pair<String, String>>() );
+
+        //Terms produced with earlier dependencies are not used
+        assertNull( cache.get( FOLDER,
+                               DIGEST,
+                               1 ) );
+        cache.put( FOLDER,
+                   DIGEST,
+                   1,
+                   new HashSet<Pair<String, String>>() );
+        assertNotNull( cache.get( FOLDER,
+                                  DIGEST,
+                                  1 ) );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        final IndexTermsCache cache = new IndexTermsCache( 2 );
+        cache.put( FOLDER,
+                   DIGEST,
+                   0,
+                   new HashSet<Pair<String, String>>() );
+        cache.put( FOLDER,
+                   DIGEST,
+                   1,
+                   new HashSet<Pair<String, String>>() );
+        cache.put( FOLDER,
+                   OTHER_DIGEST,
+                   1,
+                   new HashSet<Pair<String, String>>() );
+
+        assertNull( cache.get( FOLDER,
+                               DIGEST,
+                               0 ) );
+        assertNotNull( cache.get( FOLDER,
+                                  DIGEST,
+                                  1 ) );
+        assertNotNull( cache.get( FOLDER,
+                                  OTHER_DIGEST,
+                                  1 ) );
+    }
+
+}
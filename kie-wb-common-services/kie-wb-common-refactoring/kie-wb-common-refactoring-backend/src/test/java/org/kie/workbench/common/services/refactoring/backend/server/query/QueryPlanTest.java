@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 JBoss, by Red Hat, Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.lucene.search.Query;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindTypesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.TypeIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueRuleIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class QueryPlanTest {
+
+    @Test
+    public void testRequiredTerms() {
+        final QueryPlan plan = new QueryPlan( new FindTypesQuery() );
+        assertEquals( 1,
+                      plan.getRequiredTerms().size() );
+        assertTrue( plan.getRequiredTerms().contains( TypeIndexTerm.TERM ) );
+
+        plan.validate( terms( new ValueTypeIndexTerm( "org.kie.Applicant" ) ) );
+        try {
+            plan.validate( terms( new ValueRuleIndexTerm( "myRule" ) ) );
+            fail();
+        } catch ( IllegalArgumentException e ) {
+            //Swallow. Expected
+        }
+    }
+
+    @Test
+    public void testQueriesAreCached() {
+        final NamedQuery namedQuery = spy( new FindTypesQuery() );
+        final QueryPlan plan = new QueryPlan( namedQuery );
+
+        final Query query1 = plan.toQuery( terms( new ValueTypeIndexTerm( "org.kie.Applicant" ) ),
+                                           false );
+        final Query query2 = plan.toQuery( terms( new ValueTypeIndexTerm( "org.kie.Applicant" ) ),
+                                           false );
+        assertSame( query1,
+                    query2 );
+        assertEquals( 1,
+                      plan.getHitCount() );
+
+        //Different values and wildcard flags are different queries
+        final Query query3 = plan.toQuery( terms( new ValueTypeIndexTerm( "org.kie.Applicant" ) ),
+                                           true );
+        final Query query4 = plan.toQuery( terms( new ValueTypeIndexTerm( "org.kie.Bank" ) ),
+                                           false );
+        assertNotSame( query1,
+                       query3 );
+        assertNotSame( query1,
+                       query4 );
+        assertEquals( 3,
+                      plan.getMissCount() );
+        verify( namedQuery,
+                times( 3 ) ).toQuery( any( Set.class ),
+                                      anyBoolean() );
+    }
+
+    private Set<ValueIndexTerm> terms( final ValueIndexTerm term ) {
+        final Set<ValueIndexTerm> terms = new HashSet<ValueIndexTerm>();
+        terms.add( term );
+        return terms;
+    }
+
+}
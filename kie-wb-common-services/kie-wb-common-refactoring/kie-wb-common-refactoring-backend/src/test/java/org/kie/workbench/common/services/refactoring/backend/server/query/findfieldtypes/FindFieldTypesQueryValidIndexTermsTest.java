@@ -21,6 +21,7 @@ import org.kie.workbench.common.services.refactoring.backend.server.query.Refact
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindTypeFieldsQuery;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindTypesQuery;
 import org.kie.workbench.common.services.refactoring.model.index.terms.ProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.RuleAttributeIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueFieldIndexTerm;
@@ -28,6 +29,8 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.valueterm
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesKey;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringUsagesResult;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 
@@ -44,6 +47,12 @@ public class FindFieldTypesQueryValidIndexTermsTest extends BaseIndexingTest<Tes
                 return new DefaultResponseBuilder( ioService() );
             }
         } );
+        add( new FindTypesQuery() {
+            @Override
+            public ResponseBuilder getResponseBuilder() {
+                return new DefaultResponseBuilder( ioService() );
+            }
+        } );
     }};
 
     @Test
@@ -93,6 +102,54 @@ public class FindFieldTypesQueryValidIndexTermsTest extends BaseIndexingTest<Tes
 
     }
 
+    @Test
+    public void testQueryUsages() throws IOException, InterruptedException {
+        final Instance<NamedQuery> namedQueriesProducer = mock( Instance.class );
+        when( namedQueriesProducer.iterator() ).thenReturn( queries.iterator() );
+
+        final RefactoringQueryServiceImpl service = new RefactoringQueryServiceImpl( getConfig(),
+                                                                                     namedQueriesProducer );
+        service.init();
+
+        //Add test files
+        final Path path1 = basePath.resolve( "drl1.drl" );
+        final String drl1 = loadText( "drl1.drl" );
+        ioService().write( path1,
+                           drl1 );
+        final Path path2 = basePath.resolve( "drl2.drl" );
+        final String drl2 = loadText( "drl2.drl" );
+        ioService().write( path2,
+                           drl2 );
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final RefactoringUsagesKey ageKey = new RefactoringUsagesKey( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant",
+                                                                      "age" );
+        final RefactoringUsagesKey bankKey = new RefactoringUsagesKey( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Bank" );
+        final RefactoringUsagesKey unusedKey = new RefactoringUsagesKey( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Unused" );
+        final Map<RefactoringUsagesKey, RefactoringUsagesResult> usages = service.queryUsages( new HashSet<RefactoringUsagesKey>() {{
+            add( ageKey );
+            add( bankKey );
+            add( unusedKey );
+        }} );
+
+        assertEquals( 3,
+                      usages.size() );
+        assertEquals( 2,
+                      usages.get( ageKey ).getTotalHits() );
+        assertResponseContains( usages.get( ageKey ).getRows(),
+                                path1 );
+        assertResponseContains( usages.get( ageKey ).getRows(),
+                                path2 );
+        assertEquals( 1,
+                      usages.get( bankKey ).getTotalHits() );
+        assertResponseContains( usages.get( bankKey ).getRows(),
+                                path2 );
+        assertEquals( 0,
+                      usages.get( unusedKey ).getTotalHits() );
+        assertTrue( usages.get( unusedKey ).getRows().isEmpty() );
+    }
+
     @Override
     protected TestIndexer getIndexer() {
         return new TestDrlFileIndexer();
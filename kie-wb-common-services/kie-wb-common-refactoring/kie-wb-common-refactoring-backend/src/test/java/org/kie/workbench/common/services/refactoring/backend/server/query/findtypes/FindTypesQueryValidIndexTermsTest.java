@@ -1,6 +1,7 @@
 package org.kie.workbench.common.services.refactoring.backend.server.query.findtypes;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -89,6 +90,33 @@ public class FindTypesQueryValidIndexTermsTest extends BaseIndexingTest<TestDrlF
             }
         }
 
+        {
+            //Page through the results one row at a time; the second page continues from the first
+            final List<RefactoringPageRow> rows = new ArrayList<RefactoringPageRow>();
+            for ( int startIndex = 0; startIndex < 2; startIndex++ ) {
+                final RefactoringPageRequest request = new RefactoringPageRequest( "FindTypesQuery",
+                                                                                   new HashSet<ValueIndexTerm>() {{
+                                                                                       add( new ValueTypeIndexTerm( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant" ) );
+                                                                                   }},
+                                                                                   startIndex,
+                                                                                   1 );
+
+                final PageResponse<RefactoringPageRow> response = service.query( request );
+                assertNotNull( response );
+                assertEquals( 1,
+                              response.getPageRowList().size() );
+                assertEquals( 2,
+                              response.getTotalRowSize() );
+                assertEquals( startIndex == 1,
+                              response.isLastPage() );
+                rows.addAll( response.getPageRowList() );
+            }
+            assertResponseContains( rows,
+                                    path1 );
+            assertResponseContains( rows,
+                                    path2 );
+        }
+
     }
 
     @Override
@@ -28,6 +28,7 @@ public class KModuleModel
         implements Iterable<KBaseModel> {
 
     private final Map<String, KBaseModel> kBases = new HashMap<String, KBaseModel>();
+    private final Map<String, String> configurationProperties = new HashMap<String, String>();
     private String kBasesPath;
     private String kModulePath;
     private POM groupArtifactVersion;
@@ -53,6 +54,10 @@ public class KModuleModel
         kBases.remove(fullName);
     }
 
+    public Map<String, String> getConfigurationProperties() {
+        return configurationProperties;
+    }
+
     public String getKBasesPath() {
         return kBasesPath;
     }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * Schedules full builds of Projects on a bounded pool of worker threads. Builds of different Projects run in
+ * parallel; builds of the same Project run one at a time. A request for a Project that already has a build waiting
+ * to start shares the result of that build rather than queuing another. The number of worker threads can be set with
+ * the System Property {@link #BUILD_THREADS_PROPERTY}.
+ */
+@ApplicationScoped
+public class BuildScheduler {
+
+    public static final String BUILD_THREADS_PROPERTY = "org.kie.workbench.build.threads";
+
+    private static final Logger logger = LoggerFactory.getLogger( BuildScheduler.class );
+
+    private LRUBuilderCache cache;
+
+    private ExecutorService executor;
+
+    //Builds that have been queued but not started, keyed by Project
+    private final Map<Project, FutureTask<BuildResults>> queuedBuilds = new HashMap<Project, FutureTask<BuildResults>>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong totalQueueTime = new AtomicLong();
+    private final AtomicLong totalBuildTime = new AtomicLong();
+
+    public BuildScheduler() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public BuildScheduler( final LRUBuilderCache cache ) {
+        this( cache,
+              Integer.getInteger( BUILD_THREADS_PROPERTY,
+                                  Runtime.getRuntime().availableProcessors() ) );
+    }
+
+    public BuildScheduler( final LRUBuilderCache cache,
+                           final int threads ) {
+        this.cache = PortablePreconditions.checkNotNull( "cache",
+                                                         cache );
+        this.executor = Executors.newFixedThreadPool( Math.max( 1,
+                                                                threads ),
+                                                      new DaemonThreadFactory( "kie-build" ) );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if ( executor != null ) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Perform a full build of a Project, waiting for the result.
+     * @param project The Project
+     * @return The results of the build
+     */
+    public BuildResults build( final Project project ) {
+        PortablePreconditions.checkNotNull( "project",
+                                            project );
+        FutureTask<BuildResults> task;
+        boolean isNewBuild = false;
+        synchronized ( queuedBuilds ) {
+            task = queuedBuilds.get( project );
+            if ( task == null ) {
+                task = new FutureTask<BuildResults>( new BuildCallable( project ) );
+                queuedBuilds.put( project,
+                                  task );
+                isNewBuild = true;
+            } else {
+                deduplicatedCount.incrementAndGet();
+            }
+        }
+        if ( isNewBuild ) {
+            queueDepth.incrementAndGet();
+            executor.execute( task );
+        }
+
+        try {
+            return task.get();
+
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted whilst waiting for build of " + project.getProjectName(),
+                                             e );
+        } catch ( ExecutionException e ) {
+            final Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            } else if ( cause instanceof Error ) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException( cause );
+        }
+    }
+
+    /**
+     * @return The number of builds waiting for a worker thread
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return The number of builds in progress
+     */
+    public int getRunningCount() {
+        return runningCount.get();
+    }
+
+    /**
+     * @return The number of builds completed
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return The number of requests that shared the result of an already queued build
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.get();
+    }
+
+    /**
+     * @return The average time, in milliseconds, builds waited for a worker thread
+     */
+    public long getAverageQueueTime() {
+        final long completed = completedCount.get();
+        return ( completed == 0 ? 0 : totalQueueTime.get() / completed );
+    }
+
+    /**
+     * @return The average time, in milliseconds, taken by builds
+     */
+    public long getAverageBuildTime() {
+        final long completed = completedCount.get();
+        return ( completed == 0 ? 0 : totalBuildTime.get() / completed );
+    }
+
+    private class BuildCallable implements Callable<BuildResults> {
+
+        private final Project project;
+        private final long queuedTime = System.currentTimeMillis();
+
+        private BuildCallable( final Project project ) {
+            this.project = project;
+        }
+
+        @Override
+        public BuildResults call() throws Exception {
+            //Once started, further requests need a new build as they may follow changes this build has not seen
+            synchronized ( queuedBuilds ) {
+                queuedBuilds.remove( project );
+            }
+            queueDepth.decrementAndGet();
+            runningCount.incrementAndGet();
+            final long startTime = System.currentTimeMillis();
+            try {
+                synchronized ( cache.getProjectLock( project ) ) {
+                    cache.invalidateBuilder( project );
+                    final Builder builder = cache.assertBuilder( project );
+                    return builder.build();
+                }
+
+            } finally {
+                final long endTime = System.currentTimeMillis();
+                runningCount.decrementAndGet();
+                completedCount.incrementAndGet();
+                totalQueueTime.addAndGet( startTime - queuedTime );
+                totalBuildTime.addAndGet( endTime - startTime );
+                logger.debug( "Build of '" + project.getProjectName() + "' waited " + ( startTime - queuedTime ) + "ms and took " +
+                                      ( endTime - startTime ) + "ms. " + queueDepth.get() + " builds queued." );
+            }
+        }
+    }
+
+}
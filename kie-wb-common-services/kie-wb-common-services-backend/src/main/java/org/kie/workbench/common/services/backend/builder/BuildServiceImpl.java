@@ -39,7 +39,6 @@ import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.workbench.events.ResourceChange;
 
@@ -54,6 +53,8 @@ public class BuildServiceImpl
     private ExtendedM2RepoService m2RepoService;
     private KieProjectService projectService;
     private LRUBuilderCache cache;
+    private BuildScheduler scheduler;
+    private IncrementalBuildQueue incrementalBuildQueue;
     private Instance<PostBuildHandler> handlers;
 
     public BuildServiceImpl() {
@@ -65,11 +66,15 @@ public class BuildServiceImpl
                              final ExtendedM2RepoService m2RepoService,
                              final KieProjectService projectService,
                              final LRUBuilderCache cache,
+                             final BuildScheduler scheduler,
+                             final IncrementalBuildQueue incrementalBuildQueue,
                              final Instance<PostBuildHandler> handlers ) {
         this.pomService = pomService;
         this.m2RepoService = m2RepoService;
         this.projectService = projectService;
         this.cache = cache;
+        this.scheduler = scheduler;
+        this.incrementalBuildQueue = incrementalBuildQueue;
         this.handlers = handlers;
     }
 
@@ -141,9 +146,7 @@ public class BuildServiceImpl
     }
 
     private BuildResults doBuild( final Project project ) {
-        cache.invalidateCache( project );
-        final Builder builder = cache.assertBuilder( project );
-        final BuildResults results = builder.build();
+        final BuildResults results = scheduler.build( project );
         return results;
     }
 
@@ -165,7 +168,8 @@ public class BuildServiceImpl
             if ( !builder.isBuilt() ) {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
             } else {
-                results = builder.addResource( Paths.convert( resource ) );
+                results = incrementalBuildQueue.addResource( project,
+                                                             resource );
             }
 
             return results;
@@ -189,7 +193,8 @@ public class BuildServiceImpl
             if ( !builder.isBuilt() ) {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
             } else {
-                results = builder.deleteResource( Paths.convert( resource ) );
+                results = incrementalBuildQueue.deleteResource( project,
+                                                                resource );
             }
 
             return results;
@@ -213,7 +218,8 @@ public class BuildServiceImpl
             if ( !builder.isBuilt() ) {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
             } else {
-                results = builder.updateResource( Paths.convert( resource ) );
+                results = incrementalBuildQueue.updateResource( project,
+                                                                resource );
             }
 
             return results;
@@ -237,7 +243,8 @@ public class BuildServiceImpl
             if ( !builder.isBuilt() ) {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
             } else {
-                results = builder.applyBatchResourceChanges( changes );
+                results = incrementalBuildQueue.applyBatchResourceChanges( project,
+                                                                           changes );
             }
 
             return results;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Time, in milliseconds, spent in each phase of loading and building a Project. Loading resources is recorded when
+ * the Builder is constructed; compilation and verification are recorded with every full build.
+ */
+public class BuildTimings {
+
+    public enum Phase {
+        //Listing the Project's resources
+        WALK,
+        //Reading resource content, from the first read starting to the last completing. Overlaps WALK and WRITE
+        READ,
+        //Writing resource content to the KieFileSystem
+        WRITE,
+        //Compiling the KieModule
+        COMPILE,
+        //Validating non-KIE resources, imports and external classes
+        VERIFY
+    }
+
+    private final Map<Phase, Long> times = new EnumMap<Phase, Long>( Phase.class );
+
+    public BuildTimings() {
+    }
+
+    public BuildTimings( final BuildTimings timings ) {
+        times.putAll( timings.times );
+    }
+
+    public void setTime( final Phase phase,
+                         final long time ) {
+        times.put( phase,
+                   time );
+    }
+
+    /**
+     * @param phase The phase
+     * @return The time spent in the phase, or -1 if the phase has not been recorded
+     */
+    public long getTime( final Phase phase ) {
+        final Long time = times.get( phase );
+        return ( time == null ? -1 : time );
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for ( Map.Entry<Phase, Long> e : times.entrySet() ) {
+            if ( sb.length() > 0 ) {
+                sb.append( ", " );
+            }
+            sb.append( e.getKey().name().toLowerCase() ).append( "=" ).append( e.getValue() ).append( "ms" );
+        }
+        return sb.toString();
+    }
+
+}
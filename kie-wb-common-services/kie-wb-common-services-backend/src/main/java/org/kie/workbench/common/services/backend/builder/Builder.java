@@ -23,9 +23,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
@@ -50,6 +56,8 @@ import org.kie.api.runtime.KieContainer;
 import org.kie.internal.builder.IncrementalResults;
 import org.kie.internal.builder.InternalKieBuilder;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.kmodule.KModuleContentHandler;
+import org.kie.workbench.common.services.shared.kmodule.KModuleModel;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.slf4j.Logger;
@@ -68,6 +76,8 @@ public class Builder {
 
     private final static String RESOURCE_PATH = "src/main/resources";
 
+    private final static String KMODULE_PATH = "src/main/resources/META-INF/kmodule.xml";
+
     private static final Logger logger = LoggerFactory.getLogger( Builder.class );
 
     //TODO internationalize error messages?.
@@ -101,34 +111,94 @@ public class Builder {
 
     private KieContainer kieContainer;
 
+    private PackageScope packageScope = PackageScope.ALL;
+
+    //Incremented whenever the KieModule is (re)built so that content derived from it can be invalidated
+    private long generation = 0;
+
+    //Incremented whenever a build can have changed the Classes defined by the KieModule
+    private long classGeneration = 0;
+
+    private final BuildTimings timings = new BuildTimings();
+
+    private final ExternalClassVerificationCache verificationCache;
+
     public Builder( final Path moduleDirectory,
                     final GAV gav,
                     final IOService ioService,
                     final KieProjectService projectService,
                     final ProjectImportsService importsService,
                     final List<BuildValidationHelper> buildValidationHelpers ) {
+        this( moduleDirectory,
+              gav,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              new ExternalClassVerificationCache() );
+    }
+
+    public Builder( final Path moduleDirectory,
+                    final GAV gav,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final ExternalClassVerificationCache verificationCache ) {
+        this( moduleDirectory,
+              gav,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              verificationCache,
+              null );
+    }
+
+    public Builder( final Path moduleDirectory,
+                    final GAV gav,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final ExternalClassVerificationCache verificationCache,
+                    final ResourceReaderPool readers ) {
         this.moduleDirectory = moduleDirectory;
         this.gav = gav;
         this.ioService = ioService;
         this.projectService = projectService;
         this.importsService = importsService;
         this.buildValidationHelpers = buildValidationHelpers;
+        this.verificationCache = verificationCache;
 
         projectPrefix = moduleDirectory.toUri().toString();
         kieServices = KieServices.Factory.get();
         kieFileSystem = kieServices.newKieFileSystem();
 
-        DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = Files.newDirectoryStream( moduleDirectory );
-        visitPaths( directoryStream );
+        //A Builder constructed without the shared pool reads with a pool of its own, shut down once loading completes
+        if ( readers == null ) {
+            final ResourceReaderPool ownReaders = new ResourceReaderPool();
+            try {
+                loadResources( ownReaders );
+            } finally {
+                ownReaders.shutdown();
+            }
+        } else {
+            loadResources( readers );
+        }
     }
 
     public BuildResults build() {
         synchronized ( kieFileSystem ) {
             //KieBuilder is not re-usable for successive "full" builds
             kieBuilder = kieServices.newKieBuilder( kieFileSystem );
+            generation++;
+            classGeneration++;
+            packageScope = loadPackageScope();
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             final BuildResults results = new BuildResults( gav );
+            final long compileStartTime = System.currentTimeMillis();
             try {
                 final Results kieResults = kieBuilder.buildAll().getResults();
                 for ( final Message message : kieResults.getMessages() ) {
@@ -152,6 +222,9 @@ public class Builder {
                 logger.error( msg, e );
                 results.addBuildMessage( makeErrorMessage( msg ) );
             }
+            final long verifyStartTime = System.currentTimeMillis();
+            timings.setTime( BuildTimings.Phase.COMPILE,
+                             verifyStartTime - compileStartTime );
 
             //Add validate messages from external helpers
             for ( Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet() ) {
@@ -188,8 +261,14 @@ public class Builder {
             //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
             // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
             // X references another external class Y, Y is also accessible by the class loader.
+            // Packages outside the Project's PackageScope are not available for authoring and hence are not verified.
+            // Classes from jars that have been verified before, by any Project with the same dependencies, are not verified again.
             final KieModuleMetaData kieModuleMetaData = getKieModuleMetaData();
+            final Map<String, Class<?>> externalClasses = new LinkedHashMap<String, Class<?>>();
             for ( final String packageName : kieModuleMetaData.getPackages() ) {
+                if ( !packageScope.isPackageInScope( packageName ) ) {
+                    continue;
+                }
                 for ( final String className : kieModuleMetaData.getClasses( packageName ) ) {
                     final String fullyQualifiedClassName = packageName + "." + className;
                     try {
@@ -199,7 +278,8 @@ public class Builder {
                             final TypeSource typeSource = getClassSource( kieModuleMetaData,
                                                                           clazz );
                             if ( TypeSource.JAVA_DEPENDENCY == typeSource ) {
-                                verifyExternalClass( clazz );
+                                externalClasses.put( fullyQualifiedClassName,
+                                                     clazz );
                             }
                         } else {
                             final String msg = MessageFormat.format( ERROR_EXTERNAL_CLASS_VERIFICATON,
@@ -214,11 +294,69 @@ public class Builder {
                     }
                 }
             }
+            final String dependencies = verificationCache.getDependenciesKey( projectPrefix,
+                                                                              externalClasses.values() );
+            for ( final Map.Entry<String, Class<?>> e : externalClasses.entrySet() ) {
+                final Class<?> clazz = e.getValue();
+                try {
+                    if ( !verificationCache.isVerified( dependencies,
+                                                        clazz ) ) {
+                        verifyExternalClass( clazz );
+                        verificationCache.setVerified( dependencies,
+                                                       clazz );
+                    }
+                } catch ( Throwable t ) {
+                    final String msg = MessageFormat.format( ERROR_EXTERNAL_CLASS_VERIFICATON,
+                                                             e.getKey() );
+                    logger.warn( msg, t );
+                    results.addBuildMessage( makeWarningMessage( msg ) );
+                }
+            }
+            verificationCache.flush();
+            timings.setTime( BuildTimings.Phase.VERIFY,
+                             System.currentTimeMillis() - verifyStartTime );
+            logger.debug( "Build of " + gav + " completed: " + timings );
 
             return results;
         }
     }
 
+    /**
+     * Time spent in each phase of loading resources, when the Builder was constructed, and of the last full build.
+     * @return A copy of the timings
+     */
+    public BuildTimings getTimings() {
+        synchronized ( kieFileSystem ) {
+            return new BuildTimings( timings );
+        }
+    }
+
+    /**
+     * The packages whose classes are available for authoring, as declared in the Project's kmodule.xml. This is
+     * refreshed with every full build.
+     * @return
+     */
+    public PackageScope getPackageScope() {
+        synchronized ( kieFileSystem ) {
+            return packageScope;
+        }
+    }
+
+    private PackageScope loadPackageScope() {
+        final Path kmodulePath = moduleDirectory.resolve( KMODULE_PATH );
+        if ( !Files.exists( kmodulePath ) ) {
+            return PackageScope.ALL;
+        }
+        try {
+            final KModuleModel kModule = new KModuleContentHandler().toModel( ioService.readAllString( kmodulePath ) );
+            return PackageScope.newPackageScope( kModule.getConfigurationProperties() );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to read package scope from " + kmodulePath.toUri().toString() + ". All packages will be available.",
+                         e );
+            return PackageScope.ALL;
+        }
+    }
+
     private KieModuleMetaData getKieModuleMetaData() {
         return KieModuleMetaData.Factory.newKieModuleMetaData( ( (InternalKieBuilder) kieBuilder ).getKieModuleIgnoringErrors() );
     }
@@ -282,6 +420,10 @@ public class Builder {
                          Paths.convert( resource ) );
 
             //Incremental build
+            generation++;
+            if ( isClassResource( resource ) ) {
+                classGeneration++;
+            }
             try {
                 final IncrementalResults incrementalResults = ( (InternalKieBuilder) kieBuilder ).createFileSet( destinationPath ).build();
                 for ( final Message message : incrementalResults.getAddedMessages() ) {
@@ -341,6 +483,10 @@ public class Builder {
             removeJavaClass( resource );
 
             //Incremental build
+            generation++;
+            if ( isClassResource( resource ) ) {
+                classGeneration++;
+            }
             try {
                 final IncrementalResults incrementalResults = ( (InternalKieBuilder) kieBuilder ).createFileSet( destinationPath ).build();
                 for ( final Message message : incrementalResults.getAddedMessages() ) {
@@ -390,6 +536,7 @@ public class Builder {
             final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
             final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
             final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
+            boolean classResourcesChanged = false;
 
             for ( final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet() ) {
                 for ( final ResourceChange change : pathCollectionEntry.getValue() ) {
@@ -401,6 +548,7 @@ public class Builder {
 
                     final String destinationPath = resource.toUri().toString().substring( projectPrefix.length() + 1 );
                     changedFilesKieBuilderPaths.add( destinationPath );
+                    classResourcesChanged = classResourcesChanged || isClassResource( resource );
                     switch ( type ) {
                         case ADD:
                         case UPDATE:
@@ -466,6 +614,10 @@ public class Builder {
             //Messages from incremental build
 
             final IncrementalBuildResults results = new IncrementalBuildResults( gav );
+            generation++;
+            if ( classResourcesChanged ) {
+                classGeneration++;
+            }
             try {
                 final IncrementalResults incrementalResults = ( (InternalKieBuilder) kieBuilder ).createFileSet( kieBuilderPaths ).build();
                 for ( final Message message : incrementalResults.getAddedMessages() ) {
@@ -527,44 +679,113 @@ public class Builder {
         return kieContainer;
     }
 
+    /**
+     * The generation of the KieModule. This changes with every full or incremental build and can be used to determine
+     * whether content derived from the KieModule, such as its KieModuleMetaData, is stale.
+     * @return
+     */
+    public long getGeneration() {
+        synchronized ( kieFileSystem ) {
+            return generation;
+        }
+    }
+
+    /**
+     * The generation of the Classes defined by the KieModule. Unlike {@link #getGeneration()} this only changes with
+     * full builds and with incremental builds of resources that can define Classes; Java sources and rules that can
+     * contain type declarations. It can be used to determine whether content derived from the KieModule's
+     * ClassLoader, such as its KieModuleMetaData, is stale.
+     * @return
+     */
+    public long getClassGeneration() {
+        synchronized ( kieFileSystem ) {
+            return classGeneration;
+        }
+    }
+
     public boolean isBuilt() {
         synchronized ( kieFileSystem ) {
             return kieBuilder != null;
         }
     }
 
-    private void visitPaths( final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream ) {
+    //Resource content is read by the pool whilst the Project is walked and written to the KieFileSystem as each read
+    //completes. The number of reads outstanding is bounded so that the Project's content is not held all at once
+    private void loadResources( final ResourceReaderPool readers ) {
+        final ResourceLoader loader = new ResourceLoader( readers );
+        try {
+            final long walkStartTime = System.currentTimeMillis();
+            visitPaths( Files.newDirectoryStream( moduleDirectory ),
+                        loader );
+            final long walkEndTime = System.currentTimeMillis();
+            final long waitTimeDuringWalk = loader.waitTime;
+            loader.writeAll();
+
+            //Time spent waiting for, and writing, completed reads whilst walking is not part of the walk
+            timings.setTime( BuildTimings.Phase.WALK,
+                             ( walkEndTime - walkStartTime ) - waitTimeDuringWalk );
+            timings.setTime( BuildTimings.Phase.READ,
+                             loader.getReadTime() );
+            timings.setTime( BuildTimings.Phase.WRITE,
+                             loader.writeTime );
+
+        } catch ( InterruptedException e ) {
+            loader.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted whilst loading resources for " + projectPrefix,
+                                             e );
+        } catch ( ExecutionException e ) {
+            loader.cancel();
+            final Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            } else if ( cause instanceof Error ) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException( cause );
+        } catch ( RuntimeException e ) {
+            loader.cancel();
+            throw e;
+        }
+    }
+
+    private void visitPaths( final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream,
+                             final ResourceLoader loader ) throws InterruptedException, ExecutionException {
         for ( final org.uberfire.java.nio.file.Path path : directoryStream ) {
             if ( Files.isDirectory( path ) ) {
-                visitPaths( Files.newDirectoryStream( path ) );
+                visitPaths( Files.newDirectoryStream( path ),
+                            loader );
 
             } else {
                 //Don't process dotFiles
                 if ( !dotFileFilter.accept( path ) ) {
-
-                    //Resource Type might require "external" validation (i.e. it's not covered by Kie)
-                    final BuildValidationHelper validator = getBuildValidationHelper( path );
-                    if ( validator != null ) {
-                        nonKieResourceValidationHelpers.put( path,
-                                                             validator );
-                    }
-
-                    //Add new resource
-                    final String destinationPath = path.toUri().toString().substring( projectPrefix.length() + 1 );
-                    final InputStream is = ioService.newInputStream( path );
-                    final BufferedInputStream bis = new BufferedInputStream( is );
-                    kieFileSystem.write( destinationPath,
-                                         KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
-                    handles.put( getBaseFileName( destinationPath ),
-                                 Paths.convert( path ) );
-
-                    //Java classes are handled by KIE so we can safely post-process them here
-                    addJavaClass( path );
+                    loader.submit( path );
                 }
             }
         }
     }
 
+    private void writeResource( final LoadedResource resource ) {
+        final Path path = resource.path;
+
+        //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+        final BuildValidationHelper validator = getBuildValidationHelper( path );
+        if ( validator != null ) {
+            nonKieResourceValidationHelpers.put( path,
+                                                 validator );
+        }
+
+        //Add new resource
+        final String destinationPath = path.toUri().toString().substring( projectPrefix.length() + 1 );
+        kieFileSystem.write( destinationPath,
+                             resource.content );
+        handles.put( getBaseFileName( destinationPath ),
+                     Paths.convert( path ) );
+
+        //Java classes are handled by KIE so we can safely post-process them here
+        addJavaClass( path );
+    }
+
     private BuildMessage convertMessage( final Message message ) {
         final BuildMessage m = new BuildMessage();
         switch ( message.getLevel() ) {
@@ -625,6 +846,15 @@ public class Builder {
         return buildMessage;
     }
 
+    //Java sources and rules, which can declare types, define Classes
+    private boolean isClassResource( final Path path ) {
+        if ( javaResourceFilter.accept( path ) ) {
+            return true;
+        }
+        final String fileName = path.getFileName().toString();
+        return fileName.endsWith( ".drl" ) || fileName.endsWith( ".dslr" );
+    }
+
     private void addJavaClass( final Path path ) {
         if ( !javaResourceFilter.accept( path ) ) {
             return;
@@ -694,4 +924,90 @@ public class Builder {
                                path.lastIndexOf( "." ) );
     }
 
+    //Submits reads to the pool and writes completed reads, on the constructing thread, to the KieFileSystem
+    private class ResourceLoader {
+
+        private final CompletionService<LoadedResource> completionService;
+        private final Set<Future<LoadedResource>> outstanding = new HashSet<Future<LoadedResource>>();
+        private final int maxOutstanding;
+
+        private long firstSubmitTime = -1;
+        private long lastReadTime = -1;
+        private long waitTime = 0;
+        private long writeTime = 0;
+
+        private ResourceLoader( final ResourceReaderPool readers ) {
+            this.completionService = new ExecutorCompletionService<LoadedResource>( readers.getExecutor() );
+            this.maxOutstanding = readers.getMaxOutstandingReads();
+        }
+
+        //Waits for, and writes, earlier reads whilst the maximum number of reads are outstanding
+        private void submit( final Path path ) throws InterruptedException, ExecutionException {
+            while ( outstanding.size() >= maxOutstanding ) {
+                writeNext();
+            }
+            if ( firstSubmitTime < 0 ) {
+                firstSubmitTime = System.currentTimeMillis();
+            }
+            outstanding.add( completionService.submit( new Callable<LoadedResource>() {
+                @Override
+                public LoadedResource call() throws Exception {
+                    final byte[] content = ioService.readAllBytes( path );
+                    return new LoadedResource( path,
+                                               content,
+                                               System.currentTimeMillis() );
+                }
+            } ) );
+        }
+
+        private void writeAll() throws InterruptedException, ExecutionException {
+            while ( !outstanding.isEmpty() ) {
+                writeNext();
+            }
+        }
+
+        private void writeNext() throws InterruptedException, ExecutionException {
+            final long startTime = System.currentTimeMillis();
+            final Future<LoadedResource> future = completionService.take();
+            outstanding.remove( future );
+            final LoadedResource resource = future.get();
+            lastReadTime = Math.max( lastReadTime,
+                                     resource.completedTime );
+            final long writeStartTime = System.currentTimeMillis();
+            writeResource( resource );
+            final long endTime = System.currentTimeMillis();
+            writeTime = writeTime + ( endTime - writeStartTime );
+            waitTime = waitTime + ( endTime - startTime );
+        }
+
+        //Elapsed time from the first read being submitted until the last read completed
+        private long getReadTime() {
+            return ( firstSubmitTime < 0 ? 0 : lastReadTime - firstSubmitTime );
+        }
+
+        private void cancel() {
+            for ( Future<LoadedResource> future : outstanding ) {
+                future.cancel( true );
+            }
+            outstanding.clear();
+        }
+
+    }
+
+    private static class LoadedResource {
+
+        private final Path path;
+        private final byte[] content;
+        private final long completedTime;
+
+        private LoadedResource( final Path path,
+                                final byte[] content,
+                                final long completedTime ) {
+            this.path = path;
+            this.content = content;
+            this.completedTime = completedTime;
+        }
+
+    }
+
 }
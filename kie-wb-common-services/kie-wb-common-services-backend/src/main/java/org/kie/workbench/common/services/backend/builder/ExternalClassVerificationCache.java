@@ -0,0 +1,454 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.kie.workbench.common.services.backend.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of external classes that have passed verification, keyed by the GAV and checksum of the jar that contains
+ * them and by the set of jars the Project depends upon, since verification depends on which other classes the Project
+ * can load. The cache is shared by all Projects so a jar is only verified again when its content or the dependencies
+ * of the Project change. Only successful verifications are cached; failures are re-verified with every build so they
+ * clear once the missing dependencies are added. Verifications are only retained for the current dependencies of each
+ * of the most recently built Projects, so the cache does not grow as Projects' dependencies change. The number of
+ * Projects tracked can be set with the System Property {@link #MAX_PROJECTS_PROPERTY}. The cache is persisted to the
+ * file named by the System Property
+ * {@link #CACHE_FILE_PROPERTY} or, if that is not set, to a file in the directory named by the System Property
+ * {@link #GIT_DIR_PROPERTY}. If neither is set the cache is not persisted.
+ */
+@ApplicationScoped
+public class ExternalClassVerificationCache {
+
+    public static final String CACHE_FILE_PROPERTY = "org.kie.workbench.verification.cache";
+
+    public static final String GIT_DIR_PROPERTY = "org.uberfire.nio.git.dir";
+
+    public static final String MAX_PROJECTS_PROPERTY = "org.kie.workbench.verification.cache.projects";
+
+    private static final String DEFAULT_CACHE_FILE = ".verificationcache";
+
+    private static final int DEFAULT_MAX_PROJECTS = 1000;
+
+    //Persisted entries holding a Project's dependencies key have this prefix; other entries hold verified classes
+    private static final String PROJECT_KEY_PREFIX = "project:";
+
+    private static final Logger logger = LoggerFactory.getLogger( ExternalClassVerificationCache.class );
+
+    private File cacheFile;
+
+    private final int maxProjects = Math.max( 1,
+                                              Integer.getInteger( MAX_PROJECTS_PROPERTY,
+                                                                  DEFAULT_MAX_PROJECTS ) );
+
+    //The current dependencies key of each Project, keyed by Project and ordered from the least recently built
+    private final Map<String, String> projectDependencies = new LinkedHashMap<String, String>( 16,
+                                                                                               0.75f,
+                                                                                               true );
+
+    //Verified class names, keyed by the Project's dependencies and the GAV and checksum of their jar
+    private final Map<String, Set<String>> verifiedClasses = new HashMap<String, Set<String>>();
+
+    //Artifact keys of jars, keyed by jar location. The length and last modified time detect changes without re-reading the jar
+    private final Map<File, ArtifactKey> artifactKeys = new HashMap<File, ArtifactKey>();
+
+    private boolean dirty = false;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    public ExternalClassVerificationCache() {
+        //Empty constructor for Weld. Caches constructed outside of a container are not persisted
+    }
+
+    public ExternalClassVerificationCache( final File cacheFile ) {
+        this.cacheFile = cacheFile;
+        load();
+    }
+
+    @PostConstruct
+    public void init() {
+        //Don't write to the server's working directory unless told to
+        final String cacheFileName = System.getProperty( CACHE_FILE_PROPERTY );
+        final String gitDir = System.getProperty( GIT_DIR_PROPERTY );
+        if ( cacheFileName != null ) {
+            this.cacheFile = new File( cacheFileName );
+        } else if ( gitDir != null ) {
+            this.cacheFile = new File( gitDir,
+                                       DEFAULT_CACHE_FILE );
+        }
+        load();
+    }
+
+    /**
+     * Key the set of jars containing a Project's external classes. The key becomes the Project's current key;
+     * verifications made with the Project's previous key are discarded unless another Project still uses it.
+     * @param project The Project's identity
+     * @param classes The external classes of the Project
+     * @return A key that changes whenever the Project's jars change
+     */
+    public String getDependenciesKey( final String project,
+                                      final Collection<Class<?>> classes ) {
+        final Set<String> artifactKeys = new TreeSet<String>();
+        final Set<File> jars = new HashSet<File>();
+        for ( Class<?> clazz : classes ) {
+            final File jar = getJar( clazz );
+            if ( jar == null || !jars.add( jar ) ) {
+                continue;
+            }
+            final String artifactKey = getArtifactKey( jar );
+            if ( artifactKey != null ) {
+                artifactKeys.add( artifactKey );
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        for ( String artifactKey : artifactKeys ) {
+            sb.append( artifactKey ).append( '\n' );
+        }
+        final String dependencies = DigestUtil.sha1( sb.toString() );
+
+        synchronized ( this ) {
+            final String previousDependencies = projectDependencies.put( project,
+                                                                         dependencies );
+            if ( !dependencies.equals( previousDependencies ) ) {
+                final Iterator<String> itr = projectDependencies.keySet().iterator();
+                while ( projectDependencies.size() > maxProjects ) {
+                    itr.next();
+                    itr.remove();
+                }
+                prune();
+                dirty = true;
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Whether a class from an external jar has previously been verified.
+     * @param dependencies The key of the Project's dependencies
+     * @param clazz The class
+     * @return true if the class has been verified with the same dependencies and its jar has not changed since
+     */
+    public boolean isVerified( final String dependencies,
+                               final Class<?> clazz ) {
+        final String key = getKey( dependencies,
+                                   clazz );
+        synchronized ( this ) {
+            final Set<String> classNames = ( key == null ? null : verifiedClasses.get( key ) );
+            if ( classNames != null && classNames.contains( clazz.getName() ) ) {
+                hitCount++;
+                return true;
+            }
+            missCount++;
+            return false;
+        }
+    }
+
+    /**
+     * Record that a class from an external jar passed verification. Classes not loaded from a jar are not recorded.
+     * @param dependencies The key of the Project's dependencies
+     * @param clazz The class
+     */
+    public void setVerified( final String dependencies,
+                             final Class<?> clazz ) {
+        final String key = getKey( dependencies,
+                                   clazz );
+        if ( key == null ) {
+            return;
+        }
+        synchronized ( this ) {
+            Set<String> classNames = verifiedClasses.get( key );
+            if ( classNames == null ) {
+                classNames = new HashSet<String>();
+                verifiedClasses.put( key,
+                                     classNames );
+            }
+            if ( classNames.add( clazz.getName() ) ) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Persist any new verifications.
+     */
+    public synchronized void flush() {
+        if ( !dirty || cacheFile == null ) {
+            return;
+        }
+        final Properties properties = new Properties();
+        for ( Map.Entry<String, String> e : projectDependencies.entrySet() ) {
+            properties.setProperty( PROJECT_KEY_PREFIX + e.getKey(),
+                                    e.getValue() );
+        }
+        for ( Map.Entry<String, Set<String>> e : verifiedClasses.entrySet() ) {
+            final StringBuilder sb = new StringBuilder();
+            for ( String className : e.getValue() ) {
+                if ( sb.length() > 0 ) {
+                    sb.append( "," );
+                }
+                sb.append( className );
+            }
+            properties.setProperty( e.getKey(),
+                                    sb.toString() );
+        }
+
+        //Write to a temporary file first so a failed write does not lose the existing cache
+        final File tempFile = new File( cacheFile.getPath() + ".tmp" );
+        OutputStream os = null;
+        try {
+            os = new FileOutputStream( tempFile );
+            properties.store( os,
+                              "Verified external classes" );
+            os.close();
+            os = null;
+            if ( cacheFile.exists() && !cacheFile.delete() ) {
+                logger.warn( "Unable to replace external class verification cache " + cacheFile.getAbsolutePath() );
+                return;
+            }
+            if ( !tempFile.renameTo( cacheFile ) ) {
+                logger.warn( "Unable to write external class verification cache " + cacheFile.getAbsolutePath() );
+                return;
+            }
+            dirty = false;
+
+        } catch ( Exception e ) {
+            logger.warn( "Unable to write external class verification cache " + cacheFile.getAbsolutePath(),
+                         e );
+        } finally {
+            close( os );
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of jars, across all retained dependencies, with verified classes
+     */
+    public synchronized int size() {
+        return verifiedClasses.size();
+    }
+
+    //Called whilst holding the lock. Discards verifications made with dependencies no Project currently has
+    private void prune() {
+        final Set<String> currentDependencies = new HashSet<String>( projectDependencies.values() );
+        final Iterator<String> itr = verifiedClasses.keySet().iterator();
+        while ( itr.hasNext() ) {
+            final String key = itr.next();
+            final int separator = key.indexOf( '/' );
+            if ( separator < 0 || !currentDependencies.contains( key.substring( 0,
+                                                                                separator ) ) ) {
+                itr.remove();
+            }
+        }
+    }
+
+    private void load() {
+        if ( cacheFile == null || !cacheFile.exists() ) {
+            return;
+        }
+        final Properties properties = new Properties();
+        InputStream is = null;
+        try {
+            is = new FileInputStream( cacheFile );
+            properties.load( is );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to read external class verification cache " + cacheFile.getAbsolutePath() + ". All classes will be verified.",
+                         e );
+            return;
+        } finally {
+            close( is );
+        }
+        synchronized ( this ) {
+            for ( String key : properties.stringPropertyNames() ) {
+                if ( key.startsWith( PROJECT_KEY_PREFIX ) ) {
+                    projectDependencies.put( key.substring( PROJECT_KEY_PREFIX.length() ),
+                                             properties.getProperty( key ) );
+                    continue;
+                }
+                final Set<String> classNames = new HashSet<String>();
+                for ( String className : properties.getProperty( key ).split( "," ) ) {
+                    if ( !className.isEmpty() ) {
+                        classNames.add( className );
+                    }
+                }
+                verifiedClasses.put( key,
+                                     classNames );
+            }
+            //Caches written before Projects were tracked hold no Project entries, so are discarded
+            prune();
+        }
+    }
+
+    private String getKey( final String dependencies,
+                           final Class<?> clazz ) {
+        final File jar = getJar( clazz );
+        if ( jar == null ) {
+            return null;
+        }
+        final String artifactKey = getArtifactKey( jar );
+        if ( artifactKey == null ) {
+            return null;
+        }
+        return dependencies + "/" + artifactKey;
+    }
+
+    //Jars are read outside of the lock so a large jar does not block other Projects' builds
+    private String getArtifactKey( final File jar ) {
+        final long length = jar.length();
+        final long lastModified = jar.lastModified();
+        synchronized ( this ) {
+            final ArtifactKey artifactKey = artifactKeys.get( jar );
+            if ( artifactKey != null && artifactKey.length == length && artifactKey.lastModified == lastModified ) {
+                return artifactKey.key;
+            }
+        }
+        try {
+            final ArtifactKey newArtifactKey = new ArtifactKey( length,
+                                                                lastModified,
+                                                                getGAV( jar ) + "@" + getChecksum( jar ) );
+            synchronized ( this ) {
+                artifactKeys.put( jar,
+                                  newArtifactKey );
+            }
+            return newArtifactKey.key;
+
+        } catch ( Exception e ) {
+            logger.warn( "Unable to determine checksum of " + jar.getAbsolutePath() + ". Classes it contains will always be verified.",
+                         e );
+            return null;
+        }
+    }
+
+    private File getJar( final Class<?> clazz ) {
+        try {
+            final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+            if ( codeSource == null ) {
+                return null;
+            }
+            final URL location = codeSource.getLocation();
+            if ( location == null || !"file".equals( location.getProtocol() ) ) {
+                return null;
+            }
+            final File file = new File( location.toURI() );
+            return ( file.isFile() ? file : null );
+
+        } catch ( Exception e ) {
+            return null;
+        }
+    }
+
+    //Maven places the GAV of an artifact in META-INF/maven/<groupId>/<artifactId>/pom.properties
+    private String getGAV( final File jar ) throws Exception {
+        final JarFile jarFile = new JarFile( jar );
+        try {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while ( entries.hasMoreElements() ) {
+                final JarEntry entry = entries.nextElement();
+                if ( entry.getName().startsWith( "META-INF/maven/" ) && entry.getName().endsWith( "/pom.properties" ) ) {
+                    final Properties pom = new Properties();
+                    final InputStream is = jarFile.getInputStream( entry );
+                    try {
+                        pom.load( is );
+                    } finally {
+                        close( is );
+                    }
+                    return pom.getProperty( "groupId" ) + ":" + pom.getProperty( "artifactId" ) + ":" + pom.getProperty( "version" );
+                }
+            }
+            return jar.getName();
+
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    private String getChecksum( final File jar ) throws Exception {
+        final MessageDigest digest = DigestUtil.newSha1Digest();
+        final InputStream is = new FileInputStream( jar );
+        try {
+            final byte[] buffer = new byte[ 8192 ];
+            int read;
+            while ( ( read = is.read( buffer ) ) != -1 ) {
+                digest.update( buffer,
+                               0,
+                               read );
+            }
+        } finally {
+            close( is );
+        }
+        return DigestUtil.toHex( digest.digest() );
+    }
+
+    private void close( final Closeable closeable ) {
+        if ( closeable == null ) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch ( Exception e ) {
+            //Swallow
+        }
+    }
+
+    private static class ArtifactKey {
+
+        private final long length;
+        private final long lastModified;
+        private final String key;
+
+        private ArtifactKey( final long length,
+                             final long lastModified,
+                             final String key ) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.key = key;
+        }
+
+    }
+
+}
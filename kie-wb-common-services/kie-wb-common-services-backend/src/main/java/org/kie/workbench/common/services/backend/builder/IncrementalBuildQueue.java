@@ -0,0 +1,371 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.Project;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.validation.PortablePreconditions;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceUpdated;
+
+/**
+ * Coalesces incremental builds of a Project. Changes to a Project's resources are collected into a batch, with
+ * successive changes to the same resource folded together, before a single batch incremental build is performed. Every
+ * caller whose changes were included in the batch receives the results of the batch. A batch submitted by a single
+ * caller is built immediately, unless an earlier batch of the same Project is still being built. Once other callers
+ * have joined a batch it is closed when no further change has arrived for a short window. The window, in milliseconds,
+ * can be set with the System Property {@link #WINDOW_PROPERTY}; a window of zero still coalesces changes that arrive
+ * whilst an earlier batch is being built but does not wait for further changes. If the Project's Builder has been
+ * replaced since it was last built the batch is satisfied by a full build, scheduled with {@link BuildScheduler}, whose
+ * results are published to replace all earlier messages.
+ */
+@ApplicationScoped
+public class IncrementalBuildQueue {
+
+    public static final String WINDOW_PROPERTY = "org.kie.workbench.build.incremental.window";
+
+    private static final long DEFAULT_WINDOW = 100;
+
+    private LRUBuilderCache cache;
+
+    private BuildScheduler scheduler;
+
+    private Event<BuildResults> buildResultsEvent;
+
+    private long window;
+
+    //Batches that are still accepting changes, keyed by Project
+    private final Map<Project, Batch> pendingBatches = new HashMap<Project, Batch>();
+
+    //Projects with a batch being built. Guarded by pendingBatches
+    private final Set<Project> buildingProjects = new HashSet<Project>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong foldedCount = new AtomicLong();
+
+    public IncrementalBuildQueue() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public IncrementalBuildQueue( final LRUBuilderCache cache,
+                                  final BuildScheduler scheduler,
+                                  final Event<BuildResults> buildResultsEvent ) {
+        this( cache,
+              scheduler,
+              buildResultsEvent,
+              Long.getLong( WINDOW_PROPERTY,
+                            DEFAULT_WINDOW ) );
+    }
+
+    public IncrementalBuildQueue( final LRUBuilderCache cache,
+                                  final BuildScheduler scheduler,
+                                  final Event<BuildResults> buildResultsEvent,
+                                  final long window ) {
+        this.cache = PortablePreconditions.checkNotNull( "cache",
+                                                         cache );
+        this.scheduler = PortablePreconditions.checkNotNull( "scheduler",
+                                                             scheduler );
+        this.buildResultsEvent = PortablePreconditions.checkNotNull( "buildResultsEvent",
+                                                                     buildResultsEvent );
+        this.window = Math.max( 0,
+                                window );
+    }
+
+    public IncrementalBuildResults addResource( final Project project,
+                                                final Path resource ) {
+        return enqueue( project,
+                        resource,
+                        new ResourceAdded() );
+    }
+
+    public IncrementalBuildResults updateResource( final Project project,
+                                                   final Path resource ) {
+        return enqueue( project,
+                        resource,
+                        new ResourceUpdated() );
+    }
+
+    public IncrementalBuildResults deleteResource( final Project project,
+                                                   final Path resource ) {
+        return enqueue( project,
+                        resource,
+                        new ResourceDeleted() );
+    }
+
+    public IncrementalBuildResults applyBatchResourceChanges( final Project project,
+                                                              final Map<Path, Collection<ResourceChange>> changes ) {
+        PortablePreconditions.checkNotNull( "changes",
+                                            changes );
+        return enqueue( project,
+                        changes );
+    }
+
+    /**
+     * @return The number of changes submitted
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return The number of batch incremental builds performed
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return The number of changes folded into an earlier change to the same resource
+     */
+    public long getFoldedCount() {
+        return foldedCount.get();
+    }
+
+    private IncrementalBuildResults enqueue( final Project project,
+                                             final Path resource,
+                                             final ResourceChange change ) {
+        PortablePreconditions.checkNotNull( "resource",
+                                            resource );
+        final Collection<ResourceChange> resourceChanges = new ArrayList<ResourceChange>();
+        resourceChanges.add( change );
+        final Map<Path, Collection<ResourceChange>> changes = new HashMap<Path, Collection<ResourceChange>>();
+        changes.put( resource,
+                     resourceChanges );
+        return enqueue( project,
+                        changes );
+    }
+
+    private IncrementalBuildResults enqueue( final Project project,
+                                             final Map<Path, Collection<ResourceChange>> changes ) {
+        PortablePreconditions.checkNotNull( "project",
+                                            project );
+
+        //The caller that opens a batch collects and builds it; others wait for its results
+        Batch batch;
+        boolean isCollector = false;
+        int changeCount = 0;
+        synchronized ( pendingBatches ) {
+            batch = pendingBatches.get( project );
+            if ( batch == null ) {
+                batch = new Batch();
+                pendingBatches.put( project,
+                                    batch );
+                isCollector = true;
+            }
+            for ( Map.Entry<Path, Collection<ResourceChange>> e : changes.entrySet() ) {
+                for ( ResourceChange change : e.getValue() ) {
+                    if ( batch.add( e.getKey(),
+                                    change ) ) {
+                        foldedCount.incrementAndGet();
+                    }
+                    changeCount++;
+                }
+            }
+            batch.join();
+            if ( !isCollector ) {
+                pendingBatches.notifyAll();
+            }
+        }
+        requestCount.addAndGet( changeCount );
+
+        if ( isCollector ) {
+            buildBatch( project,
+                        batch );
+        }
+        return batch.getResults();
+    }
+
+    private void buildBatch( final Project project,
+                             final Batch batch ) {
+        boolean interrupted = false;
+
+        //Close the batch; changes from now on start a new batch
+        synchronized ( pendingBatches ) {
+            try {
+                while ( true ) {
+                    //The Builder is locked whilst an earlier batch is being built, so keep collecting until it completes
+                    if ( buildingProjects.contains( project ) ) {
+                        pendingBatches.wait();
+                        continue;
+                    }
+                    //Nobody else is waiting on this batch or no other change has arrived within the window
+                    final long idle = System.currentTimeMillis() - batch.getLastChangeTime();
+                    if ( batch.getCallerCount() < 2 || idle >= window ) {
+                        break;
+                    }
+                    pendingBatches.wait( window - idle );
+                }
+            } catch ( InterruptedException e ) {
+                //Other callers are waiting on this batch so it must still be built
+                interrupted = true;
+            }
+            pendingBatches.remove( project );
+            buildingProjects.add( project );
+        }
+
+        try {
+            final Builder builder = cache.assertBuilder( project );
+            batch.complete( build( project,
+                                   builder,
+                                   batch ),
+                            null );
+        } catch ( Throwable t ) {
+            batch.complete( null,
+                            t );
+        } finally {
+            synchronized ( pendingBatches ) {
+                buildingProjects.remove( project );
+                pendingBatches.notifyAll();
+            }
+            batchCount.incrementAndGet();
+            if ( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private IncrementalBuildResults build( final Project project,
+                                           final Builder builder,
+                                           final Batch batch ) {
+        //The Builder may have been replaced since the batch was opened; a full build includes every change in the batch.
+        //Incremental results cannot say which earlier messages the full build has superseded, so its results are
+        //published in full for observers to replace their messages and no incremental change is reported
+        if ( !builder.isBuilt() ) {
+            final BuildResults buildResults = scheduler.build( project );
+            buildResultsEvent.fire( buildResults );
+            return new IncrementalBuildResults( buildResults.getGAV() );
+        }
+        return builder.applyBatchResourceChanges( batch.getChanges() );
+    }
+
+    /**
+     * Fold a change to a resource into an earlier change to the same resource. Additions and updates are processed
+     * identically by the Builder so a deletion supersedes any earlier change, a deletion followed by an addition or
+     * update becomes an update and otherwise the earlier change is kept.
+     * @param existing The earlier change. Can be null.
+     * @param change The later change
+     * @return The folded change
+     */
+    static ResourceChange fold( final ResourceChange existing,
+                                final ResourceChange change ) {
+        if ( existing == null ) {
+            return change;
+        }
+        final ResourceChangeType existingType = existing.getType();
+        final ResourceChangeType type = change.getType();
+        if ( type == ResourceChangeType.DELETE ) {
+            return change;
+        }
+        if ( existingType == ResourceChangeType.DELETE ) {
+            return new ResourceUpdated();
+        }
+        return existing;
+    }
+
+    private static class Batch {
+
+        private final Map<Path, ResourceChange> changes = new LinkedHashMap<Path, ResourceChange>();
+        private final CountDownLatch completed = new CountDownLatch( 1 );
+        private long lastChangeTime;
+        private int callerCount;
+        private volatile IncrementalBuildResults results;
+        private volatile Throwable failure;
+
+        //Called whilst holding the lock on pendingBatches. Returns true if the change was folded into an earlier one
+        private boolean add( final Path resource,
+                             final ResourceChange change ) {
+            final ResourceChange existing = changes.get( resource );
+            changes.put( resource,
+                         fold( existing,
+                               change ) );
+            return existing != null;
+        }
+
+        //Called whilst holding the lock on pendingBatches, once a caller has added all of its changes
+        private void join() {
+            lastChangeTime = System.currentTimeMillis();
+            callerCount++;
+        }
+
+        //Called whilst holding the lock on pendingBatches
+        private long getLastChangeTime() {
+            return lastChangeTime;
+        }
+
+        //Called whilst holding the lock on pendingBatches
+        private int getCallerCount() {
+            return callerCount;
+        }
+
+        private Map<Path, Collection<ResourceChange>> getChanges() {
+            final Map<Path, Collection<ResourceChange>> batch = new LinkedHashMap<Path, Collection<ResourceChange>>();
+            for ( Map.Entry<Path, ResourceChange> e : changes.entrySet() ) {
+                final Collection<ResourceChange> resourceChanges = new ArrayList<ResourceChange>();
+                resourceChanges.add( e.getValue() );
+                batch.put( e.getKey(),
+                           resourceChanges );
+            }
+            return batch;
+        }
+
+        private void complete( final IncrementalBuildResults results,
+                               final Throwable failure ) {
+            this.results = results;
+            this.failure = failure;
+            completed.countDown();
+        }
+
+        private IncrementalBuildResults getResults() {
+            try {
+                completed.await();
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException( "Interrupted whilst waiting for incremental build",
+                                                 e );
+            }
+            if ( failure instanceof RuntimeException ) {
+                throw (RuntimeException) failure;
+            } else if ( failure instanceof Error ) {
+                throw (Error) failure;
+            } else if ( failure != null ) {
+                throw new IllegalStateException( failure );
+            }
+            return results;
+        }
+
+    }
+
+}
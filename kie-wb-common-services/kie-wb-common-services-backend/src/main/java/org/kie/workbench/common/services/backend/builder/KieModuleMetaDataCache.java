@@ -0,0 +1,226 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.scanner.KieModuleMetaData;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * A bounded LRU cache of KieModuleMetaData, and hence of the ClassLoader, for each Project. Entries are shared until
+ * the Project's Builder is replaced or produces a new generation of the Classes defined by its KieModule. Entries only
+ * hold their Builder weakly, so Builders evicted from {@link LRUBuilderCache} can be collected; their entries are then
+ * discarded. Callers may keep a ClassLoader for as long as they need it, after which it can be collected.
+ */
+@ApplicationScoped
+public class KieModuleMetaDataCache {
+
+    static final int MAX_ENTRIES = 10;
+
+    @Inject
+    private LRUBuilderCache builderCache;
+
+    private final Map<Project, Entry> entries = new LinkedHashMap<Project, Entry>( MAX_ENTRIES,
+                                                                                   0.75f,
+                                                                                   true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Project, Entry> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    //Locks are only needed whilst a Project is in use, so they are discarded with the Project
+    private final Map<Project, Object> projectLocks = new WeakHashMap<Project, Object>();
+
+    //Incremented whenever a Project's cache is invalidated, typically because its dependencies changed
+    private final Map<Project, Long> dependencyGenerations = new HashMap<Project, Long>();
+
+    //Incremented whenever an entry is created, so each KieModuleMetaData has its own generation
+    private long metaDataGeneration = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    public KieModuleMetaDataCache() {
+    }
+
+    public KieModuleMetaDataCache( final LRUBuilderCache builderCache ) {
+        this.builderCache = builderCache;
+    }
+
+    public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        PortablePreconditions.checkNotNull( "event",
+                                            event );
+        final Project project = event.getProject();
+
+        //If resource was not within a Project there's nothing to invalidate
+        if ( project != null ) {
+            entries.remove( project );
+            dependencyGenerations.put( project,
+                                       getDependencyGeneration( project ) + 1 );
+        }
+    }
+
+    /**
+     * The generation of a Project's dependencies. Unlike the generation of the KieModule this does not change when
+     * resources within the Project are built, only when the Project's cache is invalidated. It can be used to
+     * determine whether content derived from a Project's classpath might be stale.
+     * @param project The Project
+     * @return The generation of the Project's dependencies
+     */
+    public synchronized long getDependencyGeneration( final Project project ) {
+        final Long generation = dependencyGenerations.get( project );
+        return ( generation == null ? 0 : generation );
+    }
+
+    /**
+     * The generation of a Project's KieModule. This changes whenever the Project's KieModuleMetaData is re-created;
+     * i.e. when the Builder is replaced, the Classes defined by the KieModule change or the Project's cache is
+     * invalidated. It can be used to determine whether content evaluated with the Project's ClassLoader might be stale.
+     * @param project The Project
+     * @return The generation of the Project's KieModule
+     */
+    public long getKieModuleGeneration( final Project project ) {
+        return getEntry( project ).generation;
+    }
+
+    /**
+     * Get the KieModuleMetaData of a Project
+     * @param project The Project
+     * @return The KieModuleMetaData
+     */
+    public KieModuleMetaData getKieModuleMetaData( final Project project ) {
+        return getEntry( project ).metaData;
+    }
+
+    private Entry getEntry( final Project project ) {
+        PortablePreconditions.checkNotNull( "project",
+                                            project );
+        final Builder builder = builderCache.assertBuilder( project );
+
+        //Ensure the KieModule has been built before reading its generation
+        builder.getKieModuleIgnoringErrors();
+
+        //KieModuleMetaData is created whilst holding only the Project's lock so other Projects are not blocked
+        synchronized ( getProjectLock( project ) ) {
+            final long classGeneration = builder.getClassGeneration();
+            synchronized ( this ) {
+                final Entry entry = entries.get( project );
+                if ( entry != null && entry.builder.get() == builder && entry.classGeneration == classGeneration ) {
+                    hitCount++;
+                    return entry;
+                }
+            }
+
+            //A build between reading the generation and the KieModule at worst causes the entry to be re-created
+            final KieModuleMetaData metaData = KieModuleMetaData.Factory.newKieModuleMetaData( builder.getKieModuleIgnoringErrors() );
+            synchronized ( this ) {
+                final Entry entry = new Entry( builder,
+                                               classGeneration,
+                                               ++metaDataGeneration,
+                                               metaData );
+                missCount++;
+                removeCollectedEntries();
+                entries.put( project,
+                             entry );
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Convenience method to get the ClassLoader of a Project. The ClassLoader remains valid for as long as the
+     * caller holds it, but is no longer shared once the Project is rebuilt.
+     * @param project The Project
+     * @return The Project's ClassLoader
+     */
+    public ClassLoader getProjectClassLoader( final Project project ) {
+        return getKieModuleMetaData( project ).getClassLoader();
+    }
+
+    /**
+     * @return The number of requests served by an existing KieModuleMetaData
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of requests that required a new KieModuleMetaData
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of KieModuleMetaData held
+     */
+    public synchronized int size() {
+        removeCollectedEntries();
+        return entries.size();
+    }
+
+    private synchronized Object getProjectLock( final Project project ) {
+        Object lock = projectLocks.get( project );
+        if ( lock == null ) {
+            lock = new Object();
+            projectLocks.put( project,
+                              lock );
+        }
+        return lock;
+    }
+
+    //Discard entries whose Builder has been evicted from LRUBuilderCache and collected
+    private void removeCollectedEntries() {
+        final Iterator<Entry> itr = entries.values().iterator();
+        while ( itr.hasNext() ) {
+            if ( itr.next().builder.get() == null ) {
+                itr.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final WeakReference<Builder> builder;
+        private final long classGeneration;
+        private final long generation;
+        private final KieModuleMetaData metaData;
+
+        private Entry( final Builder builder,
+                       final long classGeneration,
+                       final long generation,
+                       final KieModuleMetaData metaData ) {
+            this.builder = new WeakReference<Builder>( builder );
+            this.classGeneration = classGeneration;
+            this.generation = generation;
+            this.metaData = metaData;
+        }
+
+    }
+
+}
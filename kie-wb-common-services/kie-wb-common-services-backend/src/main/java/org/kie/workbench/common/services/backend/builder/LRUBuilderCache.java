@@ -18,6 +18,8 @@ package org.kie.workbench.common.services.backend.builder;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
@@ -40,7 +42,8 @@ import org.uberfire.commons.validation.PortablePreconditions;
 import org.uberfire.io.IOService;
 
 /**
- * A simple LRU cache for Builders
+ * A simple LRU cache for Builders. Builders are created whilst holding a lock for the Project alone so that
+ * constructing one Project's Builder does not block access to the Builders of other Projects.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Project, Builder> {
@@ -62,8 +65,16 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
     @Any
     private Instance<BuildValidationHelper> anyValidators;
 
+    @Inject
+    private ExternalClassVerificationCache verificationCache;
+
+    @Inject
+    private ResourceReaderPool readers;
+
     private final List<BuildValidationHelper> validators = new ArrayList<BuildValidationHelper>();
 
+    private final ConcurrentMap<Project, Object> projectLocks = new ConcurrentHashMap<Project, Object>();
+
     @PostConstruct
     public void setupValidators() {
         final Iterator<BuildValidationHelper> itr = anyValidators.iterator();
@@ -83,22 +94,53 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         }
     }
 
-    public synchronized Builder assertBuilder( final Project project ) {
-        Builder builder = getEntry( project );
-        if ( builder == null ) {
-            final Path pathToPom = project.getPomXMLPath();
-            final POM pom = pomService.load( pathToPom );
-            builder = new Builder( Paths.convert( project.getRootPath() ),
-                                   pom.getGav(),
-                                   ioService,
-                                   projectService,
-                                   importsService,
-                                   validators );
-
-            setEntry( project,
-                      builder );
+    public Builder assertBuilder( final Project project ) {
+        synchronized ( getProjectLock( project ) ) {
+            Builder builder = getBuilder( project );
+            if ( builder == null ) {
+                final Path pathToPom = project.getPomXMLPath();
+                final POM pom = pomService.load( pathToPom );
+                builder = new Builder( Paths.convert( project.getRootPath() ),
+                                       pom.getGav(),
+                                       ioService,
+                                       projectService,
+                                       importsService,
+                                       validators,
+                                       verificationCache,
+                                       readers );
+
+                setBuilder( project,
+                            builder );
+            }
+            return builder;
         }
-        return builder;
+    }
+
+    public synchronized void invalidateBuilder( final Project project ) {
+        invalidateCache( project );
+    }
+
+    /**
+     * The lock guarding the creation of a Project's Builder. Holding this lock prevents a Builder being created for
+     * the Project by another thread.
+     * @param project The Project
+     * @return The lock for the Project
+     */
+    public Object getProjectLock( final Project project ) {
+        final Object lock = new Object();
+        final Object existingLock = projectLocks.putIfAbsent( project,
+                                                              lock );
+        return ( existingLock == null ? lock : existingLock );
+    }
+
+    private synchronized Builder getBuilder( final Project project ) {
+        return getEntry( project );
+    }
+
+    private synchronized void setBuilder( final Project project,
+                                          final Builder builder ) {
+        setEntry( project,
+                  builder );
     }
 
 }
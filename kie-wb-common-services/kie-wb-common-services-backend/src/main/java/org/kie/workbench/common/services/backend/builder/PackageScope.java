@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The packages of a Project whose classes are made available for authoring. Packages are declared as comma separated
+ * include and exclude patterns (e.g. "org.mortgages, com.acme.model.*") in the kmodule.xml configuration properties
+ * {@link #INCLUDE_PACKAGES_PROPERTY} and {@link #EXCLUDE_PACKAGES_PROPERTY}. A pattern matches the named package and
+ * all of its sub-packages. The most specific matching pattern wins; where include and exclude patterns are equal the
+ * exclusion wins. If no include patterns are declared all packages not excluded are in scope.
+ * <p/>
+ * Patterns are compiled once into a trie of package name segments so that look-ups are proportional to the depth of
+ * the package and not to the number of patterns.
+ */
+public final class PackageScope {
+
+    public static final String INCLUDE_PACKAGES_PROPERTY = "kie.workbench.datamodel.packages.include";
+
+    public static final String EXCLUDE_PACKAGES_PROPERTY = "kie.workbench.datamodel.packages.exclude";
+
+    public static final PackageScope ALL = new PackageScope( new Node(),
+                                                             true );
+
+    private final Node root;
+    private final boolean includedByDefault;
+
+    public static PackageScope newPackageScope( final Map<String, String> configurationProperties ) {
+        if ( configurationProperties == null ) {
+            return ALL;
+        }
+        return newPackageScope( configurationProperties.get( INCLUDE_PACKAGES_PROPERTY ),
+                                configurationProperties.get( EXCLUDE_PACKAGES_PROPERTY ) );
+    }
+
+    public static PackageScope newPackageScope( final String includes,
+                                                final String excludes ) {
+        final String[] includePatterns = split( includes );
+        final String[] excludePatterns = split( excludes );
+        if ( includePatterns.length == 0 && excludePatterns.length == 0 ) {
+            return ALL;
+        }
+
+        final Node root = new Node();
+        for ( String pattern : includePatterns ) {
+            final Node node = root.getOrCreate( pattern );
+            if ( node.included == null ) {
+                node.included = Boolean.TRUE;
+            }
+        }
+        for ( String pattern : excludePatterns ) {
+            root.getOrCreate( pattern ).included = Boolean.FALSE;
+        }
+        return new PackageScope( root,
+                                 includePatterns.length == 0 );
+    }
+
+    private PackageScope( final Node root,
+                          final boolean includedByDefault ) {
+        this.root = root;
+        this.includedByDefault = includedByDefault;
+    }
+
+    /**
+     * @return true if all packages are in scope
+     */
+    public boolean isUnrestricted() {
+        return this == ALL;
+    }
+
+    public boolean isPackageInScope( final String packageName ) {
+        if ( isUnrestricted() ) {
+            return true;
+        }
+        boolean included = ( root.included == null ? includedByDefault : root.included );
+        if ( packageName == null || packageName.isEmpty() ) {
+            return included;
+        }
+
+        Node node = root;
+        int start = 0;
+        while ( node != null && start <= packageName.length() ) {
+            int end = packageName.indexOf( '.',
+                                           start );
+            if ( end < 0 ) {
+                end = packageName.length();
+            }
+            node = node.children.get( packageName.substring( start,
+                                                             end ) );
+            if ( node != null && node.included != null ) {
+                included = node.included;
+            }
+            start = end + 1;
+        }
+        return included;
+    }
+
+    public boolean isClassInScope( final String fullyQualifiedClassName ) {
+        if ( isUnrestricted() ) {
+            return true;
+        }
+        final int lastDot = fullyQualifiedClassName.lastIndexOf( '.' );
+        return isPackageInScope( lastDot < 0 ? "" : fullyQualifiedClassName.substring( 0,
+                                                                                       lastDot ) );
+    }
+
+    private static String[] split( final String patterns ) {
+        if ( patterns == null || patterns.trim().isEmpty() ) {
+            return new String[ 0 ];
+        }
+        final String[] result = patterns.trim().split( "[,\\s]+" );
+        for ( int i = 0; i < result.length; i++ ) {
+            String pattern = result[ i ];
+            if ( pattern.endsWith( "*" ) ) {
+                pattern = pattern.substring( 0,
+                                             pattern.length() - 1 );
+            }
+            if ( pattern.endsWith( "." ) ) {
+                pattern = pattern.substring( 0,
+                                             pattern.length() - 1 );
+            }
+            result[ i ] = pattern;
+        }
+        return result;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<String, Node>();
+        private Boolean included;
+
+        private Node getOrCreate( final String pattern ) {
+            if ( pattern.isEmpty() ) {
+                return this;
+            }
+            Node node = this;
+            for ( String segment : pattern.split( "\\." ) ) {
+                Node child = node.children.get( segment );
+                if ( child == null ) {
+                    child = new Node();
+                    node.children.put( segment,
+                                       child );
+                }
+                node = child;
+            }
+            return node;
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * A bounded pool of threads reading resource content whilst Builders are constructed. The pool is shared by all
+ * Builders and is shut down with the application. The number of threads can be set with the System Property
+ * {@link #READ_THREADS_PROPERTY}. Each Builder keeps at most {@link #getMaxOutstandingReads()} reads outstanding so
+ * that the content of a Project is not held in memory all at once.
+ */
+@ApplicationScoped
+public class ResourceReaderPool {
+
+    public static final String READ_THREADS_PROPERTY = "org.kie.workbench.build.read.threads";
+
+    //Reads outstanding per thread, so that threads are kept busy whilst completed reads are written
+    private static final int OUTSTANDING_READS_PER_THREAD = 4;
+
+    private final int threads;
+
+    //Created on first use so that proxies of this bean do not start threads
+    private ExecutorService executor;
+
+    public ResourceReaderPool() {
+        this( Integer.getInteger( READ_THREADS_PROPERTY,
+                                  Runtime.getRuntime().availableProcessors() ) );
+    }
+
+    public ResourceReaderPool( final int threads ) {
+        this.threads = Math.max( 1,
+                                 threads );
+    }
+
+    public synchronized ExecutorService getExecutor() {
+        if ( executor == null ) {
+            executor = Executors.newFixedThreadPool( threads,
+                                                     new DaemonThreadFactory( "kie-build-reader" ) );
+        }
+        return executor;
+    }
+
+    /**
+     * @return The maximum number of reads a Builder should have outstanding at any time
+     */
+    public int getMaxOutstandingReads() {
+        return threads * OUTSTANDING_READS_PER_THREAD;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if ( executor != null ) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.enums;
+
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.mvel2.MVEL;
+import org.mvel2.ParserConfiguration;
+import org.mvel2.ParserContext;
+import org.mvel2.templates.CompiledTemplate;
+import org.mvel2.templates.TemplateCompiler;
+import org.mvel2.templates.TemplateRuntime;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * Cache of compiled MVEL used to evaluate enumerations and drop-down expressions. Templates do not reference classes
+ * and are compiled once. Expressions can reference classes of a Project and are compiled once for each ClassLoader. A
+ * Project's ClassLoader is replaced whenever the Project is rebuilt, so each ClassLoader is a generation of the
+ * Project's classes. Compiled expressions reference their ClassLoader and are therefore only softly referenced, so a
+ * superseded generation can be garbage collected once it is no longer used. Only compilation is cached: expressions can
+ * call Project code and are evaluated with every request.
+ */
+public class CompiledExpressionCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private static final CompiledExpressionCache INSTANCE = new CompiledExpressionCache();
+
+    private final Map<String, CompiledTemplate> templates = makeLRUMap();
+
+    private final Map<ClassLoader, SoftReference<Map<String, Serializable>>> expressions = new WeakHashMap<ClassLoader, SoftReference<Map<String, Serializable>>>();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * @return The cache shared by all Projects
+     */
+    public static CompiledExpressionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Interpolate values into a template.
+     * @param template The MVEL template
+     * @param context Values of the template's variables
+     * @return The interpolated template
+     */
+    public String interpolate( final String template,
+                               final Map<String, ?> context ) {
+        PortablePreconditions.checkNotNull( "template",
+                                            template );
+        CompiledTemplate compiled;
+        synchronized ( this ) {
+            compiled = templates.get( template );
+            if ( compiled != null ) {
+                hitCount++;
+            }
+        }
+        if ( compiled == null ) {
+            compiled = TemplateCompiler.compileTemplate( template );
+            synchronized ( this ) {
+                missCount++;
+                templates.put( template,
+                               compiled );
+            }
+        }
+        return (String) TemplateRuntime.execute( compiled,
+                                                 context );
+    }
+
+    /**
+     * Get a compiled expression. Expressions that fail to compile are not cached.
+     * @param expression The MVEL expression
+     * @param classLoader The ClassLoader from which classes referenced by the expression are loaded
+     * @return The compiled expression, which can be executed concurrently
+     */
+    public Serializable getCompiledExpression( final String expression,
+                                               final ClassLoader classLoader ) {
+        PortablePreconditions.checkNotNull( "expression",
+                                            expression );
+        synchronized ( this ) {
+            final Map<String, Serializable> compiledExpressions = getCompiledExpressions( classLoader );
+            final Serializable compiled = ( compiledExpressions == null ? null : compiledExpressions.get( expression ) );
+            if ( compiled != null ) {
+                hitCount++;
+                return compiled;
+            }
+        }
+
+        //Expressions are compiled outside of the lock. Concurrent misses for the same expression compile it again.
+        final ParserConfiguration pconf = new ParserConfiguration();
+        final ParserContext pctx = new ParserContext( pconf );
+        pconf.setClassLoader( classLoader );
+
+        final Serializable compiled = MVEL.compileExpression( expression,
+                                                              pctx );
+        synchronized ( this ) {
+            missCount++;
+            Map<String, Serializable> compiledExpressions = getCompiledExpressions( classLoader );
+            if ( compiledExpressions == null ) {
+                compiledExpressions = makeLRUMap();
+                expressions.put( classLoader,
+                                 new SoftReference<Map<String, Serializable>>( compiledExpressions ) );
+            }
+            compiledExpressions.put( expression,
+                                     compiled );
+        }
+        return compiled;
+    }
+
+    /**
+     * @return The number of templates and expressions served by an existing compilation
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of templates and expressions that required compilation
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The proportion of templates and expressions served by an existing compilation
+     */
+    public synchronized double getHitRatio() {
+        final long requests = hitCount + missCount;
+        return ( requests == 0 ? 0 : (double) hitCount / requests );
+    }
+
+    private Map<String, Serializable> getCompiledExpressions( final ClassLoader classLoader ) {
+        final SoftReference<Map<String, Serializable>> reference = expressions.get( classLoader );
+        return ( reference == null ? null : reference.get() );
+    }
+
+    private static <T> Map<String, T> makeLRUMap() {
+        return new LinkedHashMap<String, T>( 16,
+                                             0.75f,
+                                             true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, T> eldest ) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+}
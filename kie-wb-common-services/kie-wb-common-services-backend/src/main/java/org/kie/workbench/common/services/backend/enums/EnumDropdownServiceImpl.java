@@ -27,15 +27,11 @@ import org.drools.core.util.MVELSafeHelper;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.api.builder.KieModule;
-import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.KieModuleMetaDataCache;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
 import org.kie.workbench.common.services.shared.enums.EnumDropdownService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
-import org.mvel2.MVEL;
-import org.mvel2.ParserConfiguration;
-import org.mvel2.ParserContext;
-import org.mvel2.templates.TemplateRuntime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
@@ -49,9 +45,14 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
     @Inject
     private LRUBuilderCache builderCache;
 
+    @Inject
+    private KieModuleMetaDataCache metaDataCache;
+
     @Inject
     private KieProjectService projectService;
 
+    private final CompiledExpressionCache expressionCache = CompiledExpressionCache.getInstance();
+
     @Override
     public String[] loadDropDownExpression( final Path resource,
                                             final String[] valuePairs,
@@ -68,7 +69,7 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             logger.error( "A KieModule could not be resolved for path '" + resource.toURI() + "'. No enums will be returned." );
             return null;
         }
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
+        final ClassLoader classLoader = metaDataCache.getProjectClassLoader( project );
 
         return loadDropDownExpression( classLoader,
                                        valuePairs,
@@ -96,16 +97,12 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             }
 
             // first interpolate the pairs
-            expression = (String) TemplateRuntime.eval( expression,
-                                                        context );
+            expression = expressionCache.interpolate( expression,
+                                                      context );
 
             // now we can eval it for real...
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext( pconf );
-            pconf.setClassLoader( classLoader );
-
-            final Serializable compiled = MVEL.compileExpression( expression,
-                                                                  pctx );
+            final Serializable compiled = expressionCache.getCompiledExpression( expression,
+                                                                                 classLoader );
             Object result = MVELSafeHelper.getEvaluator().executeExpression( compiled,
                                                                              new HashMap<String, Object>() );
 
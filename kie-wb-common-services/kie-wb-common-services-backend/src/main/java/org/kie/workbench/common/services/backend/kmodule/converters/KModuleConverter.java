@@ -24,6 +24,8 @@ import org.drools.core.util.AbstractXStreamConverter;
 import org.kie.workbench.common.services.shared.kmodule.KBaseModel;
 import org.kie.workbench.common.services.shared.kmodule.KModuleModel;
 
+import java.util.Map;
+
 public class KModuleConverter
         extends AbstractXStreamConverter {
 
@@ -37,6 +39,17 @@ public class KModuleConverter
         writer.addAttribute("xmlns", "http://jboss.org/kie/6.0.0/kmodule");
         writer.addAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
 
+        if (!kModule.getConfigurationProperties().isEmpty()) {
+            writer.startNode("configuration");
+            for (Map.Entry<String, String> property : kModule.getConfigurationProperties().entrySet()) {
+                writer.startNode("property");
+                writer.addAttribute("key", property.getKey());
+                writer.addAttribute("value", property.getValue());
+                writer.endNode();
+            }
+            writer.endNode();
+        }
+
         for (KBaseModel kBaseModule : kModule.getKBases().values()) {
             writeObject(writer, context, "kbase", kBaseModule);
         }
@@ -50,6 +63,18 @@ public class KModuleConverter
                 if ("kbase".equals(name)) {
                     KBaseModel kBaseModule = readObject(reader, context, KBaseModel.class);
                     kModule.getKBases().put(kBaseModule.getName(), kBaseModule);
+                } else if ("configuration".equals(name)) {
+                    while (reader.hasMoreChildren()) {
+                        reader.moveDown();
+                        if ("property".equals(reader.getNodeName())) {
+                            final String key = reader.getAttribute("key");
+                            final String propertyValue = reader.getAttribute("value");
+                            if (key != null && propertyValue != null) {
+                                kModule.getConfigurationProperties().put(key, propertyValue);
+                            }
+                        }
+                        reader.moveUp();
+                    }
                 }
             }
         });
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Cache of the Project root and Package resolved for resource URIs, and of the KieProject built for each Project root
+ * URI. Entries are held in maps sorted by URI so that all entries for a folder, and the resources within it, can be
+ * invalidated together.
+ */
+class ProjectResolutionCache {
+
+    private static final int MAX_ENTRIES = 10000;
+
+    //A resource that is not within a Project is recorded with a Resolution having a null root
+    private final NavigableMap<String, Resolution<Path>> projectRoots = new TreeMap<String, Resolution<Path>>();
+    private final NavigableMap<String, Resolution<Package>> packages = new TreeMap<String, Resolution<Package>>();
+    private final NavigableMap<String, Resolution<KieProject>> projects = new TreeMap<String, Resolution<KieProject>>();
+
+    //Incremented on invalidation so that resolutions started before an invalidation are not cached
+    private long generation = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    synchronized Resolution<Path> getProjectRoot( final String uri ) {
+        return count( projectRoots.get( uri ) );
+    }
+
+    synchronized void putProjectRoot( final String uri,
+                                      final Path projectRoot,
+                                      final long generation ) {
+        put( projectRoots,
+             uri,
+             new Resolution<Path>( projectRoot ),
+             generation );
+    }
+
+    synchronized Resolution<Package> getPackage( final String uri ) {
+        return count( packages.get( uri ) );
+    }
+
+    synchronized void putPackage( final String uri,
+                                  final Package pkg,
+                                  final long generation ) {
+        put( packages,
+             uri,
+             new Resolution<Package>( pkg ),
+             generation );
+    }
+
+    synchronized Resolution<KieProject> getProject( final String rootUri ) {
+        return count( projects.get( rootUri ) );
+    }
+
+    synchronized void putProject( final String rootUri,
+                                  final KieProject project,
+                                  final long generation ) {
+        put( projects,
+             rootUri,
+             new Resolution<KieProject>( project ),
+             generation );
+    }
+
+    /**
+     * Invalidate the KieProjects of all Project roots. Resolutions of resources are unaffected.
+     */
+    synchronized void invalidateProjects() {
+        generation++;
+        projects.clear();
+    }
+
+    /**
+     * Invalidate the entries for a resource and, if it is a folder, all resources within it.
+     * @param uri The URI of the resource
+     */
+    synchronized void invalidate( final String uri ) {
+        generation++;
+        final String upperBound = uri + Character.MAX_VALUE;
+        projectRoots.subMap( uri,
+                             true,
+                             upperBound,
+                             true ).clear();
+        packages.subMap( uri,
+                         true,
+                         upperBound,
+                         true ).clear();
+        projects.subMap( uri,
+                         true,
+                         upperBound,
+                         true ).clear();
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        projectRoots.clear();
+        packages.clear();
+        projects.clear();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private <T> Resolution<T> count( final Resolution<T> resolution ) {
+        if ( resolution == null ) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return resolution;
+    }
+
+    private <T> void put( final NavigableMap<String, Resolution<T>> entries,
+                          final String uri,
+                          final Resolution<T> resolution,
+                          final long generation ) {
+        if ( generation != this.generation ) {
+            return;
+        }
+        if ( entries.size() >= MAX_ENTRIES ) {
+            entries.clear();
+        }
+        entries.put( uri,
+                     resolution );
+    }
+
+    static class Resolution<T> {
+
+        private final T value;
+
+        private Resolution( final T value ) {
+            this.value = value;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package org.kie.workbench.common.services.backend.project;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -52,6 +53,12 @@ import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.security.Identity;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 @Service
 @ApplicationScoped
@@ -65,6 +72,8 @@ public class ProjectServiceImpl
     @Inject
     private KModuleService kModuleService;
 
+    private final ProjectResolutionCache resolutionCache = new ProjectResolutionCache();
+
     public ProjectServiceImpl() {
     }
 
@@ -239,39 +248,77 @@ public class ProjectServiceImpl
                 return null;
             }
 
-            //Check if resource is the project root
-            org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
-
-            //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
-            if ( Files.isRegularFile( path ) ) {
-                path = path.getParent();
-            }
-            if ( hasPom( path ) && hasKModule( path ) ) {
-                return makeProject( path );
+            final String uri = resource.toURI();
+            final ProjectResolutionCache.Resolution<org.uberfire.java.nio.file.Path> resolution = resolutionCache.getProjectRoot( uri );
+            final org.uberfire.java.nio.file.Path projectRoot;
+            if ( resolution != null ) {
+                projectRoot = resolution.getValue();
+            } else {
+                final long generation = resolutionCache.getGeneration();
+                projectRoot = resolveProjectRoot( resource );
+                resolutionCache.putProjectRoot( uri,
+                                                projectRoot,
+                                                generation );
             }
-            while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
-                path = path.getParent();
-            }
-            if ( path.getNameCount() == 0 ) {
-                return null;
-            }
-            path = path.getParent();
-            if ( path.getNameCount() == 0 || path == null ) {
-                return null;
-            }
-            if ( !hasPom( path ) ) {
-                return null;
-            }
-            if ( !hasKModule( path ) ) {
-                return null;
-            }
-            return makeProject( path );
+            return ( projectRoot == null ? null : getProject( projectRoot ) );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    //Making a KieProject reads its security roles, so it is only done when the Project's configuration changes
+    private KieProject getProject( final org.uberfire.java.nio.file.Path projectRoot ) {
+        final String rootUri = projectRoot.toUri().toString();
+        final ProjectResolutionCache.Resolution<KieProject> resolution = resolutionCache.getProject( rootUri );
+        if ( resolution != null ) {
+            return copyProject( resolution.getValue() );
+        }
+        final long generation = resolutionCache.getGeneration();
+        final KieProject project = makeProject( projectRoot );
+        resolutionCache.putProject( rootUri,
+                                    project,
+                                    generation );
+        return copyProject( project );
+    }
+
+    //KieProject is mutable, so callers get their own instance rather than the cached one
+    private KieProject copyProject( final KieProject project ) {
+        final KieProject copy = simpleProjectInstance( Paths.convert( project.getRootPath() ) );
+        copy.getRoles().addAll( project.getRoles() );
+        return copy;
+    }
+
+    private org.uberfire.java.nio.file.Path resolveProjectRoot( final Path resource ) {
+        //Check if resource is the project root
+        org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
+
+        //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
+        if ( Files.isRegularFile( path ) ) {
+            path = path.getParent();
+        }
+        if ( hasPom( path ) && hasKModule( path ) ) {
+            return path;
+        }
+        while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
+            path = path.getParent();
+        }
+        if ( path.getNameCount() == 0 ) {
+            return null;
+        }
+        path = path.getParent();
+        if ( path.getNameCount() == 0 || path == null ) {
+            return null;
+        }
+        if ( !hasPom( path ) ) {
+            return null;
+        }
+        if ( !hasKModule( path ) ) {
+            return null;
+        }
+        return path;
+    }
+
     @Override
     protected KieProject makeProject( final org.uberfire.java.nio.file.Path nioProjectRootPath ) {
         final KieProject project = simpleProjectInstance( nioProjectRootPath );
@@ -289,25 +336,117 @@ public class ProjectServiceImpl
                 return null;
             }
 
-            //If Path is not within a Project we cannot resolve a package
-            final Project project = resolveProject( resource );
-            if ( project == null ) {
-                return null;
+            final String uri = resource.toURI();
+            final ProjectResolutionCache.Resolution<Package> resolution = resolutionCache.getPackage( uri );
+            if ( resolution != null ) {
+                return copyPackage( resolution.getValue() );
             }
-
-            //pom.xml and kmodule.xml are not inside packages
-            if ( isPom( resource ) || kModuleService.isKModule( resource ) ) {
-                return null;
-            }
-
-            return makePackage( project,
-                                resource );
+            final long generation = resolutionCache.getGeneration();
+            final Package pkg = findPackage( resource );
+            resolutionCache.putPackage( uri,
+                                        pkg,
+                                        generation );
+            return copyPackage( pkg );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    private Package findPackage( final Path resource ) {
+        //If Path is not within a Project we cannot resolve a package
+        final Project project = resolveProject( resource );
+        if ( project == null ) {
+            return null;
+        }
+
+        //pom.xml and kmodule.xml are not inside packages
+        if ( isPom( resource ) || kModuleService.isKModule( resource ) ) {
+            return null;
+        }
+
+        return makePackage( project,
+                            resource );
+    }
+
+    //Package is mutable, so callers get their own instance rather than the cached one
+    private Package copyPackage( final Package pkg ) {
+        if ( pkg == null ) {
+            return null;
+        }
+        return new Package( pkg.getProjectRootPath(),
+                            pkg.getPackageMainSrcPath(),
+                            pkg.getPackageTestSrcPath(),
+                            pkg.getPackageMainResourcesPath(),
+                            pkg.getPackageTestResourcesPath(),
+                            pkg.getPackageName(),
+                            pkg.getCaption(),
+                            pkg.getRelativeCaption() );
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidateResolutions( event.getPath() );
+    }
+
+    //Updating a Project's configuration does not move Project boundaries, but does change the Project
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        final Path resource = event.getPath();
+        if ( resource != null && ( isPom( resource ) || kModuleService.isKModule( resource ) || isProjectImports( resource ) ) ) {
+            resolutionCache.invalidateProjects();
+        }
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidateResolutions( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidateResolutions( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidateResolutions( event.getPath() );
+        invalidateResolutions( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Path path : event.getBatch().keySet() ) {
+            invalidateResolutions( path );
+        }
+    }
+
+    public void onProjectAdded( @Observes final NewProjectEvent event ) {
+        resolutionCache.invalidateAll();
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        resolutionCache.invalidateAll();
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        resolutionCache.invalidateAll();
+    }
+
+    //Adding or removing pom.xml or kmodule.xml changes Project boundaries; otherwise only the resource (and any
+    //resources within it, if it is a folder) need to be resolved again. Changing project.imports changes the Project.
+    private void invalidateResolutions( final Path resource ) {
+        if ( resource == null ) {
+            return;
+        }
+        if ( isPom( resource ) || kModuleService.isKModule( resource ) ) {
+            resolutionCache.invalidateAll();
+        } else {
+            resolutionCache.invalidate( resource.toURI() );
+            if ( isProjectImports( resource ) ) {
+                resolutionCache.invalidateProjects();
+            }
+        }
+    }
+
+    private boolean isProjectImports( final Path resource ) {
+        return PROJECT_IMPORTS_PATH.equals( resource.getFileName() );
+    }
+
     private boolean hasKModule( final org.uberfire.java.nio.file.Path path ) {
         final org.uberfire.java.nio.file.Path kmodulePath = path.resolve( KMODULE_PATH );
         return Files.exists( kmodulePath );
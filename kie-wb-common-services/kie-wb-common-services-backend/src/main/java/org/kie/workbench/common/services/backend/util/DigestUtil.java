@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.util;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-1 digests used to detect whether content has changed since it was last processed.
+ */
+public final class DigestUtil {
+
+    private static final Charset UTF8 = Charset.forName( "UTF-8" );
+
+    private DigestUtil() {
+    }
+
+    /**
+     * @param content The content. Content is encoded as UTF-8, so digests do not depend upon the platform.
+     * @return The hex encoded SHA-1 digest of the content
+     */
+    public static String sha1( final String content ) {
+        return sha1( content.getBytes( UTF8 ) );
+    }
+
+    /**
+     * @param bytes The content
+     * @return The hex encoded SHA-1 digest of the content
+     */
+    public static String sha1( final byte[] bytes ) {
+        return toHex( newSha1Digest().digest( bytes ) );
+    }
+
+    /**
+     * @return A new SHA-1 MessageDigest, for content that is digested incrementally
+     */
+    public static MessageDigest newSha1Digest() {
+        try {
+            return MessageDigest.getInstance( "SHA-1" );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * @param digest The digest
+     * @return The hex encoding of the digest
+     */
+    public static String toHex( final byte[] digest ) {
+        final StringBuilder sb = new StringBuilder( digest.length * 2 );
+        for ( byte b : digest ) {
+            sb.append( Character.forDigit( ( b >> 4 ) & 0xF,
+                                           16 ) );
+            sb.append( Character.forDigit( b & 0xF,
+                                           16 ) );
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BuildSchedulerTest {
+
+    private LRUBuilderCache cache;
+    private BuildScheduler scheduler;
+
+    @Before
+    public void setup() {
+        cache = mock( LRUBuilderCache.class );
+        when( cache.getProjectLock( any( Project.class ) ) ).thenReturn( new Object() );
+        scheduler = new BuildScheduler( cache,
+                                        1 );
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testQueuedBuildIsShared() throws Exception {
+        final Project project1 = mock( Project.class );
+        final Project project2 = mock( Project.class );
+        final Builder builder1 = mock( Builder.class );
+        final Builder builder2 = mock( Builder.class );
+        final BuildResults results1 = new BuildResults();
+        final BuildResults results2 = new BuildResults();
+        when( cache.assertBuilder( project1 ) ).thenReturn( builder1 );
+        when( cache.assertBuilder( project2 ) ).thenReturn( builder2 );
+        when( builder2.build() ).thenReturn( results2 );
+
+        //Block the only worker thread with a build of project1
+        final CountDownLatch release = new CountDownLatch( 1 );
+        when( builder1.build() ).thenAnswer( new Answer<BuildResults>() {
+            @Override
+            public BuildResults answer( final InvocationOnMock invocation ) throws Throwable {
+                release.await( 10,
+                               TimeUnit.SECONDS );
+                return results1;
+            }
+        } );
+        final BuildThread thread1 = new BuildThread( project1 );
+        thread1.start();
+        waitFor( new Condition() {
+            @Override
+            public boolean isMet() {
+                return scheduler.getRunningCount() == 1;
+            }
+        } );
+
+        //Both requests for project2 are queued behind project1 and share a single build
+        final BuildThread thread2 = new BuildThread( project2 );
+        final BuildThread thread3 = new BuildThread( project2 );
+        thread2.start();
+        thread3.start();
+        waitFor( new Condition() {
+            @Override
+            public boolean isMet() {
+                return scheduler.getDeduplicatedCount() == 1;
+            }
+        } );
+        assertEquals( 1,
+                      scheduler.getQueueDepth() );
+
+        release.countDown();
+        thread1.join( 10000 );
+        thread2.join( 10000 );
+        thread3.join( 10000 );
+
+        assertSame( results1,
+                    thread1.results );
+        assertSame( results2,
+                    thread2.results );
+        assertSame( results2,
+                    thread3.results );
+        verify( builder2,
+                times( 1 ) ).build();
+        verify( cache ).invalidateBuilder( project1 );
+        verify( cache ).invalidateBuilder( project2 );
+        assertEquals( 2,
+                      scheduler.getCompletedCount() );
+        assertEquals( 0,
+                      scheduler.getQueueDepth() );
+    }
+
+    @Test
+    public void testBuildFailureIsRethrown() {
+        final Project project = mock( Project.class );
+        final Builder builder = mock( Builder.class );
+        when( cache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.build() ).thenThrow( new IllegalArgumentException( "failed" ) );
+
+        try {
+            scheduler.build( project );
+            fail( "Expected IllegalArgumentException" );
+        } catch ( IllegalArgumentException e ) {
+            assertEquals( "failed",
+                          e.getMessage() );
+        }
+        assertEquals( 0,
+                      scheduler.getRunningCount() );
+    }
+
+    private void waitFor( final Condition condition ) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10000;
+        while ( !condition.isMet() ) {
+            if ( System.currentTimeMillis() > timeout ) {
+                fail( "Timed out waiting for scheduler" );
+            }
+            Thread.sleep( 10 );
+        }
+    }
+
+    private interface Condition {
+
+        boolean isMet();
+    }
+
+    private class BuildThread extends Thread {
+
+        private final Project project;
+        private volatile BuildResults results;
+
+        private BuildThread( final Project project ) {
+            this.project = project;
+        }
+
+        @Override
+        public void run() {
+            results = scheduler.build( project );
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Project;
 import org.guvnor.m2repo.backend.server.ExtendedM2RepoService;
 import org.jboss.weld.environment.se.StartMain;
 import org.junit.Before;
@@ -42,6 +43,7 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 public class BuildServiceImplTest {
 
@@ -77,6 +79,39 @@ public class BuildServiceImplTest {
         assertTrue( results.getMessages().isEmpty() );
     }
 
+    @Test
+    public void testBuilderRecordsPhaseTimings() throws Exception {
+        IOService ioService = getReference( IOService.class );
+        KieProjectService projectService = getReference( KieProjectService.class );
+        ProjectImportsService importsService = getReference( ProjectImportsService.class );
+
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Builder builder = new Builder( path,
+                                             new GAV(),
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<BuildValidationHelper>() );
+
+        //Loading is timed when the Builder is constructed
+        final BuildTimings loadTimings = builder.getTimings();
+        assertTrue( loadTimings.getTime( BuildTimings.Phase.WALK ) >= 0 );
+        assertTrue( loadTimings.getTime( BuildTimings.Phase.READ ) >= 0 );
+        assertTrue( loadTimings.getTime( BuildTimings.Phase.WRITE ) >= 0 );
+        assertEquals( -1,
+                      loadTimings.getTime( BuildTimings.Phase.COMPILE ) );
+
+        final BuildResults results = builder.build();
+        assertTrue( results.getMessages().isEmpty() );
+
+        final BuildTimings buildTimings = builder.getTimings();
+        assertTrue( buildTimings.getTime( BuildTimings.Phase.COMPILE ) >= 0 );
+        assertTrue( buildTimings.getTime( BuildTimings.Phase.VERIFY ) >= 0 );
+    }
+
     @Test
     public void testBuilderKProjectHasDependency() throws Exception {
         IOService ioService = getReference( IOService.class );
@@ -221,6 +256,56 @@ public class BuildServiceImplTest {
         assertTrue( results.getMessages().isEmpty() );
     }
 
+    @Test
+    public void testKieModuleMetaDataIsSharedUntilRebuilt() throws Exception {
+        IOService ioService = getReference( IOService.class );
+        KieProjectService projectService = getReference( KieProjectService.class );
+        ProjectImportsService importsService = getReference( ProjectImportsService.class );
+
+        URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Builder builder = new Builder( path,
+                                             new GAV(),
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<BuildValidationHelper>() );
+
+        final Project project = mock( Project.class );
+        final LRUBuilderCache builderCache = mock( LRUBuilderCache.class );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+        final KieModuleMetaDataCache metaDataCache = new KieModuleMetaDataCache( builderCache );
+
+        final KieModuleMetaData metaData1 = metaDataCache.getKieModuleMetaData( project );
+        final KieModuleMetaData metaData2 = metaDataCache.getKieModuleMetaData( project );
+        assertSame( metaData1,
+                    metaData2 );
+        assertEquals( 1,
+                      metaDataCache.getMissCount() );
+        assertEquals( 1,
+                      metaDataCache.getHitCount() );
+
+        //A new build supersedes the KieModuleMetaData
+        builder.build();
+        final KieModuleMetaData metaData3 = metaDataCache.getKieModuleMetaData( project );
+        assertNotSame( metaData1,
+                       metaData3 );
+        assertEquals( 2,
+                      metaDataCache.getMissCount() );
+        assertEquals( 1,
+                      metaDataCache.size() );
+
+        //Incremental builds of resources that cannot define Classes do not supersede the KieModuleMetaData
+        final long classGeneration = builder.getClassGeneration();
+        builder.updateResource( path.resolve( "src/main/resources/META-INF/kmodule.xml" ) );
+        assertEquals( classGeneration,
+                      builder.getClassGeneration() );
+        assertSame( metaData3,
+                    metaDataCache.getKieModuleMetaData( project ) );
+    }
+
     private <T> T getReference( Class<T> clazz ) {
         Bean bean = (Bean) beanManager.getBeans( clazz ).iterator().next();
         CreationalContext cc = beanManager.createCreationalContext( bean );
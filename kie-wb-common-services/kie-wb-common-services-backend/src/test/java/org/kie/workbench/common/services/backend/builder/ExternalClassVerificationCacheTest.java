@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.*;
+
+public class ExternalClassVerificationCacheTest {
+
+    private File cacheFile;
+
+    @Before
+    public void setup() throws Exception {
+        cacheFile = File.createTempFile( "verification",
+                                         ".cache" );
+        cacheFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        cacheFile.delete();
+    }
+
+    @Test
+    public void testVerifiedJarClassIsPersisted() {
+        //org.junit.Test is loaded from the JUnit jar
+        final ExternalClassVerificationCache cache = new ExternalClassVerificationCache( cacheFile );
+        final String dependencies = cache.getDependenciesKey( "project",
+                                                                Arrays.<Class<?>>asList( Test.class ) );
+        assertFalse( cache.isVerified( dependencies,
+                                       Test.class ) );
+
+        cache.setVerified( dependencies,
+                           Test.class );
+        assertTrue( cache.isVerified( dependencies,
+                                      Test.class ) );
+        assertFalse( cache.isVerified( dependencies,
+                                       After.class ) );
+
+        cache.flush();
+        assertTrue( cacheFile.exists() );
+
+        final ExternalClassVerificationCache restartedCache = new ExternalClassVerificationCache( cacheFile );
+        assertTrue( restartedCache.isVerified( dependencies,
+                                               Test.class ) );
+        assertEquals( 1,
+                      restartedCache.getHitCount() );
+    }
+
+    @Test
+    public void testVerificationIsNotSharedBetweenDependencies() {
+        //org.junit.Test is loaded from the JUnit jar and org.mockito.Mockito from the Mockito jar
+        final ExternalClassVerificationCache cache = new ExternalClassVerificationCache( cacheFile );
+        final String dependencies1 = cache.getDependenciesKey( "project1",
+                                                               Arrays.<Class<?>>asList( Test.class ) );
+        final String dependencies2 = cache.getDependenciesKey( "project2",
+                                                               Arrays.<Class<?>>asList( Test.class,
+                                                                                        Mockito.class ) );
+        assertFalse( dependencies1.equals( dependencies2 ) );
+        assertEquals( dependencies2,
+                      cache.getDependenciesKey( "project2",
+                                                Arrays.<Class<?>>asList( Mockito.class,
+                                                                         Test.class ) ) );
+
+        cache.setVerified( dependencies1,
+                           Test.class );
+        assertTrue( cache.isVerified( dependencies1,
+                                      Test.class ) );
+        assertFalse( cache.isVerified( dependencies2,
+                                       Test.class ) );
+    }
+
+    @Test
+    public void testClassNotFromJarIsNotCached() {
+        //Test classes are loaded from a directory
+        final ExternalClassVerificationCache cache = new ExternalClassVerificationCache( cacheFile );
+        final String dependencies = cache.getDependenciesKey( "project",
+                                                                Arrays.<Class<?>>asList( ExternalClassVerificationCacheTest.class ) );
+        cache.setVerified( dependencies,
+                           ExternalClassVerificationCacheTest.class );
+
+        assertFalse( cache.isVerified( dependencies,
+                                       ExternalClassVerificationCacheTest.class ) );
+        assertEquals( 0,
+                      cache.size() );
+
+        //Only the Project's dependencies are persisted
+        cache.flush();
+        assertEquals( 0,
+                      new ExternalClassVerificationCache( cacheFile ).size() );
+    }
+
+    @Test
+    public void testVerificationsOfPreviousDependenciesAreDiscarded() {
+        final ExternalClassVerificationCache cache = new ExternalClassVerificationCache( cacheFile );
+        final String dependencies1 = cache.getDependenciesKey( "project1",
+                                                               Arrays.<Class<?>>asList( Test.class ) );
+        cache.setVerified( dependencies1,
+                           Test.class );
+
+        //Another Project with the same dependencies keeps the verification after the first Project's change
+        assertEquals( dependencies1,
+                      cache.getDependenciesKey( "project2",
+                                                Arrays.<Class<?>>asList( Test.class ) ) );
+        final String dependencies2 = cache.getDependenciesKey( "project1",
+                                                               Arrays.<Class<?>>asList( Test.class,
+                                                                                        Mockito.class ) );
+        cache.setVerified( dependencies2,
+                           Test.class );
+        assertTrue( cache.isVerified( dependencies1,
+                                      Test.class ) );
+        assertEquals( 2,
+                      cache.size() );
+
+        //Once no Project has the dependencies their verifications are discarded and not persisted
+        cache.getDependenciesKey( "project2",
+                                  Arrays.<Class<?>>asList( Mockito.class ) );
+        assertFalse( cache.isVerified( dependencies1,
+                                       Test.class ) );
+        assertTrue( cache.isVerified( dependencies2,
+                                      Test.class ) );
+        assertEquals( 1,
+                      cache.size() );
+
+        cache.flush();
+        final ExternalClassVerificationCache restartedCache = new ExternalClassVerificationCache( cacheFile );
+        assertEquals( 1,
+                      restartedCache.size() );
+        assertTrue( restartedCache.isVerified( dependencies2,
+                                               Test.class ) );
+    }
+
+}
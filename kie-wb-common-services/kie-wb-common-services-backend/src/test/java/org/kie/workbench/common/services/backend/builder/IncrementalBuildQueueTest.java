@@ -0,0 +1,327 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.event.Event;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceUpdated;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class IncrementalBuildQueueTest {
+
+    @Test
+    public void testFold() {
+        assertEquals( ResourceChangeType.ADD,
+                      IncrementalBuildQueue.fold( null,
+                                                  new ResourceAdded() ).getType() );
+        assertEquals( ResourceChangeType.ADD,
+                      IncrementalBuildQueue.fold( new ResourceAdded(),
+                                                  new ResourceUpdated() ).getType() );
+        assertEquals( ResourceChangeType.DELETE,
+                      IncrementalBuildQueue.fold( new ResourceAdded(),
+                                                  new ResourceDeleted() ).getType() );
+        assertEquals( ResourceChangeType.UPDATE,
+                      IncrementalBuildQueue.fold( new ResourceDeleted(),
+                                                  new ResourceAdded() ).getType() );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChangesWhilstBuildingAreBuiltTogether() throws Exception {
+        final Project project = mock( Project.class );
+        final Builder builder = mock( Builder.class );
+        final LRUBuilderCache cache = mock( LRUBuilderCache.class );
+        final IncrementalBuildResults results1 = new IncrementalBuildResults();
+        final IncrementalBuildResults results2 = new IncrementalBuildResults();
+        final CountDownLatch building = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        when( cache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.isBuilt() ).thenReturn( true );
+        when( builder.applyBatchResourceChanges( any( Map.class ) ) ).thenAnswer( new Answer<IncrementalBuildResults>() {
+            private boolean first = true;
+
+            @Override
+            public IncrementalBuildResults answer( final InvocationOnMock invocation ) throws Throwable {
+                if ( first ) {
+                    first = false;
+                    building.countDown();
+                    release.await( 10,
+                                   TimeUnit.SECONDS );
+                    return results1;
+                }
+                return results2;
+            }
+        } );
+
+        final IncrementalBuildQueue queue = new IncrementalBuildQueue( cache,
+                                                                       mock( BuildScheduler.class ),
+                                                                       mock( Event.class ),
+                                                                       1000 );
+        final Path resource1 = mock( Path.class );
+        final Path resource2 = mock( Path.class );
+
+        final ChangeThread thread1 = new ChangeThread( queue,
+                                                       project,
+                                                       resource1,
+                                                       ResourceChangeType.ADD );
+        final ChangeThread thread2 = new ChangeThread( queue,
+                                                       project,
+                                                       resource1,
+                                                       ResourceChangeType.UPDATE );
+        final ChangeThread thread3 = new ChangeThread( queue,
+                                                       project,
+                                                       resource1,
+                                                       ResourceChangeType.DELETE );
+        final ChangeThread thread4 = new ChangeThread( queue,
+                                                       project,
+                                                       resource2,
+                                                       ResourceChangeType.ADD );
+
+        //A single change is built without waiting for further changes
+        thread1.start();
+        assertTrue( building.await( 10,
+                                    TimeUnit.SECONDS ) );
+
+        //Changes arriving whilst the first batch is being built are collected into the next batch
+        thread2.start();
+        while ( queue.getRequestCount() < 2 ) {
+            Thread.sleep( 10 );
+        }
+        thread3.start();
+        while ( queue.getRequestCount() < 3 ) {
+            Thread.sleep( 10 );
+        }
+        thread4.start();
+        while ( queue.getRequestCount() < 4 ) {
+            Thread.sleep( 10 );
+        }
+        release.countDown();
+        thread1.join( 10000 );
+        thread2.join( 10000 );
+        thread3.join( 10000 );
+        thread4.join( 10000 );
+
+        final ArgumentCaptor<Map> changesCaptor = ArgumentCaptor.forClass( Map.class );
+        verify( builder,
+                times( 2 ) ).applyBatchResourceChanges( changesCaptor.capture() );
+        final Map<Path, Collection<ResourceChange>> changes = changesCaptor.getAllValues().get( 1 );
+        assertEquals( 2,
+                      changes.size() );
+        assertEquals( ResourceChangeType.DELETE,
+                      changes.get( resource1 ).iterator().next().getType() );
+        assertEquals( ResourceChangeType.ADD,
+                      changes.get( resource2 ).iterator().next().getType() );
+
+        assertSame( results1,
+                    thread1.results );
+        assertSame( results2,
+                    thread2.results );
+        assertSame( results2,
+                    thread3.results );
+        assertSame( results2,
+                    thread4.results );
+        assertEquals( 4,
+                      queue.getRequestCount() );
+        assertEquals( 2,
+                      queue.getBatchCount() );
+        assertEquals( 1,
+                      queue.getFoldedCount() );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSingleChangeDoesNotWaitForWindow() {
+        final Project project = mock( Project.class );
+        final Builder builder = mock( Builder.class );
+        final LRUBuilderCache cache = mock( LRUBuilderCache.class );
+        final IncrementalBuildResults results = new IncrementalBuildResults();
+        when( cache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.isBuilt() ).thenReturn( true );
+        when( builder.applyBatchResourceChanges( any( Map.class ) ) ).thenReturn( results );
+
+        final IncrementalBuildQueue queue = new IncrementalBuildQueue( cache,
+                                                                       mock( BuildScheduler.class ),
+                                                                       mock( Event.class ),
+                                                                       60000 );
+        final long startTime = System.currentTimeMillis();
+        assertSame( results,
+                    queue.updateResource( project,
+                                          mock( Path.class ) ) );
+        assertTrue( System.currentTimeMillis() - startTime < 30000 );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReplacedBuilderIsFullyBuilt() {
+        final Project project = mock( Project.class );
+        final Builder builder = mock( Builder.class );
+        final LRUBuilderCache cache = mock( LRUBuilderCache.class );
+        final BuildScheduler scheduler = mock( BuildScheduler.class );
+        final Event<BuildResults> buildResultsEvent = mock( Event.class );
+        final GAV gav = new GAV();
+        final BuildResults buildResults = new BuildResults( gav );
+        when( cache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.isBuilt() ).thenReturn( false );
+        when( scheduler.build( project ) ).thenReturn( buildResults );
+
+        final IncrementalBuildQueue queue = new IncrementalBuildQueue( cache,
+                                                                       scheduler,
+                                                                       buildResultsEvent,
+                                                                       0 );
+        final IncrementalBuildResults results = queue.updateResource( project,
+                                                                      mock( Path.class ) );
+
+        //The full build is scheduled, rather than run directly on the Builder, and its results replace earlier messages
+        verify( builder,
+                never() ).build();
+        verify( builder,
+                never() ).applyBatchResourceChanges( any( Map.class ) );
+        verify( scheduler ).build( project );
+        verify( buildResultsEvent ).fire( buildResults );
+        assertSame( gav,
+                    results.getGAV() );
+        assertTrue( results.getAddedMessages().isEmpty() );
+        assertTrue( results.getRemovedMessages().isEmpty() );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchChangesAreQueued() {
+        final Project project = mock( Project.class );
+        final Builder builder = mock( Builder.class );
+        final LRUBuilderCache cache = mock( LRUBuilderCache.class );
+        final IncrementalBuildResults results = new IncrementalBuildResults();
+        when( cache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.isBuilt() ).thenReturn( true );
+        when( builder.applyBatchResourceChanges( any( Map.class ) ) ).thenReturn( results );
+
+        final IncrementalBuildQueue queue = new IncrementalBuildQueue( cache,
+                                                                       mock( BuildScheduler.class ),
+                                                                       mock( Event.class ),
+                                                                       60000 );
+        final Path resource1 = mock( Path.class );
+        final Path resource2 = mock( Path.class );
+        final Collection<ResourceChange> changes1 = new ArrayList<ResourceChange>();
+        changes1.add( new ResourceAdded() );
+        changes1.add( new ResourceDeleted() );
+        final Collection<ResourceChange> changes2 = new ArrayList<ResourceChange>();
+        changes2.add( new ResourceUpdated() );
+        final Map<Path, Collection<ResourceChange>> changes = new HashMap<Path, Collection<ResourceChange>>();
+        changes.put( resource1,
+                     changes1 );
+        changes.put( resource2,
+                     changes2 );
+
+        //A batch from a single caller is built immediately, with the changes to each resource folded together
+        final long startTime = System.currentTimeMillis();
+        assertSame( results,
+                    queue.applyBatchResourceChanges( project,
+                                                     changes ) );
+        assertTrue( System.currentTimeMillis() - startTime < 30000 );
+
+        final ArgumentCaptor<Map> changesCaptor = ArgumentCaptor.forClass( Map.class );
+        verify( builder ).applyBatchResourceChanges( changesCaptor.capture() );
+        final Map<Path, Collection<ResourceChange>> batch = changesCaptor.getValue();
+        assertEquals( 2,
+                      batch.size() );
+        assertEquals( ResourceChangeType.DELETE,
+                      batch.get( resource1 ).iterator().next().getType() );
+        assertEquals( ResourceChangeType.UPDATE,
+                      batch.get( resource2 ).iterator().next().getType() );
+        assertEquals( 3,
+                      queue.getRequestCount() );
+        assertEquals( 1,
+                      queue.getFoldedCount() );
+    }
+
+    @Test
+    public void testBuildFailureIsRethrown() {
+        final Project project = mock( Project.class );
+        final LRUBuilderCache cache = mock( LRUBuilderCache.class );
+        when( cache.assertBuilder( project ) ).thenThrow( new IllegalStateException( "failed" ) );
+
+        final IncrementalBuildQueue queue = new IncrementalBuildQueue( cache,
+                                                                       mock( BuildScheduler.class ),
+                                                                       mock( Event.class ),
+                                                                       0 );
+        try {
+            queue.addResource( project,
+                               mock( Path.class ) );
+            fail( "Expected IllegalStateException" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "failed",
+                          e.getMessage() );
+        }
+    }
+
+    private static class ChangeThread extends Thread {
+
+        private final IncrementalBuildQueue queue;
+        private final Project project;
+        private final Path resource;
+        private final ResourceChangeType type;
+        private volatile IncrementalBuildResults results;
+
+        private ChangeThread( final IncrementalBuildQueue queue,
+                              final Project project,
+                              final Path resource,
+                              final ResourceChangeType type ) {
+            this.queue = queue;
+            this.project = project;
+            this.resource = resource;
+            this.type = type;
+        }
+
+        @Override
+        public void run() {
+            switch ( type ) {
+                case ADD:
+                    results = queue.addResource( project,
+                                                 resource );
+                    break;
+                case UPDATE:
+                    results = queue.updateResource( project,
+                                                    resource );
+                    break;
+                case DELETE:
+                    results = queue.deleteResource( project,
+                                                    resource );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PackageScopeTest {
+
+    @Test
+    public void testNoPatterns() {
+        final PackageScope scope = PackageScope.newPackageScope( null,
+                                                                 " " );
+        assertTrue( scope.isUnrestricted() );
+        assertTrue( scope.isPackageInScope( "org.anything" ) );
+    }
+
+    @Test
+    public void testIncludes() {
+        final PackageScope scope = PackageScope.newPackageScope( "org.mortgages, org.decisyon.*",
+                                                                 null );
+        assertTrue( scope.isPackageInScope( "org.mortgages" ) );
+        assertTrue( scope.isPackageInScope( "org.mortgages.model" ) );
+        assertTrue( scope.isPackageInScope( "org.decisyon.rules" ) );
+        assertFalse( scope.isPackageInScope( "org.mortgagesextra" ) );
+        assertFalse( scope.isPackageInScope( "org" ) );
+        assertFalse( scope.isPackageInScope( "com.acme" ) );
+        assertFalse( scope.isPackageInScope( "" ) );
+        assertTrue( scope.isClassInScope( "org.mortgages.Applicant" ) );
+        assertFalse( scope.isClassInScope( "java.lang.String" ) );
+    }
+
+    @Test
+    public void testExcludes() {
+        final PackageScope scope = PackageScope.newPackageScope( null,
+                                                                 "com.acme.internal" );
+        assertTrue( scope.isPackageInScope( "com.acme" ) );
+        assertFalse( scope.isPackageInScope( "com.acme.internal" ) );
+        assertFalse( scope.isPackageInScope( "com.acme.internal.impl" ) );
+    }
+
+    @Test
+    public void testMostSpecificPatternWins() {
+        final PackageScope scope = PackageScope.newPackageScope( "com.acme, com.acme.internal.api",
+                                                                 "com.acme.internal, com.acme" );
+        assertFalse( scope.isPackageInScope( "com.acme" ) );
+        assertFalse( scope.isPackageInScope( "com.acme.internal" ) );
+        assertTrue( scope.isPackageInScope( "com.acme.internal.api" ) );
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.enums;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mvel2.MVEL;
+
+import static org.junit.Assert.*;
+
+public class CompiledExpressionCacheTest {
+
+    private CompiledExpressionCache cache;
+
+    @Before
+    public void setup() {
+        cache = new CompiledExpressionCache();
+    }
+
+    @Test
+    public void testExpressionCompiledOncePerClassLoader() {
+        final ClassLoader classLoader = getClass().getClassLoader();
+        final Serializable compiled = cache.getCompiledExpression( "['a', 'b']",
+                                                                   classLoader );
+        assertSame( compiled,
+                    cache.getCompiledExpression( "['a', 'b']",
+                                                 classLoader ) );
+        assertEquals( 1,
+                      cache.getHitCount() );
+        assertEquals( 1,
+                      cache.getMissCount() );
+
+        //A new generation of a Project's classes has a new ClassLoader
+        final ClassLoader newClassLoader = new URLClassLoader( new URL[ 0 ],
+                                                               classLoader );
+        assertNotSame( compiled,
+                       cache.getCompiledExpression( "['a', 'b']",
+                                                    newClassLoader ) );
+        assertEquals( 2,
+                      cache.getMissCount() );
+
+        final List<?> result = (List<?>) MVEL.executeExpression( compiled,
+                                                                 new HashMap<String, Object>() );
+        assertEquals( 2,
+                      result.size() );
+    }
+
+    @Test
+    public void testTemplateCompiledOnce() {
+        final Map<String, String> context = new HashMap<String, String>();
+        context.put( "type",
+                     "Person" );
+        assertEquals( "['Person']",
+                      cache.interpolate( "['@{type}']",
+                                         context ) );
+
+        context.put( "type",
+                     "Address" );
+        assertEquals( "['Address']",
+                      cache.interpolate( "['@{type}']",
+                                         context ) );
+        assertEquals( 1,
+                      cache.getHitCount() );
+        assertEquals( 1,
+                      cache.getMissCount() );
+        assertEquals( 0.5,
+                      cache.getHitRatio(),
+                      0.0 );
+    }
+
+    @Test
+    public void testExpressionThatFailsToCompileIsNotCached() {
+        for ( int i = 0; i < 2; i++ ) {
+            try {
+                cache.getCompiledExpression( "['a', 'b'",
+                                             getClass().getClassLoader() );
+                fail( "Expression should not compile" );
+            } catch ( RuntimeException e ) {
+                //Expected
+            }
+        }
+        assertEquals( 0,
+                      cache.getHitCount() );
+    }
+
+}
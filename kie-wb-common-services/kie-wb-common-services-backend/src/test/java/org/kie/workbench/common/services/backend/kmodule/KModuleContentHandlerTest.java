@@ -36,6 +36,17 @@ public class KModuleContentHandlerTest {
         assertNotNull(model);
     }
 
+    @Test
+    public void testConfigurationPropertiesRoundTrip() throws Exception {
+        KModuleContentHandler kModuleContentHandler = new KModuleContentHandler();
+        KModuleModel model = new KModuleModel();
+        model.getConfigurationProperties().put("kie.workbench.datamodel.packages.include", "org.mortgages");
+
+        KModuleModel result = kModuleContentHandler.toModel(kModuleContentHandler.toString(model));
+
+        assertEquals("org.mortgages", result.getConfigurationProperties().get("kie.workbench.datamodel.packages.include"));
+    }
+
     private String readResource(String name) {
         StringBuffer contents = new StringBuffer();
         BufferedReader reader = null;
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.project;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProjectResolutionCacheTest {
+
+    private static final String ROOT = "default://master@repo/project";
+    private static final String SRC = ROOT + "/src/main/resources";
+    private static final String OTHER = "default://master@repo/other/src/main/resources/rule.drl";
+
+    @Test
+    public void testResolutionsAreCached() {
+        final ProjectResolutionCache cache = new ProjectResolutionCache();
+        final Path root = mock( Path.class );
+
+        assertNull( cache.getProjectRoot( SRC ) );
+        cache.putProjectRoot( SRC,
+                              root,
+                              cache.getGeneration() );
+        cache.putProjectRoot( OTHER,
+                              null,
+                              cache.getGeneration() );
+
+        assertSame( root,
+                    cache.getProjectRoot( SRC ).getValue() );
+        assertNotNull( cache.getProjectRoot( OTHER ) );
+        assertNull( cache.getProjectRoot( OTHER ).getValue() );
+        assertEquals( 1,
+                      cache.getMissCount() );
+        assertEquals( 3,
+                      cache.getHitCount() );
+    }
+
+    @Test
+    public void testInvalidateFolder() {
+        final ProjectResolutionCache cache = new ProjectResolutionCache();
+        final Path root = mock( Path.class );
+        cache.putProjectRoot( SRC,
+                              root,
+                              cache.getGeneration() );
+        cache.putProjectRoot( SRC + "/rule.drl",
+                              root,
+                              cache.getGeneration() );
+        cache.putProjectRoot( OTHER,
+                              null,
+                              cache.getGeneration() );
+
+        cache.invalidate( SRC );
+
+        assertNull( cache.getProjectRoot( SRC ) );
+        assertNull( cache.getProjectRoot( SRC + "/rule.drl" ) );
+        assertNotNull( cache.getProjectRoot( OTHER ) );
+
+        cache.invalidateAll();
+        assertNull( cache.getProjectRoot( OTHER ) );
+    }
+
+    @Test
+    public void testResolutionStartedBeforeInvalidationIsNotCached() {
+        final ProjectResolutionCache cache = new ProjectResolutionCache();
+        final long generation = cache.getGeneration();
+
+        cache.invalidate( ROOT );
+        cache.putProjectRoot( SRC,
+                              mock( Path.class ),
+                              generation );
+
+        assertNull( cache.getProjectRoot( SRC ) );
+    }
+
+    @Test
+    public void testProjectsAreCachedUntilTheirConfigurationChanges() {
+        final ProjectResolutionCache cache = new ProjectResolutionCache();
+        final Path root = mock( Path.class );
+        final KieProject project = mock( KieProject.class );
+        cache.putProjectRoot( SRC,
+                              root,
+                              cache.getGeneration() );
+        cache.putProject( ROOT,
+                          project,
+                          cache.getGeneration() );
+
+        //Changes to resources within the Project do not affect the Project
+        cache.invalidate( SRC );
+        assertSame( project,
+                    cache.getProject( ROOT ).getValue() );
+
+        //Changes to the Project's configuration only affect the Project
+        cache.putProjectRoot( SRC,
+                              root,
+                              cache.getGeneration() );
+        cache.invalidateProjects();
+        assertNull( cache.getProject( ROOT ) );
+        assertNotNull( cache.getProjectRoot( SRC ) );
+    }
+
+    @Test
+    public void testInvalidateFolderContainingProject() {
+        final ProjectResolutionCache cache = new ProjectResolutionCache();
+        cache.putProject( ROOT,
+                          mock( KieProject.class ),
+                          cache.getGeneration() );
+
+        cache.invalidate( "default://master@repo" );
+
+        assertNull( cache.getProject( ROOT ) );
+    }
+
+}
@@ -230,6 +230,30 @@ public class ProjectServiceImplResolvePackageValidTest {
                       result.getPackageMainSrcPath().toURI() );
     }
 
+    @Test
+    public void testResolvePackageReturnsNewInstance() throws Exception {
+
+        final Bean projectServiceBean = (Bean) beanManager.getBeans( KieProjectService.class ).iterator().next();
+        final CreationalContext cc = beanManager.createCreationalContext( projectServiceBean );
+        final KieProjectService projectService = (KieProjectService) beanManager.getReference( projectServiceBean,
+                                                                                               KieProjectService.class,
+                                                                                               cc );
+
+        final URL testUrl = this.getClass().getResource( "/ProjectBackendTestProjectStructureValid/src/main/java/org/kie/test/Bean.java" );
+        final org.uberfire.java.nio.file.Path nioTestPath = fs.getPath( testUrl.toURI() );
+        final Path testPath = paths.convert( nioTestPath );
+
+        //Test a cached resolution is not shared between callers
+        final Package result1 = projectService.resolvePackage( testPath );
+        final Package result2 = projectService.resolvePackage( testPath );
+        assertNotSame( result1,
+                       result2 );
+        assertEquals( result1.getPackageName(),
+                      result2.getPackageName() );
+        assertEquals( result1.getPackageMainSrcPath().toURI(),
+                      result2.getPackageMainSrcPath().toURI() );
+    }
+
     @Test
     public void testResolvePackageWithResourcesFileInDefaultPackage() throws Exception {
 
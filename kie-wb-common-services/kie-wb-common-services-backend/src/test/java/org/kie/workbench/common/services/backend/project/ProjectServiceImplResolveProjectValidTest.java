@@ -25,6 +25,7 @@ import org.guvnor.common.services.project.model.Project;
 import org.jboss.weld.environment.se.StartMain;
 import org.junit.Before;
 import org.junit.Test;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
@@ -172,4 +173,30 @@ public class ProjectServiceImplResolveProjectValidTest {
                       result.getRootPath().toURI() );
     }
 
+    @Test
+    public void testResolveProjectReturnsNewInstance() throws Exception {
+
+        final Bean projectServiceBean = (Bean) beanManager.getBeans( KieProjectService.class ).iterator().next();
+        final CreationalContext cc = beanManager.createCreationalContext( projectServiceBean );
+        final KieProjectService projectService = (KieProjectService) beanManager.getReference( projectServiceBean,
+                                                                                               KieProjectService.class,
+                                                                                               cc );
+
+        final URL testUrl = this.getClass().getResource( "/ProjectBackendTestProjectStructureValid/src/main/java/org/kie/test/Bean.java" );
+        final org.uberfire.java.nio.file.Path nioTestPath = fs.getPath( testUrl.toURI() );
+        final Path testPath = paths.convert( nioTestPath );
+
+        //Test a cached Project is not shared between callers
+        final KieProject result1 = projectService.resolveProject( testPath );
+        final KieProject result2 = projectService.resolveProject( testPath );
+        assertNotSame( result1,
+                       result2 );
+        assertEquals( result1.getRootPath().toURI(),
+                      result2.getRootPath().toURI() );
+        assertEquals( result1.getKModuleXMLPath().toURI(),
+                      result2.getKModuleXMLPath().toURI() );
+        assertEquals( result1.getRoles(),
+                      result2.getRoles() );
+    }
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DigestUtilTest {
+
+    @Test
+    public void testSha1() {
+        assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d",
+                      DigestUtil.sha1( "abc" ) );
+    }
+
+    @Test
+    public void testSha1IsIndependentOfPlatformCharset() throws Exception {
+        final String content = "Schl\u00fcmpfe";
+        assertEquals( DigestUtil.sha1( content.getBytes( "UTF-8" ) ),
+                      DigestUtil.sha1( content ) );
+    }
+
+    @Test
+    public void testToHex() {
+        assertEquals( "000fa0ff",
+                      DigestUtil.toHex( new byte[]{ 0x00, 0x0f, (byte) 0xa0, (byte) 0xff } ) );
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.kie.workbench.common.widgets.client.datamodel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +30,7 @@ import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.drools.workbench.models.datamodel.rule.DSLSentence;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.client.callbacks.Callback;
+import org.uberfire.mvp.Command;
 
 public interface AsyncPackageDataModelOracle {
 
@@ -138,6 +140,10 @@ public interface AsyncPackageDataModelOracle {
 
     String[] getGlobalCollections();
 
+    //Loading of incremental content for a number of Fact Types together
+    void loadFactTypes( final Collection<String> factTypes,
+                        final Command command );
+
     // DSL related methods
     List<DSLSentence> getDSLConditions();
 
@@ -17,8 +17,10 @@ package org.kie.workbench.common.widgets.client.datamodel;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +28,7 @@ import java.util.Set;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -37,6 +40,7 @@ import org.drools.workbench.models.datamodel.oracle.OperatorsOracle;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.drools.workbench.models.datamodel.rule.DSLSentence;
 import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.kie.workbench.common.services.datamodel.model.LazyModelField;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
@@ -44,6 +48,7 @@ import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelS
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.client.callbacks.Callback;
 import org.uberfire.commons.validation.PortablePreconditions;
+import org.uberfire.mvp.Command;
 
 /**
  * Default implementation of DataModelOracle
@@ -155,6 +160,22 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     // Keep the link between fact name and the full qualified class name inside the package
     private FactNameToFQCNHandleRegistry factNameToFQCNHandleRegistry = new FactNameToFQCNHandleRegistry();
 
+    // Package name and imports for which the filtered content was built. A null package name requires everything to be filtered.
+    private String filteredPackageName;
+    private Set<String> filteredImportStrings = new HashSet<String>();
+
+    // Project content added since the filtered content was built
+    private PackageDataModelOracleIncrementalPayload unfilteredContent;
+
+    // Fact Types whose filtered content depends on whether a type is visible, by type (with '$' replaced by '.')
+    private Map<String, Set<String>> filterDependencies = new HashMap<String, Set<String>>();
+
+    // Keys of the Project's Java enumerations and field parameter types {factType#fieldName}, by Fact Type
+    private Map<String, Set<String>> projectFieldKeys = new HashMap<String, Set<String>>();
+
+    // Callbacks awaiting incremental content, by the Fact Types being loaded. Fact Types loaded together share a List.
+    private Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> pendingUpdates = new HashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+
     //Public constructor is needed for Errai Marshaller :(
     public AsyncPackageDataModelOracleImpl() {
     }
@@ -297,23 +318,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( isFactTypeAnEvent == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
-                    if ( isFactTypeAnEvent == null ) {
-                        isFactTypeAnEvent = false;
-                        filteredEventTypes.put( factType,
-                                                isFactTypeAnEvent );
-                    }
-                    callback.callback( isFactTypeAnEvent );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
+                                if ( isFactTypeAnEvent == null ) {
+                                    isFactTypeAnEvent = false;
+                                    filteredEventTypes.put( factType,
+                                                            isFactTypeAnEvent );
+                                }
+                                callback.callback( isFactTypeAnEvent );
+                            }
+                        } );
 
         } else {
             callback.callback( isFactTypeAnEvent );
@@ -332,18 +350,15 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeSource == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final TypeSource typeSource = filteredTypeSources.get( factType );
-                    callback.callback( typeSource );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final TypeSource typeSource = filteredTypeSources.get( factType );
+                                callback.callback( typeSource );
+                            }
+                        } );
 
         } else {
             callback.callback( typeSource );
@@ -380,17 +395,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( superTypes == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( filteredSuperTypes.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                callback.callback( filteredSuperTypes.get( factType ) );
+                            }
+                        } );
 
         } else {
             callback.callback( superTypes );
@@ -409,23 +421,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
-                    if ( typeAnnotations == null ) {
-                        typeAnnotations = Collections.EMPTY_SET;
-                        filteredTypeAnnotations.put( factType,
-                                                     typeAnnotations );
-                    }
-                    callback.callback( typeAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
+                                if ( typeAnnotations == null ) {
+                                    typeAnnotations = Collections.EMPTY_SET;
+                                    filteredTypeAnnotations.put( factType,
+                                                                 typeAnnotations );
+                                }
+                                callback.callback( typeAnnotations );
+                            }
+                        } );
 
         } else {
             callback.callback( typeAnnotations );
@@ -444,23 +453,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeFieldsAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
-                    if ( typeFieldsAnnotations == null ) {
-                        typeFieldsAnnotations = Collections.EMPTY_MAP;
-                        filteredTypeFieldsAnnotations.put( factType,
-                                                           typeFieldsAnnotations );
-                    }
-                    callback.callback( typeFieldsAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
+                                if ( typeFieldsAnnotations == null ) {
+                                    typeFieldsAnnotations = Collections.EMPTY_MAP;
+                                    filteredTypeFieldsAnnotations.put( factType,
+                                                                       typeFieldsAnnotations );
+                                }
+                                callback.callback( typeFieldsAnnotations );
+                            }
+                        } );
 
         } else {
             callback.callback( typeFieldsAnnotations );
@@ -490,24 +496,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( fields == null || fields.length == 0 ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-
-                    // This will stop an infinite loop if there are no fields to be found
-                    if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
-                        callback.callback( new ModelField[ 0 ] );
-                    } else {
-                        getFieldCompletions( factType,
-                                             callback );
-                    }
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fgcnByFactName );
+            getUpdates( fgcnByFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                // This will stop an infinite loop if there are no fields to be found
+                                if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
+                                    callback.callback( new ModelField[ 0 ] );
+                                } else {
+                                    getFieldCompletions( factType,
+                                                         callback );
+                                }
+                            }
+                        } );
 
         } else {
             callback.callback( fields );
@@ -803,19 +805,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
-                    callback.callback( getMethodInfos( parameterCount,
-                                                       methodInformation ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnByFactName );
+            getUpdates( fqcnByFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
+                                callback.callback( getMethodInfos( parameterCount,
+                                                                   methodInformation ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodInfos( parameterCount,
@@ -854,19 +853,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodParams( methodInformation,
-                                                        methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnFactName );
+            getUpdates( fqcnFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                callback.callback( getMethodParams( methodInformation,
+                                                                    methodNameWithParams ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodParams( methodInformation,
@@ -900,19 +896,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodInfo( methodInformation,
-                                                      methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                callback.callback( getMethodInfo( methodInformation,
+                                                                  methodNameWithParams ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodInfo( methodInformation,
@@ -972,17 +965,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( projectMethodInformation.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                callback.callback( projectMethodInformation.get( factType ) );
+                            }
+                        } );
 
         } else {
             callback.callback( methodInformation );
@@ -1233,42 +1223,45 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     private Map<String, Object> loadDataEnumLookupFields() {
         if ( enumLookupFields == null ) {
             enumLookupFields = new HashMap<String, Object>();
-            final Set<String> keys = filteredEnumLists.keySet();
-            for ( String key : keys ) {
-                if ( key.indexOf( '[' ) != -1 ) {
-                    int ix = key.indexOf( '[' );
-                    final String factField = key.substring( 0,
-                                                            ix );
-                    final String predicate = key.substring( ix + 1,
-                                                            key.indexOf( ']' ) );
-                    if ( predicate.indexOf( '=' ) > -1 ) {
-
-                        final String[] bits = predicate.split( "," );
-                        final StringBuilder typeFieldBuilder = new StringBuilder();
-
-                        for ( int i = 0; i < bits.length; i++ ) {
-                            typeFieldBuilder.append( bits[ i ].substring( 0,
-                                                                          bits[ i ].indexOf( '=' ) ) );
-                            if ( i != ( bits.length - 1 ) ) {
-                                typeFieldBuilder.append( "," );
-                            }
-                        }
+            for ( String key : filteredEnumLists.keySet() ) {
+                addEnumLookupField( key );
+            }
+        }
 
-                        enumLookupFields.put( factField,
-                                              typeFieldBuilder.toString() );
-                    } else {
-                        final String[] fields = predicate.split( "," );
-                        for ( int i = 0; i < fields.length; i++ ) {
-                            fields[ i ] = fields[ i ].trim();
-                        }
-                        enumLookupFields.put( factField,
-                                              fields );
+        return enumLookupFields;
+    }
+
+    private void addEnumLookupField( final String key ) {
+        if ( key.indexOf( '[' ) != -1 ) {
+            int ix = key.indexOf( '[' );
+            final String factField = key.substring( 0,
+                                                    ix );
+            final String predicate = key.substring( ix + 1,
+                                                    key.indexOf( ']' ) );
+            if ( predicate.indexOf( '=' ) > -1 ) {
+
+                final String[] bits = predicate.split( "," );
+                final StringBuilder typeFieldBuilder = new StringBuilder();
+
+                for ( int i = 0; i < bits.length; i++ ) {
+                    typeFieldBuilder.append( bits[ i ].substring( 0,
+                                                                  bits[ i ].indexOf( '=' ) ) );
+                    if ( i != ( bits.length - 1 ) ) {
+                        typeFieldBuilder.append( "," );
                     }
                 }
+
+                enumLookupFields.put( factField,
+                                      typeFieldBuilder.toString() );
+            } else {
+                final String[] fields = predicate.split( "," );
+                for ( int i = 0; i < fields.length; i++ ) {
+                    fields[ i ] = fields[ i ].trim();
+                }
+                enumLookupFields.put( factField,
+                                      fields );
             }
         }
-
-        return enumLookupFields;
     }
 
     // ####################################
@@ -1281,8 +1274,35 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         filter();
     }
 
+    /**
+     * Filter the Project content based on the package name and imports. Only content affected by changes to the imports,
+     * or added, since the last filter is filtered; everything is filtered following a change to the package name or
+     * Workbench enumerations, or when nothing has changed.
+     */
     @Override
     public void filter() {
+        final Set<String> importStrings = imports.getImportStrings();
+        if ( filteredPackageName == null || !filteredPackageName.equals( packageName ) || ( unfilteredContent == null && filteredImportStrings.equals( importStrings ) ) ) {
+            filterAll();
+        } else {
+            if ( unfilteredContent != null ) {
+                indexContent( unfilteredContent );
+            }
+            filterImports( importStrings );
+            if ( unfilteredContent != null ) {
+                putFilteredContent( unfilteredContent );
+            }
+            filterGlobalTypes();
+        }
+        filteredPackageName = packageName;
+        filteredImportStrings = new HashSet<String>( importStrings );
+        unfilteredContent = null;
+    }
+
+    private void filterAll() {
+        filterDependencies = new HashMap<String, Set<String>>();
+        projectFieldKeys = new HashMap<String, Set<String>>();
+        indexContent( getProjectContent() );
 
         //Filter and rename Model Fields based on package name and imports
         filteredModelFields = new HashMap<String, ModelField[]>();
@@ -1296,10 +1316,7 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
                                                                      factNameToFQCNHandleRegistry );
 
         //Filter and rename Global Types based on package name and imports
-        filteredGlobalTypes = new HashMap<String, String>();
-        filteredGlobalTypes.putAll( AsyncPackageDataModelOracleUtilities.filterGlobalTypes( packageName,
-                                                                                            imports,
-                                                                                            packageGlobalTypes ) );
+        filterGlobalTypes();
 
         //Filter and rename Collection Types based on package name and imports
         filteredCollectionTypes = new HashMap<String, Boolean>();
@@ -1343,6 +1360,7 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         filteredEnumLists.putAll( AsyncPackageDataModelOracleUtilities.filterEnumDefinitions( packageName,
                                                                                               imports,
                                                                                               projectJavaEnumLists ) );
+        enumLookupFields = null;
 
         //Filter and rename based on package name and imports
         filteredFieldParametersType = new HashMap<String, String>();
@@ -1351,6 +1369,479 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
                                                                                                              projectFieldParametersType ) );
     }
 
+    private void filterGlobalTypes() {
+        filteredGlobalTypes = new HashMap<String, String>();
+        filteredGlobalTypes.putAll( AsyncPackageDataModelOracleUtilities.filterGlobalTypes( packageName,
+                                                                                            imports,
+                                                                                            packageGlobalTypes ) );
+    }
+
+    //Re-filter the content of Fact Types depending on types added to, or removed from, the imports
+    private void filterImports( final Set<String> importStrings ) {
+        final Set<String> factTypes = new HashSet<String>();
+        for ( String importString : importStrings ) {
+            if ( !filteredImportStrings.contains( importString ) ) {
+                addFilterDependencies( importString,
+                                       factTypes );
+            }
+        }
+        for ( String importString : filteredImportStrings ) {
+            if ( !importStrings.contains( importString ) ) {
+                addFilterDependencies( importString,
+                                       factTypes );
+            }
+        }
+        if ( factTypes.isEmpty() ) {
+            return;
+        }
+        addSameNamedFactTypes( factTypes );
+
+        final Imports filteredImports = new Imports();
+        for ( String importString : filteredImportStrings ) {
+            filteredImports.addImport( new Import( importString ) );
+        }
+        final PackageDataModelOracleIncrementalPayload content = getProjectContent( factTypes );
+        removeFilteredContent( filteredImports,
+                               content );
+        putFilteredContent( content );
+    }
+
+    private void addFilterDependencies( final String type,
+                                        final Set<String> factTypes ) {
+        final Set<String> dependentFactTypes = filterDependencies.get( type );
+        if ( dependentFactTypes != null ) {
+            factTypes.addAll( dependentFactTypes );
+        }
+    }
+
+    //Filtered content is keyed by simple name, so removing the content of one Fact Type removes that of any other with the
+    //same simple name. Those Fact Types are re-filtered too, so the content of whichever remains visible is restored.
+    private void addSameNamedFactTypes( final Set<String> factTypes ) {
+        final Set<String> typeNames = new HashSet<String>();
+        for ( String factType : factTypes ) {
+            typeNames.add( AsyncPackageDataModelOracleUtilities.getTypeName( factType ) );
+        }
+        addSameNamedFactTypes( typeNames,
+                               projectModelFields.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectEventTypes.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectTypeSources.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectSuperTypes.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectTypeAnnotations.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectTypeFieldsAnnotations.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectCollectionTypes.keySet(),
+                               factTypes );
+        addSameNamedFactTypes( typeNames,
+                               projectFieldKeys.keySet(),
+                               factTypes );
+    }
+
+    private static void addSameNamedFactTypes( final Set<String> typeNames,
+                                               final Set<String> projectFactTypes,
+                                               final Set<String> factTypes ) {
+        for ( String factType : projectFactTypes ) {
+            if ( typeNames.contains( AsyncPackageDataModelOracleUtilities.getTypeName( factType ) ) ) {
+                factTypes.add( factType );
+            }
+        }
+    }
+
+    //Remove filtered content, as it was filtered with the given imports
+    private void removeFilteredContent( final Imports filteredImports,
+                                        final PackageDataModelOracleIncrementalPayload content ) {
+        //The registry is only used to filter Model Fields and must not be changed by those no longer filtered
+        final FactNameToFQCNHandleRegistry registry = new FactNameToFQCNHandleRegistry();
+        filteredModelFields.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterModelFields( packageName,
+                                                                                                        filteredImports,
+                                                                                                        content.getModelFields(),
+                                                                                                        registry ).keySet() );
+        filteredCollectionTypes.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterCollectionTypes( packageName,
+                                                                                                                filteredImports,
+                                                                                                                content.getCollectionTypes() ).keySet() );
+        filteredEventTypes.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterEventTypes( packageName,
+                                                                                                      filteredImports,
+                                                                                                      content.getEventTypes() ).keySet() );
+        filteredTypeSources.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterTypeSources( packageName,
+                                                                                                        filteredImports,
+                                                                                                        content.getTypeSources() ).keySet() );
+        filteredSuperTypes.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterSuperTypes( packageName,
+                                                                                                      filteredImports,
+                                                                                                      content.getSuperTypes() ).keySet() );
+        filteredTypeAnnotations.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterTypeAnnotations( packageName,
+                                                                                                                filteredImports,
+                                                                                                                content.getTypeAnnotations() ).keySet() );
+        filteredTypeFieldsAnnotations.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterTypeFieldsAnnotations( packageName,
+                                                                                                                            filteredImports,
+                                                                                                                            content.getTypeFieldsAnnotations() ).keySet() );
+        filteredFieldParametersType.keySet().removeAll( AsyncPackageDataModelOracleUtilities.filterFieldParametersTypes( packageName,
+                                                                                                                         filteredImports,
+                                                                                                                         content.getFieldParametersType() ).keySet() );
+
+        //Java enumerations override Workbench enumerations, which are restored when the Java enumeration is removed
+        for ( String key : AsyncPackageDataModelOracleUtilities.filterEnumDefinitions( packageName,
+                                                                                       filteredImports,
+                                                                                       content.getJavaEnumDefinitions() ).keySet() ) {
+            final String[] workbenchEnumList = packageWorkbenchEnumLists.get( key );
+            if ( workbenchEnumList != null ) {
+                filteredEnumLists.put( key,
+                                       workbenchEnumList );
+            } else {
+                filteredEnumLists.remove( key );
+                if ( key.indexOf( '[' ) != -1 ) {
+                    enumLookupFields = null;
+                }
+            }
+        }
+    }
+
+    //Add filtered content, replacing any existing content for the same Fact Types
+    private void putFilteredContent( final PackageDataModelOracleIncrementalPayload content ) {
+        filteredModelFields.putAll( AsyncPackageDataModelOracleUtilities.filterModelFields( packageName,
+                                                                                            imports,
+                                                                                            content.getModelFields(),
+                                                                                            factNameToFQCNHandleRegistry ) );
+        AsyncPackageDataModelOracleUtilities.visitMethodInformation( content.getMethodInformation(),
+                                                                     factNameToFQCNHandleRegistry );
+        filteredCollectionTypes.putAll( AsyncPackageDataModelOracleUtilities.filterCollectionTypes( packageName,
+                                                                                                    imports,
+                                                                                                    content.getCollectionTypes() ) );
+        filteredEventTypes.putAll( AsyncPackageDataModelOracleUtilities.filterEventTypes( packageName,
+                                                                                          imports,
+                                                                                          content.getEventTypes() ) );
+        filteredTypeSources.putAll( AsyncPackageDataModelOracleUtilities.filterTypeSources( packageName,
+                                                                                            imports,
+                                                                                            content.getTypeSources() ) );
+        filteredSuperTypes.putAll( AsyncPackageDataModelOracleUtilities.filterSuperTypes( packageName,
+                                                                                          imports,
+                                                                                          content.getSuperTypes() ) );
+        filteredTypeAnnotations.putAll( AsyncPackageDataModelOracleUtilities.filterTypeAnnotations( packageName,
+                                                                                                    imports,
+                                                                                                    content.getTypeAnnotations() ) );
+        filteredTypeFieldsAnnotations.putAll( AsyncPackageDataModelOracleUtilities.filterTypeFieldsAnnotations( packageName,
+                                                                                                                imports,
+                                                                                                                content.getTypeFieldsAnnotations() ) );
+        filteredFieldParametersType.putAll( AsyncPackageDataModelOracleUtilities.filterFieldParametersTypes( packageName,
+                                                                                                             imports,
+                                                                                                             content.getFieldParametersType() ) );
+
+        final Map<String, String[]> enumLists = AsyncPackageDataModelOracleUtilities.filterEnumDefinitions( packageName,
+                                                                                                            imports,
+                                                                                                            content.getJavaEnumDefinitions() );
+        filteredEnumLists.putAll( enumLists );
+        if ( enumLookupFields != null ) {
+            for ( String key : enumLists.keySet() ) {
+                addEnumLookupField( key );
+            }
+        }
+    }
+
+    //The Project content. The maps are shared with the Project content and must not be modified.
+    private PackageDataModelOracleIncrementalPayload getProjectContent() {
+        final PackageDataModelOracleIncrementalPayload content = new PackageDataModelOracleIncrementalPayload();
+        content.setModelFields( projectModelFields );
+        content.setFieldParametersType( projectFieldParametersType );
+        content.setEventTypes( projectEventTypes );
+        content.setTypeSources( projectTypeSources );
+        content.setSuperTypes( projectSuperTypes );
+        content.setTypeAnnotations( projectTypeAnnotations );
+        content.setTypeFieldsAnnotations( projectTypeFieldsAnnotations );
+        content.setMethodInformation( projectMethodInformation );
+        content.setCollectionTypes( projectCollectionTypes );
+        content.setJavaEnumDefinitions( projectJavaEnumLists );
+        return content;
+    }
+
+    //The Project content of the given Fact Types, excluding Method information that is not filtered
+    private PackageDataModelOracleIncrementalPayload getProjectContent( final Set<String> factTypes ) {
+        final PackageDataModelOracleIncrementalPayload content = new PackageDataModelOracleIncrementalPayload();
+        for ( String factType : factTypes ) {
+            copyEntry( factType,
+                       projectModelFields,
+                       content.getModelFields() );
+            copyEntry( factType,
+                       projectEventTypes,
+                       content.getEventTypes() );
+            copyEntry( factType,
+                       projectTypeSources,
+                       content.getTypeSources() );
+            copyEntry( factType,
+                       projectSuperTypes,
+                       content.getSuperTypes() );
+            copyEntry( factType,
+                       projectTypeAnnotations,
+                       content.getTypeAnnotations() );
+            copyEntry( factType,
+                       projectTypeFieldsAnnotations,
+                       content.getTypeFieldsAnnotations() );
+            copyEntry( factType,
+                       projectCollectionTypes,
+                       content.getCollectionTypes() );
+            final Set<String> fieldKeys = projectFieldKeys.get( factType );
+            if ( fieldKeys != null ) {
+                for ( String fieldKey : fieldKeys ) {
+                    copyEntry( fieldKey,
+                               projectFieldParametersType,
+                               content.getFieldParametersType() );
+                    copyEntry( fieldKey,
+                               projectJavaEnumLists,
+                               content.getJavaEnumDefinitions() );
+                }
+            }
+        }
+        return content;
+    }
+
+    private static <T> void copyEntry( final String key,
+                                       final Map<String, T> source,
+                                       final Map<String, T> target ) {
+        if ( source.containsKey( key ) ) {
+            target.put( key,
+                        source.get( key ) );
+        }
+    }
+
+    //Index the types on whose visibility the filtered content depends. Superseded dependencies are retained, which
+    //only causes content to be re-filtered unnecessarily.
+    private void indexContent( final PackageDataModelOracleIncrementalPayload content ) {
+        for ( Map.Entry<String, ModelField[]> e : content.getModelFields().entrySet() ) {
+            final String factType = e.getKey();
+            addFilterDependency( factType,
+                                 factType );
+            if ( e.getValue() != null ) {
+                for ( ModelField mf : e.getValue() ) {
+                    addFilterDependency( mf.getClassName(),
+                                         factType );
+                    addFilterDependency( mf.getType(),
+                                         factType );
+                }
+            }
+        }
+        for ( Map.Entry<String, List<String>> e : content.getSuperTypes().entrySet() ) {
+            final String factType = e.getKey();
+            addFilterDependency( factType,
+                                 factType );
+            if ( e.getValue() != null ) {
+                for ( String superType : e.getValue() ) {
+                    addFilterDependency( superType,
+                                         factType );
+                }
+            }
+        }
+        for ( Map.Entry<String, String> e : content.getFieldParametersType().entrySet() ) {
+            final String factType = indexFieldKey( e.getKey() );
+            addFilterDependency( e.getValue(),
+                                 factType );
+        }
+        for ( String fieldKey : content.getJavaEnumDefinitions().keySet() ) {
+            indexFieldKey( fieldKey );
+        }
+        indexFactTypes( content.getEventTypes().keySet() );
+        indexFactTypes( content.getTypeSources().keySet() );
+        indexFactTypes( content.getTypeAnnotations().keySet() );
+        indexFactTypes( content.getTypeFieldsAnnotations().keySet() );
+        indexFactTypes( content.getCollectionTypes().keySet() );
+    }
+
+    private void indexFactTypes( final Set<String> factTypes ) {
+        for ( String factType : factTypes ) {
+            addFilterDependency( factType,
+                                 factType );
+        }
+    }
+
+    //Index a {factType#fieldName} key, returning the Fact Type
+    private String indexFieldKey( final String fieldKey ) {
+        final int hashIndex = fieldKey.lastIndexOf( '#' );
+        final String factType = ( hashIndex == -1 ? fieldKey : fieldKey.substring( 0,
+                                                                                    hashIndex ) );
+        Set<String> fieldKeys = projectFieldKeys.get( factType );
+        if ( fieldKeys == null ) {
+            fieldKeys = new HashSet<String>();
+            projectFieldKeys.put( factType,
+                                  fieldKeys );
+        }
+        fieldKeys.add( fieldKey );
+        addFilterDependency( factType,
+                             factType );
+        return factType;
+    }
+
+    private void addFilterDependency( final String type,
+                                      final String factType ) {
+        if ( type == null ) {
+            return;
+        }
+        final String key = type.replace( '$',
+                                         '.' );
+        Set<String> factTypes = filterDependencies.get( key );
+        if ( factTypes == null ) {
+            factTypes = new HashSet<String>();
+            filterDependencies.put( key,
+                                    factTypes );
+        }
+        factTypes.add( factType );
+    }
+
+    // ####################################
+    // Incremental content
+    // ####################################
+
+    /**
+     * Load the content of a number of Fact Types that has not already been loaded in a single request to the server.
+     * @param factTypes Fact Types, either simple or fully qualified class names
+     * @param command Executed once the content of all Fact Types has been loaded
+     */
+    @Override
+    public void loadFactTypes( final Collection<String> factTypes,
+                               final Command command ) {
+        PortablePreconditions.checkNotNull( "factTypes",
+                                            factTypes );
+        PortablePreconditions.checkNotNull( "command",
+                                            command );
+
+        //Wait for Fact Types already being loaded and load the remainder together
+        final List<String> missingFactTypes = new ArrayList<String>();
+        final List<List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> awaitedUpdates = new ArrayList<List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+        for ( String factType : factTypes ) {
+            final String fqcnByFactName = getFQCNByFactName( factType );
+            final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = pendingUpdates.get( fqcnByFactName );
+            if ( callbacks != null ) {
+                if ( !containsInstance( awaitedUpdates,
+                                        callbacks ) ) {
+                    awaitedUpdates.add( callbacks );
+                }
+            } else if ( !isFactTypeLoaded( fqcnByFactName ) && !missingFactTypes.contains( fqcnByFactName ) ) {
+                missingFactTypes.add( fqcnByFactName );
+            }
+        }
+
+        final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+        if ( !missingFactTypes.isEmpty() ) {
+            awaitedUpdates.add( callbacks );
+        }
+        if ( awaitedUpdates.isEmpty() ) {
+            command.execute();
+            return;
+        }
+
+        final int[] outstandingUpdates = new int[]{ awaitedUpdates.size() };
+        final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback = new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            @Override
+            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                outstandingUpdates[ 0 ]--;
+                if ( outstandingUpdates[ 0 ] == 0 ) {
+                    command.execute();
+                }
+            }
+        };
+        for ( List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> awaitedCallbacks : awaitedUpdates ) {
+            awaitedCallbacks.add( callback );
+        }
+
+        if ( !missingFactTypes.isEmpty() ) {
+            for ( String factType : missingFactTypes ) {
+                pendingUpdates.put( factType,
+                                    callbacks );
+            }
+            service.call( makeUpdatesCallback( missingFactTypes,
+                                               callbacks ),
+                          makeUpdatesErrorCallback( missingFactTypes,
+                                                    callbacks ) ).getUpdates( resourcePath,
+                                                                              imports,
+                                                                              missingFactTypes );
+        }
+    }
+
+    //Load incremental content for a Fact Type. Concurrent requests for the same Fact Type share a single call to the server.
+    //Pending requests are keyed by fully qualified class name, as in loadFactTypes, whichever form the caller used.
+    private void getUpdates( final String factType,
+                             final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback ) {
+        final String fqcnByFactName = getFQCNByFactName( factType );
+        final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> pendingCallbacks = pendingUpdates.get( fqcnByFactName );
+        if ( pendingCallbacks != null ) {
+            pendingCallbacks.add( callback );
+            return;
+        }
+
+        final List<String> factTypes = Collections.singletonList( fqcnByFactName );
+        final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+        callbacks.add( callback );
+        pendingUpdates.put( fqcnByFactName,
+                            callbacks );
+        service.call( makeUpdatesCallback( factTypes,
+                                           callbacks ),
+                      makeUpdatesErrorCallback( factTypes,
+                                                callbacks ) ).getUpdates( resourcePath,
+                                                                          imports,
+                                                                          fqcnByFactName );
+    }
+
+    //Populate the DMO once with the incremental content and then notify all callbacks awaiting it
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> makeUpdatesCallback( final List<String> factTypes,
+                                                                                          final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks ) {
+        return new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            @Override
+            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                removePendingUpdates( factTypes,
+                                      callbacks );
+                AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
+                                                                              dataModel );
+                for ( RemoteCallback<PackageDataModelOracleIncrementalPayload> callback : callbacks ) {
+                    callback.callback( dataModel );
+                }
+            }
+        };
+    }
+
+    //Forget a failed request so the Fact Types can be requested again. Errors are reported by the default handler.
+    private ErrorCallback<Object> makeUpdatesErrorCallback( final List<String> factTypes,
+                                                            final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks ) {
+        return new ErrorCallback<Object>() {
+            @Override
+            public boolean error( final Object message,
+                                  final Throwable throwable ) {
+                removePendingUpdates( factTypes,
+                                      callbacks );
+                return true;
+            }
+        };
+    }
+
+    private void removePendingUpdates( final List<String> factTypes,
+                                       final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks ) {
+        for ( String factType : factTypes ) {
+            if ( pendingUpdates.get( factType ) == callbacks ) {
+                pendingUpdates.remove( factType );
+            }
+        }
+    }
+
+    private boolean isFactTypeLoaded( final String fqcnByFactName ) {
+        final ModelField[] fields = projectModelFields.get( fqcnByFactName );
+        return fields != null && !isLazyProxy( fields );
+    }
+
+    private static boolean containsInstance( final List<?> list,
+                                             final Object o ) {
+        for ( Object e : list ) {
+            if ( e == o ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // ####################################
     // Population of DMO
     // ####################################
@@ -1368,51 +1859,69 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     @Override
     public void addModelFields( final Map<String, ModelField[]> modelFields ) {
         this.projectModelFields.putAll( modelFields );
+        getUnfilteredContent().getModelFields().putAll( modelFields );
     }
 
     @Override
     public void addFieldParametersType( final Map<String, String> fieldParametersType ) {
         this.projectFieldParametersType.putAll( fieldParametersType );
+        getUnfilteredContent().getFieldParametersType().putAll( fieldParametersType );
     }
 
     @Override
     public void addEventTypes( final Map<String, Boolean> eventTypes ) {
         this.projectEventTypes.putAll( eventTypes );
+        getUnfilteredContent().getEventTypes().putAll( eventTypes );
     }
 
     @Override
     public void addTypeSources( final Map<String, TypeSource> typeSources ) {
         this.projectTypeSources.putAll( typeSources );
+        getUnfilteredContent().getTypeSources().putAll( typeSources );
     }
 
     @Override
     public void addSuperTypes( final Map<String, List<String>> superTypes ) {
         this.projectSuperTypes.putAll( superTypes );
+        getUnfilteredContent().getSuperTypes().putAll( superTypes );
     }
 
     @Override
     public void addTypeAnnotations( final Map<String, Set<Annotation>> annotations ) {
         this.projectTypeAnnotations.putAll( annotations );
+        getUnfilteredContent().getTypeAnnotations().putAll( annotations );
     }
 
     @Override
     public void addTypeFieldsAnnotations( final Map<String, Map<String, Set<Annotation>>> typeFieldsAnnotations ) {
         this.projectTypeFieldsAnnotations.putAll( typeFieldsAnnotations );
+        getUnfilteredContent().getTypeFieldsAnnotations().putAll( typeFieldsAnnotations );
     }
 
     @Override
     public void addJavaEnumDefinitions( final Map<String, String[]> dataEnumLists ) {
         this.projectJavaEnumLists.putAll( dataEnumLists );
+        getUnfilteredContent().getJavaEnumDefinitions().putAll( dataEnumLists );
     }
 
     @Override
     public void addMethodInformation( final Map<String, List<MethodInfo>> methodInformation ) {
         this.projectMethodInformation.putAll( methodInformation );
+        getUnfilteredContent().getMethodInformation().putAll( methodInformation );
     }
 
     @Override
     public void addCollectionTypes( final Map<String, Boolean> collectionTypes ) {
         this.projectCollectionTypes.putAll( collectionTypes );
+        getUnfilteredContent().getCollectionTypes().putAll( collectionTypes );
+    }
+
+    //Content added since the last filter is filtered on its own
+    private PackageDataModelOracleIncrementalPayload getUnfilteredContent() {
+        if ( unfilteredContent == null ) {
+            unfilteredContent = new PackageDataModelOracleIncrementalPayload();
+        }
+        return unfilteredContent;
     }
 
     @Override
@@ -1423,6 +1932,9 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     @Override
     public void addWorkbenchEnumDefinitions( final Map<String, String[]> dataEnumLists ) {
         this.packageWorkbenchEnumLists.putAll( dataEnumLists );
+
+        //Workbench enumerations are overridden by Java enumerations so everything needs to be filtered
+        this.filteredPackageName = null;
     }
 
     @Override
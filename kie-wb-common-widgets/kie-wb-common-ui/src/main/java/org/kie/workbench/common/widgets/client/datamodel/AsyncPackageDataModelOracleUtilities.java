@@ -53,6 +53,7 @@ public class AsyncPackageDataModelOracleUtilities {
         oracle.addTypeFieldsAnnotations( payload.getTypeFieldsAnnotations() );
         oracle.addMethodInformation( payload.getMethodInformation() );
         oracle.addCollectionTypes( payload.getCollectionTypes() );
+        oracle.addJavaEnumDefinitions( payload.getJavaEnumDefinitions() );
     }
 
     //Filter and rename Model Fields based on package name and imports
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.client.callbacks.Callback;
+import org.uberfire.mvp.Command;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that concurrent requests for incremental content are coalesced
+ */
+public class AsyncPackageDataModelOracleCoalescingTest {
+
+    private AsyncPackageDataModelOracleImpl oracle;
+    private DeferredService service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new DeferredService();
+        oracle = new AsyncPackageDataModelOracleImpl();
+        oracle.service = service;
+        oracle.projectModelFields.put( "org.test.Person",
+                                       new ModelField[]{ makeLazyThisField( "org.test.Person" ) } );
+        oracle.projectModelFields.put( "org.test.Address",
+                                       new ModelField[]{ makeLazyThisField( "org.test.Address" ) } );
+        oracle.filter( new Imports() );
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneCall() {
+        final Callback<ModelField[]> callback1 = mock( Callback.class );
+        final Callback<ModelField[]> callback2 = mock( Callback.class );
+        oracle.getFieldCompletions( "org.test.Person",
+                                    callback1 );
+        oracle.getFieldCompletions( "org.test.Person",
+                                    callback2 );
+
+        assertEquals( 1,
+                      service.requests.size() );
+        assertEquals( Collections.singletonList( "org.test.Person" ),
+                      service.requests.get( 0 ) );
+        verify( callback1,
+                never() ).callback( any( ModelField[].class ) );
+
+        service.respond( 0 );
+        verify( callback1 ).callback( any( ModelField[].class ) );
+        verify( callback2 ).callback( any( ModelField[].class ) );
+
+        //Once answered a further request is made to the server
+        oracle.getFieldCompletions( "org.test.Person",
+                                    callback1 );
+        assertEquals( 2,
+                      service.requests.size() );
+    }
+
+    @Test
+    public void testFailedRequestIsForgotten() {
+        oracle.getFieldCompletions( "org.test.Person",
+                                    mock( Callback.class ) );
+        service.fail( 0 );
+
+        oracle.getFieldCompletions( "org.test.Person",
+                                    mock( Callback.class ) );
+        assertEquals( 2,
+                      service.requests.size() );
+    }
+
+    @Test
+    public void testLoadFactTypesInOneCall() {
+        final Command command = mock( Command.class );
+        oracle.loadFactTypes( Arrays.asList( "org.test.Person",
+                                             "org.test.Address",
+                                             "org.test.Person" ),
+                              command );
+
+        assertEquals( 1,
+                      service.requests.size() );
+        assertEquals( Arrays.asList( "org.test.Person",
+                                     "org.test.Address" ),
+                      service.requests.get( 0 ) );
+
+        //Requests for Fact Types being loaded wait for the same call
+        final Callback<ModelField[]> callback = mock( Callback.class );
+        oracle.getFieldCompletions( "org.test.Address",
+                                    callback );
+        assertEquals( 1,
+                      service.requests.size() );
+
+        service.respond( 0 );
+        verify( command ).execute();
+        verify( callback ).callback( any( ModelField[].class ) );
+    }
+
+    @Test
+    public void testLoadFactTypesWaitsForPendingRequests() {
+        oracle.getFieldCompletions( "org.test.Person",
+                                    mock( Callback.class ) );
+
+        final Command command = mock( Command.class );
+        oracle.loadFactTypes( Arrays.asList( "org.test.Person",
+                                             "org.test.Address" ),
+                              command );
+
+        assertEquals( 2,
+                      service.requests.size() );
+        assertEquals( Collections.singletonList( "org.test.Address" ),
+                      service.requests.get( 1 ) );
+
+        service.respond( 1 );
+        verify( command,
+                never() ).execute();
+        service.respond( 0 );
+        verify( command ).execute();
+    }
+
+    @Test
+    public void testSimpleAndQualifiedNamesShareOneCall() {
+        final Command command = mock( Command.class );
+        oracle.loadFactTypes( Collections.singletonList( "Person" ),
+                              command );
+
+        //A request using the simple name waits for the Fact Type being loaded by its fully qualified name
+        final Callback<Boolean> callback = mock( Callback.class );
+        oracle.isFactTypeAnEvent( "Person",
+                                  callback );
+        oracle.getFieldCompletions( "org.test.Person",
+                                    mock( Callback.class ) );
+        assertEquals( 1,
+                      service.requests.size() );
+        assertEquals( Collections.singletonList( "org.test.Person" ),
+                      service.requests.get( 0 ) );
+
+        service.respond( 0 );
+        verify( command ).execute();
+        verify( callback ).callback( false );
+
+        //The simple name is normalised when no other request is pending too
+        oracle.isFactTypeAnEvent( "Address",
+                                  mock( Callback.class ) );
+        oracle.loadFactTypes( Collections.singletonList( "org.test.Address" ),
+                              mock( Command.class ) );
+        assertEquals( 2,
+                      service.requests.size() );
+        assertEquals( Collections.singletonList( "org.test.Address" ),
+                      service.requests.get( 1 ) );
+    }
+
+    @Test
+    public void testLoadFactTypesAlreadyLoaded() {
+        oracle.projectModelFields.put( "org.test.Person",
+                                       new ModelField[ 0 ] );
+
+        final Command command = mock( Command.class );
+        oracle.loadFactTypes( Collections.singletonList( "org.test.Person" ),
+                              command );
+
+        assertTrue( service.requests.isEmpty() );
+        verify( command ).execute();
+    }
+
+    private LazyModelField makeLazyThisField( final String clazz ) {
+        return new LazyModelField( "this",
+                                   clazz,
+                                   ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                   ModelField.FIELD_ORIGIN.SELF,
+                                   FieldAccessorsAndMutators.ACCESSOR,
+                                   "this" );
+    }
+
+    //Caller that holds responses until the test releases them
+    private static class DeferredService implements Caller<IncrementalDataModelService> {
+
+        private final List<List<String>> requests = new ArrayList<List<String>>();
+        private final List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+        private final List<ErrorCallback<Object>> errorCallbacks = new ArrayList<ErrorCallback<Object>>();
+
+        private RemoteCallback<PackageDataModelOracleIncrementalPayload> callback;
+        private ErrorCallback<Object> errorCallback;
+
+        private final IncrementalDataModelService service = new IncrementalDataModelService() {
+            @Override
+            public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                        final Imports imports,
+                                                                        final String factType ) {
+                return getUpdates( resourcePath,
+                                   imports,
+                                   Collections.singletonList( factType ) );
+            }
+
+            @Override
+            public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                        final Imports imports,
+                                                                        final List<String> factTypes ) {
+                requests.add( new ArrayList<String>( factTypes ) );
+                callbacks.add( callback );
+                errorCallbacks.add( errorCallback );
+                return null;
+            }
+        };
+
+        void respond( final int request ) {
+            callbacks.get( request ).callback( new PackageDataModelOracleIncrementalPayload() );
+        }
+
+        void fail( final int request ) {
+            errorCallbacks.get( request ).error( null,
+                                                 new RuntimeException() );
+        }
+
+        @Override
+        public IncrementalDataModelService call() {
+            return service;
+        }
+
+        @Override
+        public IncrementalDataModelService call( final RemoteCallback<?> remoteCallback ) {
+            return call( remoteCallback,
+                         null );
+        }
+
+        @Override
+        public IncrementalDataModelService call( final RemoteCallback<?> remoteCallback,
+                                                 final ErrorCallback<?> errorCallback ) {
+            this.callback = (RemoteCallback<PackageDataModelOracleIncrementalPayload>) remoteCallback;
+            this.errorCallback = (ErrorCallback<Object>) errorCallback;
+            return service;
+        }
+    }
+
+}
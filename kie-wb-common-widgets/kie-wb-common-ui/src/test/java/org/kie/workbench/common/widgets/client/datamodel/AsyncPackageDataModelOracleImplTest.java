@@ -351,6 +351,11 @@ public class AsyncPackageDataModelOracleImplTest {
 
                 return null;
             }
+
+            @Override
+            public PackageDataModelOracleIncrementalPayload getUpdates(Path resourcePath, Imports imports, List<String> factTypes) {
+                throw new UnsupportedOperationException();
+            }
         };
 
         @Override
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.datamodel.imports.Import;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.DataType;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.uberfire.client.callbacks.Callback;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that filtering only changes to the imports and content gives the same result as filtering everything
+ */
+public class AsyncPackageDataModelOracleIncrementalFilterTest {
+
+    private AsyncPackageDataModelOracleImpl oracle;
+    private Imports imports;
+
+    @Before
+    public void setUp() throws Exception {
+        oracle = makeOracle();
+        imports = new Imports();
+        oracle.filter( imports );
+    }
+
+    @Test
+    public void testImportAdded() {
+        assertArrayEquals( new String[]{ "Person" },
+                           oracle.getFactTypes() );
+        assertEquals( "org.test.sub.Address",
+                      oracle.getParametricFieldType( "Person",
+                                                     "addresses" ) );
+        assertArrayEquals( new String[]{ "'Home'" },
+                           oracle.getEnumValues( "Address",
+                                                 "kind" ) );
+
+        imports.addImport( new Import( "org.test.sub.Address" ) );
+        oracle.filter( imports );
+
+        assertArrayEquals( new String[]{ "Address", "Person" },
+                           oracle.getFactTypes() );
+        assertEquals( "Address",
+                      oracle.getParametricFieldType( "Person",
+                                                     "addresses" ) );
+        assertEquals( "Address",
+                      getField( oracle,
+                                "Person",
+                                "address" ).getClassName() );
+        assertArrayEquals( new String[]{ "HOME", "WORK" },
+                           oracle.getEnumValues( "Address",
+                                                 "kind" ) );
+        assertSameAsFilteringEverything();
+    }
+
+    @Test
+    public void testImportRemoved() {
+        imports.addImport( new Import( "org.test.sub.Address" ) );
+        oracle.filter( imports );
+
+        imports.removeImport( 0 );
+        oracle.filter( imports );
+
+        assertArrayEquals( new String[]{ "Person" },
+                           oracle.getFactTypes() );
+        assertEquals( "org.test.sub.Address",
+                      oracle.getParametricFieldType( "Person",
+                                                     "addresses" ) );
+        assertNull( oracle.getParametricFieldType( "Address",
+                                                   "lines" ) );
+        assertEquals( "org.test.sub.Address",
+                      getField( oracle,
+                                "Person",
+                                "address" ).getClassName() );
+
+        //The Workbench enumeration is no longer overridden by the Java enumeration
+        assertArrayEquals( new String[]{ "'Home'" },
+                           oracle.getEnumValues( "Address",
+                                                 "kind" ) );
+        assertSameAsFilteringEverything();
+    }
+
+    @Test
+    public void testImportOfClashingNameRemoved() {
+        final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+        payload.getModelFields().put( "org.test.sub.Person",
+                                      new ModelField[]{
+                                              makeThisField( "org.test.sub.Person" ),
+                                              makeField( "nickname",
+                                                         String.class.getName() ) } );
+        AsyncPackageDataModelOracleUtilities.populateDataModelOracle( oracle,
+                                                                      payload );
+        imports.addImport( new Import( "org.test.sub.Person" ) );
+        oracle.filter( imports );
+
+        //The package's own Person, sharing the simple name of the type no longer imported, remains visible
+        imports.removeImport( 0 );
+        oracle.filter( imports );
+
+        assertArrayEquals( new String[]{ "Person" },
+                           oracle.getFactTypes() );
+        assertNotNull( getField( oracle,
+                                 "Person",
+                                 "address" ) );
+        assertNull( getField( oracle,
+                              "Person",
+                              "nickname" ) );
+        assertSameAsFilteringEverything();
+    }
+
+    @Test
+    public void testContentAdded() {
+        final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+        payload.getModelFields().put( "org.test.Vehicle",
+                                      new ModelField[]{
+                                              makeThisField( "org.test.Vehicle" ),
+                                              makeField( "owner",
+                                                         "org.test.Person" ) } );
+        payload.getJavaEnumDefinitions().put( "org.test.Vehicle#make",
+                                              new String[]{ "FORD", "VW" } );
+        payload.getModelFields().put( "org.test.sub.Address",
+                                      new ModelField[]{
+                                              makeThisField( "org.test.sub.Address" ),
+                                              makeField( "postCode",
+                                                         String.class.getName() ) } );
+        AsyncPackageDataModelOracleUtilities.populateDataModelOracle( oracle,
+                                                                      payload );
+
+        assertArrayEquals( new String[]{ "Person", "Vehicle" },
+                           oracle.getFactTypes() );
+        assertEquals( "Person",
+                      getField( oracle,
+                                "Vehicle",
+                                "owner" ).getClassName() );
+        assertArrayEquals( new String[]{ "FORD", "VW" },
+                           oracle.getEnumValues( "Vehicle",
+                                                 "make" ) );
+        assertSameAsFilteringEverything();
+
+        //Content added is filtered when imported
+        imports.addImport( new Import( "org.test.sub.Address" ) );
+        oracle.filter( imports );
+
+        assertNotNull( getField( oracle,
+                                 "Address",
+                                 "postCode" ) );
+        assertSameAsFilteringEverything();
+    }
+
+    @Test
+    public void testDependentEnums() {
+        assertTrue( oracle.isDependentEnum( "Person",
+                                            "country",
+                                            "city" ) );
+        assertFalse( oracle.isDependentEnum( "Person",
+                                             "city",
+                                             "street" ) );
+
+        final Map<String, String[]> workbenchEnums = new HashMap<String, String[]>();
+        workbenchEnums.put( "Person#street[city=London]",
+                            new String[]{ "'Strand'" } );
+        oracle.addWorkbenchEnumDefinitions( workbenchEnums );
+        oracle.filter();
+
+        assertTrue( oracle.isDependentEnum( "Person",
+                                            "city",
+                                            "street" ) );
+
+        imports.addImport( new Import( "org.test.sub.Address" ) );
+        oracle.filter( imports );
+
+        assertTrue( oracle.isDependentEnum( "Person",
+                                            "country",
+                                            "street" ) );
+    }
+
+    //Compare with a DMO containing the same content that has filtered everything
+    private void assertSameAsFilteringEverything() {
+        final AsyncPackageDataModelOracleImpl expected = makeOracle();
+        expected.projectModelFields.putAll( oracle.projectModelFields );
+        expected.projectJavaEnumLists.putAll( oracle.projectJavaEnumLists );
+        expected.filter( imports );
+
+        assertArrayEquals( expected.getFactTypes(),
+                           oracle.getFactTypes() );
+        for ( String factType : expected.getFactTypes() ) {
+            final ModelField[] expectedFields = getFields( expected,
+                                                           factType );
+            final ModelField[] fields = getFields( oracle,
+                                                   factType );
+            assertEquals( expectedFields.length,
+                          fields.length );
+            for ( int i = 0; i < fields.length; i++ ) {
+                assertEquals( expectedFields[ i ].getName(),
+                              fields[ i ].getName() );
+                assertEquals( expectedFields[ i ].getClassName(),
+                              fields[ i ].getClassName() );
+                assertEquals( expectedFields[ i ].getType(),
+                              fields[ i ].getType() );
+            }
+        }
+        for ( String key : new String[]{ "Person#addresses", "org.test.Person#addresses", "Address#lines", "org.test.sub.Address#lines" } ) {
+            final int hashIndex = key.lastIndexOf( '#' );
+            assertEquals( expected.getParametricFieldType( key.substring( 0,
+                                                                          hashIndex ),
+                                                           key.substring( hashIndex + 1 ) ),
+                          oracle.getParametricFieldType( key.substring( 0,
+                                                                        hashIndex ),
+                                                         key.substring( hashIndex + 1 ) ) );
+        }
+        for ( String factType : new String[]{ "Address", "Person", "Vehicle" } ) {
+            for ( String field : new String[]{ "kind", "make", "country" } ) {
+                assertArrayEquals( expected.getEnumValues( factType,
+                                                           field ),
+                                   oracle.getEnumValues( factType,
+                                                         field ) );
+            }
+        }
+    }
+
+    private AsyncPackageDataModelOracleImpl makeOracle() {
+        final AsyncPackageDataModelOracleImpl oracle = new AsyncPackageDataModelOracleImpl();
+        oracle.setPackageName( "org.test" );
+
+        final Map<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        modelFields.put( "org.test.Person",
+                         new ModelField[]{
+                                 makeThisField( "org.test.Person" ),
+                                 makeField( "address",
+                                            "org.test.sub.Address" ),
+                                 makeField( "addresses",
+                                            "java.util.List" ) } );
+        modelFields.put( "org.test.sub.Address",
+                         new ModelField[]{
+                                 makeThisField( "org.test.sub.Address" ),
+                                 makeField( "kind",
+                                            String.class.getName() ),
+                                 makeField( "lines",
+                                            "java.util.List" ) } );
+        oracle.addModelFields( modelFields );
+
+        final Map<String, String> fieldParametersType = new HashMap<String, String>();
+        fieldParametersType.put( "org.test.Person#addresses",
+                                 "org.test.sub.Address" );
+        fieldParametersType.put( "org.test.sub.Address#lines",
+                                 String.class.getName() );
+        oracle.addFieldParametersType( fieldParametersType );
+
+        final Map<String, String[]> javaEnums = new HashMap<String, String[]>();
+        javaEnums.put( "org.test.sub.Address#kind",
+                       new String[]{ "HOME", "WORK" } );
+        oracle.addJavaEnumDefinitions( javaEnums );
+
+        final Map<String, String[]> workbenchEnums = new HashMap<String, String[]>();
+        workbenchEnums.put( "Address#kind",
+                            new String[]{ "'Home'" } );
+        workbenchEnums.put( "Person#country",
+                            new String[]{ "'UK'", "'US'" } );
+        workbenchEnums.put( "Person#city[country=UK]",
+                            new String[]{ "'London'" } );
+        workbenchEnums.put( "Person#city[country=US]",
+                            new String[]{ "'Boston'" } );
+        oracle.addWorkbenchEnumDefinitions( workbenchEnums );
+
+        return oracle;
+    }
+
+    private ModelField makeThisField( final String clazz ) {
+        return new ModelField( DataType.TYPE_THIS,
+                               clazz,
+                               ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                               ModelField.FIELD_ORIGIN.SELF,
+                               FieldAccessorsAndMutators.ACCESSOR,
+                               DataType.TYPE_THIS );
+    }
+
+    private ModelField makeField( final String name,
+                                  final String clazz ) {
+        return new ModelField( name,
+                               clazz,
+                               ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                               ModelField.FIELD_ORIGIN.DECLARED,
+                               FieldAccessorsAndMutators.BOTH,
+                               clazz );
+    }
+
+    private ModelField getField( final AsyncPackageDataModelOracle oracle,
+                                 final String factType,
+                                 final String fieldName ) {
+        for ( ModelField field : getFields( oracle,
+                                            factType ) ) {
+            if ( field.getName().equals( fieldName ) ) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private ModelField[] getFields( final AsyncPackageDataModelOracle oracle,
+                                    final String factType ) {
+        final ModelField[][] result = new ModelField[ 1 ][];
+        oracle.getFieldCompletions( factType,
+                                    new Callback<ModelField[]>() {
+                                        @Override
+                                        public void callback( final ModelField[] fields ) {
+                                            result[ 0 ] = fields;
+                                        }
+                                    } );
+        return result[ 0 ];
+    }
+
+}
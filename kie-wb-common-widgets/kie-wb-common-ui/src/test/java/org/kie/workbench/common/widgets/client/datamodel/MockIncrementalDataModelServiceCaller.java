@@ -1,5 +1,7 @@
 package org.kie.workbench.common.widgets.client.datamodel;
 
+import java.util.List;
+
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.guvnor.common.services.project.model.Package;
@@ -8,6 +10,7 @@ import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.kie.workbench.common.services.datamodel.backend.server.IncrementalDataModelServiceImpl;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUProjectDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
 import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
 import org.kie.workbench.common.services.shared.project.KieProject;
@@ -37,12 +40,14 @@ public class MockIncrementalDataModelServiceCaller implements Caller<Incremental
         final LRUDataModelOracleCache cachePackages = mock( LRUDataModelOracleCache.class );
         when( cachePackages.assertPackageDataModelOracle( project,
                                                           pkg ) ).thenReturn( packageLoader );
+        final LRUProjectDataModelOracleCache cacheProjects = mock( LRUProjectDataModelOracleCache.class );
 
         final KieProjectService projectService = mock( KieProjectService.class );
         when( projectService.resolveProject( any( Path.class ) ) ).thenReturn( project );
         when( projectService.resolvePackage( any( Path.class ) ) ).thenReturn( pkg );
 
         this.service = new IncrementalDataModelServiceImplWrapper( cachePackages,
+                                                                   cacheProjects,
                                                                    projectService );
     }
 
@@ -69,8 +74,10 @@ public class MockIncrementalDataModelServiceCaller implements Caller<Incremental
         private RemoteCallback<?> remoteCallback;
 
         public IncrementalDataModelServiceImplWrapper( final LRUDataModelOracleCache cachePackages,
+                                                       final LRUProjectDataModelOracleCache cacheProjects,
                                                        final KieProjectService projectService ) {
             super( cachePackages,
+                   cacheProjects,
                    projectService );
         }
 
@@ -90,6 +97,18 @@ public class MockIncrementalDataModelServiceCaller implements Caller<Incremental
             return payload;
         }
 
+        @Override
+        public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                    final Imports imports,
+                                                                    final List<String> factTypes ) {
+            final PackageDataModelOracleIncrementalPayload payload = super.getUpdates( resourcePath,
+                                                                                       imports,
+                                                                                       factTypes );
+            final RemoteCallback r = remoteCallback;
+            r.callback( payload );
+            return payload;
+        }
+
     }
 
 }
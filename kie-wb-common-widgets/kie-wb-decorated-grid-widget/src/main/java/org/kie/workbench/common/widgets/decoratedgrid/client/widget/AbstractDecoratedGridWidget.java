@@ -17,6 +17,7 @@ package org.kie.workbench.common.widgets.decoratedgrid.client.widget;
 
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.event.logical.shared.ResizeEvent;
 import com.google.gwt.event.logical.shared.ResizeHandler;
@@ -115,6 +116,13 @@ public abstract class AbstractDecoratedGridWidget<M, T, C> extends Composite
         scrollPanel = new ScrollPanel();
         scrollPanel.add( gridWidget );
         scrollPanel.addScrollHandler( getScrollHandler() );
+        scrollPanel.addScrollHandler( new ScrollHandler() {
+
+            public void onScroll( ScrollEvent event ) {
+                assertViewport();
+            }
+
+        } );
 
         initialiseHeaderWidget();
         initialiseSidebarWidget();
@@ -141,6 +149,15 @@ public abstract class AbstractDecoratedGridWidget<M, T, C> extends Composite
                                        + "px" );
         sidebarWidget.setHeight( scrollPanel.getElement().getClientHeight()
                                          + "px" );
+        assertViewport();
+    }
+
+    /**
+     * Inform the DecoratedGridWidget of the area visible in the ScrollPanel
+     */
+    protected void assertViewport() {
+        gridWidget.setViewport( scrollPanel.getVerticalScrollPosition(),
+                                scrollPanel.getElement().getClientHeight() );
     }
 
     /**
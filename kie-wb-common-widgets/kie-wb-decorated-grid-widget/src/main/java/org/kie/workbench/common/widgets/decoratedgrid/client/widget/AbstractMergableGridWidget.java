@@ -668,9 +668,10 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             return null;
         }
 
-        Coordinate hc = cv.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() ).<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() ).<TableCellElement>cast();
+        TableCellElement tce = getTableCellElement( cv );
+        if ( tce == null ) {
+            return null;
+        }
         int offsetX = tce.getOffsetLeft();
         int offsetY = tce.getOffsetTop();
         int w = tce.getOffsetWidth();
@@ -683,6 +684,29 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         return e;
     }
 
+    /**
+     * Retrieve the element rendering a cell
+     * @param cell The cell for which to retrieve the element
+     * @return The element, or null if the cell is not rendered
+     */
+    TableCellElement getTableCellElement( CellValue<? extends Comparable<?>> cell ) {
+        Coordinate hc = cell.getHtmlCoordinate();
+        TableRowElement tre = tbody.getRows().getItem( hc.getRow() ).<TableRowElement>cast();
+        return tre.getCells().getItem( hc.getCol() ).<TableCellElement>cast();
+    }
+
+    /**
+     * Set the vertical extent of the grid visible to the user. All rows are
+     * rendered by default; implementations that only render visible rows
+     * should override this.
+     * @param top Offset of the top of the viewport from the top of the grid, in pixels
+     * @param height Height of the viewport, in pixels
+     */
+    void setViewport( int top,
+                      int height ) {
+        //Do nothing by default
+    }
+
     /**
      * Group a merged cell. If the cell is not merged across at least two rows
      * or the cell is not the top of the merged range no action is taken.
@@ -1235,11 +1259,12 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             changedRow = new ArrayList<CellValue<? extends Comparable<?>>>();
             Coordinate c = cell.getCoordinate();
             if ( !columns.get( c.getCol() ).isSystemControlled() ) {
-                data.set( c,
-                          value );
+                //Clear state before setting the value as setting the value updates merging
                 if ( value != null ) {
                     cell.removeState( CellValue.CellState.OTHERWISE );
                 }
+                data.set( c,
+                          value );
 
                 //Copy data that is changing for an event to update the underlying model
                 if ( cell instanceof CellValue.GroupedCellValue ) {
@@ -1310,10 +1335,8 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         } else if ( data.isMerged() || selections.size() > 1 ) {
 
             //If the data is merged changes to the cells' value can cause the need for a greater range of 
-            //rows to be redrawn as a cell's new value could cause the merged span to increase. This is also 
-            //the only mechanism available to update multiple individual cells' values when multiple 
-            //cells are selected.
-            data.assertModelMerging();
+            //rows to be redrawn as a cell's new value could cause the merged span to increase. Merging has
+            //already been updated by setting each cell's value.
 
             // Partial redraw
             int baseRowIndex = selections.first().getCoordinate().getRow();
@@ -1380,6 +1403,7 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                             break;
                     }
                 }
+                data.assertModelMerging( c );
 
                 //Copy data that is changing for an event to update the underlying model
                 if ( cell instanceof CellValue.GroupedCellValue ) {
@@ -1408,7 +1432,6 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                 }
             }
         } else {
-            data.assertModelMerging();
 
             // Partial redraw
             int baseRowIndex = selections.first().getCoordinate().getRow();
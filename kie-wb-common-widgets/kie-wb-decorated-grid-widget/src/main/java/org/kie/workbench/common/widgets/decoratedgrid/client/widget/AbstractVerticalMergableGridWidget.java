@@ -26,6 +26,7 @@ import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.EventTarget;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.dom.client.Node;
+import com.google.gwt.dom.client.Style.Display;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.TableCellElement;
 import com.google.gwt.dom.client.TableRowElement;
@@ -38,17 +39,37 @@ import com.google.gwt.user.client.Event;
 import org.kie.workbench.common.widgets.decoratedgrid.client.resources.i18n.Constants;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.UpdateSelectedCellsEvent;
 
 /**
  * A Vertical implementation of MergableGridWidget, that renders columns as erm,
- * columns and rows as rows. Supports merging of cells between rows.
+ * columns and rows as rows. Supports merging of cells between rows. Rows can
+ * be virtualised, in which case only the rows visible in the viewport, plus a
+ * buffer either side, are rendered. Rows above and below those rendered are
+ * replaced by a single spacer row of equivalent height.
  */
 public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractMergableGridWidget<M, T> {
 
+    /**
+     * Default number of rows rendered either side of the viewport when rows are virtualised
+     */
+    public static final int DEFAULT_VIRTUAL_ROW_BUFFER = 50;
+
     //Deferred binding creates an appropriate class depending on browser
     private CellHeightCalculatorImpl cellHeightCalculator = GWT.create( CellHeightCalculatorImpl.class );
 
+    private boolean isVirtualScrolling = false;
+    private int virtualRowBuffer = DEFAULT_VIRTUAL_ROW_BUFFER;
+
+    //Vertical extent of the grid visible to the user, in pixels
+    private int viewportTop = 0;
+    private int viewportHeight = 0;
+
+    //Rows rendered when rows are virtualised. The window is stale when column visibility has changed
+    private RowWindow window;
+    private boolean isWindowStale = false;
+
     public AbstractVerticalMergableGridWidget( ResourcesProvider<T> resources,
                                                AbstractCellFactory<T> cellFactory,
                                                AbstractCellValueFactory<T, ?> cellValueFactory,
@@ -94,8 +115,19 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         int htmlRow = tr.getSectionRowIndex();
 
         // Convert HTML coordinates to physical coordinates
-        CellValue<?> htmlCell = data.get( htmlRow ).get( htmlCol );
-        Coordinate eventPhysicalCoordinate = htmlCell.getPhysicalCoordinate();
+        Coordinate eventPhysicalCoordinate;
+        if ( isVirtualScrolling ) {
+            //Ignore spacer rows
+            htmlRow = htmlRow - 1;
+            if ( htmlRow < 0 || htmlRow >= getRowWindow().getLastRow() - getRowWindow().getFirstRow() ) {
+                return;
+            }
+            eventPhysicalCoordinate = getRowWindow().getPhysicalCoordinate( htmlRow,
+                                                                           htmlCol );
+        } else {
+            CellValue<?> htmlCell = data.get( htmlRow ).get( htmlCol );
+            eventPhysicalCoordinate = htmlCell.getPhysicalCoordinate();
+        }
         CellValue<?> eventPhysicalCell = data.get( eventPhysicalCoordinate.getRow() ).get( eventPhysicalCoordinate.getCol() );
 
         //Event handlers
@@ -133,7 +165,10 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
                         break;
                 }
                 eventPhysicalCoordinate = eventPhysicalCell.getCoordinate();
-                eventTableCell = tbody.getRows().getItem( eventPhysicalCell.getHtmlCoordinate().getRow() ).getCells().getItem( eventPhysicalCell.getHtmlCoordinate().getCol() );
+                eventTableCell = getTableCellElement( eventPhysicalCell );
+                if ( eventTableCell == null ) {
+                    return;
+                }
             }
         }
 
@@ -160,6 +195,11 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     @Override
     protected void redraw() {
 
+        if ( isVirtualScrolling ) {
+            redrawRowWindow( makeRowWindow( viewportTop / resources.rowHeight() ) );
+            return;
+        }
+
         TableSectionElement nbody = Document.get().createTBodyElement();
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
@@ -169,6 +209,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             TableRowElement tre = Document.get().createTRElement();
             tre.setClassName( getRowStyle( iRow ) );
             populateTableRowElement( tre,
+                                     iRow,
                                      rowData );
             nbody.appendChild( tre );
         }
@@ -180,6 +221,189 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     }
 
+    /**
+     * Set whether rows are virtualised. When virtualised only the rows visible
+     * in the viewport, plus a buffer either side, are rendered.
+     * @param isVirtualScrolling True if rows are virtualised
+     */
+    public void setVirtualScrolling( boolean isVirtualScrolling ) {
+        if ( this.isVirtualScrolling == isVirtualScrolling ) {
+            return;
+        }
+        this.isVirtualScrolling = isVirtualScrolling;
+        this.window = null;
+        if ( data != null && columns != null ) {
+            clearSelection();
+            redraw();
+        }
+    }
+
+    public boolean isVirtualScrolling() {
+        return isVirtualScrolling;
+    }
+
+    /**
+     * Set the number of rows rendered either side of the viewport when rows
+     * are virtualised.
+     * @param virtualRowBuffer Number of rows
+     */
+    public void setVirtualRowBuffer( int virtualRowBuffer ) {
+        if ( virtualRowBuffer < 0 ) {
+            throw new IllegalArgumentException( "virtualRowBuffer cannot be less than zero" );
+        }
+        this.virtualRowBuffer = virtualRowBuffer;
+    }
+
+    @Override
+    void setViewport( int top,
+                      int height ) {
+        this.viewportTop = Math.max( 0,
+                                     top );
+        this.viewportHeight = Math.max( 0,
+                                        height );
+        if ( !isVirtualScrolling || window == null ) {
+            return;
+        }
+
+        //Only render another window once rows outside of that rendered become visible
+        final RowWindow rowWindow = getRowWindow();
+        final int firstVisibleRow = viewportTop / resources.rowHeight();
+        final int lastVisibleRow = Math.min( ( viewportTop + viewportHeight ) / resources.rowHeight() + 1,
+                                             data.size() );
+        if ( firstVisibleRow < rowWindow.getFirstRow() || lastVisibleRow > rowWindow.getLastRow() ) {
+            redrawRowWindow( makeRowWindow( firstVisibleRow ) );
+        }
+    }
+
+    @Override
+    TableCellElement getTableCellElement( CellValue<? extends Comparable<?>> cell ) {
+        if ( cell == null ) {
+            throw new IllegalArgumentException( "cell cannot be null" );
+        }
+
+        //Render the window containing the cell if it is not already rendered
+        TableCellElement tce = findTableCellElement( cell );
+        if ( tce == null && isVirtualScrolling && columns.get( cell.getCoordinate().getCol() ).isVisible() ) {
+            redrawRowWindow( makeRowWindow( cell.getCoordinate().getRow() ) );
+            tce = findTableCellElement( cell );
+        }
+        return tce;
+    }
+
+    // Find the TableCellElement rendering a cell, or null if the cell is not rendered
+    private TableCellElement findTableCellElement( CellValue<? extends Comparable<?>> cell ) {
+        Coordinate hc = getHtmlCoordinate( cell );
+        if ( hc == null ) {
+            return null;
+        }
+        return getTableRowElement( hc.getRow() ).getCells().getItem( hc.getCol() );
+    }
+
+    // Get the HTML coordinate of the element rendering a cell, or null if the cell is not rendered
+    private Coordinate getHtmlCoordinate( CellValue<? extends Comparable<?>> cell ) {
+        if ( !isVirtualScrolling ) {
+            return cell.getHtmlCoordinate();
+        }
+        return getRowWindow().getHtmlCoordinate( cell.getCoordinate() );
+    }
+
+    // Get the TableRowElement for a HTML row. When rows are virtualised the first TableRowElement is a spacer
+    private TableRowElement getTableRowElement( int htmlRow ) {
+        return tbody.getRows().getItem( isVirtualScrolling ? htmlRow + 1 : htmlRow );
+    }
+
+    private RowWindow getRowWindow() {
+        if ( window == null ) {
+            window = makeRowWindow( viewportTop / resources.rowHeight() );
+        } else if ( isWindowStale ) {
+            final int lastRow = Math.min( window.getLastRow(),
+                                          data.size() );
+            window = new RowWindow( data,
+                                    getVisibleColumns(),
+                                    Math.min( window.getFirstRow(),
+                                              lastRow ),
+                                    lastRow );
+        }
+        isWindowStale = false;
+        return window;
+    }
+
+    // Make a window of rows including the given row and those visible below it, plus a buffer either side
+    private RowWindow makeRowWindow( int firstVisibleRow ) {
+        final int visibleRows = viewportHeight / resources.rowHeight() + 1;
+        final int firstRow = Math.max( 0,
+                                       Math.min( firstVisibleRow,
+                                                 data.size() ) - virtualRowBuffer );
+        final int lastRow = Math.min( data.size(),
+                                      firstVisibleRow + visibleRows + virtualRowBuffer );
+        return new RowWindow( data,
+                              getVisibleColumns(),
+                              firstRow,
+                              Math.max( firstRow,
+                                        lastRow ) );
+    }
+
+    private boolean[] getVisibleColumns() {
+        final boolean[] visibleColumns = new boolean[ columns.size() ];
+        for ( int iCol = 0; iCol < columns.size(); iCol++ ) {
+            visibleColumns[ iCol ] = columns.get( iCol ).isVisible();
+        }
+        return visibleColumns;
+    }
+
+    // Render a window of rows, with spacer rows in place of the rows above and below
+    private void redrawRowWindow( RowWindow rowWindow ) {
+
+        this.window = rowWindow;
+        this.isWindowStale = false;
+
+        TableSectionElement nbody = Document.get().createTBodyElement();
+        nbody.appendChild( makeSpacerRowElement( rowWindow.getFirstRow() ) );
+
+        for ( int iRow = rowWindow.getFirstRow(); iRow < rowWindow.getLastRow(); iRow++ ) {
+
+            DynamicDataRow rowData = data.get( iRow );
+
+            TableRowElement tre = Document.get().createTRElement();
+            tre.setClassName( getRowStyle( iRow ) );
+            populateTableRowElement( tre,
+                                     iRow,
+                                     rowData );
+            nbody.appendChild( tre );
+        }
+
+        nbody.appendChild( makeSpacerRowElement( data.size() - rowWindow.getLastRow() ) );
+
+        // Update table to DOM
+        table.replaceChild( nbody,
+                            tbody );
+        tbody = nbody;
+    }
+
+    // Build a TableRowElement with the height of the given number of rows
+    private TableRowElement makeSpacerRowElement( int rows ) {
+        int visibleColumns = 0;
+        for ( DynamicColumn<T> column : columns ) {
+            if ( column.isVisible() ) {
+                visibleColumns++;
+            }
+        }
+
+        TableRowElement tre = Document.get().createTRElement();
+        TableCellElement tce = Document.get().createTDElement();
+        tce.setColSpan( Math.max( 1,
+                                  visibleColumns ) );
+        tce.getStyle().setHeight( rows * resources.rowHeight(),
+                                  Unit.PX );
+        tre.appendChild( tce );
+
+        //Spacer rows are kept when empty so HTML rows are always offset by one
+        if ( rows == 0 ) {
+            tre.getStyle().setDisplay( Display.NONE );
+        }
+        return tre;
+    }
+
     @Override
     void redrawColumns( int startRedrawIndex,
                         int endRedrawIndex ) {
@@ -199,10 +423,17 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "startRedrawIndex cannot be greater than endRedrawIndex." );
         }
 
+        //Merging could have changed, which affects the window's HTML coordinates, so render the window afresh
+        if ( isVirtualScrolling ) {
+            redraw();
+            return;
+        }
+
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
             TableRowElement tre = tbody.getRows().getItem( iRow );
             DynamicDataRow rowData = data.get( iRow );
-            redrawTableRowElement( rowData,
+            redrawTableRowElement( iRow,
+                                   rowData,
                                    tre,
                                    startRedrawIndex,
                                    endRedrawIndex );
@@ -221,12 +452,12 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
         col.setWidth( width );
         int iCol = col.getColumnIndex();
-        for ( DynamicDataRow row : data ) {
-            CellValue<? extends Comparable<?>> cell = row
-                    .get( iCol );
-            Coordinate c = cell.getHtmlCoordinate();
-            TableRowElement tre = tbody.getRows().getItem( c.getRow() );
-            TableCellElement tce = tre.getCells().getItem( c.getCol() );
+        for ( int iRow = getFirstRenderedRow(); iRow < getLastRenderedRow(); iRow++ ) {
+            CellValue<? extends Comparable<?>> cell = data.get( iRow ).get( iCol );
+            TableCellElement tce = findTableCellElement( cell );
+            if ( tce == null ) {
+                continue;
+            }
             DivElement div = tce.getFirstChild().<DivElement>cast();
             DivElement divText = tce.getFirstChild().getFirstChild().<DivElement>cast();
 
@@ -241,6 +472,16 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     }
 
+    // Index of the first row rendered (inclusive)
+    private int getFirstRenderedRow() {
+        return isVirtualScrolling ? getRowWindow().getFirstRow() : 0;
+    }
+
+    // Index of the last row rendered (exclusive)
+    private int getLastRenderedRow() {
+        return isVirtualScrolling ? getRowWindow().getLastRow() : data.size();
+    }
+
     // Find the cell that contains the element. Note that the TD element is not
     // the parent. The parent is the div inside the TD cell.
     private TableCellElement findNearestParentCell( Element elem ) {
@@ -367,6 +608,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     // Build a TableCellElement
     @SuppressWarnings("rawtypes")
     private TableCellElement makeTableCellElement( int iCol,
+                                                   int iRow,
                                                    DynamicDataRow rowData ) {
 
         TableCellElement tce = null;
@@ -376,6 +618,17 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
         CellValue<? extends Comparable<?>> cellData = rowData.get( iCol );
         int rowSpan = cellData.getRowSpan();
+        if ( isVirtualScrolling ) {
+
+            // Merged cells are clipped to the window; those starting above the window are rendered in its first row
+            rowSpan = getRowWindow().getRowSpan( iRow,
+                                                 iCol );
+            if ( rowSpan > 0 && cellData.getRowSpan() == 0 ) {
+                rowData = data.get( getRowWindow().getOriginRow( iRow,
+                                                                 iCol ) );
+                cellData = rowData.get( iCol );
+            }
+        }
         if ( rowSpan > 0 ) {
 
             // Use Elements rather than Templates as it's easier to set attributes that need to be dynamic
@@ -443,7 +696,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             tce.setTabIndex( 0 );
 
             //Add on "Grouping" widget, if applicable
-            if ( rowSpan > 1 || cellData.isGrouped() ) {
+            if ( cellData.getRowSpan() > 1 || cellData.isGrouped() ) {
                 Element de = DOM.createDiv();
                 DivElement divGroup = DivElement.as( de );
                 divGroup.setTitle( Constants.INSTANCE.groupCells() );
@@ -465,6 +718,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     // new, empty, TableRowElements with complete rows for insertion into an
     // HTML table based upon visible columns
     private TableRowElement populateTableRowElement( TableRowElement tre,
+                                                     int iRow,
                                                      DynamicDataRow rowData ) {
 
         tre.getStyle().setHeight( resources.rowHeight(),
@@ -473,6 +727,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             DynamicColumn<T> column = columns.get( iCol );
             if ( column.isVisible() ) {
                 TableCellElement tce = makeTableCellElement( iCol,
+                                                             iRow,
                                                              rowData );
                 if ( tce != null ) {
                     tre.appendChild( tce );
@@ -489,7 +744,8 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     // inserted. It is important the indexes on the underlying data have
     // been set correctly before calling as they are used to determine the
     // correct HTML element in which to render a cell.
-    private void redrawTableRowElement( DynamicDataRow rowData,
+    private void redrawTableRowElement( int iRow,
+                                        DynamicDataRow rowData,
                                         TableRowElement tre,
                                         int startColIndex,
                                         int endColIndex ) {
@@ -506,6 +762,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
                     // Make a new TD element
                     TableCellElement newCell = makeTableCellElement( iCol,
+                                                                     iRow,
                                                                      rowData );
                     if ( newCell != null ) {
                         tre.appendChild( newCell );
@@ -515,6 +772,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
                     // Reuse an existing TD element
                     TableCellElement newCell = makeTableCellElement( iCol,
+                                                                     iRow,
                                                                      rowData );
                     if ( newCell != null ) {
                         TableCellElement oldCell = tre.getCells().getItem( requiredColumnIndex );
@@ -529,6 +787,10 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     @Override
     protected void createEmptyRowElement( int index ) {
+        //Rows are always followed by a redraw of the rows affected, which re-renders the window
+        if ( isVirtualScrolling ) {
+            return;
+        }
         tbody.insertRow( index );
         fixRowStyles( index );
     }
@@ -536,14 +798,23 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     @Override
     protected void createRowElement( int index,
                                      DynamicDataRow rowData ) {
+        if ( isVirtualScrolling ) {
+            redraw();
+            return;
+        }
         TableRowElement tre = tbody.insertRow( index );
         populateTableRowElement( tre,
+                                 index,
                                  rowData );
         fixRowStyles( index );
     }
 
     @Override
     protected void deleteRowElement( int index ) {
+        //Rows are always followed by a redraw of the rows affected, which re-renders the window
+        if ( isVirtualScrolling ) {
+            return;
+        }
         Node tre = tbody.getChild( index );
         tbody.removeChild( tre );
     }
@@ -567,6 +838,12 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "startRedrawIndex cannot be greater than endRedrawIndex." );
         }
 
+        //Merging could have changed, which affects the window's HTML coordinates, so render the window afresh
+        if ( isVirtualScrolling ) {
+            redraw();
+            return;
+        }
+
         //Redraw replacement rows
         for ( int iRow = startRedrawIndex; iRow <= endRedrawIndex; iRow++ ) {
 
@@ -574,6 +851,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
             TableRowElement tre = Document.get().createTRElement();
             populateTableRowElement( tre,
+                                     iRow,
                                      rowData );
             tbody.replaceChild( tre,
                                 tbody.getChild( iRow ) );
@@ -590,6 +868,10 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         if ( index > data.size() ) {
             throw new IllegalArgumentException( "Index cannot be greater than the number of rows." );
         }
+        if ( isVirtualScrolling ) {
+            redraw();
+            return;
+        }
         tbody.deleteRow( index );
         fixRowStyles( index );
     }
@@ -601,13 +883,8 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "cell cannot be null" );
         }
 
-        Coordinate hc = cell.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
-                .<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() )
-                .<TableCellElement>cast();
-
         //Merging, grouping etc could have led to the selected HTML cell disappearing
+        TableCellElement tce = findTableCellElement( cell );
         if ( tce != null ) {
             String cellSelectedStyle = resources.cellTableCellSelected();
             String cellMultipleValuesStyle = resources.cellTableCellMultipleValues();
@@ -636,6 +913,11 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "index cannot be greater than the number of rows" );
         }
 
+        if ( isVirtualScrolling ) {
+            hideRowWindowColumn( index );
+            return;
+        }
+
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
             DynamicDataRow rowData = data.get( iRow );
             CellValue<? extends Comparable<?>> cell = rowData.get( index );
@@ -649,17 +931,33 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
     }
 
+    // Remove the elements of a column from the rows rendered. The column is hidden after the elements have been
+    // removed so the window is re-calculated when next used.
+    private void hideRowWindowColumn( int index ) {
+        final RowWindow rowWindow = getRowWindow();
+        for ( int iRow = rowWindow.getFirstRow(); iRow < rowWindow.getLastRow(); iRow++ ) {
+            int htmlCol = rowWindow.getHtmlColumn( iRow,
+                                                   index );
+            if ( htmlCol >= 0 ) {
+                TableRowElement tre = getTableRowElement( iRow - rowWindow.getFirstRow() );
+                TableCellElement tce = tre.getCells().getItem( htmlCol );
+                tre.removeChild( tce );
+            }
+        }
+        isWindowStale = true;
+    }
+
     @Override
     void selectCell( CellValue<? extends Comparable<?>> cell ) {
         if ( cell == null ) {
             throw new IllegalArgumentException( "cell cannot be null" );
         }
 
-        Coordinate hc = cell.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
-                .<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() )
-                .<TableCellElement>cast();
+        //Cells outside of the rows rendered are styled when they are rendered
+        TableCellElement tce = findTableCellElement( cell );
+        if ( tce == null ) {
+            return;
+        }
 
         //Cell selected style takes precedence
         String cellSelectedStyle = resources.cellTableCellSelected();
@@ -681,9 +979,15 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "index cannot be greater than the number of rows" );
         }
 
+        if ( isVirtualScrolling ) {
+            redraw();
+            return;
+        }
+
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
             DynamicDataRow rowData = data.get( iRow );
             TableCellElement tce = makeTableCellElement( index,
+                                                         iRow,
                                                          rowData );
             if ( tce != null ) {
 
@@ -120,9 +120,8 @@ public class DynamicData
      */
     public DynamicDataRow addRow() {
         DynamicDataRow row = new DynamicDataRow();
-        data.add( row );
-
-        assertModelMerging();
+        addRow( data.size(),
+                row );
         return row;
     }
 
@@ -136,7 +135,9 @@ public class DynamicData
         data.add( index,
                   rowData );
 
-        assertModelMerging();
+        assertModelMerging( index,
+                            index + 1,
+                            true );
     }
 
     /**
@@ -205,7 +206,9 @@ public class DynamicData
 
     public DynamicDataRow deleteRow( int index ) {
         DynamicDataRow row = data.remove( index );
-        assertModelMerging();
+        assertModelMerging( index,
+                            index,
+                            true );
         return row;
     }
 
@@ -297,7 +300,7 @@ public class DynamicData
         //Delete "grouped" row and replace with individual rows
         List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                              bRecursive );
-        deleteRow( startRowIndex );
+        data.remove( startRowIndex );
         data.addAll( startRowIndex,
                      expandedRow );
 
@@ -335,7 +338,7 @@ public class DynamicData
             throw new IllegalArgumentException( "c cannot be null" );
         }
         data.get( c.getRow() ).get( c.getCol() ).setValue( value );
-        assertModelMerging();
+        assertModelMerging( c );
     }
 
     /**
@@ -457,53 +460,109 @@ public class DynamicData
     // in which case the cell at physical coordinate (0,1) would have a (3)
     // mapping back to (0,0).
     private void assertModelIndexes() {
+        assertModelIndexes( 0,
+                            data.size() );
+    }
 
-        if ( data.size() == 0 ) {
+    //Index rows from startRowIndex (inclusive) to at least endRowIndex (exclusive). Indexing continues beyond
+    //endRowIndex whilst rows are spanned by merged cells starting in the rows indexed, as their HTML coordinates
+    //are inherited. Coordinates that have not changed are kept rather than re-created.
+    private void assertModelIndexes( final int startRowIndex,
+                                     final int endRowIndex ) {
+
+        if ( startRowIndex >= data.size() ) {
             return;
         }
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
+        final int[] visibleColumnIndexes = getVisibleColumnIndexes();
 
-            int colCount = 0;
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+        //HTML coordinates of the prior row, shared with cells merged into them
+        final Coordinate[] htmlCoordinates = new Coordinate[ visibleColumns.size() ];
+        if ( startRowIndex > 0 ) {
+            final DynamicDataRow priorRow = data.get( startRowIndex - 1 );
+            for ( int iCol = 0; iCol < priorRow.size(); iCol++ ) {
+                htmlCoordinates[ iCol ] = priorRow.get( iCol ).getHtmlCoordinate();
+            }
+        }
+
+        int maxRowIndex = Math.min( endRowIndex,
+                                    data.size() );
+        for ( int iRow = startRowIndex; iRow < maxRowIndex; iRow++ ) {
+            final int spannedRowIndex = assertRowIndexes( iRow,
+                                                          visibleColumnIndexes,
+                                                          htmlCoordinates );
+            maxRowIndex = Math.min( Math.max( maxRowIndex,
+                                              spannedRowIndex ),
+                                    data.size() );
+        }
+    }
+
+    //Index a single row. Returns the index of the row following the last spanned by merged cells starting in the row
+    private int assertRowIndexes( final int iRow,
+                                  final int[] visibleColumnIndexes,
+                                  final Coordinate[] htmlCoordinates ) {
+        final DynamicDataRow row = data.get( iRow );
 
-                int newRow = iRow;
-                int newCol = colCount;
-                CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
-                indexCell.setCoordinate( new Coordinate( iRow,
-                                                         iCol ) );
+        int colCount = 0;
+        int spannedRowIndex = iRow + 1;
+        Coordinate priorHtmlCoordinate = null;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
 
-                // Don't index hidden columns; indexing is used to
-                // map between HTML elements and the data behind
-                if ( visibleColumns.get( iCol ) ) {
+            CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
+            Coordinate c = indexCell.getCoordinate();
+            if ( c.getRow() != iRow || c.getCol() != iCol ) {
+                c = new Coordinate( iRow,
+                                    iCol );
+                indexCell.setCoordinate( c );
+            }
 
-                    if ( indexCell.getRowSpan() != 0 ) {
-                        newRow = iRow;
-                        newCol = colCount++;
+            // Don't index hidden columns; indexing is used to
+            // map between HTML elements and the data behind
+            Coordinate htmlCoordinate;
+            if ( visibleColumns.get( iCol ) ) {
 
-                        CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
-                        cell.setPhysicalCoordinate( new Coordinate( iRow,
-                                                                    iCol ) );
+                if ( indexCell.getRowSpan() != 0 ) {
+                    htmlCoordinate = ( colCount == iCol ? c : new Coordinate( iRow,
+                                                                              colCount ) );
+                    row.get( colCount++ ).setPhysicalCoordinate( c );
+                    spannedRowIndex = Math.max( spannedRowIndex,
+                                                iRow + indexCell.getRowSpan() );
 
-                    } else {
-                        DynamicDataRow priorRow = data.get( iRow - 1 );
-                        CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
-                        Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                        newRow = priorHtmlCoordinate.getRow();
-                        newCol = priorHtmlCoordinate.getCol();
-                    }
                 } else {
-                    final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
-                    CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
-                    Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                    newRow = priorHtmlCoordinate.getRow();
-                    newCol = priorHtmlCoordinate.getCol();
+                    htmlCoordinate = htmlCoordinates[ iCol ];
                 }
-                indexCell.setHtmlCoordinate( new Coordinate( newRow,
-                                                             newCol ) );
+            } else {
+                htmlCoordinate = ( iCol > 0 ? priorHtmlCoordinate : c );
+            }
+            indexCell.setHtmlCoordinate( htmlCoordinate );
+            htmlCoordinates[ iCol ] = htmlCoordinate;
+            priorHtmlCoordinate = htmlCoordinate;
+        }
+
+        //Remaining cells map back to the cell they would if no cells were merged
+        for ( int iCol = colCount; iCol < row.size(); iCol++ ) {
+            final int physicalColIndex = ( iCol < visibleColumnIndexes.length ? visibleColumnIndexes[ iCol ] : iCol );
+            row.get( iCol ).setPhysicalCoordinate( row.get( physicalColIndex ).getCoordinate() );
+        }
+
+        return spannedRowIndex;
+    }
+
+    private int[] getVisibleColumnIndexes() {
+        int visibleColumnCount = 0;
+        for ( Boolean isVisible : visibleColumns ) {
+            if ( isVisible ) {
+                visibleColumnCount++;
             }
         }
+        final int[] visibleColumnIndexes = new int[ visibleColumnCount ];
+        visibleColumnCount = 0;
+        for ( int iCol = 0; iCol < visibleColumns.size(); iCol++ ) {
+            if ( visibleColumns.get( iCol ) ) {
+                visibleColumnIndexes[ visibleColumnCount++ ] = iCol;
+            }
+        }
+        return visibleColumnIndexes;
     }
 
     /**
@@ -512,91 +571,163 @@ public class DynamicData
      * to the add/remove methods provided publicly herein, such as bulk move
      * operations.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public void assertModelMerging() {
 
         if ( data.size() == 0 ) {
             return;
         }
 
-        //Remove merging first as it initialises all coordinates
-        removeModelMerging();
-
-        final int COLUMNS = data.get( 0 ).size();
-
         //Only apply merging if merged
         if ( isMerged ) {
-
-            int minRowIndex = 0;
-            int maxRowIndex = data.size();
-
-            //Add an empty row to the end of the data to simplify detection of merged cells that run to the end of the table
-            DynamicDataRow blankRow = new DynamicDataRow();
+            final int COLUMNS = data.get( 0 ).size();
             for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue cv = new CellValue( null );
-                Coordinate c = new Coordinate( data.size(),
-                                               iCol );
-                cv.setCoordinate( c );
-                cv.setHtmlCoordinate( c );
-                cv.setPhysicalCoordinate( c );
-                blankRow.add( cv );
+                assertColumnMerging( iCol,
+                                     0,
+                                     data.size() );
             }
-            data.add( blankRow );
-            maxRowIndex++;
+        } else {
+            removeRowSpans( 0,
+                            data.size() );
+        }
 
-            //Look in columns for cells with identical values
-            for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue<?> cell1 = data.get( minRowIndex ).get( iCol );
-                CellValue<?> cell2 = null;
-                for ( int iRow = minRowIndex + 1; iRow < maxRowIndex; iRow++ ) {
-                    cell1.setRowSpan( 1 );
-                    cell2 = data.get( iRow ).get( iCol );
-
-                    //Merge if both cells contain the same value and neither is grouped
-                    boolean bSplit = true;
-                    if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
-                        if ( cell1.getValue().equals( cell2.getValue() ) ) {
-                            bSplit = false;
-                            if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                            if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                        }
-                    } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
-                        bSplit = false;
-                        if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                        if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                    }
+        // Set indexes after merging has been corrected
+        assertModelIndexes();
 
-                    if ( bSplit ) {
-                        mergeCells( cell1,
-                                    cell2 );
-                        cell1 = cell2;
-                    }
+    }
 
-                }
-            }
+    /**
+     * Ensure merging and indexing reflect a change to the value or state of a
+     * single cell. Only the merged cells either side of the changed cell are
+     * re-evaluated and only rows whose indexes are affected are re-indexed.
+     * This should be called when a cell is changed externally to the set
+     * method provided publicly herein, such as when its state changes.
+     * @param c Coordinate of the changed cell
+     */
+    public void assertModelMerging( Coordinate c ) {
+        if ( c == null ) {
+            throw new IllegalArgumentException( "c cannot be null" );
+        }
+        assertModelMerging( c.getRow(),
+                            c.getRow() + 1,
+                            c.getCol(),
+                            c.getCol() + 1,
+                            false );
+    }
+
+    //Ensure merging and indexing reflect rows having been added or removed at startRowIndex
+    private void assertModelMerging( final int startRowIndex,
+                                     final int endRowIndex,
+                                     final boolean isRowsMoved ) {
+        if ( data.size() == 0 ) {
+            return;
+        }
+        assertModelMerging( startRowIndex,
+                            endRowIndex,
+                            0,
+                            data.get( 0 ).size(),
+                            isRowsMoved );
+    }
 
-            //Remove dummy blank row
-            data.remove( blankRow );
+    //Ensure merging and indexing reflect changes to the cells from startRowIndex (inclusive) to endRowIndex
+    //(exclusive) in columns startColIndex (inclusive) to endColIndex (exclusive). Merging is re-evaluated from the
+    //start of the merged cell preceding the change. If rows have been added or removed all subsequent rows are
+    //re-indexed, as their coordinates have changed.
+    private void assertModelMerging( final int startRowIndex,
+                                     final int endRowIndex,
+                                     final int startColIndex,
+                                     final int endColIndex,
+                                     final boolean isRowsMoved ) {
+
+        if ( data.size() == 0 ) {
+            return;
+        }
 
+        int minRowIndex = startRowIndex;
+        int maxRowIndex = endRowIndex;
+        if ( isMerged ) {
+            final int priorRowIndex = Math.min( Math.max( startRowIndex - 1,
+                                                          0 ),
+                                                data.size() - 1 );
+            for ( int iCol = startColIndex; iCol < endColIndex; iCol++ ) {
+                final int originRowIndex = findMergedCellOrigin( priorRowIndex,
+                                                                 iCol );
+                minRowIndex = Math.min( minRowIndex,
+                                        originRowIndex );
+                maxRowIndex = Math.max( maxRowIndex,
+                                        assertColumnMerging( iCol,
+                                                             originRowIndex,
+                                                             endRowIndex ) );
+            }
+        } else {
+            removeRowSpans( startRowIndex,
+                            endRowIndex );
         }
 
         // Set indexes after merging has been corrected
-        assertModelIndexes();
+        assertModelIndexes( minRowIndex,
+                            isRowsMoved ? data.size() : maxRowIndex );
+    }
+
+    //Merge cells with identical values in a column, starting at startRowIndex which must be the first row of a merged
+    //cell. Merging below the first merged cell starting on or after minEndRowIndex that already started a merged cell
+    //is unaffected, so evaluation stops there. Returns the index of the row at which evaluation stopped.
+    private int assertColumnMerging( final int iCol,
+                                     final int startRowIndex,
+                                     final int minEndRowIndex ) {
+        int originRowIndex = startRowIndex;
+        CellValue<?> cell1 = data.get( startRowIndex ).get( iCol );
+        for ( int iRow = startRowIndex + 1; iRow < data.size(); iRow++ ) {
+            CellValue<?> cell2 = data.get( iRow ).get( iCol );
+            if ( !isMergeable( cell1,
+                               cell2 ) ) {
+                final boolean wasOrigin = cell2.getRowSpan() != 0;
+                mergeCells( iCol,
+                            originRowIndex,
+                            iRow );
+                if ( wasOrigin && iRow >= minEndRowIndex ) {
+                    return iRow;
+                }
+                cell1 = cell2;
+                originRowIndex = iRow;
+            }
+        }
+        mergeCells( iCol,
+                    originRowIndex,
+                    data.size() );
+        return data.size();
+    }
 
+    //Merge if both cells contain the same value and neither is grouped
+    @SuppressWarnings("rawtypes")
+    private boolean isMergeable( final CellValue<?> cell1,
+                                 final CellValue<?> cell2 ) {
+        boolean bSplit = true;
+        if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
+            if ( cell1.getValue().equals( cell2.getValue() ) ) {
+                bSplit = false;
+                if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+                if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+            }
+        } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
+            bSplit = false;
+            if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+            if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+        }
+        return !bSplit;
     }
 
     //Expand a grouped row and return a list of expanded rows
@@ -632,6 +763,16 @@ public class DynamicData
         return ungroupedRows;
     }
 
+    //Find the index of the first row of the merged cell containing the given row
+    private int findMergedCellOrigin( final int iRow,
+                                      final int iCol ) {
+        int originRowIndex = iRow;
+        while ( originRowIndex > 0 && data.get( originRowIndex ).get( iCol ).getRowSpan() == 0 ) {
+            originRowIndex--;
+        }
+        return originRowIndex;
+    }
+
     //Find the bottom coordinate of a merged cell
     private Coordinate findMergedCellExtent( Coordinate c ) {
         if ( c.getRow() == data.size() - 1 ) {
@@ -653,20 +794,28 @@ public class DynamicData
         return nc;
     }
 
-    //Merge between the two provided cells
-    private void mergeCells( CellValue<?> cell1,
-                             CellValue<?> cell2 ) {
-        int iStartRowIndex = cell1.getCoordinate().getRow();
-        int iEndRowIndex = cell2.getCoordinate().getRow();
-        int iColIndex = cell1.getCoordinate().getCol();
+    //Merge the cells in a column between the two rows, the first row (inclusive) spanning to the second (exclusive)
+    private void mergeCells( final int iCol,
+                             final int startRowIndex,
+                             final int endRowIndex ) {
+        data.get( startRowIndex ).get( iCol ).setRowSpan( endRowIndex - startRowIndex );
 
-        //Any rows that are grouped need row span of zero
-        for ( int iRow = iStartRowIndex; iRow < iEndRowIndex; iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
-            row.get( iColIndex ).setRowSpan( 0 );
+        //Any rows that are merged need row span of zero
+        for ( int iRow = startRowIndex + 1; iRow < endRowIndex; iRow++ ) {
+            data.get( iRow ).get( iCol ).setRowSpan( 0 );
         }
-        cell1.setRowSpan( iEndRowIndex - iStartRowIndex );
+    }
 
+    //Reset the row span of cells between the two rows, startRowIndex (inclusive) to endRowIndex (exclusive)
+    private void removeRowSpans( final int startRowIndex,
+                                 final int endRowIndex ) {
+        for ( int iRow = startRowIndex; iRow < Math.min( endRowIndex,
+                                                         data.size() ); iRow++ ) {
+            DynamicDataRow row = data.get( iRow );
+            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+                row.get( iCol ).setRowSpan( 1 );
+            }
+        }
     }
 
     //Initialise cell parameters when ungrouped
@@ -687,7 +836,7 @@ public class DynamicData
             if ( row instanceof GroupedDynamicDataRow ) {
                 List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                                      true );
-                deleteRow( iRow );
+                data.remove( iRow );
                 data.addAll( iRow,
                              expandedRow );
                 iRow = iRow + expandedRow.size() - 1;
@@ -701,22 +850,11 @@ public class DynamicData
      */
     void removeModelMerging() {
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
-
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
-                CellValue<?> cell = row.get( iCol );
-                Coordinate c = new Coordinate( iRow,
-                                               iCol );
-                cell.setCoordinate( c );
-                cell.setHtmlCoordinate( c );
-                cell.setPhysicalCoordinate( c );
-                cell.setRowSpan( 1 );
-            }
-        }
+        removeRowSpans( 0,
+                        data.size() );
 
         // Set indexes after merging has been corrected
         assertModelIndexes();
     }
 
-}
\ No newline at end of file
+}
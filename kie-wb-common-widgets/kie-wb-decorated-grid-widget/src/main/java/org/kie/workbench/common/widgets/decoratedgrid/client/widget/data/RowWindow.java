@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.client.widget.data;
+
+/**
+ * A window of consecutive rows of DynamicData that are rendered when rows are
+ * virtualised. Merged cells crossing the boundaries of the window are clipped
+ * to it: a merged cell starting above the window is rendered in the window's
+ * first row and a merged cell extending below the window is shortened. HTML
+ * coordinates are relative to the first row of the window and therefore
+ * differ from those maintained by DynamicData for the whole table.
+ */
+public class RowWindow {
+
+    private final DynamicData data;
+    private final int firstRow;
+    private final int lastRow;
+
+    //HTML column of each cell, by window row and physical column, or -1 if the cell is not rendered in the row
+    private final int[][] htmlColumns;
+
+    //Row span of each cell rendered, clipped to the window, by window row and physical column
+    private final int[][] rowSpans;
+
+    //Physical column of each cell rendered, by window row and HTML column
+    private final int[][] physicalColumns;
+
+    /**
+     * Create a window of rows
+     * @param data The data
+     * @param visibleColumns Whether each column is visible
+     * @param firstRow Index of the first row in the window (inclusive)
+     * @param lastRow Index of the last row in the window (exclusive)
+     */
+    public RowWindow( DynamicData data,
+                      boolean[] visibleColumns,
+                      int firstRow,
+                      int lastRow ) {
+        if ( data == null ) {
+            throw new IllegalArgumentException( "data cannot be null" );
+        }
+        if ( visibleColumns == null ) {
+            throw new IllegalArgumentException( "visibleColumns cannot be null" );
+        }
+        if ( firstRow < 0 ) {
+            throw new IllegalArgumentException( "firstRow cannot be less than zero." );
+        }
+        if ( lastRow > data.size() ) {
+            throw new IllegalArgumentException( "lastRow cannot be greater than the number of rows in the table." );
+        }
+        if ( firstRow > lastRow ) {
+            throw new IllegalArgumentException( "firstRow cannot be greater than lastRow." );
+        }
+        this.data = data;
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+
+        final int rows = lastRow - firstRow;
+        this.htmlColumns = new int[ rows ][];
+        this.rowSpans = new int[ rows ][];
+        this.physicalColumns = new int[ rows ][];
+
+        for ( int iRow = firstRow; iRow < lastRow; iRow++ ) {
+            final DynamicDataRow row = data.get( iRow );
+            final int[] rowHtmlColumns = new int[ row.size() ];
+            final int[] rowRowSpans = new int[ row.size() ];
+            int colCount = 0;
+            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+                rowHtmlColumns[ iCol ] = -1;
+                if ( !visibleColumns[ iCol ] ) {
+                    continue;
+                }
+
+                //Cells merged into a row above the window are rendered in its first row
+                int rowSpan = row.get( iCol ).getRowSpan();
+                if ( rowSpan > 0 ) {
+                    rowSpan = Math.min( iRow + rowSpan,
+                                        lastRow ) - iRow;
+                } else if ( iRow == firstRow ) {
+                    final int originRow = getOriginRow( iRow,
+                                                        iCol );
+                    rowSpan = Math.min( originRow + data.get( originRow ).get( iCol ).getRowSpan(),
+                                        lastRow ) - iRow;
+                }
+                if ( rowSpan > 0 ) {
+                    rowHtmlColumns[ iCol ] = colCount++;
+                    rowRowSpans[ iCol ] = rowSpan;
+                }
+            }
+
+            final int[] rowPhysicalColumns = new int[ colCount ];
+            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+                if ( rowHtmlColumns[ iCol ] >= 0 ) {
+                    rowPhysicalColumns[ rowHtmlColumns[ iCol ] ] = iCol;
+                }
+            }
+
+            htmlColumns[ iRow - firstRow ] = rowHtmlColumns;
+            rowSpans[ iRow - firstRow ] = rowRowSpans;
+            physicalColumns[ iRow - firstRow ] = rowPhysicalColumns;
+        }
+    }
+
+    /**
+     * @return Index of the first row in the window (inclusive)
+     */
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * @return Index of the last row in the window (exclusive)
+     */
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    /**
+     * Whether a row is within the window
+     * @param row Index of the row
+     * @return true if the row is within the window
+     */
+    public boolean contains( int row ) {
+        return row >= firstRow && row < lastRow;
+    }
+
+    /**
+     * Get the row span of a cell rendered in a row, clipped to the window
+     * @param row Index of the row, which must be within the window
+     * @param col Index of the column
+     * @return The row span, or zero if the cell is not rendered in the row
+     */
+    public int getRowSpan( int row,
+                           int col ) {
+        return rowSpans[ row - firstRow ][ col ];
+    }
+
+    /**
+     * Get the HTML column of a cell rendered in a row
+     * @param row Index of the row, which must be within the window
+     * @param col Index of the column
+     * @return The HTML column, or -1 if the cell is not rendered in the row
+     */
+    public int getHtmlColumn( int row,
+                              int col ) {
+        return htmlColumns[ row - firstRow ][ col ];
+    }
+
+    /**
+     * Get the HTML coordinate, relative to the window, of the element that
+     * renders a cell. Cells merged with others are rendered by the element of
+     * the merged cell and can therefore be outside of the window.
+     * @param c Physical coordinate of the cell
+     * @return The HTML coordinate, or null if the cell is in a hidden column
+     *         or no part of the merged cell containing it is within the window
+     */
+    public Coordinate getHtmlCoordinate( Coordinate c ) {
+        if ( c == null ) {
+            throw new IllegalArgumentException( "c cannot be null" );
+        }
+        if ( firstRow == lastRow ) {
+            return null;
+        }
+        final int iCol = c.getCol();
+        int iRow = c.getRow();
+        if ( iRow < firstRow ) {
+            //The merged cell needs to extend into the window
+            if ( data.get( firstRow ).get( iCol ).getRowSpan() != 0 || getOriginRow( firstRow,
+                                                                                     iCol ) > iRow ) {
+                return null;
+            }
+            iRow = firstRow;
+
+        } else if ( iRow >= lastRow ) {
+            //The merged cell needs to start in, or above, the window
+            iRow = Math.max( getOriginRow( iRow,
+                                           iCol ),
+                             firstRow );
+            if ( iRow >= lastRow ) {
+                return null;
+            }
+
+        } else {
+            while ( iRow > firstRow && htmlColumns[ iRow - firstRow ][ iCol ] < 0 ) {
+                iRow--;
+            }
+        }
+
+        final int htmlCol = htmlColumns[ iRow - firstRow ][ iCol ];
+        if ( htmlCol < 0 ) {
+            return null;
+        }
+        return new Coordinate( iRow - firstRow,
+                               htmlCol );
+    }
+
+    /**
+     * Get the physical coordinate of the cell rendered by an element. This is
+     * the first cell of a merged cell, which can precede the window.
+     * @param htmlRow HTML row, relative to the window
+     * @param htmlCol HTML column
+     * @return The physical coordinate
+     */
+    public Coordinate getPhysicalCoordinate( int htmlRow,
+                                             int htmlCol ) {
+        final int iCol = physicalColumns[ htmlRow ][ htmlCol ];
+        return new Coordinate( getOriginRow( firstRow + htmlRow,
+                                             iCol ),
+                               iCol );
+    }
+
+    /**
+     * Get the first row of the merged cell containing a cell
+     * @param row Index of the row
+     * @param col Index of the column
+     * @return Index of the first row of the merged cell
+     */
+    public int getOriginRow( int row,
+                             int col ) {
+        int originRow = row;
+        while ( originRow > 0 && data.get( originRow ).get( col ).getRowSpan() == 0 ) {
+            originRow--;
+        }
+        return originRow;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+/**
+ * Plain JVM benchmark of DynamicData operations on a large, merged, table. This is not run as part of the build;
+ * run its main method with optional arguments of the number of rows, columns and operations.
+ */
+public class DynamicDataBenchmark {
+
+    private static final String[] VALUES = new String[]{ "a", "b", "c", null };
+
+    private final int rows;
+    private final int columns;
+    private final int operations;
+    private final Random random = new Random( 0 );
+
+    public DynamicDataBenchmark( final int rows,
+                                 final int columns,
+                                 final int operations ) {
+        this.rows = rows;
+        this.columns = columns;
+        this.operations = operations;
+    }
+
+    public static void main( final String[] args ) {
+        final int rows = ( args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 5000 );
+        final int columns = ( args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 20 );
+        final int operations = ( args.length > 2 ? Integer.parseInt( args[ 2 ] ) : 1000 );
+        final DynamicDataBenchmark benchmark = new DynamicDataBenchmark( rows,
+                                                                         columns,
+                                                                         operations );
+
+        //First iteration warms up the JIT
+        for ( int iteration = 0; iteration < 3; iteration++ ) {
+            System.out.println( "Iteration " + iteration + " (" + rows + " rows, " + columns + " columns, " + operations + " operations)" );
+            benchmark.run();
+        }
+    }
+
+    public void run() {
+        final DynamicData data = makeData();
+
+        long start = System.nanoTime();
+        data.setMerged( true );
+        report( "setMerged",
+                1,
+                start );
+
+        start = System.nanoTime();
+        for ( int i = 0; i < operations; i++ ) {
+            data.set( new Coordinate( random.nextInt( data.size() ),
+                                      random.nextInt( columns ) ),
+                      makeValue() );
+        }
+        report( "set",
+                operations,
+                start );
+
+        start = System.nanoTime();
+        for ( int i = 0; i < operations; i++ ) {
+            data.addRow( random.nextInt( data.size() + 1 ),
+                         makeRow() );
+        }
+        report( "addRow",
+                operations,
+                start );
+
+        start = System.nanoTime();
+        for ( int i = 0; i < operations; i++ ) {
+            data.deleteRow( random.nextInt( data.size() ) );
+        }
+        report( "deleteRow",
+                operations,
+                start );
+
+        start = System.nanoTime();
+        for ( int i = 0; i < 10; i++ ) {
+            data.assertModelMerging();
+        }
+        report( "assertModelMerging",
+                10,
+                start );
+    }
+
+    private void report( final String operation,
+                         final int count,
+                         final long start ) {
+        final long elapsed = System.nanoTime() - start;
+        System.out.println( String.format( "  %-20s %10.3f ms/op",
+                                           operation,
+                                           elapsed / 1000000.0 / count ) );
+    }
+
+    private DynamicData makeData() {
+        final DynamicData data = new DynamicData();
+        for ( int iCol = 0; iCol < columns; iCol++ ) {
+            data.addColumn( iCol,
+                            new ArrayList<CellValue<? extends Comparable<?>>>(),
+                            true );
+        }
+        for ( int iRow = 0; iRow < rows; iRow++ ) {
+            data.addRow( makeRow() );
+        }
+        return data;
+    }
+
+    private DynamicDataRow makeRow() {
+        final DynamicDataRow row = new DynamicDataRow();
+        for ( int iCol = 0; iCol < columns; iCol++ ) {
+            row.add( new CellValue<String>( makeValue() ) );
+        }
+        return row;
+    }
+
+    private String makeValue() {
+        return VALUES[ random.nextInt( VALUES.length ) ];
+    }
+
+}
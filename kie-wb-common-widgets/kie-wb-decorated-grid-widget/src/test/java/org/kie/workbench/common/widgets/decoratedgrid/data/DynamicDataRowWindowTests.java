@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for windows of rows rendered when rows are virtualised
+ */
+public class DynamicDataRowWindowTests {
+
+    //Column 0 is merged over rows 0-3 and column 2 over rows 2-5
+    private static final String[][] VALUES = new String[][]{
+            { "a", "r0", "x0" },
+            { "a", "r1", "x1" },
+            { "a", "r2", "b" },
+            { "a", "r3", "b" },
+            { "c4", "r4", "b" },
+            { "c5", "r5", "b" }
+    };
+
+    private DynamicData data;
+
+    @Before
+    public void setup() {
+        data = new DynamicData();
+        for ( int iCol = 0; iCol < 3; iCol++ ) {
+            data.addColumn( iCol,
+                            new ArrayList<CellValue<? extends Comparable<?>>>(),
+                            true );
+        }
+        for ( String[] values : VALUES ) {
+            final DynamicDataRow row = new DynamicDataRow();
+            for ( String value : values ) {
+                row.add( new CellValue<String>( value ) );
+            }
+            data.addRow( row );
+        }
+        data.setMerged( true );
+    }
+
+    @Test
+    public void testRowSpansAreClippedToWindow() {
+        final RowWindow window = new RowWindow( data,
+                                                new boolean[]{ true, true, true },
+                                                2,
+                                                4 );
+
+        //Row 2 renders the continuation of column 0 and the start of column 2
+        assertEquals( 2,
+                      window.getRowSpan( 2,
+                                         0 ) );
+        assertEquals( 1,
+                      window.getRowSpan( 2,
+                                         1 ) );
+        assertEquals( 2,
+                      window.getRowSpan( 2,
+                                         2 ) );
+        assertEquals( 0,
+                      window.getRowSpan( 3,
+                                         0 ) );
+        assertEquals( 1,
+                      window.getRowSpan( 3,
+                                         1 ) );
+        assertEquals( 0,
+                      window.getRowSpan( 3,
+                                         2 ) );
+
+        assertEquals( 0,
+                      window.getHtmlColumn( 2,
+                                            0 ) );
+        assertEquals( 2,
+                      window.getHtmlColumn( 2,
+                                            2 ) );
+        assertEquals( -1,
+                      window.getHtmlColumn( 3,
+                                            0 ) );
+        assertEquals( 0,
+                      window.getHtmlColumn( 3,
+                                            1 ) );
+    }
+
+    @Test
+    public void testHtmlCoordinates() {
+        final RowWindow window = new RowWindow( data,
+                                                new boolean[]{ true, true, true },
+                                                2,
+                                                4 );
+
+        //Merged cells crossing the window are rendered by the window's elements
+        assertEquals( new Coordinate( 0,
+                                      0 ),
+                      window.getHtmlCoordinate( new Coordinate( 0,
+                                                                0 ) ) );
+        assertEquals( new Coordinate( 0,
+                                      2 ),
+                      window.getHtmlCoordinate( new Coordinate( 5,
+                                                                2 ) ) );
+        assertEquals( new Coordinate( 0,
+                                      2 ),
+                      window.getHtmlCoordinate( new Coordinate( 3,
+                                                                2 ) ) );
+        assertEquals( new Coordinate( 1,
+                                      0 ),
+                      window.getHtmlCoordinate( new Coordinate( 3,
+                                                                1 ) ) );
+
+        //Cells wholly outside of the window are not rendered
+        assertNull( window.getHtmlCoordinate( new Coordinate( 1,
+                                                              1 ) ) );
+        assertNull( window.getHtmlCoordinate( new Coordinate( 4,
+                                                              1 ) ) );
+        assertNull( window.getHtmlCoordinate( new Coordinate( 4,
+                                                              0 ) ) );
+    }
+
+    @Test
+    public void testPhysicalCoordinates() {
+        final RowWindow window = new RowWindow( data,
+                                                new boolean[]{ true, true, true },
+                                                2,
+                                                4 );
+
+        assertEquals( new Coordinate( 0,
+                                      0 ),
+                      window.getPhysicalCoordinate( 0,
+                                                    0 ) );
+        assertEquals( new Coordinate( 2,
+                                      2 ),
+                      window.getPhysicalCoordinate( 0,
+                                                    2 ) );
+        assertEquals( new Coordinate( 3,
+                                      1 ),
+                      window.getPhysicalCoordinate( 1,
+                                                    0 ) );
+    }
+
+    @Test
+    public void testHiddenColumnsAreNotRendered() {
+        final RowWindow window = new RowWindow( data,
+                                                new boolean[]{ false, true, true },
+                                                2,
+                                                4 );
+
+        assertEquals( -1,
+                      window.getHtmlColumn( 2,
+                                            0 ) );
+        assertEquals( 0,
+                      window.getHtmlColumn( 2,
+                                            1 ) );
+        assertNull( window.getHtmlCoordinate( new Coordinate( 2,
+                                                              0 ) ) );
+        assertEquals( new Coordinate( 2,
+                                      2 ),
+                      window.getPhysicalCoordinate( 0,
+                                                    1 ) );
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that merging and indexing maintained incrementally by DynamicData matches that of the entire model
+ */
+public class DynamicDataTestsWithIncrementalMerging {
+
+    private static final String[] VALUES = new String[]{ "a", "b", null };
+
+    private static final int COLUMNS = 4;
+
+    private final Random random = new Random( 0 );
+
+    @Test
+    public void testIncrementalMergingWithHiddenColumns() {
+        final DynamicData data = makeData( new boolean[]{ true, false, true, true } );
+        data.setMerged( true );
+        assertIncrementalMerging( data );
+    }
+
+    @Test
+    public void testIncrementalMergingWithVisibleColumns() {
+        final DynamicData data = makeData( new boolean[]{ true, true, true, true } );
+        data.setMerged( true );
+        assertIncrementalMerging( data );
+    }
+
+    @Test
+    public void testIncrementalIndexingWithoutMerging() {
+        final DynamicData data = makeData( new boolean[]{ false, true, true, false } );
+        data.setMerged( false );
+        assertIncrementalMerging( data );
+    }
+
+    @Test
+    public void testIncrementalMergingOfCellState() {
+        final DynamicData data = makeData( new boolean[]{ true, true, true, true } );
+        data.setMerged( true );
+
+        //[o] cells merge with each other
+        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
+            data.set( new Coordinate( iRow,
+                                      0 ),
+                      null );
+        }
+        final Coordinate c = new Coordinate( 1,
+                                             0 );
+        data.get( 0 ).get( 0 ).addState( CellValue.CellState.OTHERWISE );
+        data.get( c ).addState( CellValue.CellState.OTHERWISE );
+        data.assertModelMerging( c );
+
+        assertEquals( 2,
+                      data.get( 0 ).get( 0 ).getRowSpan() );
+        assertEquals( 0,
+                      data.get( c ).getRowSpan() );
+        assertModelMerging( data );
+    }
+
+    private void assertIncrementalMerging( final DynamicData data ) {
+        for ( int i = 0; i < 500; i++ ) {
+            final int operation = random.nextInt( 4 );
+            if ( operation == 0 && data.size() > 0 ) {
+                data.deleteRow( random.nextInt( data.size() ) );
+            } else if ( operation == 1 ) {
+                data.addRow( random.nextInt( data.size() + 1 ),
+                             makeRow() );
+            } else if ( data.size() > 0 ) {
+                data.set( new Coordinate( random.nextInt( data.size() ),
+                                          random.nextInt( COLUMNS ) ),
+                          makeValue() );
+            }
+            assertModelMerging( data );
+        }
+    }
+
+    //Check the model is unchanged by asserting merging and indexing throughout
+    private void assertModelMerging( final DynamicData data ) {
+        final List<String> expected = describe( data );
+        data.assertModelMerging();
+        assertEquals( describe( data ),
+                      expected );
+    }
+
+    private List<String> describe( final DynamicData data ) {
+        final List<String> description = new ArrayList<String>();
+        for ( DynamicDataRow row : data ) {
+            for ( CellValue<? extends Comparable<?>> cell : row ) {
+                description.add( cell.getValue() + ":" + cell.getRowSpan() + ":" + cell.getCoordinate() + ":" + cell.getHtmlCoordinate() + ":" + cell.getPhysicalCoordinate() );
+            }
+        }
+        return description;
+    }
+
+    private DynamicData makeData( final boolean[] visibleColumns ) {
+        final DynamicData data = new DynamicData();
+        for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+            data.addColumn( iCol,
+                            new ArrayList<CellValue<? extends Comparable<?>>>(),
+                            visibleColumns[ iCol ] );
+        }
+        for ( int iRow = 0; iRow < 20; iRow++ ) {
+            data.addRow( makeRow() );
+        }
+        return data;
+    }
+
+    private DynamicDataRow makeRow() {
+        final DynamicDataRow row = new DynamicDataRow();
+        for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+            row.add( new CellValue<String>( makeValue() ) );
+        }
+        return row;
+    }
+
+    private String makeValue() {
+        return VALUES[ random.nextInt( VALUES.length ) ];
+    }
+
+}